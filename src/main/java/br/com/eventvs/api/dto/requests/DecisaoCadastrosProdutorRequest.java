@@ -0,0 +1,13 @@
+package br.com.eventvs.api.dto.requests;
+
+import lombok.Data;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Data
+public class DecisaoCadastrosProdutorRequest {
+
+    private Set<Integer> aceitar = new HashSet<>();
+    private Set<Integer> recusar = new HashSet<>();
+}
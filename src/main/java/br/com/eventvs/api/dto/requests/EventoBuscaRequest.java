@@ -0,0 +1,28 @@
+package br.com.eventvs.api.dto.requests;
+
+import br.com.eventvs.domain.enums.StatusEvento;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+public class EventoBuscaRequest {
+
+    private StatusEvento statusEvento;
+    private Integer categoriaId;
+    private Integer produtorId;
+    private String nome;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dataInicio;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dataFim;
+
+    private String cidade;
+    private String estado;
+
+    private Integer pagina = 0;
+    private Integer tamanho = 20;
+}
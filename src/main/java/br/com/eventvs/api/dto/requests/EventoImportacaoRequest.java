@@ -0,0 +1,14 @@
+package br.com.eventvs.api.dto.requests;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class EventoImportacaoRequest {
+	/* Posição do registro no arquivo importado, começando em 1 e sem contar o cabeçalho */
+	private int linha;
+	private EventoRequest evento;
+	/* Motivo pelo qual o registro não pôde ser lido, nulo quando o evento foi lido */
+	private String erro;
+}
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
 
 import br.com.eventvs.domain.enums.StatusEvento;
 import br.com.eventvs.domain.model.Endereco;
@@ -34,4 +35,9 @@ public class EventoRequest {
 
 	@NotNull
     private Endereco endereco;
+
+	@Positive
+    private Integer capacidade;
+
+    private Boolean altaDemanda;
 }
@@ -0,0 +1,13 @@
+package br.com.eventvs.api.dto.responses;
+
+import lombok.Data;
+
+@Data
+public class CacheRegiaoResponse {
+
+    private String regiao;
+    private Long acertos;
+    private Long falhas;
+    private Long insercoes;
+    private Long remocoes;
+}
@@ -0,0 +1,11 @@
+package br.com.eventvs.api.dto.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CancelamentoEventoResponse {
+	private Integer eventoId;
+	private Integer inscricoesCanceladas;
+}
@@ -0,0 +1,15 @@
+package br.com.eventvs.api.dto.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DecisaoCadastrosProdutorResponse {
+
+    private Integer aceitos;
+    private Integer recusados;
+
+    /* Ids sem solicitação pendente, que não foram alterados */
+    private Integer ignorados;
+}
@@ -0,0 +1,17 @@
+package br.com.eventvs.api.dto.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class EventoBuscaResponse {
+
+    private List<EventoResponse> eventos;
+    private Integer pagina;
+    private Integer tamanho;
+    private Long total;
+    private Integer totalPaginas;
+}
@@ -0,0 +1,14 @@
+package br.com.eventvs.api.dto.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class EventoPaginaResponse {
+
+    private List<EventoResponse> eventos;
+    private String nextCursor;
+}
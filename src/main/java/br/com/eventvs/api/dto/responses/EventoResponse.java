@@ -1,12 +1,15 @@
 package br.com.eventvs.api.dto.responses;
 
+import br.com.eventvs.domain.enums.StatusEvento;
 import br.com.eventvs.domain.model.Categoria;
 import br.com.eventvs.domain.model.Endereco;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class EventoResponse {
 
     private Integer id;
@@ -19,4 +22,39 @@ public class EventoResponse {
     private String produtor;
     private Endereco endereco;
 
+    /**
+     * Construtor utilizado nas consultas de projeção do EventoRepository, que selecionam
+     * apenas as colunas necessárias em vez de carregar as entidades.
+     * */
+    public EventoResponse(Integer id, String nome, String descricao, LocalDateTime dataHoraInicio,
+                          LocalDateTime dataHoraFim, StatusEvento statusEvento,
+                          Integer categoriaId, String categoriaNome, String categoriaDescricao,
+                          Integer enderecoId, String logradouro, String numero, String bairro,
+                          String cidade, String estado, String cep, String produtor) {
+        this.id = id;
+        this.nome = nome;
+        this.descricao = descricao;
+        this.dataHoraInicio = dataHoraInicio;
+        this.dataHoraFim = dataHoraFim;
+        this.statusEvento = statusEvento == null ? null : statusEvento.name();
+        this.produtor = produtor;
+
+        if (categoriaId != null) {
+            this.categoria = new Categoria();
+            this.categoria.setId(categoriaId);
+            this.categoria.setNome(categoriaNome);
+            this.categoria.setDescricao(categoriaDescricao);
+        }
+
+        if (enderecoId != null) {
+            this.endereco = new Endereco();
+            this.endereco.setId(enderecoId);
+            this.endereco.setLogradouro(logradouro);
+            this.endereco.setNumero(numero);
+            this.endereco.setBairro(bairro);
+            this.endereco.setCidade(cidade);
+            this.endereco.setEstado(estado);
+            this.endereco.setCEP(cep);
+        }
+    }
 }
@@ -0,0 +1,13 @@
+package br.com.eventvs.api.dto.responses;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+@Data
+public class InscricaoEsperaResponse {
+	private Integer id;
+	private Integer eventoId;
+	private Long posicao;
+	private LocalDateTime dataHora;
+}
@@ -1,9 +1,15 @@
 package br.com.eventvs.api.dto.responses;
 
 import java.time.LocalDateTime;
+
+import br.com.eventvs.domain.enums.StatusEvento;
+import br.com.eventvs.domain.model.Categoria;
+import br.com.eventvs.domain.model.Endereco;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 public class InscricaoResponse {
 	private Integer id;
 	private LocalDateTime dataHora;
@@ -12,5 +18,53 @@ public class InscricaoResponse {
 	private ParticipanteInscricaoResponse participante;
 
 	private EventoInscricaoResponse evento;
-}
 
+	/**
+	 * Construtor utilizado nas consultas de projeção do InscricaoRepository, que percorrem
+	 * as inscrições com um cursor sem manter entidades no contexto de persistência.
+	 * */
+	public InscricaoResponse(Integer id, LocalDateTime dataHora, Boolean isCancelada,
+							 Integer participanteId, String participanteNome,
+							 Integer eventoId, String eventoNome, LocalDateTime dataHoraInicio,
+							 LocalDateTime dataHoraFim, StatusEvento statusEvento,
+							 Integer categoriaId, String categoriaNome, String categoriaDescricao,
+							 Integer enderecoId, String logradouro, String numero, String bairro,
+							 String cidade, String estado, String cep) {
+		this.id = id;
+		this.dataHora = dataHora;
+		this.isCancelada = isCancelada;
+
+		PessoaResponse pessoa = new PessoaResponse();
+		pessoa.setNome(participanteNome);
+		this.participante = new ParticipanteInscricaoResponse();
+		this.participante.setId(participanteId);
+		this.participante.setPessoa(pessoa);
+
+		this.evento = new EventoInscricaoResponse();
+		this.evento.setId(eventoId);
+		this.evento.setNome(eventoNome);
+		this.evento.setDataHoraInicio(dataHoraInicio);
+		this.evento.setDataHoraFim(dataHoraFim);
+		this.evento.setStatusEvento(statusEvento);
+
+		if (categoriaId != null) {
+			Categoria categoria = new Categoria();
+			categoria.setId(categoriaId);
+			categoria.setNome(categoriaNome);
+			categoria.setDescricao(categoriaDescricao);
+			this.evento.setCategoria(categoria);
+		}
+
+		if (enderecoId != null) {
+			Endereco endereco = new Endereco();
+			endereco.setId(enderecoId);
+			endereco.setLogradouro(logradouro);
+			endereco.setNumero(numero);
+			endereco.setBairro(bairro);
+			endereco.setCidade(cidade);
+			endereco.setEstado(estado);
+			endereco.setCEP(cep);
+			this.evento.setEndereco(endereco);
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package br.com.eventvs.api.dto.responses;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class ParticipanteExportacaoResponse {
+
+	private static final int TAMANHO_CPF = 11;
+
+	private String nome;
+	private String email;
+	private String cpf;
+	private LocalDateTime dataInscricao;
+
+	/**
+	 * Construtor utilizado na consulta de exportação do InscricaoRepository. O CPF já sai mascarado,
+	 * mantendo visíveis apenas os seis dígitos do meio.
+	 * */
+	public ParticipanteExportacaoResponse(String nome, String email, String cpf, LocalDateTime dataInscricao) {
+		this.nome = nome;
+		this.email = email;
+		this.cpf = mascararCpf(cpf);
+		this.dataInscricao = dataInscricao;
+	}
+
+	/**
+	 * Mascara um CPF no formato ***.456.789-**. Valores fora do padrão de 11 dígitos são ocultados por completo.
+	 * @param cpf String
+	 * @return String
+	 */
+	public static String mascararCpf(String cpf) {
+		if (cpf == null) {
+			return null;
+		}
+		String digitos = cpf.replaceAll("\\D", "");
+		if (digitos.length() != TAMANHO_CPF) {
+			return "***";
+		}
+		return "***." + digitos.substring(3, 6) + "." + digitos.substring(6, 9) + "-**";
+	}
+}
@@ -0,0 +1,16 @@
+package br.com.eventvs.api.dto.responses;
+
+import java.time.LocalDateTime;
+
+import br.com.eventvs.domain.enums.SituacaoPedido;
+import lombok.Data;
+
+@Data
+public class PedidoInscricaoResponse {
+	private String ticket;
+	private Integer eventoId;
+	private SituacaoPedido situacao;
+	private String mensagem;
+	private Integer inscricaoId;
+	private LocalDateTime dataHora;
+}
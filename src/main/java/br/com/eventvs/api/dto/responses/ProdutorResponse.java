@@ -1,8 +1,11 @@
 package br.com.eventvs.api.dto.responses;
 
+import br.com.eventvs.domain.enums.Situacao;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 public class ProdutorResponse {
 
     private Integer id;
@@ -10,4 +13,16 @@ public class ProdutorResponse {
     private String cpf;
     private String email;
     private String situacao;
+
+    /**
+     * Construtor utilizado na listagem paginada do ProdutorRepository. O id é o da pessoa, como nos demais endpoints
+     * de produtores.
+     * */
+    public ProdutorResponse(Integer id, String nome, String cpf, String email, Situacao situacao) {
+        this.id = id;
+        this.nome = nome;
+        this.cpf = cpf;
+        this.email = email;
+        this.situacao = situacao.name();
+    }
 }
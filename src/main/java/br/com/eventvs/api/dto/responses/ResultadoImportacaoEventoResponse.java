@@ -0,0 +1,12 @@
+package br.com.eventvs.api.dto.responses;
+
+import br.com.eventvs.domain.enums.SituacaoImportacao;
+import lombok.Data;
+
+@Data
+public class ResultadoImportacaoEventoResponse {
+	private int linha;
+	private SituacaoImportacao situacao;
+	private Integer eventoId;
+	private String mensagem;
+}
@@ -15,6 +15,7 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import br.com.eventvs.domain.exception.EntidadeNaoEncontradaException;
+import br.com.eventvs.domain.exception.FilaCheiaException;
 import br.com.eventvs.domain.exception.NegocioException;
 
 @ControllerAdvice
@@ -40,6 +41,18 @@ public class ApiExceptionHandler extends ResponseEntityExceptionHandler{
 		return super.handleExceptionInternal(ex,problema, new HttpHeaders(), status, request);
 	}
 	
+	@ExceptionHandler(FilaCheiaException.class)
+	public ResponseEntity<Object> handleFilaCheia(FilaCheiaException ex, WebRequest request) {
+		var status = HttpStatus.SERVICE_UNAVAILABLE;
+		var problema = new Problema();
+		problema.setStatus(status.value());
+		problema.setMessage(ex.getMessage());
+		problema.setDataHora(OffsetDateTime.now());
+		var headers = new HttpHeaders();
+		headers.set(HttpHeaders.RETRY_AFTER, "1");
+		return super.handleExceptionInternal(ex,problema, headers, status, request);
+	}
+	
 	@Override
 	protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
 			HttpHeaders headers, HttpStatus status, WebRequest request) {
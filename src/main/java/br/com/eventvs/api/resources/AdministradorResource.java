@@ -1,10 +1,36 @@
 package br.com.eventvs.api.resources;
 
+import br.com.eventvs.api.dto.responses.CacheRegiaoResponse;
+import br.com.eventvs.core.security.EventvsSecurity;
+import br.com.eventvs.domain.controller.AdministradorController;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
 import static br.com.eventvs.api.util.Paths.PATH_ADMINISTRADOR;
+import static br.com.eventvs.api.util.Paths.PATH_ADMINISTRADOR_CACHE;
 
 @RestController
 @RequestMapping(value = PATH_ADMINISTRADOR)
 public class AdministradorResource {
+
+    @Autowired
+    private AdministradorController administradorController;
+
+    @Autowired
+    private EventvsSecurity eventvsSecurity;
+
+    /**
+     * Lista acertos, falhas, inserções e remoções de cada região do cache de segundo nível
+     *
+     * @return List<CacheRegiaoResponse>
+     * */
+    @GetMapping(value = PATH_ADMINISTRADOR_CACHE)
+    public List<CacheRegiaoResponse> listarEstatisticasCache(){
+        String email = eventvsSecurity.getPessoaEmail();
+        return administradorController.listarEstatisticasCache(email);
+    }
 }
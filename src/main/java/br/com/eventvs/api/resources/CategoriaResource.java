@@ -2,9 +2,12 @@ package br.com.eventvs.api.resources;
 
 import br.com.eventvs.api.dto.requests.CategoriaRequest;
 import br.com.eventvs.core.security.EventvsSecurity;
+import br.com.eventvs.core.web.RespostaCondicional;
+import br.com.eventvs.domain.busca.IndiceCategorias;
 import br.com.eventvs.domain.controller.GerenciarCategoriaController;
 import br.com.eventvs.domain.model.Categoria;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,7 +18,8 @@ import static br.com.eventvs.api.util.Paths.*;
 
 @RestController
 @RequestMapping(value = PATH_CATEGORIA)
-@CrossOrigin(methods = {RequestMethod.DELETE, RequestMethod.GET, RequestMethod.HEAD, RequestMethod.OPTIONS, RequestMethod.PATCH, RequestMethod.POST, RequestMethod.PUT})
+@CrossOrigin(methods = {RequestMethod.DELETE, RequestMethod.GET, RequestMethod.HEAD, RequestMethod.OPTIONS, RequestMethod.PATCH, RequestMethod.POST, RequestMethod.PUT},
+        exposedHeaders = HttpHeaders.ETAG)
 public class CategoriaResource {
 
     @Autowired
@@ -29,6 +33,7 @@ public class CategoriaResource {
      *
      * @return List<Categoria>
      * */
+    @RespostaCondicional(copias = IndiceCategorias.class, porUsuario = false)
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
     public List<Categoria> listarCategorias(){
@@ -39,13 +44,13 @@ public class CategoriaResource {
     /**
      * Busca categorias que contenham o nome
      *
-     * @param categoria
+     * @param nome String
      * @return List<Categoria>
      * */
-    @GetMapping
-    @RequestMapping(value = PATH_BUSCAR_CATEGORIA_POR_NOME)
-    public ResponseEntity<?> buscarCategoriasPorNome(@RequestBody CategoriaRequest categoria){
-        List<Categoria> categorias = gerenciarCategoriaController.listarCategoriasPorNome(categoria);
+    @RespostaCondicional(copias = IndiceCategorias.class, porUsuario = false)
+    @GetMapping(value = PATH_BUSCAR_CATEGORIA_POR_NOME)
+    public ResponseEntity<?> buscarCategoriasPorNome(@RequestParam String nome){
+        List<Categoria> categorias = gerenciarCategoriaController.listarCategoriasPorNome(nome);
         return ResponseEntity.status(HttpStatus.OK).body(categorias);
     }
 
@@ -64,13 +69,13 @@ public class CategoriaResource {
     /**
      * Busca categorias que contenham aquela descricao
      *
-     * @param categoria
+     * @param descricao String
      * @return List<Categoria>
      * */
-    @GetMapping
-    @RequestMapping(value = PATH_BUSCAR_CATEGORIA_POR_DESCRICAO)
-    public ResponseEntity<?> buscarCategoriaPorDescricao(@RequestBody CategoriaRequest categoria) {
-        List<Categoria> categorias = gerenciarCategoriaController.listarCategoriaPorDescricao(categoria);
+    @RespostaCondicional(copias = IndiceCategorias.class, porUsuario = false)
+    @GetMapping(value = PATH_BUSCAR_CATEGORIA_POR_DESCRICAO)
+    public ResponseEntity<?> buscarCategoriaPorDescricao(@RequestParam String descricao) {
+        List<Categoria> categorias = gerenciarCategoriaController.listarCategoriaPorDescricao(descricao);
         return ResponseEntity.status(HttpStatus.OK).body(categorias);
     }
 }
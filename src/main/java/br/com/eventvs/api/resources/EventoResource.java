@@ -1,20 +1,39 @@
 package br.com.eventvs.api.resources;
 
 
+import br.com.eventvs.api.dto.requests.EventoBuscaRequest;
 import br.com.eventvs.api.dto.requests.EventoRequest;
+import br.com.eventvs.api.dto.responses.CancelamentoEventoResponse;
+import br.com.eventvs.api.dto.responses.EventoBuscaResponse;
+import br.com.eventvs.api.dto.responses.EventoPaginaResponse;
 import br.com.eventvs.api.dto.responses.EventoResponse;
+import br.com.eventvs.api.dto.responses.ResultadoImportacaoEventoResponse;
+import br.com.eventvs.api.util.EscritorListaJson;
+import br.com.eventvs.api.util.LeitorImportacaoEventos;
 import br.com.eventvs.core.security.EventvsSecurity;
+import br.com.eventvs.core.web.RespostaCondicional;
+import br.com.eventvs.domain.conta.IdentidadeConta;
+import br.com.eventvs.domain.busca.CatalogoEventosPublicados;
 import br.com.eventvs.domain.controller.BuscarEventoController;
 import br.com.eventvs.domain.controller.GerenciarEventoController;
+import br.com.eventvs.domain.enums.Colecao;
+import br.com.eventvs.domain.enums.FormatoArquivo;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 
 import static br.com.eventvs.api.util.Paths.*;
@@ -22,7 +41,8 @@ import static br.com.eventvs.api.util.Paths.*;
 
 @RestController
 @RequestMapping(value = PATH_EVENTO)
-@CrossOrigin(methods = {RequestMethod.DELETE, RequestMethod.GET, RequestMethod.HEAD, RequestMethod.OPTIONS, RequestMethod.PATCH, RequestMethod.POST, RequestMethod.PUT})
+@CrossOrigin(methods = {RequestMethod.DELETE, RequestMethod.GET, RequestMethod.HEAD, RequestMethod.OPTIONS, RequestMethod.PATCH, RequestMethod.POST, RequestMethod.PUT},
+        exposedHeaders = {HEADER_NEXT_CURSOR, HttpHeaders.ETAG})
 public class EventoResource {
 
 
@@ -35,6 +55,9 @@ public class EventoResource {
 
     @Autowired
     private EventvsSecurity eventvsSecurity;
+
+    @Autowired
+    private ObjectMapper objectMapper;
     
     /**
      * Cadastra um evento
@@ -44,14 +67,35 @@ public class EventoResource {
 	@PostMapping
 	@ResponseStatus(HttpStatus.CREATED)
 	public ResponseEntity<EventoResponse> criarEvento(@Valid @RequestBody EventoRequest eventoRequest) {
-		String email = eventvsSecurity.getPessoaEmail();
+		IdentidadeConta identidade = eventvsSecurity.getIdentidade();
 
-		EventoResponse eventoResponse = gerenciarEventoControle.criarEvento(eventoRequest, email);
+		EventoResponse eventoResponse = gerenciarEventoControle.criarEvento(eventoRequest, identidade);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(eventoResponse);
 
 	}
 	
+	/**
+	 * Importa eventos em massa a partir de um arquivo CSV ou NDJSON enviado no corpo da requisição, lido à medida
+	 * que chega. A resposta lista o resultado de cada registro e é escrita à medida que os lotes são gravados
+	 * @param format csv ou ndjson
+	 * @param request HttpServletRequest
+	 * @param response HttpServletResponse
+	 */
+	@PostMapping(value = PATH_EVENTOS_IMPORTAR, produces = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseStatus(HttpStatus.OK)
+	public void importarEventos(@RequestParam(defaultValue = "csv") String format, HttpServletRequest request,
+								HttpServletResponse response) throws IOException {
+		FormatoArquivo formato = FormatoArquivo.de(format);
+		IdentidadeConta identidade = eventvsSecurity.getIdentidade();
+
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		EscritorListaJson<ResultadoImportacaoEventoResponse> escritor =
+				new EscritorListaJson<>(objectMapper, ResultadoImportacaoEventoResponse.class, response.getOutputStream());
+		gerenciarEventoControle.importarEventos(identidade, new LeitorImportacaoEventos(formato, objectMapper, request.getInputStream()), escritor);
+		escritor.finalizar();
+	}
+
 	/**
 	 * Edita um Evento
 	 * @param eventoId Integer
@@ -61,9 +105,9 @@ public class EventoResource {
 	@PatchMapping(value = PATH_EVENTO_ID)
 	@ResponseStatus(HttpStatus.OK)
 	public ResponseEntity<EventoResponse> editarEvento(@PathVariable Integer eventoId, @RequestBody EventoRequest eventoRequest) {
-		String email = eventvsSecurity.getPessoaEmail();
+		IdentidadeConta identidade = eventvsSecurity.getIdentidade();
 		
-		EventoResponse eventoResponse = gerenciarEventoControle.editarEvento(eventoId, eventoRequest, email);
+		EventoResponse eventoResponse = gerenciarEventoControle.editarEvento(eventoId, eventoRequest, identidade);
 		
 		return ResponseEntity.ok(eventoResponse);
 	}
@@ -71,14 +115,14 @@ public class EventoResource {
 	/**
 	 * Cancela um evento
 	 * @param eventoId
-	 * @return ResponseEntity
+	 * @return ResponseEntity<CancelamentoEventoResponse> - com o número de inscrições canceladas junto com o evento
 	 */
 	@PatchMapping(value = PATH_EVENTO_ID_CANCELAR)
 	@ResponseStatus(HttpStatus.OK)
-	public ResponseEntity cancelarEvento(@PathVariable Integer eventoId) {
-		String email = eventvsSecurity.getPessoaEmail();
-		gerenciarEventoControle.cancelarEvento(eventoId, email);
-		return ResponseEntity.ok().build();
+	public ResponseEntity<CancelamentoEventoResponse> cancelarEvento(@PathVariable Integer eventoId) {
+		IdentidadeConta identidade = eventvsSecurity.getIdentidade();
+		int canceladas = gerenciarEventoControle.cancelarEvento(eventoId, identidade);
+		return ResponseEntity.ok(new CancelamentoEventoResponse(eventoId, canceladas));
 	}
 
 	/**
@@ -89,8 +133,8 @@ public class EventoResource {
 	@PatchMapping(value = PATH_EVENTO_ID_PUBLICAR)
     @ResponseStatus(HttpStatus.OK)
 	public EventoResponse publicarEvento(@PathVariable Integer eventoId){
-        String email = eventvsSecurity.getPessoaEmail();
-        return gerenciarEventoControle.publicarEvento(email, eventoId);
+        IdentidadeConta identidade = eventvsSecurity.getIdentidade();
+        return gerenciarEventoControle.publicarEvento(identidade, eventoId);
     }
 
     /**
@@ -101,8 +145,8 @@ public class EventoResource {
 	@DeleteMapping(value = PATH_EVENTO_ID)
     @ResponseStatus(HttpStatus.OK)
 	public void excluirEvento(@PathVariable Integer eventoId){
-        String email = eventvsSecurity.getPessoaEmail();
-        gerenciarEventoControle.excluirEvento(email, eventoId);
+        IdentidadeConta identidade = eventvsSecurity.getIdentidade();
+        gerenciarEventoControle.excluirEvento(identidade, eventoId);
     }
 
     /**
@@ -110,6 +154,7 @@ public class EventoResource {
      *
      * @return EventoResponse {@link EventoResponse}
      * */
+    @RespostaCondicional(value = Colecao.EVENTOS, copias = CatalogoEventosPublicados.class)
     @GetMapping(value = PATH_EVENTO_ID)
     @ResponseStatus(HttpStatus.OK)
     public EventoResponse buscarPorId(@PathVariable Integer eventoId){
@@ -117,41 +162,64 @@ public class EventoResource {
         return buscarEventoController.listarPorId(email, eventoId);
     }
 
+    /**
+     * Busca eventos combinando os filtros informados nos parâmetros da requisição.
+     *
+     * @param eventoBuscaRequest EventoBuscaRequest
+     * @return EventoBuscaResponse {@link EventoBuscaResponse}
+     * */
+    @RespostaCondicional(Colecao.EVENTOS)
+    @GetMapping(value = PATH_EVENTOS_BUSCA)
+    @ResponseStatus(HttpStatus.OK)
+    public EventoBuscaResponse buscarEventos(EventoBuscaRequest eventoBuscaRequest){
+        String email = eventvsSecurity.getPessoaEmail();
+        return buscarEventoController.buscarEventos(email, eventoBuscaRequest);
+    }
+
     /**
      * Retorna todos os eventos publicados.
      *
-     * @return List of EventoResponse {@link EventoResponse}
+     * @param limit Integer - opcional
+     * @param cursor String - opcional
+     * @return List of EventoResponse {@link EventoResponse}, com o cursor da próxima página no header X-Next-Cursor
      * */
+    @RespostaCondicional(copias = CatalogoEventosPublicados.class)
     @GetMapping(value = PATH_EVENTOS_PUBLICADOS)
     @ResponseStatus(HttpStatus.OK)
-    public List<EventoResponse> listarEventosPublicados(){
+    public ResponseEntity<List<EventoResponse>> listarEventosPublicados(@RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor){
         String email = eventvsSecurity.getPessoaEmail();
-        return buscarEventoController.listarTodosPublicados(email);
+        return paginar(buscarEventoController.listarTodosPublicados(email, limit, cursor));
     }
     
     /**
      * Retorna todos os eventos publicados no qual o usuario não está inscrito.
      *
-     * @return List of EventoResponse {@link EventoResponse}
+     * @param limit Integer - opcional
+     * @param cursor String - opcional
+     * @return List of EventoResponse {@link EventoResponse}, com o cursor da próxima página no header X-Next-Cursor
      * */
+    @RespostaCondicional(value = Colecao.INSCRICOES, copias = CatalogoEventosPublicados.class)
     @GetMapping(value = PATH_EVENTOS_PUBLICADOS_FILTRO)
     @ResponseStatus(HttpStatus.OK)
-    public List<EventoResponse> listarEventosPublicadosFiltro(){
+    public ResponseEntity<List<EventoResponse>> listarEventosPublicadosFiltro(@RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor){
         String email = eventvsSecurity.getPessoaEmail();
-        return buscarEventoController.listarTodosPublicadosFiltro(email);
+        return paginar(buscarEventoController.listarTodosPublicadosFiltro(email, limit, cursor));
     }
 
 
     /**
      * Retorna todos os eventos, não publicados, de um produtor
      *
-     * @return List of EventoResponse {@link EventoResponse}
+     * @param limit Integer - opcional
+     * @param cursor String - opcional
+     * @return List of EventoResponse {@link EventoResponse}, com o cursor da próxima página no header X-Next-Cursor
      * */
+    @RespostaCondicional(Colecao.EVENTOS)
     @GetMapping(value = PATH_EVENTOS_NAO_PUBLICADOS)
     @ResponseStatus(HttpStatus.OK)
-    public List<EventoResponse> listarEventosNaoPublicados(){
+    public ResponseEntity<List<EventoResponse>> listarEventosNaoPublicados(@RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor){
         String email = eventvsSecurity.getPessoaEmail();
-        return buscarEventoController.listarTodosNaoPublicados(email);
+        return paginar(buscarEventoController.listarTodosNaoPublicados(email, limit, cursor));
     }
 
 
@@ -159,44 +227,49 @@ public class EventoResource {
      * Retorna todos os eventos de uma determinada categoria, não publicados por produtor.
      *
      * @param categoriaId
-     * @return List of EventoResponse {@link EventoResponse}
+     * @param limit Integer - opcional
+     * @param cursor String - opcional
+     * @return List of EventoResponse {@link EventoResponse}, com o cursor da próxima página no header X-Next-Cursor
      * */
+    @RespostaCondicional(Colecao.EVENTOS)
     @GetMapping(value = PATH_EVENTOS_NAO_PUBLICADOS_POR_CATEGORIA)
     @ResponseStatus(HttpStatus.OK)
-    public List<EventoResponse> listarEventosNaoPublicadosPorCategoria(@PathVariable Integer categoriaId){
+    public ResponseEntity<List<EventoResponse>> listarEventosNaoPublicadosPorCategoria(@PathVariable Integer categoriaId, @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor){
         String email = eventvsSecurity.getPessoaEmail();
-        return buscarEventoController.listarTodosNaoPublicadosPorCategoria(email, categoriaId);
+        return paginar(buscarEventoController.listarTodosNaoPublicadosPorCategoria(email, categoriaId, limit, cursor));
     }
 
     /**
      * Retorna todos os eventos de uma determinada categoria, não publicados por produtor.
      *
      * @param eventoRequest EventoRequest
-     * @return List of EventoResponse {@link EventoResponse}
+     * @param limit Integer - opcional
+     * @param cursor String - opcional
+     * @return List of EventoResponse {@link EventoResponse}, com o cursor da próxima página no header X-Next-Cursor
      * */
     @GetMapping(value = PATH_EVENTOS_NAO_PUBLICADOS_POR_NOME)
     @ResponseStatus(HttpStatus.OK)
-    public List<EventoResponse> listarEventosNaoPublicadosPorNome(@RequestBody EventoRequest eventoRequest){
+    public ResponseEntity<List<EventoResponse>> listarEventosNaoPublicadosPorNome(@RequestBody EventoRequest eventoRequest, @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor){
         String email = eventvsSecurity.getPessoaEmail();
-        return buscarEventoController.listarTodosNaoPublicadosPorNome(email, eventoRequest);
+        return paginar(buscarEventoController.listarTodosNaoPublicadosPorNome(email, eventoRequest, limit, cursor));
     }
 
     /**
      * Retorna todos os eventos de uma determinada categoria, não publicados por produtor.
      *
      * @param request Map
-     * @return List of EventoResponse {@link EventoResponse}
+     * @param limit Integer - opcional
+     * @param cursor String - opcional
+     * @return List of EventoResponse {@link EventoResponse}, com o cursor da próxima página no header X-Next-Cursor
      * */
+    @RespostaCondicional(Colecao.EVENTOS)
     @GetMapping(value = PATH_EVENTOS_NAO_PUBLICADOS_ENTRE_DATAS)
     @ResponseStatus(HttpStatus.OK)
-    public List<EventoResponse> listarEventosNaoPublicadosEntreDatas(@RequestParam Map<String, String> request){
+    public ResponseEntity<List<EventoResponse>> listarEventosNaoPublicadosEntreDatas(@RequestParam Map<String, String> request, @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor){
         String email = eventvsSecurity.getPessoaEmail();
-        var eventoRequest = new EventoRequest();
-
-        eventoRequest.setDataHoraInicio(LocalDateTime.parse(request.get(request.keySet().toArray()[0]).replace("Z", "")));
-        eventoRequest.setDataHoraFim(LocalDateTime.parse(request.get(request.keySet().toArray()[1]).replace("Z", "")));
+        var eventoRequest = extrairIntervaloDatas(request);
 
-        return buscarEventoController.listarTodosNaoPublicadosEntreDatas(email, eventoRequest);
+        return paginar(buscarEventoController.listarTodosNaoPublicadosEntreDatas(email, eventoRequest, limit, cursor));
     }
 
 
@@ -204,43 +277,81 @@ public class EventoResource {
      * Retorna todos os eventos de uma determinada categoria, publicados por produtor.
      *
      * @param categoriaId
-     * @return List of EventoResponse {@link EventoResponse}
+     * @param limit Integer - opcional
+     * @param cursor String - opcional
+     * @return List of EventoResponse {@link EventoResponse}, com o cursor da próxima página no header X-Next-Cursor
      * */
+    @RespostaCondicional(copias = CatalogoEventosPublicados.class)
     @GetMapping(value = PATH_EVENTOS_PUBLICADOS_POR_CATEGORIA)
     @ResponseStatus(HttpStatus.OK)
-    public List<EventoResponse> listarEventosPublicadosPorCategoria(@PathVariable Integer categoriaId){
+    public ResponseEntity<List<EventoResponse>> listarEventosPublicadosPorCategoria(@PathVariable Integer categoriaId, @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor){
         String email = eventvsSecurity.getPessoaEmail();
-        return buscarEventoController.listarTodosPublicadosPorCategoria(email, categoriaId);
+        return paginar(buscarEventoController.listarTodosPublicadosPorCategoria(email, categoriaId, limit, cursor));
     }
 
     /**
      * Retorna todos os eventos por nome.
      *
      * @param eventoRequest
-     * @return List of EventoResponse {@link EventoResponse}
+     * @param limit Integer - opcional
+     * @param cursor String - opcional
+     * @return List of EventoResponse {@link EventoResponse}, com o cursor da próxima página no header X-Next-Cursor
      * */
     @GetMapping(value = PATH_EVENTOS_PUBLICADOS_POR_NOME)
     @ResponseStatus(HttpStatus.OK)
-    public List<EventoResponse> listarEventosPublicadosPorNome(@RequestBody EventoRequest eventoRequest){
+    public ResponseEntity<List<EventoResponse>> listarEventosPublicadosPorNome(@RequestBody EventoRequest eventoRequest, @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor){
         String email = eventvsSecurity.getPessoaEmail();
-        return buscarEventoController.listarTodosPublicadosPorNome(email, eventoRequest);
+        return paginar(buscarEventoController.listarTodosPublicadosPorNome(email, eventoRequest, limit, cursor));
     }
 
     /**
      * Retorna todos os eventos entre um intervalo de datas.
      *
      * @param request
-     * @return List of EventoResponse {@link EventoResponse}
+     * @param limit Integer - opcional
+     * @param cursor String - opcional
+     * @return List of EventoResponse {@link EventoResponse}, com o cursor da próxima página no header X-Next-Cursor
      * */
+    @RespostaCondicional(copias = CatalogoEventosPublicados.class)
     @GetMapping(value = PATH_EVENTOS_PUBLICADOS_ENTRE_DATAS)
     @ResponseStatus(HttpStatus.OK)
-    public List<EventoResponse> listarEventosPublicadosEntreDatas(@RequestParam Map<String, String> request){
+    public ResponseEntity<List<EventoResponse>> listarEventosPublicadosEntreDatas(@RequestParam Map<String, String> request, @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor){
         String email = eventvsSecurity.getPessoaEmail();
-        var eventoRequest = new EventoRequest();
+        var eventoRequest = extrairIntervaloDatas(request);
 
-        eventoRequest.setDataHoraInicio(LocalDateTime.parse(request.get(request.keySet().toArray()[0]).replace("Z", "")));
-        eventoRequest.setDataHoraFim(LocalDateTime.parse(request.get(request.keySet().toArray()[1]).replace("Z", "")));
+        return paginar(buscarEventoController.listarTodosPublicadosEntreDatas(email, eventoRequest, limit, cursor));
+    }
 
-        return buscarEventoController.listarTodosPublicadosEntreDatas(email, eventoRequest);
+    /**
+     * Extrai o intervalo de datas dos parâmetros da requisição. As datas são os dois primeiros
+     * parâmetros informados, desconsiderando os de paginação.
+     *
+     * @param request Map
+     * @return EventoRequest
+     * */
+    private EventoRequest extrairIntervaloDatas(Map<String, String> request){
+        List<String> datas = request.entrySet().stream()
+                .filter(parametro -> !PARAM_LIMIT.equals(parametro.getKey()) && !PARAM_CURSOR.equals(parametro.getKey()))
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toList());
+
+        var eventoRequest = new EventoRequest();
+        eventoRequest.setDataHoraInicio(LocalDateTime.parse(datas.get(0).replace("Z", "")));
+        eventoRequest.setDataHoraFim(LocalDateTime.parse(datas.get(1).replace("Z", "")));
+        return eventoRequest;
+    }
+
+    /**
+     * Monta a resposta de uma página de eventos, enviando o cursor da próxima página no header, quando existir.
+     *
+     * @param pagina EventoPaginaResponse
+     * @return ResponseEntity<List<EventoResponse>>
+     * */
+    private ResponseEntity<List<EventoResponse>> paginar(EventoPaginaResponse pagina){
+        var response = ResponseEntity.ok();
+        if (pagina.getNextCursor() != null) {
+            response.header(HEADER_NEXT_CURSOR, pagina.getNextCursor());
+        }
+        return response.body(pagina.getEventos());
     }
 }
@@ -1,8 +1,12 @@
 package br.com.eventvs.api.resources;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,26 +14,47 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import br.com.eventvs.api.dto.requests.InscricaoRequest;
+import br.com.eventvs.api.dto.responses.InscricaoEsperaResponse;
 import br.com.eventvs.api.dto.responses.InscricaoResponse;
+import br.com.eventvs.api.dto.responses.PedidoInscricaoResponse;
+import br.com.eventvs.api.util.EscritorExportacaoParticipantes;
+import br.com.eventvs.api.util.EscritorListaJson;
 import br.com.eventvs.core.security.EventvsSecurity;
+import br.com.eventvs.core.web.RespostaCondicional;
+import br.com.eventvs.domain.conta.IdentidadeConta;
 import br.com.eventvs.domain.controller.InscricaoController;
+import br.com.eventvs.domain.demanda.PedidoInscricao;
+import br.com.eventvs.domain.enums.Colecao;
+import br.com.eventvs.domain.enums.FormatoArquivo;
 import br.com.eventvs.domain.model.Inscricao;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import static br.com.eventvs.api.util.Paths.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping(value = PATH_INSCRICAO)
-@CrossOrigin(methods = {RequestMethod.DELETE, RequestMethod.GET, RequestMethod.HEAD, RequestMethod.OPTIONS, RequestMethod.PATCH, RequestMethod.POST, RequestMethod.PUT})
+@CrossOrigin(methods = {RequestMethod.DELETE, RequestMethod.GET, RequestMethod.HEAD, RequestMethod.OPTIONS, RequestMethod.PATCH, RequestMethod.POST, RequestMethod.PUT},
+		exposedHeaders = {HttpHeaders.ETAG, HttpHeaders.CONTENT_DISPOSITION, HttpHeaders.LOCATION, HttpHeaders.RETRY_AFTER})
 public class InscricaoResource {
+
+	private static final int TAMANHO_BUFFER_GZIP = 64 * 1024;
+	private static final String HEADER_IDEMPOTENCY_KEY = "Idempotency-Key";
+	/* Espera máxima, em segundos, de uma consulta de pedido que aguarda o resultado */
+	private static final long ESPERA_MAXIMA_PEDIDO = 30;
 	
 	@Autowired
 	private InscricaoController inscricaoController;
@@ -39,17 +64,29 @@ public class InscricaoResource {
 	
 	@Autowired
 	ModelMapper modelMapper;
+
+	@Autowired
+	private ObjectMapper objectMapper;
 	
 	/**
-	 * Cadastra uma inscrição
+	 * Cadastra uma inscrição. Com o header Idempotency-Key, repetir a requisição devolve a mesma inscrição.
+	 * Em eventos em alta demanda, o pedido vai para a fila e a resposta é 202 com o ticket para consultar o resultado
 	 * @param inscricaoRequest InscricaoRequest
-	 * @return ResponseEntity<InscricaoResponse>
+	 * @param chaveIdempotencia String
+	 * @return ResponseEntity com InscricaoResponse ou PedidoInscricaoResponse
 	 */
 	@PostMapping()
 	@ResponseStatus(HttpStatus.CREATED)
-	public ResponseEntity<InscricaoResponse> realizarInscricao(@Valid @RequestBody InscricaoRequest inscricaoRequest) {
-		String email = eventvsSecurity.getPessoaEmail();
-		Inscricao inscricao = inscricaoController.cadastrarInscricao(email, inscricaoRequest);
+	public ResponseEntity<?> realizarInscricao(@Valid @RequestBody InscricaoRequest inscricaoRequest,
+			@RequestHeader(value = HEADER_IDEMPOTENCY_KEY, required = false) String chaveIdempotencia) {
+		IdentidadeConta identidade = eventvsSecurity.getIdentidade();
+		if(inscricaoController.emAltaDemanda(inscricaoRequest.getEvento_id())) {
+			PedidoInscricao pedido = inscricaoController.enfileirarInscricao(identidade, inscricaoRequest);
+			return ResponseEntity.accepted()
+					.location(ServletUriComponentsBuilder.fromCurrentRequest().path(PATH_PEDIDO_INSCRICAO).buildAndExpand(pedido.getTicket()).toUri())
+					.body(toModel(pedido));
+		}
+		Inscricao inscricao = inscricaoController.cadastrarInscricao(identidade, inscricaoRequest, chaveIdempotencia);
 		if(inscricao!= null) {
 			return ResponseEntity.ok(toModel(inscricao));
 		}
@@ -57,42 +94,120 @@ public class InscricaoResource {
 	}
 
 	/**
-     * Lista as Inscrições de um evento
+	 * Consulta o resultado de um pedido de inscrição feito em um evento em alta demanda. Com o parâmetro aguardar,
+	 * a resposta espera até esse número de segundos (no máximo 30) pela conclusão do pedido.
+	 * Responde 202 enquanto o pedido está pendente e 200 depois de confirmado ou recusado. Um pedido feito em outro nó e
+	 * ainda não gravado é respondido na hora, sem aguardar
+	 * @param ticket String
+	 * @param aguardar long - segundos
+	 * @return DeferredResult<ResponseEntity<PedidoInscricaoResponse>>
+	 */
+	@GetMapping(value = PATH_PEDIDO_INSCRICAO)
+	public DeferredResult<ResponseEntity<PedidoInscricaoResponse>> consultarPedido(@PathVariable String ticket,
+			@RequestParam(defaultValue = "0") long aguardar) {
+		IdentidadeConta identidade = eventvsSecurity.getIdentidade();
+		PedidoInscricao pedido = inscricaoController.consultarPedido(ticket, identidade);
+		long espera = Math.min(Math.max(aguardar, 0), ESPERA_MAXIMA_PEDIDO);
+
+		if(!pedido.isPendente() || !pedido.isLocal() || espera == 0) {
+			DeferredResult<ResponseEntity<PedidoInscricaoResponse>> resultado = new DeferredResult<>();
+			resultado.setResult(respostaPedido(pedido));
+			return resultado;
+		}
+		DeferredResult<ResponseEntity<PedidoInscricaoResponse>> resultado =
+				new DeferredResult<>(TimeUnit.SECONDS.toMillis(espera), () -> respostaPedido(pedido));
+		pedido.aoConcluir().thenAccept(concluido -> resultado.setResult(respostaPedido(concluido)));
+		return resultado;
+	}
+
+	/**
+	 * Entra na lista de espera de um evento lotado
+	 * @param inscricaoRequest InscricaoRequest
+	 * @return InscricaoEsperaResponse
+	 */
+	@PostMapping(value = PATH_LISTA_ESPERA)
+	@ResponseStatus(HttpStatus.CREATED)
+	public InscricaoEsperaResponse entrarNaListaDeEspera(@Valid @RequestBody InscricaoRequest inscricaoRequest) {
+		IdentidadeConta identidade = eventvsSecurity.getIdentidade();
+		return inscricaoController.entrarNaListaDeEspera(identidade, inscricaoRequest);
+	}
+
+	/**
+     * Lista as Inscrições de um evento, transmitindo cada inscrição para a resposta
+     * à medida que é lida do banco
      * @param eventoId
-     * @return List<InscricaoResponse>
+     * @param response HttpServletResponse
      * */
-	@GetMapping(value = PATH_VIZUALIZAR_PARTICIPANTES)
+	@RespostaCondicional({Colecao.INSCRICOES, Colecao.EVENTOS})
+	@GetMapping(value = PATH_VIZUALIZAR_PARTICIPANTES, produces = MediaType.APPLICATION_JSON_VALUE)
 	@ResponseStatus(HttpStatus.OK)
-	public ResponseEntity<List<InscricaoResponse>> visualizarParticipantes(@PathVariable Integer eventoId) {
-		String user = eventvsSecurity.getPessoaEmail();
-		List<Inscricao> inscricoes = inscricaoController.visualizarParticipantes(eventoId, user);
-		return ResponseEntity.ok(toCollectionModel(inscricoes));
+	public void visualizarParticipantes(@PathVariable Integer eventoId, HttpServletResponse response) throws IOException {
+		IdentidadeConta identidade = eventvsSecurity.getIdentidade();
+		EscritorListaJson<InscricaoResponse> escritor = novoEscritor(response);
+		inscricaoController.transmitirParticipantes(eventoId, identidade, escritor);
+		escritor.finalizar();
 	}
 	
+	/**
+     * Exporta os participantes de um evento em CSV ou NDJSON, comprimidos com gzip quando o cliente aceita.
+     * As linhas são escritas na resposta à medida que são lidas do banco
+     * @param eventoId
+     * @param format csv ou ndjson
+     * @param acceptEncoding
+     * @param response HttpServletResponse
+     * */
+	@GetMapping(value = PATH_EXPORTAR_PARTICIPANTES)
+	@ResponseStatus(HttpStatus.OK)
+	public void exportarParticipantes(@PathVariable Integer eventoId,
+									  @RequestParam(defaultValue = "csv") String format,
+									  @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+									  HttpServletResponse response) throws IOException {
+		FormatoArquivo formato = FormatoArquivo.de(format);
+		IdentidadeConta identidade = eventvsSecurity.getIdentidade();
+		boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+		EscritorExportacaoParticipantes escritor = new EscritorExportacaoParticipantes(formato, objectMapper, () -> {
+			response.setContentType(formato.getTipoConteudo());
+			response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+					.filename("participantes-" + eventoId + "." + formato.getExtensao()).build().toString());
+			response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+			if (gzip) {
+				response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+				return new GZIPOutputStream(response.getOutputStream(), TAMANHO_BUFFER_GZIP);
+			}
+			return response.getOutputStream();
+		});
+		inscricaoController.exportarParticipantes(eventoId, identidade, escritor);
+		escritor.finalizar();
+	}
+
 	/**
      * Busca uma inscrição
      * @param inscricaoId
      * @return InscricaoResponse
      * */
+	@RespostaCondicional({Colecao.INSCRICOES, Colecao.EVENTOS})
 	@GetMapping(value = PATH_BUSCAR_INSCRICAO_ID)
     @ResponseStatus(HttpStatus.OK)
 	public ResponseEntity<InscricaoResponse> visualizarInscricao(@PathVariable Integer inscricaoId) {
-		String user = eventvsSecurity.getPessoaEmail();
-		Inscricao inscricao = inscricaoController.visualizarInscricao(inscricaoId, user);
+		IdentidadeConta identidade = eventvsSecurity.getIdentidade();
+		Inscricao inscricao = inscricaoController.visualizarInscricao(inscricaoId, identidade);
 		return ResponseEntity.ok(toModel(inscricao));
 	}
 	
 	/**
-     * Lista as inscrições de um usuário
-     * @return List<InscricaoResponse>
+     * Lista as inscrições de um usuário, transmitindo cada inscrição para a resposta
+     * à medida que é lida do banco
+     * @param response HttpServletResponse
      * */
-	@GetMapping()
+	@RespostaCondicional({Colecao.INSCRICOES, Colecao.EVENTOS})
+	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
 	@ResponseStatus(HttpStatus.OK)
-	public List<InscricaoResponse> listarInscricao() {
-		String user = eventvsSecurity.getPessoaEmail();
-		List<Inscricao> inscricoes = inscricaoController.listarInscricoesPeloUsuario(user);
-		
-		return toCollectionModel(inscricoes);
+	public void listarInscricao(HttpServletResponse response) throws IOException {
+		IdentidadeConta identidade = eventvsSecurity.getIdentidade();
+		EscritorListaJson<InscricaoResponse> escritor = novoEscritor(response);
+		inscricaoController.transmitirInscricoesPeloUsuario(identidade, escritor);
+		escritor.finalizar();
 	}
 	
 	/***
@@ -103,8 +218,8 @@ public class InscricaoResource {
 	@PatchMapping(value = PATH_INSCRICAO_ID_CANCELAR)
 	@ResponseStatus(HttpStatus.OK)
 	public ResponseEntity cancelarInscricao(@PathVariable Integer inscricaoId) {
-		String email = eventvsSecurity.getPessoaEmail();
-		inscricaoController.cancelarInscricao(inscricaoId, email);
+		IdentidadeConta identidade = eventvsSecurity.getIdentidade();
+		inscricaoController.cancelarInscricao(inscricaoId, identidade);
 		return ResponseEntity.ok().build();
 	}
 	
@@ -118,14 +233,39 @@ public class InscricaoResource {
 	}
 	
 	/**
-     * Mapeamento de uma lista de Inscricoes em uma lista de InscricaoResponse
-     * @param inscricoes List<{@link Inscricao}>
-     * @return List<InscricaoResponse>
+     * Mapeamento de um PedidoInscricao em PedidoInscricaoResponse
+     * @param pedido {@link PedidoInscricao}
+     * @return PedidoInscricaoResponse
+     * */
+	private PedidoInscricaoResponse toModel(PedidoInscricao pedido) {
+		PedidoInscricaoResponse response = new PedidoInscricaoResponse();
+		response.setTicket(pedido.getTicket());
+		response.setEventoId(pedido.getEventoId());
+		response.setSituacao(pedido.getSituacao());
+		response.setMensagem(pedido.getMensagem());
+		response.setInscricaoId(pedido.getInscricaoId());
+		response.setDataHora(pedido.getDataHora());
+		return response;
+	}
+
+	/**
+     * Resposta da consulta de um pedido: 202 enquanto pendente e 200 depois de concluído
+     * @param pedido {@link PedidoInscricao}
+     * @return ResponseEntity<PedidoInscricaoResponse>
+     * */
+	private ResponseEntity<PedidoInscricaoResponse> respostaPedido(PedidoInscricao pedido) {
+		HttpStatus status = pedido.isPendente() ? HttpStatus.ACCEPTED : HttpStatus.OK;
+		return ResponseEntity.status(status).body(toModel(pedido));
+	}
+	
+	/**
+     * Prepara a resposta para receber uma lista de InscricaoResponse escrita elemento a elemento
+     * @param response HttpServletResponse
+     * @return EscritorListaJson<InscricaoResponse>
      * */
-	private List<InscricaoResponse> toCollectionModel(List<Inscricao> inscricoes){
-		return inscricoes.stream()
-				.map(inscricao -> toModel(inscricao))
-				.collect(Collectors.toList());
+	private EscritorListaJson<InscricaoResponse> novoEscritor(HttpServletResponse response) throws IOException {
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		return new EscritorListaJson<>(objectMapper, InscricaoResponse.class, response.getOutputStream());
 	}
 	
 }
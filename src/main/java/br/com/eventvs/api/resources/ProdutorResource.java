@@ -1,16 +1,21 @@
 package br.com.eventvs.api.resources;
 
+import br.com.eventvs.api.dto.requests.DecisaoCadastrosProdutorRequest;
+import br.com.eventvs.api.dto.responses.DecisaoCadastrosProdutorResponse;
+import br.com.eventvs.api.dto.responses.ProdutorPaginaResponse;
 import br.com.eventvs.api.dto.responses.ProdutorResponse;
 import br.com.eventvs.core.security.EventvsSecurity;
+import br.com.eventvs.domain.conta.IdentidadeConta;
 import br.com.eventvs.domain.controller.GerenciarContaProdutor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 import static br.com.eventvs.api.util.Paths.*;
 
 @RestController
@@ -49,15 +54,33 @@ public class ProdutorResource {
     }
 
     /**
-     * Listar solicitações de contas de produtor
+     * Aceitar e recusar várias solicitações de conta de produtor de uma vez
      *
-     * @param
-     * @return
+     * @param decisaoRequest DecisaoCadastrosProdutorRequest
+     * @return DecisaoCadastrosProdutorResponse
+     * */
+    @PostMapping(value = PATH_PRODUTOR_DECIDIR_CADASTROS)
+    public DecisaoCadastrosProdutorResponse decidirCadastrosProdutores(@RequestBody DecisaoCadastrosProdutorRequest decisaoRequest){
+        IdentidadeConta identidade = eventvsSecurity.getIdentidade();
+        return gerenciarContaProdutor.decidirCadastrosProdutores(identidade, decisaoRequest);
+    }
+
+    /**
+     * Listar solicitações de contas de produtor, paginadas
+     *
+     * @param pagina Integer - opcional, começa em zero
+     * @param tamanho Integer - opcional, entre 1 e 100
+     * @param ordenarPor String - opcional, id, nome ou email
+     * @param direcao String - opcional, asc ou desc
+     * @return ProdutorPaginaResponse
      * */
     @GetMapping(value = PATH_PRODUTOR_LISTAR_SOLICITADOS)
-    public List<ProdutorResponse> listarContasSolicitadas(){
+    public ProdutorPaginaResponse listarContasSolicitadas(@RequestParam(defaultValue = "0") Integer pagina,
+                                                          @RequestParam(defaultValue = "20") Integer tamanho,
+                                                          @RequestParam(defaultValue = "id") String ordenarPor,
+                                                          @RequestParam(defaultValue = "asc") String direcao){
         String email = eventvsSecurity.getPessoaEmail();
-        return gerenciarContaProdutor.listarSolicitacoesContas(email);
+        return gerenciarContaProdutor.listarSolicitacoesContas(email, pagina, tamanho, ordenarPor, direcao);
     }
 
 }
@@ -0,0 +1,85 @@
+package br.com.eventvs.api.util;
+
+import br.com.eventvs.domain.exception.NegocioException;
+import br.com.eventvs.api.dto.responses.EventoResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Cursor opaco da paginação de eventos, posicionado no par (dataHoraInicio, id) do último evento retornado.
+ * Nas buscas por relevância, o cursor leva também a relevância do último evento, de forma que a próxima página
+ * começa pela posição na ordenação, mesmo que o evento tenha deixado de aparecer no resultado.
+ * */
+@Getter
+@AllArgsConstructor
+public class CursorEvento {
+
+    private static final String SEPARADOR = "|";
+
+    public static final CursorEvento PRIMEIRA_PAGINA = new CursorEvento(null, null, null);
+
+    private final Float relevancia;
+    private final LocalDateTime dataHoraInicio;
+    private final Integer id;
+
+    /**
+     * Gera o cursor que aponta para logo após o evento informado.
+     *
+     * @param evento EventoResponse
+     * @return String
+     * */
+    public static String codificar(EventoResponse evento) {
+        return codificar(formatar(evento.getDataHoraInicio(), evento.getId()));
+    }
+
+    /**
+     * Gera o cursor que aponta para logo após um evento do resultado de uma busca por relevância.
+     *
+     * @param relevancia float
+     * @param dataHoraInicio LocalDateTime
+     * @param id Integer
+     * @return String
+     * */
+    public static String codificar(float relevancia, LocalDateTime dataHoraInicio, Integer id) {
+        return codificar(relevancia + SEPARADOR + formatar(dataHoraInicio, id));
+    }
+
+    /**
+     * Lê um cursor recebido do cliente. Um cursor nulo ou vazio representa a primeira página.
+     *
+     * @param cursor String
+     * @return CursorEvento
+     * @throws NegocioException {@link NegocioException}
+     * */
+    public static CursorEvento decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return PRIMEIRA_PAGINA;
+        }
+        try {
+            String[] campos = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(Pattern.quote(SEPARADOR), -1);
+            if (campos.length < 2 || campos.length > 3) {
+                throw new NegocioException("Cursor de paginação inválido.");
+            }
+            Float relevancia = campos.length == 3 ? Float.valueOf(campos[0]) : null;
+            String inicio = campos[campos.length - 2];
+            Integer id = Integer.valueOf(campos[campos.length - 1]);
+            return new CursorEvento(relevancia, inicio.isEmpty() ? null : LocalDateTime.parse(inicio), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new NegocioException("Cursor de paginação inválido.");
+        }
+    }
+
+    private static String formatar(LocalDateTime dataHoraInicio, Integer id) {
+        return (dataHoraInicio == null ? "" : dataHoraInicio.toString()) + SEPARADOR + id;
+    }
+
+    private static String codificar(String valor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+}
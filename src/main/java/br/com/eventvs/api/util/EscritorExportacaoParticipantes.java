@@ -0,0 +1,126 @@
+package br.com.eventvs.api.util;
+
+import br.com.eventvs.api.dto.responses.ParticipanteExportacaoResponse;
+import br.com.eventvs.domain.enums.FormatoArquivo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Consumer;
+
+/**
+ * Escreve a lista de participantes de um evento em CSV ou NDJSON, uma linha por participante.
+ * A saída só é aberta ao receber o primeiro participante (ou ao finalizar), para que uma exceção
+ * lançada antes disso ainda possa ser respondida normalmente pelo tratamento de erros da API.
+ * */
+public class EscritorExportacaoParticipantes implements Consumer<ParticipanteExportacaoResponse> {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final String CABECALHO_CSV = "nome,email,cpf,dataInscricao";
+    /* caracteres que fazem uma planilha interpretar o início da célula como fórmula */
+    private static final String INICIO_FORMULA = "=+-@\t\r";
+
+    /* Abre a saída da exportação, permitindo ajustar os headers da resposta só quando a escrita começa */
+    @FunctionalInterface
+    public interface Saida {
+        OutputStream abrir() throws IOException;
+    }
+
+    private final FormatoArquivo formato;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+    private final Saida saida;
+
+    private Writer texto;
+    private JsonGenerator generator;
+
+    public EscritorExportacaoParticipantes(FormatoArquivo formato, ObjectMapper objectMapper, Saida saida) {
+        this.formato = formato;
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writerFor(ParticipanteExportacaoResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.saida = saida;
+    }
+
+    /**
+     * Escreve a linha de um participante.
+     *
+     * @param participante ParticipanteExportacaoResponse
+     * */
+    @Override
+    public void accept(ParticipanteExportacaoResponse participante) {
+        try {
+            iniciar();
+            if (formato == FormatoArquivo.NDJSON) {
+                writer.writeValue(generator, participante);
+                generator.writeRaw('\n');
+            } else {
+                texto.write(campoCsv(participante.getNome()));
+                texto.write(',');
+                texto.write(campoCsv(participante.getEmail()));
+                texto.write(',');
+                texto.write(campoCsv(participante.getCpf()));
+                texto.write(',');
+                texto.write(campoCsv(formatarData(participante.getDataInscricao())));
+                texto.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Descarrega o que restou no buffer e fecha a saída, terminando a compressão quando houver.
+     * */
+    public void finalizar() throws IOException {
+        iniciar();
+        if (generator != null) {
+            generator.close();
+        }
+        texto.close();
+    }
+
+    private void iniciar() throws IOException {
+        if (texto != null) {
+            return;
+        }
+        texto = new BufferedWriter(new OutputStreamWriter(saida.abrir(), StandardCharsets.UTF_8), TAMANHO_BUFFER);
+        if (formato == FormatoArquivo.NDJSON) {
+            generator = objectMapper.getFactory().createGenerator(texto);
+        } else {
+            texto.write(CABECALHO_CSV);
+            texto.write('\n');
+        }
+    }
+
+    private static String formatarData(LocalDateTime data) {
+        return data == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(data);
+    }
+
+    /**
+     * Escapa um campo conforme a RFC 4180, colocando entre aspas os valores com vírgula, aspas ou quebra de linha.
+     * Os valores que uma planilha interpretaria como fórmula recebem um apóstrofo na frente.
+     * */
+    private static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (!valor.isEmpty() && INICIO_FORMULA.indexOf(valor.charAt(0)) >= 0) {
+            valor = "'" + valor;
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
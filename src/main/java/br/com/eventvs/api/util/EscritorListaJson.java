@@ -0,0 +1,60 @@
+package br.com.eventvs.api.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Escreve uma lista JSON elemento a elemento direto na saída, sem montar a lista em memória.
+ * O início do array só é escrito ao receber o primeiro elemento, assim uma exceção lançada
+ * antes disso ainda pode ser respondida normalmente pelo tratamento de erros da API.
+ * */
+public class EscritorListaJson<T> implements Consumer<T> {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+    private boolean iniciada;
+
+    public EscritorListaJson(ObjectMapper objectMapper, Class<T> tipo, OutputStream saida) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(saida);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.writer = objectMapper.writerFor(tipo).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Escreve um elemento da lista. O buffer do gerador é descarregado na saída conforme enche.
+     *
+     * @param elemento T
+     * */
+    @Override
+    public void accept(T elemento) {
+        try {
+            iniciar();
+            writer.writeValue(generator, elemento);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Fecha o array, escrevendo uma lista vazia caso nenhum elemento tenha sido recebido.
+     * */
+    public void finalizar() throws IOException {
+        iniciar();
+        generator.writeEndArray();
+        generator.close();
+    }
+
+    private void iniciar() throws IOException {
+        if (!iniciada) {
+            generator.writeStartArray();
+            iniciada = true;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package br.com.eventvs.api.util;
+
+import br.com.eventvs.api.dto.requests.EventoImportacaoRequest;
+import br.com.eventvs.api.dto.requests.EventoRequest;
+import br.com.eventvs.domain.enums.FormatoArquivo;
+import br.com.eventvs.domain.enums.StatusEvento;
+import br.com.eventvs.domain.exception.NegocioException;
+import br.com.eventvs.domain.model.Endereco;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Lê os eventos de um arquivo de importação em CSV ou NDJSON, um registro por vez, direto da entrada.
+ * Um registro que não pode ser lido não interrompe a leitura: ele é entregue com o motivo do erro, para entrar
+ * no relatório da importação. O CSV segue a RFC 4180 e precisa de um cabeçalho com os nomes das colunas.
+ * */
+public class LeitorImportacaoEventos implements Iterator<EventoImportacaoRequest> {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final List<String> COLUNAS_OBRIGATORIAS = List.of("nome", "descricao", "dataHoraInicio", "dataHoraFim",
+            "categoriaId", "statusEvento", "logradouro", "numero", "bairro", "cidade", "estado", "cep");
+
+    private final FormatoArquivo formato;
+    private final ObjectReader reader;
+    private final BufferedReader entrada;
+
+    /* nome da coluna em minúsculas -> posição no registro, lido junto com o primeiro registro */
+    private Map<String, Integer> colunas;
+    private EventoImportacaoRequest proximo;
+    private int linha;
+    private boolean terminou;
+
+    public LeitorImportacaoEventos(FormatoArquivo formato, ObjectMapper objectMapper, InputStream entrada) {
+        this.formato = formato;
+        this.reader = objectMapper.readerFor(EventoRequest.class);
+        this.entrada = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+    }
+
+    /**
+     * @throws NegocioException {@link NegocioException} quando faltam colunas obrigatórias no cabeçalho do CSV
+     * */
+    @Override
+    public boolean hasNext() {
+        if (proximo == null && !terminou) {
+            try {
+                proximo = formato == FormatoArquivo.NDJSON ? lerNdjson() : lerCsv();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            terminou = proximo == null;
+        }
+        return proximo != null;
+    }
+
+    @Override
+    public EventoImportacaoRequest next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        EventoImportacaoRequest registro = proximo;
+        proximo = null;
+        return registro;
+    }
+
+    private EventoImportacaoRequest lerNdjson() throws IOException {
+        String texto;
+        do {
+            texto = entrada.readLine();
+            if (texto == null) {
+                return null;
+            }
+        } while (texto.isBlank());
+        linha++;
+        try {
+            return new EventoImportacaoRequest(linha, reader.readValue(texto), null);
+        } catch (JsonProcessingException e) {
+            return new EventoImportacaoRequest(linha, null, "JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private EventoImportacaoRequest lerCsv() throws IOException {
+        if (colunas == null) {
+            lerCabecalho();
+        }
+        List<String> campos;
+        do {
+            campos = lerRegistroCsv();
+            if (campos == null) {
+                return null;
+            }
+        } while (campos.size() == 1 && campos.get(0).isBlank());
+        linha++;
+        try {
+            return new EventoImportacaoRequest(linha, paraEvento(campos), null);
+        } catch (IllegalArgumentException e) {
+            return new EventoImportacaoRequest(linha, null, e.getMessage());
+        }
+    }
+
+    private void lerCabecalho() throws IOException {
+        colunas = new HashMap<>();
+        List<String> cabecalho = lerRegistroCsv();
+        if (cabecalho == null) {
+            return;
+        }
+        for (int i = 0; i < cabecalho.size(); i++) {
+            colunas.put(cabecalho.get(i).replace("﻿", "").trim().toLowerCase(), i);
+        }
+        List<String> ausentes = COLUNAS_OBRIGATORIAS.stream()
+                .filter(coluna -> !colunas.containsKey(coluna.toLowerCase()))
+                .collect(Collectors.toList());
+        if (!ausentes.isEmpty()) {
+            throw new NegocioException("Colunas obrigatórias ausentes no cabeçalho do CSV: " + String.join(", ", ausentes));
+        }
+    }
+
+    /**
+     * Lê um registro CSV, que pode ocupar mais de uma linha quando um campo entre aspas contém quebras de linha.
+     *
+     * @return List<String> com os campos do registro, ou nulo no fim da entrada
+     * */
+    private List<String> lerRegistroCsv() throws IOException {
+        int c = entrada.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        while (true) {
+            if (entreAspas) {
+                if (c == '"') {
+                    c = entrada.read();
+                    if (c != '"') {
+                        entreAspas = false;
+                        continue;
+                    }
+                    campo.append('"');
+                } else if (c == -1) {
+                    entreAspas = false;
+                    continue;
+                } else {
+                    campo.append((char) c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                campos.add(campo.toString());
+                return campos;
+            } else if (c != '\r') {
+                campo.append((char) c);
+            }
+            c = entrada.read();
+        }
+    }
+
+    private EventoRequest paraEvento(List<String> campos) {
+        Endereco endereco = new Endereco();
+        endereco.setLogradouro(valor(campos, "logradouro"));
+        endereco.setNumero(valor(campos, "numero"));
+        endereco.setBairro(valor(campos, "bairro"));
+        endereco.setCidade(valor(campos, "cidade"));
+        endereco.setEstado(valor(campos, "estado"));
+        endereco.setCEP(valor(campos, "cep"));
+
+        EventoRequest evento = new EventoRequest();
+        evento.setNome(valor(campos, "nome"));
+        evento.setDescricao(valor(campos, "descricao"));
+        evento.setDataHoraInicio(dataHora(campos, "dataHoraInicio"));
+        evento.setDataHoraFim(dataHora(campos, "dataHoraFim"));
+        evento.setCategoriaId(inteiro(campos, "categoriaId"));
+        evento.setStatusEvento(status(campos, "statusEvento"));
+        evento.setEndereco(endereco);
+        evento.setCapacidade(inteiro(campos, "capacidade"));
+        evento.setAltaDemanda(Boolean.parseBoolean(valor(campos, "altaDemanda")));
+        return evento;
+    }
+
+    private String valor(List<String> campos, String coluna) {
+        Integer posicao = colunas.get(coluna.toLowerCase());
+        if (posicao == null || posicao >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(posicao).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private LocalDateTime dataHora(List<String> campos, String coluna) {
+        String valor = valor(campos, coluna);
+        try {
+            return valor == null ? null : LocalDateTime.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw invalido(coluna, valor);
+        }
+    }
+
+    private Integer inteiro(List<String> campos, String coluna) {
+        String valor = valor(campos, coluna);
+        try {
+            return valor == null ? null : Integer.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw invalido(coluna, valor);
+        }
+    }
+
+    private StatusEvento status(List<String> campos, String coluna) {
+        String valor = valor(campos, coluna);
+        try {
+            return valor == null ? null : StatusEvento.valueOf(valor.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw invalido(coluna, valor);
+        }
+    }
+
+    private static IllegalArgumentException invalido(String coluna, String valor) {
+        return new IllegalArgumentException("Valor inválido na coluna " + coluna + ": " + valor);
+    }
+}
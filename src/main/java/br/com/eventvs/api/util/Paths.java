@@ -3,6 +3,7 @@ package br.com.eventvs.api.util;
 public class Paths {
 
     public static final String PATH_ADMINISTRADOR = "/administradores";
+    public static final String PATH_ADMINISTRADOR_CACHE = "/cache";
     public static final String PATH_ENDERECO = "/enderecos";
     public static final String PATH_INSCRICAO = "/inscricoes";
     public static final String PATH_PARTICIPANTE = "/participantes";
@@ -16,7 +17,10 @@ public class Paths {
     /* Inscrições */
     public static final String PATH_BUSCAR_INSCRICAO_ID = "/{inscricaoId}";
     public static final String PATH_VIZUALIZAR_PARTICIPANTES = "/eventos/{eventoId}";
+    public static final String PATH_EXPORTAR_PARTICIPANTES = "/eventos/{eventoId}/export";
     public static final String PATH_INSCRICAO_ID_CANCELAR = "/{inscricaoId}/cancelar";
+    public static final String PATH_LISTA_ESPERA = "/espera";
+    public static final String PATH_PEDIDO_INSCRICAO = "/pedidos/{ticket}";
 
     /* Criar contas */
     public static final String PATH_CRIAR_CONTA = "/criar";
@@ -28,6 +32,8 @@ public class Paths {
     public static final String PATH_EVENTO_ID = "/{eventoId}";
     public static final String PATH_EVENTO_ID_CANCELAR = "/{eventoId}/cancelar";
     public static final String PATH_EVENTO_ID_PUBLICAR = "/{eventoId}/publicar";
+    public static final String PATH_EVENTOS_BUSCA = "/busca";
+    public static final String PATH_EVENTOS_IMPORTAR = "/importar";
     public static final String PATH_EVENTOS_PUBLICADOS = "/publicados";
     public static final String PATH_EVENTOS_PUBLICADOS_FILTRO = "/publicados_filtro";
     public static final String PATH_EVENTOS_PUBLICADOS_POR_CATEGORIA = PATH_EVENTOS_PUBLICADOS + "/categoria/{categoriaId}";
@@ -38,11 +44,20 @@ public class Paths {
     public static final String PATH_EVENTOS_PUBLICADOS_POR_NOME = PATH_EVENTOS_PUBLICADOS + "/nome";
     public static final String PATH_EVENTOS_PUBLICADOS_ENTRE_DATAS = PATH_EVENTOS_PUBLICADOS + "/entre-datas";
 
+    /* Paginação por cursor */
+    public static final String PARAM_LIMIT = "limit";
+    public static final String PARAM_CURSOR = "cursor";
+    public static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
+
 
     /* Produtores */
     public static final String PATH_PRODUTOR = "/produtores";
     public static final String PATH_PRODUTOR_ACEITAR_CADASTRO = "/{produtorId}/aceitar";
     public static final String PATH_PRODUTOR_RECUSAR_CADASTRO = "/{produtorId}/recusar";
     public static final String PATH_PRODUTOR_LISTAR_SOLICITADOS = "/solicitados";
+    public static final String PATH_PRODUTOR_DECIDIR_CADASTROS = "/solicitados/decisoes";
+
+    /* Segurança */
+    public static final String PATH_JWKS = "/.well-known/jwks.json";
 
 }
\ No newline at end of file
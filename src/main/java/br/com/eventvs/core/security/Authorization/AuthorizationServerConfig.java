@@ -1,11 +1,16 @@
 package br.com.eventvs.core.security.Authorization;
 
+import br.com.eventvs.core.security.domain.CacheUserDetails;
+import br.com.eventvs.core.security.domain.ChavesAssinatura;
+import br.com.eventvs.core.security.domain.JwtClaimsAccessTokenConverter;
 import br.com.eventvs.core.security.domain.JwtCustomTokenEnhancer;
-import com.nimbusds.jose.KeyLengthException;
+import br.com.eventvs.core.security.domain.JwtRsaAccessTokenConverter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.CachingUserDetailsService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.config.annotation.configurers.ClientDetailsServiceConfigurer;
@@ -16,6 +21,7 @@ import org.springframework.security.oauth2.config.annotation.web.configurers.Aut
 import org.springframework.security.oauth2.provider.token.TokenEnhancerChain;
 import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
@@ -32,6 +38,18 @@ public class AuthorizationServerConfig extends AuthorizationServerConfigurerAdap
     @Autowired
     UserDetailsService userDetailsService;
 
+    @Autowired
+    private CacheUserDetails cacheUserDetails;
+
+    @Autowired
+    private ChavesAssinatura chavesAssinatura;
+
+    @Value("${eventvs.seguranca.jwt.validade-access-token:PT12H}")
+    private Duration validadeAccessToken;
+
+    @Value("${eventvs.seguranca.jwt.validade-refresh-token:P10D}")
+    private Duration validadeRefreshToken;
+
     @Override
     public void configure(ClientDetailsServiceConfigurer clients) throws Exception {
         clients
@@ -40,8 +58,8 @@ public class AuthorizationServerConfig extends AuthorizationServerConfigurerAdap
                         .secret(passwordEncoder.encode("mobile"))
                         .authorizedGrantTypes("password", "refresh_token")
                         .scopes("write", "read")
-                        .accessTokenValiditySeconds(12 * 60 * 60) // 12 horas
-                        .refreshTokenValiditySeconds(10 * 24 * 60 * 60) // 10 dias
+                        .accessTokenValiditySeconds((int) validadeAccessToken.getSeconds())
+                        .refreshTokenValiditySeconds((int) validadeRefreshToken.getSeconds())
                     .and()
                         .withClient("checktoken")
                             .secret(passwordEncoder.encode("check123"));
@@ -60,7 +78,7 @@ public class AuthorizationServerConfig extends AuthorizationServerConfigurerAdap
         enhancerChain.setTokenEnhancers(Arrays.asList(new JwtCustomTokenEnhancer(), jwtAccessTokenConverter()));
         endpoints
                 .authenticationManager(authenticationManager)
-                .userDetailsService(userDetailsService)
+                .userDetailsService(userDetailsServiceRefreshToken())
                 .reuseRefreshTokens(false)
                 .accessTokenConverter(jwtAccessTokenConverter())
                 .tokenEnhancer(enhancerChain)
@@ -68,10 +86,24 @@ public class AuthorizationServerConfig extends AuthorizationServerConfigurerAdap
 
     }
 
+    /**
+     * UserDetailsService usado apenas na renovação de tokens, com cache de curta duração.
+     * O grant password usa o AuthenticationManager, que consulta o banco de dados sem cache.
+     * */
+    private UserDetailsService userDetailsServiceRefreshToken() {
+        CachingUserDetailsService cachingUserDetailsService = new CachingUserDetailsService(userDetailsService);
+        cachingUserDetailsService.setUserCache(cacheUserDetails);
+        return cachingUserDetailsService;
+    }
+
+    /**
+     * Tokens assinados com RS256 pela chave atual do {@link ChavesAssinatura}.
+     * As chaves públicas ficam disponíveis em {@link br.com.eventvs.api.util.Paths#PATH_JWKS}.
+     * */
     @Bean
-    public JwtAccessTokenConverter jwtAccessTokenConverter() throws KeyLengthException {
-        JwtAccessTokenConverter jwtAccessTokenConverter = new JwtAccessTokenConverter();
-        jwtAccessTokenConverter.setSigningKey("eventvs");
+    public JwtAccessTokenConverter jwtAccessTokenConverter() {
+        JwtAccessTokenConverter jwtAccessTokenConverter = new JwtRsaAccessTokenConverter(chavesAssinatura);
+        jwtAccessTokenConverter.setAccessTokenConverter(new JwtClaimsAccessTokenConverter());
         return jwtAccessTokenConverter;
     }
 
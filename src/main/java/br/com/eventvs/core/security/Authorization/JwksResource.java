@@ -0,0 +1,34 @@
+package br.com.eventvs.core.security.Authorization;
+
+import br.com.eventvs.core.security.domain.ChavesAssinatura;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static br.com.eventvs.api.util.Paths.PATH_JWKS;
+
+@RestController
+public class JwksResource {
+
+    private static final Duration VALIDADE_CACHE = Duration.ofMinutes(5);
+
+    @Autowired
+    private ChavesAssinatura chavesAssinatura;
+
+    /**
+     * Publica as chaves públicas usadas na verificação dos tokens.
+     *
+     * @return Map<String, Object> JWK Set
+     * */
+    @GetMapping(value = PATH_JWKS)
+    public ResponseEntity<Map<String, Object>> listarChaves(){
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(VALIDADE_CACHE).cachePublic())
+                .body(chavesAssinatura.jwks());
+    }
+}
@@ -1,13 +1,26 @@
 package br.com.eventvs.core.security;
 
+import br.com.eventvs.domain.conta.IdentidadeConta;
+import br.com.eventvs.domain.controller.GerenciarContaController;
+import br.com.eventvs.domain.enums.Situacao;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.provider.authentication.OAuth2AuthenticationDetails;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+
+import static br.com.eventvs.core.security.domain.JwtCustomTokenEnhancer.*;
+
 @Component
 public class EventvsSecurity {
 
+    private static final String ROLE_PRODUTOR = "PRODUTOR";
+
+    @Autowired
+    private GerenciarContaController gerenciarContaController;
+
     public Authentication getAuthentication(){
         return SecurityContextHolder.getContext().getAuthentication();
     }
@@ -16,4 +29,41 @@ public class EventvsSecurity {
         return (String) getAuthentication().getPrincipal();
     }
 
+    /**
+     * Retorna a identidade do usuário logado a partir das claims do token, cuja assinatura já foi verificada.
+     * Tokens emitidos antes das claims de papel existirem são resolvidos pelo cache de identidades.
+     *
+     * @return IdentidadeConta
+     * */
+    public IdentidadeConta getIdentidade(){
+        Map<String, ?> claims = getClaims();
+        if (claims == null || claims.get(CLAIM_PESSOA_ID) == null) {
+            return gerenciarContaController.identificar(getPessoaEmail());
+        }
+
+        Integer produtorId = inteiro(claims.get(CLAIM_PRODUTOR_ID));
+        Integer participanteId = inteiro(claims.get(CLAIM_PARTICIPANTE_ID));
+        Integer administradorId = inteiro(claims.get(CLAIM_ADMINISTRADOR_ID));
+        if (produtorId == null && participanteId == null && administradorId == null) {
+            return gerenciarContaController.identificar(getPessoaEmail());
+        }
+
+        // só produtores aceitos recebem token
+        Situacao situacaoProdutor = ROLE_PRODUTOR.equals(claims.get(CLAIM_ROLE)) ? Situacao.ACEITO : null;
+        return new IdentidadeConta(inteiro(claims.get(CLAIM_PESSOA_ID)), getPessoaEmail(), produtorId,
+                situacaoProdutor, participanteId, administradorId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, ?> getClaims(){
+        Object details = getAuthentication().getDetails();
+        if (details instanceof OAuth2AuthenticationDetails) {
+            details = ((OAuth2AuthenticationDetails) details).getDecodedDetails();
+        }
+        return details instanceof Map ? (Map<String, ?>) details : null;
+    }
+
+    private Integer inteiro(Object valor){
+        return valor instanceof Number ? ((Number) valor).intValue() : null;
+    }
 }
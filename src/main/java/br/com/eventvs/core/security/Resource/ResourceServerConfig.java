@@ -1,10 +1,17 @@
 package br.com.eventvs.core.security.Resource;
 
+import br.com.eventvs.core.security.domain.JwtClaimsAccessTokenConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.oauth2.config.annotation.web.configuration.EnableResourceServer;
 import org.springframework.security.oauth2.config.annotation.web.configuration.ResourceServerConfigurerAdapter;
+import org.springframework.security.oauth2.config.annotation.web.configurers.ResourceServerSecurityConfigurer;
+import org.springframework.security.oauth2.provider.token.store.jwk.JwkTokenStore;
+import org.springframework.util.StringUtils;
+
+import static br.com.eventvs.api.util.Paths.PATH_JWKS;
 
 @Configuration
 @EnableResourceServer
@@ -13,11 +20,26 @@ public class ResourceServerConfig extends ResourceServerConfigurerAdapter {
     private static final String ROOT_PATTERN = "/**";
     private static final String CRIAR_CONTA_PATTERN = "/criar/**";
 
+    /**
+     * JWKS do servidor de autorização. Quando informado, os tokens são verificados localmente
+     * com as chaves públicas baixadas desse endereço, que só é consultado novamente ao encontrar um kid desconhecido.
+     * */
+    @Value("${eventvs.seguranca.jwks-uri:}")
+    private String jwksUri;
+
+    @Override
+    public void configure(ResourceServerSecurityConfigurer resources) throws Exception {
+        if (StringUtils.hasText(jwksUri)) {
+            resources.tokenStore(new JwkTokenStore(jwksUri, new JwtClaimsAccessTokenConverter()));
+        }
+    }
+
     @Override
     public void configure(HttpSecurity http) throws Exception {
         http
             .authorizeRequests()
                 .antMatchers(HttpMethod.POST, CRIAR_CONTA_PATTERN).permitAll()
+                .antMatchers(HttpMethod.GET, PATH_JWKS).permitAll()
             .and()
             .authorizeRequests()
                 .antMatchers(HttpMethod.GET, ROOT_PATTERN).access("#oauth2.hasScope('read')")
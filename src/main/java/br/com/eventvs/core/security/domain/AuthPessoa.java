@@ -1,5 +1,6 @@
 package br.com.eventvs.core.security.domain;
 
+import br.com.eventvs.domain.conta.CredenciaisConta;
 import br.com.eventvs.domain.model.Pessoa;
 import lombok.Getter;
 import lombok.Setter;
@@ -21,10 +22,29 @@ public class AuthPessoa extends User {
     @Setter
     private String role;
 
+    @Getter
+    @Setter
+    private Integer produtorId;
+
+    @Getter
+    @Setter
+    private Integer participanteId;
+
+    @Getter
+    @Setter
+    private Integer administradorId;
+
     public AuthPessoa(Pessoa pessoa, String role){
         super(pessoa.getEmail(), pessoa.getSenha(), Collections.emptyList());
         this.id = pessoa.getId();
         this.nome = pessoa.getNome();
         this.role = role;
     }
+
+    public AuthPessoa(CredenciaisConta credenciais, String role){
+        super(credenciais.getEmail(), credenciais.getSenha(), Collections.emptyList());
+        this.id = credenciais.getPessoaId();
+        this.nome = credenciais.getNome();
+        this.role = role;
+    }
 }
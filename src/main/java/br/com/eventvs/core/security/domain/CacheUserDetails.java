@@ -0,0 +1,42 @@
+package br.com.eventvs.core.security.domain;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache de curta duração dos usuários carregados na renovação de tokens (grant refresh_token).
+ *
+ * A renovação não confere a senha, então o usuário pode ser reaproveitado por alguns segundos.
+ * O grant password continua consultando o banco de dados a cada login.
+ * */
+@Component
+public class CacheUserDetails implements UserCache {
+
+    private static final int MAXIMO_USUARIOS = 10_000;
+    private static final Duration EXPIRACAO = Duration.ofSeconds(60);
+
+    private final Cache<String, UserDetails> usuarios = Caffeine.newBuilder()
+            .maximumSize(MAXIMO_USUARIOS)
+            .expireAfterWrite(EXPIRACAO)
+            .build();
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return usuarios.getIfPresent(username);
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        usuarios.put(user.getUsername(), user);
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        usuarios.invalidate(username);
+    }
+}
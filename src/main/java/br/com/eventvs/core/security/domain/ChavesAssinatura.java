@@ -0,0 +1,301 @@
+package br.com.eventvs.core.security.domain;
+
+import br.com.eventvs.domain.model.ChaveAssinaturaToken;
+import br.com.eventvs.domain.repository.ChaveAssinaturaTokenRepository;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.SecureRandom;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Conjunto rotativo de chaves RSA usadas para assinar os tokens (RS256).
+ *
+ * As chaves ficam no banco ({@link ChaveAssinaturaToken}), compartilhadas por todos os nós: a chave mais recente
+ * assina os novos tokens e as anteriores continuam disponíveis para verificação até que o último refresh token
+ * assinado por elas expire. Cada nó relê o conjunto periodicamente, e também ao receber um token com kid
+ * desconhecido, para enxergar as rotações feitas pelos outros. As chaves públicas são publicadas no endpoint JWKS.
+ * */
+@Component
+public class ChavesAssinatura {
+
+    private static final int TAMANHO_CHAVE = 2048;
+    private static final int TAMANHO_IV = 12;
+    private static final int TAMANHO_TAG = 128;
+    private static final int ITERACOES_SEGREDO = 65_536;
+    private static final byte[] SAL_SEGREDO = "eventvs.chaves-assinatura".getBytes(StandardCharsets.UTF_8);
+
+    /* Intervalo mínimo entre duas releituras do banco provocadas por tokens com kid desconhecido */
+    private static final Duration INTERVALO_RELEITURA = Duration.ofSeconds(10);
+
+    @Autowired
+    private ChaveAssinaturaTokenRepository chaveAssinaturaTokenRepository;
+
+    /* Cifra as chaves privadas gravadas no banco; deve ser o mesmo em todos os nós */
+    @Value("${eventvs.seguranca.jwt.segredo-chaves}")
+    private String segredo;
+
+    @Value("${eventvs.seguranca.jwt.rotacao-chaves:P1D}")
+    private Duration rotacao;
+
+    /* Maior validade entre os tokens emitidos: uma chave aposentada continua válida por esse tempo */
+    @Value("${eventvs.seguranca.jwt.validade-refresh-token:P10D}")
+    private Duration retencao;
+
+    private final SecureRandom random = new SecureRandom();
+    private SecretKey chaveCifra;
+
+    private volatile List<ChaveAssinatura> chaves = List.of();
+    private volatile Instant lidasEm = Instant.EPOCH;
+
+    @PostConstruct
+    public void iniciar() {
+        if (segredo.isBlank()) {
+            throw new IllegalStateException("Informe o segredo que cifra as chaves de assinatura em eventvs.seguranca.jwt.segredo-chaves.");
+        }
+        chaveCifra = derivarChaveCifra(segredo);
+        atualizar();
+    }
+
+    /**
+     * Método responsável por reler as chaves do banco e gerar uma nova chave quando a atual já
+     * passou do intervalo de rotação.
+     * */
+    @Scheduled(fixedDelayString = "${eventvs.seguranca.jwt.atualizacao-chaves:PT5M}",
+            initialDelayString = "${eventvs.seguranca.jwt.atualizacao-chaves:PT5M}")
+    public synchronized void atualizar() {
+        carregar();
+        if (chaves.isEmpty() || atual().getCriadaEm().plus(rotacao).isBefore(Instant.now())) {
+            rotacionar();
+        }
+    }
+
+    /**
+     * Método responsável por gravar uma nova chave de assinatura e apagar as chaves
+     * que não assinam mais nenhum token válido.
+     * */
+    public synchronized void rotacionar() {
+        KeyPair keyPair = gerarParDeChaves();
+        ChaveAssinaturaToken nova = new ChaveAssinaturaToken();
+        nova.setKid(UUID.randomUUID().toString());
+        nova.setChavePublica(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        nova.setChavePrivada(cifrar(keyPair.getPrivate().getEncoded()));
+        nova.setCriadaEm(Instant.now());
+        chaveAssinaturaTokenRepository.save(nova);
+        carregar();
+
+        Instant limite = Instant.now().minus(retencao);
+        List<String> expiradas = chaves.stream()
+                .filter(chave -> chave.getAposentadaEm() != null && chave.getAposentadaEm().isBefore(limite))
+                .map(ChaveAssinatura::getKid)
+                .collect(Collectors.toList());
+        if (!expiradas.isEmpty()) {
+            chaveAssinaturaTokenRepository.deleteByKidIn(expiradas);
+            carregar();
+        }
+    }
+
+    /**
+     * Método responsável por retornar a chave usada na assinatura de novos tokens.
+     *
+     * @return ChaveAssinatura
+     * */
+    public ChaveAssinatura atual() {
+        return chaves.get(0);
+    }
+
+    /**
+     * Método responsável por buscar a chave pelo identificador (kid) informado no cabeçalho do token,
+     * relendo o banco quando a chave foi gerada por outro nó depois da última leitura.
+     *
+     * @param kid String
+     * @return Optional<ChaveAssinatura>
+     * */
+    public Optional<ChaveAssinatura> buscar(String kid) {
+        Optional<ChaveAssinatura> chave = procurar(kid);
+        if (chave.isPresent()) {
+            return chave;
+        }
+        synchronized (this) {
+            if (procurar(kid).isEmpty() && lidasEm.plus(INTERVALO_RELEITURA).isBefore(Instant.now())) {
+                carregar();
+            }
+        }
+        return procurar(kid);
+    }
+
+    /**
+     * Método responsável por retornar as chaves públicas no formato JWK Set.
+     *
+     * @return Map<String, Object>
+     * */
+    public Map<String, Object> jwks() {
+        List<JWK> publicas = chaves.stream()
+                .map(chave -> new RSAKey.Builder(chave.getChavePublica())
+                        .keyID(chave.getKid())
+                        .keyUse(KeyUse.SIGNATURE)
+                        .algorithm(JWSAlgorithm.RS256)
+                        .build())
+                .collect(Collectors.toList());
+        return new JWKSet(publicas).toJSONObject(true);
+    }
+
+    private Optional<ChaveAssinatura> procurar(String kid) {
+        return chaves.stream().filter(chave -> chave.getKid().equals(kid)).findFirst();
+    }
+
+    /**
+     * Lê as chaves do banco, da mais recente para a mais antiga. Só a chave atual tem a chave privada decifrada,
+     * e as chaves já lidas são reaproveitadas.
+     * */
+    private void carregar() {
+        Map<String, ChaveAssinatura> lidas = chaves.stream()
+                .collect(Collectors.toMap(ChaveAssinatura::getKid, Function.identity()));
+        List<ChaveAssinatura> novasChaves = new ArrayList<>();
+        Instant aposentadaEm = null;
+        for (ChaveAssinaturaToken gravada : chaveAssinaturaTokenRepository.findAllByOrderByCriadaEmDescKidDesc()) {
+            ChaveAssinatura chave = lidas.get(gravada.getKid());
+            if (chave == null || (aposentadaEm == null && chave.getSigner() == null)) {
+                chave = new ChaveAssinatura(gravada.getKid(), chavePublica(gravada.getChavePublica()),
+                        aposentadaEm == null ? chavePrivada(gravada.getChavePrivada()) : null, gravada.getCriadaEm(), null);
+            }
+            novasChaves.add(aposentadaEm == null ? chave : chave.aposentar(aposentadaEm));
+            aposentadaEm = gravada.getCriadaEm();
+        }
+        chaves = List.copyOf(novasChaves);
+        lidasEm = Instant.now();
+    }
+
+    private static KeyPair gerarParDeChaves() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(TAMANHO_CHAVE);
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static RSAPublicKey chavePublica(String x509) {
+        try {
+            return (RSAPublicKey) KeyFactory.getInstance("RSA")
+                    .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(x509)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Chave pública de assinatura inválida", e);
+        }
+    }
+
+    private PrivateKey chavePrivada(String cifrada) {
+        try {
+            return KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(decifrar(cifrada)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Chave privada de assinatura inválida", e);
+        }
+    }
+
+    private static SecretKey derivarChaveCifra(String segredo) {
+        try {
+            byte[] chave = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256")
+                    .generateSecret(new PBEKeySpec(segredo.toCharArray(), SAL_SEGREDO, ITERACOES_SEGREDO, 256))
+                    .getEncoded();
+            return new SecretKeySpec(chave, "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String cifrar(byte[] conteudo) {
+        try {
+            byte[] iv = new byte[TAMANHO_IV];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, chaveCifra, new GCMParameterSpec(TAMANHO_TAG, iv));
+            byte[] cifrado = cipher.doFinal(conteudo);
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + cifrado.length).put(iv).put(cifrado).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @throws IllegalStateException quando o segredo não é o mesmo que cifrou a chave
+     * */
+    private byte[] decifrar(String cifrada) {
+        try {
+            byte[] conteudo = Base64.getDecoder().decode(cifrada);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, chaveCifra, new GCMParameterSpec(TAMANHO_TAG, conteudo, 0, TAMANHO_IV));
+            return cipher.doFinal(conteudo, TAMANHO_IV, conteudo.length - TAMANHO_IV);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Não foi possível decifrar a chave de assinatura. Confira eventvs.seguranca.jwt.segredo-chaves.", e);
+        }
+    }
+
+    @Getter
+    public static class ChaveAssinatura {
+
+        private final String kid;
+        private final RSAPublicKey chavePublica;
+        private final JWSSigner signer;
+        private final JWSVerifier verifier;
+        private final Instant criadaEm;
+        private final Instant aposentadaEm;
+
+        private ChaveAssinatura(String kid, RSAPublicKey chavePublica, PrivateKey chavePrivada, Instant criadaEm, Instant aposentadaEm) {
+            this(kid, chavePublica, chavePrivada == null ? null : new RSASSASigner(chavePrivada),
+                    new RSASSAVerifier(chavePublica), criadaEm, aposentadaEm);
+        }
+
+        private ChaveAssinatura(String kid, RSAPublicKey chavePublica, JWSSigner signer, JWSVerifier verifier,
+                                Instant criadaEm, Instant aposentadaEm) {
+            this.kid = kid;
+            this.chavePublica = chavePublica;
+            this.signer = signer;
+            this.verifier = verifier;
+            this.criadaEm = criadaEm;
+            this.aposentadaEm = aposentadaEm;
+        }
+
+        private ChaveAssinatura aposentar(Instant aposentadaEm) {
+            return new ChaveAssinatura(kid, chavePublica, null, verifier, criadaEm, aposentadaEm);
+        }
+    }
+}
@@ -1,61 +1,46 @@
 package br.com.eventvs.core.security.domain;
 
+import br.com.eventvs.domain.conta.CredenciaisConta;
 import br.com.eventvs.domain.enums.Situacao;
 import br.com.eventvs.domain.exception.NegocioException;
-import br.com.eventvs.domain.model.Administrador;
-import br.com.eventvs.domain.model.Participante;
-import br.com.eventvs.domain.model.Pessoa;
-import br.com.eventvs.domain.model.Produtor;
-import br.com.eventvs.domain.repository.AdministradorRepository;
-import br.com.eventvs.domain.repository.ParticipanteRepository;
 import br.com.eventvs.domain.repository.PessoaRepository;
-import br.com.eventvs.domain.repository.ProdutorRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-
 @Service
 public class JpaUserDetailService implements UserDetailsService {
 
     @Autowired
     private PessoaRepository pessoaRepository;
 
-    @Autowired
-    ProdutorRepository produtorRepository;
-
-    @Autowired
-    ParticipanteRepository participanteRepository;
-
-    @Autowired
-    AdministradorRepository administradorRepository;
-
+    /**
+     * Carrega a pessoa e os seus papéis em uma única consulta.
+     * Participante tem precedência sobre administrador, e produtores só se autenticam após aprovados.
+     * */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException, NegocioException {
-        Pessoa pessoa = pessoaRepository.findByEmail(email).orElseThrow(() -> {
+        CredenciaisConta credenciais = pessoaRepository.findCredenciaisByEmail(email).orElseThrow(() -> {
             throw new UsernameNotFoundException("E-mail ou senha incorreto.");});
 
-        String role = "";
-
-        Participante participante = participanteRepository.findByPessoa(pessoa);
-        if (participante != null){
-            role = "PARTICIPANTE";
-            return new AuthPessoa(pessoa, role);
+        if (credenciais.getParticipanteId() != null){
+            AuthPessoa authPessoa = new AuthPessoa(credenciais, "PARTICIPANTE");
+            authPessoa.setParticipanteId(credenciais.getParticipanteId());
+            return authPessoa;
         }
 
-        Administrador administrador = administradorRepository.findByPessoa(pessoa);
-        if (administrador != null){
-            role = "ADMINISTRADOR";
-            return new AuthPessoa(pessoa, role);
+        if (credenciais.getAdministradorId() != null){
+            AuthPessoa authPessoa = new AuthPessoa(credenciais, "ADMINISTRADOR");
+            authPessoa.setAdministradorId(credenciais.getAdministradorId());
+            return authPessoa;
         }
 
-        Optional<Produtor> produtor = produtorRepository.findByPessoaAndSituacao(pessoa, Situacao.ACEITO);
-        if (produtor.isPresent()) {
-            role = "PRODUTOR";
-            return new AuthPessoa(pessoa, role);
+        if (credenciais.getProdutorId() != null && Situacao.ACEITO.equals(credenciais.getSituacaoProdutor())) {
+            AuthPessoa authPessoa = new AuthPessoa(credenciais, "PRODUTOR");
+            authPessoa.setProdutorId(credenciais.getProdutorId());
+            return authPessoa;
         }else{
             throw new NegocioException("Sua conta ainda não foi aprovada por um administrador");
         }
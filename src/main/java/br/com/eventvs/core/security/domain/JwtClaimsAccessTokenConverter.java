@@ -0,0 +1,20 @@
+package br.com.eventvs.core.security.domain;
+
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.DefaultAccessTokenConverter;
+
+import java.util.Map;
+
+/**
+ * Mantém as claims do token, já com a assinatura verificada, como detalhes da autenticação,
+ * para que o {@link br.com.eventvs.core.security.EventvsSecurity} identifique o usuário sem consultar o banco de dados.
+ * */
+public class JwtClaimsAccessTokenConverter extends DefaultAccessTokenConverter {
+
+    @Override
+    public OAuth2Authentication extractAuthentication(Map<String, ?> claims) {
+        OAuth2Authentication authentication = super.extractAuthentication(claims);
+        authentication.setDetails(claims);
+        return authentication;
+    }
+}
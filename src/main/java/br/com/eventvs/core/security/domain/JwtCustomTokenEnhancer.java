@@ -10,6 +10,13 @@ import java.util.HashMap;
 
 public class JwtCustomTokenEnhancer implements TokenEnhancer {
 
+    public static final String CLAIM_NOME = "nome";
+    public static final String CLAIM_PESSOA_ID = "pessoa_id";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_PRODUTOR_ID = "produtor_id";
+    public static final String CLAIM_PARTICIPANTE_ID = "participante_id";
+    public static final String CLAIM_ADMINISTRADOR_ID = "administrador_id";
+
     @Override
     public OAuth2AccessToken enhance(OAuth2AccessToken accessToken, OAuth2Authentication oAuth2Authentication) {
         if(oAuth2Authentication.getPrincipal() instanceof AuthPessoa) {
@@ -17,9 +24,12 @@ public class JwtCustomTokenEnhancer implements TokenEnhancer {
             var authPessoa = (AuthPessoa) oAuth2Authentication.getPrincipal();
 
             var info = new HashMap<String, Object>();
-            info.put("nome", authPessoa.getNome());
-            info.put("pessoa_id", authPessoa.getId());
-            info.put("role", authPessoa.getRole());
+            info.put(CLAIM_NOME, authPessoa.getNome());
+            info.put(CLAIM_PESSOA_ID, authPessoa.getId());
+            info.put(CLAIM_ROLE, authPessoa.getRole());
+            info.put(CLAIM_PRODUTOR_ID, authPessoa.getProdutorId());
+            info.put(CLAIM_PARTICIPANTE_ID, authPessoa.getParticipanteId());
+            info.put(CLAIM_ADMINISTRADOR_ID, authPessoa.getAdministradorId());
 
             var oAuth2AccessToken = (DefaultOAuth2AccessToken) accessToken;
             oAuth2AccessToken.setAdditionalInformation(info);
@@ -0,0 +1,76 @@
+package br.com.eventvs.core.security.domain;
+
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.Payload;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.common.util.JsonParser;
+import org.springframework.security.oauth2.common.util.JsonParserFactory;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+
+import java.util.Map;
+
+/**
+ * Assina os tokens com a chave RSA atual, informando o kid no cabeçalho,
+ * e verifica localmente com a chave correspondente do {@link ChavesAssinatura}.
+ * */
+public class JwtRsaAccessTokenConverter extends JwtAccessTokenConverter {
+
+    private static final String EXP = "exp";
+
+    private final ChavesAssinatura chavesAssinatura;
+    private final JsonParser jsonParser = JsonParserFactory.create();
+
+    public JwtRsaAccessTokenConverter(ChavesAssinatura chavesAssinatura) {
+        this.chavesAssinatura = chavesAssinatura;
+    }
+
+    @Override
+    protected String encode(OAuth2AccessToken accessToken, OAuth2Authentication authentication) {
+        String content;
+        try {
+            content = jsonParser.formatMap(getAccessTokenConverter().convertAccessToken(accessToken, authentication));
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot convert access token to JSON", e);
+        }
+        ChavesAssinatura.ChaveAssinatura chave = chavesAssinatura.atual();
+        JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.RS256)
+                .keyID(chave.getKid())
+                .type(JOSEObjectType.JWT)
+                .build();
+        try {
+            JWSObject jws = new JWSObject(header, new Payload(content));
+            jws.sign(chave.getSigner());
+            return jws.serialize();
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot sign access token", e);
+        }
+    }
+
+    @Override
+    protected Map<String, Object> decode(String token) {
+        try {
+            JWSObject jws = JWSObject.parse(token);
+            if (!JWSAlgorithm.RS256.equals(jws.getHeader().getAlgorithm())) {
+                throw new InvalidTokenException("Algoritmo de assinatura não suportado");
+            }
+            ChavesAssinatura.ChaveAssinatura chave = chavesAssinatura.buscar(jws.getHeader().getKeyID())
+                    .orElseThrow(() -> new InvalidTokenException("Chave de assinatura desconhecida"));
+            if (!jws.verify(chave.getVerifier())) {
+                throw new InvalidTokenException("Assinatura do token inválida");
+            }
+            Map<String, Object> claims = jsonParser.parseMap(jws.getPayload().toString());
+            if (claims.get(EXP) instanceof Integer) {
+                claims.put(EXP, ((Integer) claims.get(EXP)).longValue());
+            }
+            getJwtClaimsSetVerifier().verify(claims);
+            return claims;
+        } catch (Exception e) {
+            throw new InvalidTokenException("Cannot convert access token to JSON", e);
+        }
+    }
+}
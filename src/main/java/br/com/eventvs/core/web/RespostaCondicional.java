@@ -0,0 +1,34 @@
+package br.com.eventvs.core.web;
+
+import br.com.eventvs.domain.enums.Colecao;
+import br.com.eventvs.domain.versao.CopiaLocal;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca uma consulta GET cuja resposta depende apenas das coleções informadas, das cópias locais de onde ela é lida,
+ * do usuário logado e dos parâmetros da URL. O {@link RespostaCondicionalInterceptor} responde 304 sem executar a
+ * consulta quando nada mudou.
+ * */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RespostaCondicional {
+
+    /**
+     * Coleções lidas do banco de dados pela consulta, na versão atual.
+     * */
+    Colecao[] value() default {};
+
+    /**
+     * Cópias locais lidas pela consulta, na versão que cada uma reflete.
+     * */
+    Class<? extends CopiaLocal>[] copias() default {};
+
+    /**
+     * Indica se a resposta varia conforme o usuário logado.
+     * */
+    boolean porUsuario() default true;
+}
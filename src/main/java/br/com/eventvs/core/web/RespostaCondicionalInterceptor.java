@@ -0,0 +1,90 @@
+package br.com.eventvs.core.web;
+
+import br.com.eventvs.domain.versao.CopiaLocal;
+import br.com.eventvs.domain.versao.VersaoCopia;
+import br.com.eventvs.domain.versao.VersoesColecoes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Trata os headers If-None-Match e If-Modified-Since das consultas anotadas com {@link RespostaCondicional},
+ * respondendo 304 antes de chegar ao resource: basta ler as versões das coleções, sem executar a consulta nem serializar o JSON.
+ *
+ * As coleções lidas do banco entram na ETag pela versão atual; as cópias locais, pela versão que cada uma reflete,
+ * para que a ETag só mude quando o corpo servido pelo nó mudar. O Last-Modified só é enviado quando descreve o
+ * corpo: a versão atual das coleções, ou a das cópias quando nenhuma tem alterações locais além da versão lida.
+ * */
+@Component
+public class RespostaCondicionalInterceptor implements HandlerInterceptor {
+
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    @Autowired
+    private VersoesColecoes versoesColecoes;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)
+                || !(HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod()))) {
+            return true;
+        }
+        RespostaCondicional respostaCondicional = ((HandlerMethod) handler).getMethodAnnotation(RespostaCondicional.class);
+        if (respostaCondicional == null) {
+            return true;
+        }
+
+        List<String> versoes = new ArrayList<>();
+        long ultimaAlteracao = -1;
+        if (respostaCondicional.value().length > 0) {
+            VersoesColecoes.Versoes lidas = versoesColecoes.ler(respostaCondicional.value());
+            versoes.add(lidas.versao());
+            ultimaAlteracao = lidas.ultimaAlteracao();
+        }
+        boolean copiasParciais = false;
+        long copiasAlteradasEm = 0;
+        for (Class<? extends CopiaLocal> copia : respostaCondicional.copias()) {
+            VersaoCopia versaoCopia = applicationContext.getBean(copia).versaoCopia();
+            versoes.add(versaoCopia.getRotulo());
+            copiasParciais |= versaoCopia.isParcial();
+            copiasAlteradasEm = Math.max(copiasAlteradasEm, versaoCopia.getAlteradaEm());
+        }
+        if (respostaCondicional.copias().length > 0) {
+            // a data das cópias e a das coleções avançam separadamente: juntas não descrevem o corpo
+            ultimaAlteracao = copiasParciais || respostaCondicional.value().length > 0 ? -1 : copiasAlteradasEm;
+        }
+        String etag = etag(String.join(".", versoes), representacao(request, respostaCondicional.porUsuario()));
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+        return !new ServletWebRequest(request, response).checkNotModified(etag, ultimaAlteracao);
+    }
+
+    private String etag(String versao, String representacao) {
+        String hash = DigestUtils.md5DigestAsHex(representacao.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+        return "\"" + versao + "-" + hash + "\"";
+    }
+
+    private String representacao(HttpServletRequest request, boolean porUsuario) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String usuario = porUsuario && authentication != null ? authentication.getName() : "";
+        return usuario + " " + request.getRequestURI() + "?" + request.getQueryString();
+    }
+}
@@ -0,0 +1,290 @@
+package br.com.eventvs.domain.busca;
+
+import br.com.eventvs.api.dto.responses.EventoResponse;
+import br.com.eventvs.domain.enums.Colecao;
+import br.com.eventvs.domain.enums.StatusEvento;
+import br.com.eventvs.domain.repository.EventoRepository;
+import br.com.eventvs.domain.versao.CopiaLocal;
+import br.com.eventvs.domain.versao.LeitorAlteracoes;
+import br.com.eventvs.domain.versao.VersaoCopia;
+import br.com.eventvs.domain.versao.VersoesColecoes;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Catálogo em memória dos eventos publicados ({@link StatusEvento} publicado), ordenados por (dataHoraInicio, id)
+ * e indexados por categoria e por produtor.
+ *
+ * Cada versão do catálogo é imutável e substituída por inteiro (copy-on-write), de forma que as leituras não
+ * precisam de bloqueio. As alterações feitas neste nó são aplicadas após o commit de quem publicou o
+ * {@link EventoAlterado}, relendo os eventos afetados no banco de dados. As alterações feitas por outros nós são
+ * lidas do registro de alterações dos eventos ({@link LeitorAlteracoes}), e também apenas os eventos alterados
+ * são relidos. As categorias só são criadas, nunca alteradas, e por isso não mudam os eventos já publicados.
+ * As instâncias de {@link EventoResponse} são compartilhadas entre as leituras e não devem ser alteradas.
+ *
+ * As respostas lidas do catálogo usam a versão dos eventos que ele reflete ({@link CopiaLocal}), que fica atrás da
+ * versão do banco até a próxima sincronização.
+ * */
+@Slf4j
+@Component
+public class CatalogoEventosPublicados implements CopiaLocal {
+
+    /* Acima desta quantidade de eventos alterados por outros nós, reconstruir o catálogo custa menos que relê-los */
+    private static final int LIMITE_RELEITURA = 1000;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private VersoesColecoes versoesColecoes;
+
+    private volatile Versao versao = new Versao(new ArrayList<>());
+
+    private LeitorAlteracoes alteracoes;
+
+    @PostConstruct
+    public void iniciar() {
+        alteracoes = versoesColecoes.leitor(Colecao.EVENTOS);
+    }
+
+    /**
+     * Reconstrói o catálogo a partir do banco de dados ao iniciar a aplicação.
+     * */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reconstruir() {
+        // antes dos eventos: uma alteração confirmada durante a leitura é entregue na próxima sincronização
+        alteracoes.reiniciar();
+        versao = new Versao(eventoRepository.findAllPublicados(StatusEvento.PUBLICADO));
+        alteracoes.leituraAplicada();
+        log.info("Catálogo de eventos publicados reconstruído com {} eventos.", versao.eventos.size());
+    }
+
+    /**
+     * Relê os eventos alterados por outros nós desde a última sincronização. Enquanto nenhum nó altera os eventos,
+     * apenas a versão da coleção é consultada; as alterações deste nó já foram aplicadas e não são relidas.
+     * */
+    @Scheduled(fixedDelayString = "${eventvs.eventos.catalogo.sincronizacao:PT10S}",
+            initialDelayString = "${eventvs.eventos.catalogo.sincronizacao:PT10S}")
+    public synchronized void sincronizar() {
+        Set<Integer> alterados = alteracoes.ler();
+        if (alterados.size() > LIMITE_RELEITURA) {
+            reconstruir();
+        } else {
+            aplicar(new ArrayList<>(alterados));
+            alteracoes.leituraAplicada();
+        }
+    }
+
+    /**
+     * Atualiza os eventos alterados no catálogo depois que a transação que os alterou for confirmada.
+     * Um lote de eventos é relido em uma única consulta e aplicado de uma vez.
+     *
+     * @param eventoAlterado EventoAlterado
+     * */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public synchronized void atualizar(EventoAlterado eventoAlterado) {
+        aplicar(eventoAlterado.getEventoIds());
+        alteracoes.alteracaoLocalAplicada();
+    }
+
+    @Override
+    public VersaoCopia versaoCopia() {
+        return alteracoes.versaoCopia();
+    }
+
+    private void aplicar(List<Integer> eventoIds) {
+        if (eventoIds.size() == 1) {
+            Integer eventoId = eventoIds.get(0);
+            versao = versao.substituir(eventoId,
+                    eventoRepository.findPublicadoById(eventoId, StatusEvento.PUBLICADO).orElse(null));
+        } else if (!eventoIds.isEmpty()) {
+            versao = versao.substituir(eventoIds, eventoRepository.findAllPublicadosByIdIn(eventoIds, StatusEvento.PUBLICADO));
+        }
+    }
+
+    /**
+     * Retorna um evento publicado pelo seu identificador.
+     *
+     * @param eventoId Integer
+     * @return Optional<EventoResponse>
+     * */
+    public Optional<EventoResponse> buscar(Integer eventoId) {
+        return Optional.ofNullable(versao.porId.get(eventoId)).map(EventoPublicado::getResponse);
+    }
+
+    /**
+     * Lista os eventos publicados a partir do cursor, na ordem (dataHoraInicio, id).
+     * Os filtros nulos são ignorados, com exceção do intervalo de datas, que precisa de início e fim.
+     *
+     * @param produtorId Integer - quando informado, restringe aos eventos do produtor
+     * @param categoriaId Integer - quando informado, restringe aos eventos da categoria
+     * @param dataInicio LocalDateTime
+     * @param dataFim LocalDateTime
+     * @param excluidos Set - ids de eventos que não devem ser retornados
+     * @param cursorInicio LocalDateTime - dataHoraInicio do último evento da página anterior
+     * @param cursorId Integer - id do último evento da página anterior, nulo na primeira página
+     * @param quantidade int - quantidade máxima de eventos retornados
+     * @return List of EventoResponse
+     * */
+    public List<EventoResponse> listar(Integer produtorId, Integer categoriaId, LocalDateTime dataInicio, LocalDateTime dataFim,
+                                       Set<Integer> excluidos, LocalDateTime cursorInicio, Integer cursorId, int quantidade) {
+        Versao atual = versao;
+        List<EventoPublicado> candidatos = produtorId != null
+                ? atual.porProdutor.getOrDefault(produtorId, List.of())
+                : categoriaId != null ? atual.porCategoria.getOrDefault(categoriaId, List.of()) : atual.eventos;
+
+        boolean entreDatas = dataInicio != null || dataFim != null;
+        if (entreDatas && (dataInicio == null || dataFim == null)) {
+            return new ArrayList<>();
+        }
+
+        int inicio = 0;
+        if (cursorId != null) {
+            inicio = primeiroApos(candidatos, cursorInicio, cursorId);
+        }
+        if (entreDatas) {
+            inicio = Math.max(inicio, primeiroApos(candidatos, dataInicio, null));
+        }
+
+        List<EventoResponse> resultado = new ArrayList<>();
+        for (int i = inicio; i < candidatos.size() && resultado.size() < quantidade; i++) {
+            EventoPublicado evento = candidatos.get(i);
+            if (entreDatas && evento.getDataHoraInicio().isAfter(dataFim)) {
+                break;
+            }
+            if ((categoriaId == null || categoriaId.equals(evento.getCategoriaId()))
+                    && (excluidos == null || !excluidos.contains(evento.getId()))) {
+                resultado.add(evento.getResponse());
+            }
+        }
+        return resultado;
+    }
+
+    /* posição do primeiro evento depois de (dataHoraInicio, id); um id nulo inclui os eventos que iniciam na data */
+    private static int primeiroApos(List<EventoPublicado> eventos, LocalDateTime dataHoraInicio, Integer id) {
+        int inicio = 0;
+        int fim = eventos.size();
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            EventoPublicado evento = eventos.get(meio);
+            int comparacao = Versao.ORDEM_DATA.compare(evento.getDataHoraInicio(), dataHoraInicio);
+            if (comparacao < 0 || (comparacao == 0 && id != null && evento.getId() <= id)) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+
+    /**
+     * Versão imutável do catálogo.
+     * */
+    private static class Versao {
+
+        private static final Comparator<LocalDateTime> ORDEM_DATA = Comparator.nullsFirst(Comparator.naturalOrder());
+        private static final Comparator<EventoPublicado> ORDEM = Comparator
+                .comparing(EventoPublicado::getDataHoraInicio, ORDEM_DATA)
+                .thenComparing(EventoPublicado::getId);
+
+        private final List<EventoPublicado> eventos;
+        private final Map<Integer, EventoPublicado> porId;
+        private final Map<Integer, List<EventoPublicado>> porCategoria;
+        private final Map<Integer, List<EventoPublicado>> porProdutor;
+
+        private Versao(List<EventoPublicado> eventos) {
+            this.eventos = eventos.stream().sorted(ORDEM).collect(Collectors.toUnmodifiableList());
+            this.porId = this.eventos.stream().collect(Collectors.toUnmodifiableMap(EventoPublicado::getId, Function.identity()));
+            this.porCategoria = agrupar(this.eventos, EventoPublicado::getCategoriaId);
+            this.porProdutor = agrupar(this.eventos, EventoPublicado::getProdutorId);
+        }
+
+        private Versao(List<EventoPublicado> eventos, Map<Integer, EventoPublicado> porId,
+                       Map<Integer, List<EventoPublicado>> porCategoria, Map<Integer, List<EventoPublicado>> porProdutor) {
+            this.eventos = eventos;
+            this.porId = porId;
+            this.porCategoria = porCategoria;
+            this.porProdutor = porProdutor;
+        }
+
+        /* nova versão com o evento substituído; um evento nulo retira o anterior do catálogo */
+        private Versao substituir(Integer eventoId, EventoPublicado novo) {
+            EventoPublicado anterior = porId.get(eventoId);
+            if (anterior == null && novo == null) {
+                return this;
+            }
+
+            Map<Integer, EventoPublicado> novoPorId = new HashMap<>(porId);
+            novoPorId.remove(eventoId);
+            if (novo != null) {
+                novoPorId.put(eventoId, novo);
+            }
+            return new Versao(substituir(eventos, anterior, novo), Collections.unmodifiableMap(novoPorId),
+                    substituir(porCategoria, EventoPublicado::getCategoriaId, anterior, novo),
+                    substituir(porProdutor, EventoPublicado::getProdutorId, anterior, novo));
+        }
+
+        /* nova versão com os eventos substituídos de uma vez; os ids sem evento novo saem do catálogo */
+        private Versao substituir(Collection<Integer> eventoIds, List<EventoPublicado> novos) {
+            if (eventoIds.isEmpty()) {
+                return this;
+            }
+            Set<Integer> substituidos = new HashSet<>(eventoIds);
+            List<EventoPublicado> copia = eventos.stream()
+                    .filter(evento -> !substituidos.contains(evento.getId()))
+                    .collect(Collectors.toCollection(ArrayList::new));
+            copia.addAll(novos);
+            return new Versao(copia);
+        }
+
+        private static Map<Integer, List<EventoPublicado>> substituir(Map<Integer, List<EventoPublicado>> indice,
+                                                                      Function<EventoPublicado, Integer> chave,
+                                                                      EventoPublicado anterior, EventoPublicado novo) {
+            Map<Integer, List<EventoPublicado>> novoIndice = new HashMap<>(indice);
+            Integer chaveAnterior = anterior == null ? null : chave.apply(anterior);
+            Integer chaveNova = novo == null ? null : chave.apply(novo);
+            if (chaveAnterior != null) {
+                novoIndice.put(chaveAnterior, substituir(novoIndice.get(chaveAnterior), anterior, null));
+            }
+            if (chaveNova != null) {
+                novoIndice.put(chaveNova, substituir(novoIndice.getOrDefault(chaveNova, List.of()), null, novo));
+            }
+            novoIndice.values().removeIf(List::isEmpty);
+            return Collections.unmodifiableMap(novoIndice);
+        }
+
+        private static List<EventoPublicado> substituir(List<EventoPublicado> eventos, EventoPublicado anterior, EventoPublicado novo) {
+            List<EventoPublicado> copia = new ArrayList<>(eventos);
+            if (anterior != null) {
+                copia.remove(Collections.binarySearch(copia, anterior, ORDEM));
+            }
+            if (novo != null) {
+                int posicao = Collections.binarySearch(copia, novo, ORDEM);
+                copia.add(posicao < 0 ? -posicao - 1 : posicao, novo);
+            }
+            return Collections.unmodifiableList(copia);
+        }
+
+        private static Map<Integer, List<EventoPublicado>> agrupar(List<EventoPublicado> eventos, Function<EventoPublicado, Integer> chave) {
+            return eventos.stream()
+                    .filter(evento -> chave.apply(evento) != null)
+                    .collect(Collectors.collectingAndThen(
+                            Collectors.groupingBy(chave, Collectors.toUnmodifiableList()),
+                            Collections::unmodifiableMap));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.eventvs.domain.busca;
+
+import br.com.eventvs.domain.enums.StatusEvento;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Campos de um {@link Evento} mantidos pelo {@link IndiceEventos}.
+ * */
+@Getter
+@AllArgsConstructor
+public class DocumentoEvento {
+
+    private final Integer id;
+    private final String nome;
+    private final String descricao;
+    private final StatusEvento statusEvento;
+    private final Integer produtorId;
+    private final LocalDateTime dataHoraInicio;
+}
@@ -0,0 +1,24 @@
+package br.com.eventvs.domain.busca;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Evento de aplicação publicado quando a situação ou os dados de um ou mais {@link br.com.eventvs.domain.model.Evento}
+ * mudam. As alterações feitas em lote são publicadas juntas, para que os interessados releiam todos os eventos em
+ * uma única consulta.
+ * */
+@Getter
+public class EventoAlterado {
+
+    private final List<Integer> eventoIds;
+
+    public EventoAlterado(Integer eventoId) {
+        this(List.of(eventoId));
+    }
+
+    public EventoAlterado(List<Integer> eventoIds) {
+        this.eventoIds = List.copyOf(eventoIds);
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.eventvs.domain.busca;
+
+import br.com.eventvs.api.dto.responses.EventoResponse;
+import br.com.eventvs.domain.enums.StatusEvento;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado mantido pelo {@link CatalogoEventosPublicados}, com os ids usados nos índices.
+ * */
+@Getter
+public class EventoPublicado {
+
+    private final EventoResponse response;
+    private final Integer produtorId;
+    private final Integer categoriaId;
+
+    /**
+     * Construtor utilizado na consulta de projeção do EventoRepository.
+     * */
+    public EventoPublicado(Integer id, String nome, String descricao, LocalDateTime dataHoraInicio,
+                           LocalDateTime dataHoraFim, StatusEvento statusEvento,
+                           Integer categoriaId, String categoriaNome, String categoriaDescricao,
+                           Integer enderecoId, String logradouro, String numero, String bairro,
+                           String cidade, String estado, String cep, String produtor, Integer produtorId) {
+        this.response = new EventoResponse(id, nome, descricao, dataHoraInicio, dataHoraFim, statusEvento,
+                categoriaId, categoriaNome, categoriaDescricao,
+                enderecoId, logradouro, numero, bairro, cidade, estado, cep, produtor);
+        this.produtorId = produtorId;
+        this.categoriaId = categoriaId;
+    }
+
+    public Integer getId() {
+        return response.getId();
+    }
+
+    public LocalDateTime getDataHoraInicio() {
+        return response.getDataHoraInicio();
+    }
+}
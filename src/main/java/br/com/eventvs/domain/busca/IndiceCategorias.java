@@ -0,0 +1,221 @@
+package br.com.eventvs.domain.busca;
+
+import br.com.eventvs.domain.enums.Colecao;
+import br.com.eventvs.domain.model.Categoria;
+import br.com.eventvs.domain.repository.CategoriaRepository;
+import br.com.eventvs.domain.versao.CopiaLocal;
+import br.com.eventvs.domain.versao.LeitorAlteracoes;
+import br.com.eventvs.domain.versao.VersaoCopia;
+import br.com.eventvs.domain.versao.VersoesColecoes;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Índice de trigramas em memória para buscas por trecho do nome ou da descrição das categorias.
+ *
+ * A comparação ignora acentos e maiúsculas, como a collation padrão do MySQL faz no LIKE.
+ * O índice é imutável: cada alteração gera uma nova versão, de forma que as leituras não precisam de bloqueio.
+ * As categorias cadastradas por outros nós são lidas do registro de alterações ({@link LeitorAlteracoes}), e as
+ * respostas lidas do índice usam a versão das categorias que ele reflete ({@link CopiaLocal}).
+ * */
+@Slf4j
+@Component
+public class IndiceCategorias implements CopiaLocal {
+
+    private static final int TAMANHO_GRAMA = 3;
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private VersoesColecoes versoesColecoes;
+
+    private volatile Versao versao = new Versao(new ArrayList<>());
+
+    private LeitorAlteracoes alteracoes;
+
+    @PostConstruct
+    public void iniciar() {
+        alteracoes = versoesColecoes.leitor(Colecao.CATEGORIAS);
+    }
+
+    /**
+     * Reconstrói o índice a partir do banco de dados ao iniciar a aplicação.
+     * */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reconstruir() {
+        // antes das categorias: uma alteração confirmada durante a leitura é entregue na próxima sincronização
+        alteracoes.reiniciar();
+        versao = new Versao(categoriaRepository.findAll());
+        alteracoes.leituraAplicada();
+        log.info("Índice de categorias reconstruído com {} categorias.", versao.categorias.size());
+    }
+
+    /**
+     * Relê as categorias alteradas por outros nós desde a última sincronização.
+     * */
+    @Scheduled(fixedDelayString = "${eventvs.categorias.indice.sincronizacao:PT10S}",
+            initialDelayString = "${eventvs.categorias.indice.sincronizacao:PT10S}")
+    public synchronized void sincronizar() {
+        Set<Integer> alteradas = alteracoes.ler();
+        if (!alteradas.isEmpty()) {
+            substituir(alteradas, categoriaRepository.findAllById(alteradas));
+        }
+        alteracoes.leituraAplicada();
+    }
+
+    /**
+     * Inclui ou atualiza uma categoria no índice.
+     *
+     * @param categoria Categoria
+     * */
+    public synchronized void indexar(Categoria categoria) {
+        substituir(Set.of(categoria.getId()), List.of(categoria));
+        alteracoes.alteracaoLocalAplicada();
+    }
+
+    @Override
+    public VersaoCopia versaoCopia() {
+        return alteracoes.versaoCopia();
+    }
+
+    /**
+     * Retorna todas as categorias, ordenadas pelo identificador.
+     *
+     * @return List of Categoria
+     * */
+    public List<Categoria> listar() {
+        return versao.categorias;
+    }
+
+    /* nova versão com as categorias substituídas; os ids sem categoria nova saem do índice */
+    void substituir(Set<Integer> ids, List<Categoria> novas) {
+        List<Categoria> categorias = versao.categorias.stream()
+                .filter(existente -> !ids.contains(existente.getId()))
+                .collect(Collectors.toCollection(ArrayList::new));
+        categorias.addAll(novas);
+        versao = new Versao(categorias);
+    }
+
+    /**
+     * Retorna as categorias cujo nome contém o trecho informado.
+     *
+     * @param trecho String
+     * @return List of Categoria
+     * */
+    public List<Categoria> buscarPorNome(String trecho) {
+        Versao atual = versao;
+        return atual.buscar(atual.nomes, trecho, Categoria::getNome);
+    }
+
+    /**
+     * Retorna as categorias cuja descrição contém o trecho informado.
+     *
+     * @param trecho String
+     * @return List of Categoria
+     * */
+    public List<Categoria> buscarPorDescricao(String trecho) {
+        Versao atual = versao;
+        return atual.buscar(atual.descricoes, trecho, Categoria::getDescricao);
+    }
+
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        return ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> trigramas(String normalizado) {
+        Set<String> gramas = new HashSet<>();
+        for (int i = 0; i + TAMANHO_GRAMA <= normalizado.length(); i++) {
+            gramas.add(normalizado.substring(i, i + TAMANHO_GRAMA));
+        }
+        return gramas;
+    }
+
+    /**
+     * Versão imutável do índice.
+     * */
+    private static class Versao {
+
+        private final List<Categoria> categorias;
+        private final Map<Integer, Categoria> porId;
+        private final Map<String, int[]> nomes;
+        private final Map<String, int[]> descricoes;
+
+        private Versao(List<Categoria> categorias) {
+            this.categorias = categorias.stream()
+                    .sorted(Comparator.comparing(Categoria::getId))
+                    .collect(Collectors.toUnmodifiableList());
+            this.porId = this.categorias.stream().collect(Collectors.toMap(Categoria::getId, Function.identity()));
+            this.nomes = indexarCampo(Categoria::getNome);
+            this.descricoes = indexarCampo(Categoria::getDescricao);
+        }
+
+        /* trigrama -> ids ordenados das categorias que o contêm no campo */
+        private Map<String, int[]> indexarCampo(Function<Categoria, String> campo) {
+            Map<String, List<Integer>> postings = new HashMap<>();
+            categorias.forEach(categoria -> trigramas(normalizar(campo.apply(categoria)))
+                    .forEach(grama -> postings.computeIfAbsent(grama, g -> new ArrayList<>()).add(categoria.getId())));
+            return postings.entrySet().stream().collect(Collectors.toUnmodifiableMap(Map.Entry::getKey,
+                    entrada -> entrada.getValue().stream().mapToInt(Integer::intValue).toArray()));
+        }
+
+        private List<Categoria> buscar(Map<String, int[]> postings, String trecho, Function<Categoria, String> campo) {
+            String termo = normalizar(trecho);
+            if (termo.length() < TAMANHO_GRAMA) {
+                return categorias.stream()
+                        .filter(categoria -> normalizar(campo.apply(categoria)).contains(termo))
+                        .collect(Collectors.toList());
+            }
+
+            int[] candidatos = null;
+            for (String grama : trigramas(termo)) {
+                int[] ids = postings.get(grama);
+                if (ids == null) {
+                    return new ArrayList<>();
+                }
+                candidatos = candidatos == null ? ids : intersecao(candidatos, ids);
+                if (candidatos.length == 0) {
+                    return new ArrayList<>();
+                }
+            }
+
+            // Os trigramas podem estar presentes fora de ordem, por isso o trecho é conferido em cada candidato
+            return Arrays.stream(candidatos)
+                    .mapToObj(porId::get)
+                    .filter(categoria -> normalizar(campo.apply(categoria)).contains(termo))
+                    .collect(Collectors.toList());
+        }
+
+        private static int[] intersecao(int[] a, int[] b) {
+            int[] resultado = new int[Math.min(a.length, b.length)];
+            int i = 0, j = 0, k = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    resultado[k++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(resultado, k);
+        }
+    }
+}
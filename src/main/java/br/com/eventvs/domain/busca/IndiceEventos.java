@@ -0,0 +1,237 @@
+package br.com.eventvs.domain.busca;
+
+import br.com.eventvs.domain.enums.Colecao;
+import br.com.eventvs.domain.enums.StatusEvento;
+import br.com.eventvs.domain.repository.EventoRepository;
+import br.com.eventvs.domain.versao.LeitorAlteracoes;
+import br.com.eventvs.domain.versao.VersoesColecoes;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Índice invertido em memória sobre o nome e a descrição dos eventos.
+ *
+ * Os termos são normalizados sem acentos e em minúsculas, de forma que "palestra" encontra "Palestrá".
+ * Todos os termos da busca precisam estar presentes no evento, sendo o último aceito como prefixo.
+ * O resultado é ordenado por relevância (TF-IDF, com peso maior para o nome).
+ * As alterações feitas neste nó são aplicadas após o commit de quem publicou o {@link EventoAlterado}; as feitas
+ * por outros nós são lidas do registro de alterações dos eventos ({@link LeitorAlteracoes}). Em ambos os casos
+ * apenas os eventos alterados são relidos do banco de dados.
+ * */
+@Slf4j
+@Component
+public class IndiceEventos {
+
+    private static final float PESO_NOME = 3f;
+    private static final float PESO_DESCRICAO = 1f;
+    private static final float PESO_PREFIXO = 0.5f;
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos", "em", "no", "na", "nos", "nas",
+            "um", "uma", "para", "por", "com", "ao", "aos");
+
+    /* Acima desta quantidade de eventos alterados por outros nós, reconstruir o índice custa menos que relê-los */
+    private static final int LIMITE_RELEITURA = 1000;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private VersoesColecoes versoesColecoes;
+
+    private LeitorAlteracoes alteracoes;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /* termo -> (id do evento -> peso do termo no evento) */
+    private final NavigableMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+
+    private final Map<Integer, DocumentoEvento> documentos = new HashMap<>();
+
+    @PostConstruct
+    public void iniciar() {
+        alteracoes = versoesColecoes.leitor(Colecao.EVENTOS);
+    }
+
+    /**
+     * Reconstrói o índice a partir do banco de dados ao iniciar a aplicação.
+     * */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        // antes dos eventos: uma alteração confirmada durante a leitura é entregue na próxima sincronização
+        alteracoes.reiniciar();
+        List<DocumentoEvento> todos = eventoRepository.findAllDocumentos();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentos.clear();
+            todos.forEach(this::adicionar);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Índice de eventos reconstruído com {} eventos e {} termos.", documentos.size(), postings.size());
+    }
+
+    /**
+     * Relê os eventos alterados por outros nós desde a última sincronização.
+     * */
+    @Scheduled(fixedDelayString = "${eventvs.eventos.indice.sincronizacao:PT10S}",
+            initialDelayString = "${eventvs.eventos.indice.sincronizacao:PT10S}")
+    public void sincronizar() {
+        Set<Integer> alterados = alteracoes.ler();
+        if (alterados.size() > LIMITE_RELEITURA) {
+            reconstruir();
+        } else if (!alterados.isEmpty()) {
+            aplicar(alterados);
+        }
+    }
+
+    /**
+     * Atualiza os eventos alterados no índice depois que a transação que os alterou for confirmada, relendo-os
+     * em uma única consulta. Os eventos que não existem mais saem do índice.
+     *
+     * @param eventoAlterado EventoAlterado
+     * */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void atualizar(EventoAlterado eventoAlterado) {
+        aplicar(eventoAlterado.getEventoIds());
+    }
+
+    private void aplicar(Collection<Integer> eventoIds) {
+        substituir(eventoIds, eventoRepository.findAllDocumentosByIdIn(eventoIds));
+    }
+
+    /* substitui os eventos de uma vez; os ids sem documento novo saem do índice */
+    void substituir(Collection<Integer> eventoIds, List<DocumentoEvento> novos) {
+        lock.writeLock().lock();
+        try {
+            eventoIds.forEach(this::retirar);
+            novos.forEach(this::adicionar);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca os eventos que contenham todos os termos do texto, ordenados por relevância.
+     *
+     * @param texto String
+     * @param statusEvento StatusEvento - situação exigida dos eventos
+     * @param produtorId Integer - quando informado, restringe aos eventos do produtor
+     * @return List com os eventos encontrados, do mais para o menos relevante ({@link ResultadoBusca#ORDEM})
+     * */
+    public List<ResultadoBusca> buscar(String texto, StatusEvento statusEvento, Integer produtorId) {
+        List<String> termos = tokenizar(texto);
+        if (termos.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Float> pontuacao = null;
+            for (int i = 0; i < termos.size(); i++) {
+                boolean ultimo = i == termos.size() - 1;
+                Map<Integer, Float> pontuacaoTermo = pontuar(termos.get(i), ultimo, statusEvento, produtorId);
+                if (pontuacao == null) {
+                    pontuacao = pontuacaoTermo;
+                } else {
+                    pontuacao.keySet().retainAll(pontuacaoTermo.keySet());
+                    pontuacao.replaceAll((id, valor) -> valor + pontuacaoTermo.get(id));
+                }
+                if (pontuacao.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+
+            return pontuacao.entrySet().stream()
+                    .map(encontrado -> new ResultadoBusca(encontrado.getKey(), encontrado.getValue(),
+                            documentos.get(encontrado.getKey()).getDataHoraInicio()))
+                    .sorted(ResultadoBusca.ORDEM)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Normaliza um texto em termos indexáveis: sem acentos, em minúsculas e sem stopwords.
+     *
+     * @param texto String
+     * @return List of String
+     * */
+    static List<String> tokenizar(String texto) {
+        if (texto == null) {
+            return new ArrayList<>();
+        }
+        String normalizado = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARADORES.split(normalizado))
+                .filter(termo -> !termo.isEmpty() && !STOPWORDS.contains(termo))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Integer, Float> pontuar(String termo, boolean aceitaPrefixo, StatusEvento statusEvento, Integer produtorId) {
+        Map<Integer, Float> pontuacao = new HashMap<>();
+        Map<String, Map<Integer, Float>> candidatos = aceitaPrefixo
+                ? postings.subMap(termo, true, termo + Character.MAX_VALUE, false)
+                : postings.subMap(termo, true, termo, true);
+
+        candidatos.forEach((candidato, eventos) -> {
+            float peso = candidato.equals(termo) ? 1f : PESO_PREFIXO;
+            double idf = Math.log(1 + (double) documentos.size() / eventos.size());
+            eventos.forEach((id, frequencia) -> {
+                DocumentoEvento documento = documentos.get(id);
+                if (documento.getStatusEvento() == statusEvento
+                        && (produtorId == null || produtorId.equals(documento.getProdutorId()))) {
+                    pontuacao.merge(id, (float) (frequencia * peso * idf), Float::sum);
+                }
+            });
+        });
+        return pontuacao;
+    }
+
+    private void adicionar(DocumentoEvento documento) {
+        Map<String, Float> frequencias = new HashMap<>();
+        tokenizar(documento.getNome()).forEach(termo -> frequencias.merge(termo, PESO_NOME, Float::sum));
+        tokenizar(documento.getDescricao()).forEach(termo -> frequencias.merge(termo, PESO_DESCRICAO, Float::sum));
+
+        frequencias.forEach((termo, frequencia) ->
+                postings.computeIfAbsent(termo, t -> new HashMap<>()).put(documento.getId(), frequencia));
+        documentos.put(documento.getId(), documento);
+    }
+
+    private void retirar(Integer eventoId) {
+        DocumentoEvento documento = documentos.remove(eventoId);
+        if (documento == null) {
+            return;
+        }
+        Set<String> termos = new HashSet<>(tokenizar(documento.getNome()));
+        termos.addAll(tokenizar(documento.getDescricao()));
+        termos.forEach(termo -> {
+            Map<Integer, Float> eventos = postings.get(termo);
+            if (eventos != null) {
+                eventos.remove(eventoId);
+                if (eventos.isEmpty()) {
+                    postings.remove(termo);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.eventvs.domain.busca;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * Evento encontrado pelo {@link IndiceEventos}, com a relevância calculada na busca. A relevância, a data de início
+ * e o id posicionam o evento na ordenação do resultado, e por isso também posicionam o cursor da paginação.
+ * */
+@Getter
+@AllArgsConstructor
+public class ResultadoBusca {
+
+    /* do mais para o menos relevante; empates pela data de início (sem data por último) e pelo id */
+    public static final Comparator<ResultadoBusca> ORDEM = Comparator
+            .comparing(ResultadoBusca::getRelevancia, Comparator.reverseOrder())
+            .thenComparing(ResultadoBusca::getDataHoraInicio, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(ResultadoBusca::getId);
+
+    private final Integer id;
+    private final float relevancia;
+    private final LocalDateTime dataHoraInicio;
+}
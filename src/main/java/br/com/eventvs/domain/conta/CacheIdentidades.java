@@ -0,0 +1,57 @@
+package br.com.eventvs.domain.conta;
+
+import br.com.eventvs.domain.repository.PessoaRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache das identidades dos usuários logados, indexado pelo email.
+ *
+ * Evita as consultas de pessoa, produtor e participante que antecedem cada operação do domínio. O cache é limitado
+ * em quantidade e as entradas expiram após alguns minutos, o que também limita o tempo em que outra instância da
+ * aplicação pode enxergar uma conta desatualizada. Emails sem conta não são guardados.
+ * */
+@Component
+public class CacheIdentidades {
+
+    private static final int MAXIMO_IDENTIDADES = 10_000;
+    private static final Duration EXPIRACAO = Duration.ofMinutes(5);
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    private final Cache<String, IdentidadeConta> identidades = Caffeine.newBuilder()
+            .maximumSize(MAXIMO_IDENTIDADES)
+            .expireAfterWrite(EXPIRACAO)
+            .build();
+
+    /**
+     * Retorna a identidade da conta com o email informado, consultando o banco de dados apenas quando ela não estiver
+     * em cache.
+     *
+     * @param email String
+     * @return Optional<IdentidadeConta> - vazio quando não existe conta com o email
+     * */
+    public Optional<IdentidadeConta> buscar(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(identidades.get(email, chave -> pessoaRepository.findIdentidadeByEmail(chave).orElse(null)));
+    }
+
+    /**
+     * Descarta a identidade em cache de uma conta que foi alterada.
+     *
+     * @param email String
+     * */
+    public void invalidar(String email) {
+        if (email != null) {
+            identidades.invalidate(email);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.eventvs.domain.conta;
+
+import br.com.eventvs.domain.enums.Situacao;
+import br.com.eventvs.domain.model.Pessoa;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Dados de uma {@link Pessoa} necessários para autenticá-la: a senha criptografada e os papéis que ela exerce.
+ * */
+@Getter
+@AllArgsConstructor
+public class CredenciaisConta {
+
+    private final Integer pessoaId;
+    private final String nome;
+    private final String email;
+    private final String senha;
+    private final Integer produtorId;
+    private final Situacao situacaoProdutor;
+    private final Integer participanteId;
+    private final Integer administradorId;
+}
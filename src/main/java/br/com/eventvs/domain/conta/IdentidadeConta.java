@@ -0,0 +1,33 @@
+package br.com.eventvs.domain.conta;
+
+import br.com.eventvs.domain.enums.Situacao;
+import br.com.eventvs.domain.model.Pessoa;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Identificação de uma {@link Pessoa} e dos papéis que ela exerce, resolvida a partir do email do usuário logado.
+ * */
+@Getter
+@AllArgsConstructor
+public class IdentidadeConta {
+
+    private final Integer pessoaId;
+    private final String email;
+    private final Integer produtorId;
+    private final Situacao situacaoProdutor;
+    private final Integer participanteId;
+    private final Integer administradorId;
+
+    public boolean isProdutor() {
+        return produtorId != null;
+    }
+
+    public boolean isParticipante() {
+        return participanteId != null;
+    }
+
+    public boolean isAdministrador() {
+        return administradorId != null;
+    }
+}
@@ -1,7 +1,83 @@
 package br.com.eventvs.domain.controller;
 
+import br.com.eventvs.api.dto.responses.CacheRegiaoResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
 @Service
+@Slf4j
 public class AdministradorController {
+
+    @Autowired
+    private GerenciarContaController gerenciarContaController;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Método responsável por listar as estatísticas de cada região do cache de segundo nível,
+     * usadas para dimensionar os caches configurados em application.conf
+     *
+     * @param emailAdministrador
+     * @return List<CacheRegiaoResponse> - {@link CacheRegiaoResponse}
+     * */
+    public List<CacheRegiaoResponse> listarEstatisticasCache(String emailAdministrador){
+        gerenciarContaController.loginAdministrador(emailAdministrador);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String[] regioes = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regioes);
+
+        List<CacheRegiaoResponse> response = new ArrayList<>();
+        for (String regiao : regioes) {
+            CacheRegionStatistics estatisticas = statistics.getCacheRegionStatistics(regiao);
+            if (estatisticas == null) {
+                continue;
+            }
+            CacheRegiaoResponse cacheRegiaoResponse = new CacheRegiaoResponse();
+            cacheRegiaoResponse.setRegiao(regiao);
+            cacheRegiaoResponse.setAcertos(estatisticas.getHitCount());
+            cacheRegiaoResponse.setFalhas(estatisticas.getMissCount());
+            cacheRegiaoResponse.setInsercoes(estatisticas.getPutCount());
+            cacheRegiaoResponse.setRemocoes(buscarRemocoes(regiao));
+            response.add(cacheRegiaoResponse);
+        }
+        return response;
+    }
+
+    /**
+     * Método responsável por ler a quantidade de remoções por tamanho ou expiração de uma região,
+     * que o Hibernate não contabiliza e o provedor JCache publica via JMX
+     *
+     * @param regiao
+     * @return Long - null quando o provedor não publica estatísticas para a região
+     * */
+    private Long buscarRemocoes(String regiao){
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            Set<ObjectName> nomes = mBeanServer.queryNames(
+                    new ObjectName("javax.cache:type=CacheStatistics,Cache=" + regiao + ",*"), null);
+            if (nomes.isEmpty()) {
+                return null;
+            }
+            return (Long) mBeanServer.getAttribute(nomes.iterator().next(), "CacheEvictions");
+        } catch (JMException e) {
+            log.warn("Não foi possível ler as estatísticas JCache da região {}", regiao, e);
+            return null;
+        }
+    }
 }
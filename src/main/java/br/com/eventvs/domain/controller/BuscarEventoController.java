@@ -1,24 +1,47 @@
 package br.com.eventvs.domain.controller;
 
+import br.com.eventvs.api.dto.requests.EventoBuscaRequest;
 import br.com.eventvs.api.dto.requests.EventoRequest;
+import br.com.eventvs.api.dto.responses.EventoBuscaResponse;
+import br.com.eventvs.api.dto.responses.EventoPaginaResponse;
 import br.com.eventvs.api.dto.responses.EventoResponse;
+import br.com.eventvs.api.util.CursorEvento;
+import br.com.eventvs.domain.busca.CatalogoEventosPublicados;
+import br.com.eventvs.domain.busca.IndiceEventos;
+import br.com.eventvs.domain.busca.ResultadoBusca;
+import br.com.eventvs.domain.conta.IdentidadeConta;
 import br.com.eventvs.domain.enums.StatusEvento;
 import br.com.eventvs.domain.exception.EntidadeNaoEncontradaException;
 import br.com.eventvs.domain.exception.NegocioException;
 import br.com.eventvs.domain.model.*;
 import br.com.eventvs.domain.repository.EventoRepository;
 import br.com.eventvs.domain.repository.InscricaoRepository;
-import br.com.eventvs.domain.repository.ProdutorRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static br.com.eventvs.domain.repository.EventoSpecification.*;
+
 @Service
 public class BuscarEventoController {
 
+    private static final int LIMITE_MAXIMO_PAGINA = 100;
+    private static final int TAMANHO_PADRAO_PAGINA = 20;
+
     @Autowired
     private EventoRepository eventoRepository;
 
@@ -29,58 +52,62 @@ public class BuscarEventoController {
     private GerenciarContaController gerenciarContaController;
 
     @Autowired
-    private ProdutorRepository produtorRepository;
+    private InscricaoRepository inscricaoRepository;
 
     @Autowired
-    private InscricaoRepository inscricaoRepository;
+    private IndiceEventos indiceEventos;
+
+    @Autowired
+    private CatalogoEventosPublicados catalogoEventosPublicados;
 
     /**
-     * Método responsável por retornar todos os eventos Publicados ({@link StatusEvento} publicado).
+     * Método responsável por retornar todos os eventos Publicados ({@link StatusEvento} publicado), inclusive
+     * aqueles em que o participante já está inscrito.
      *
      * @param email String
-     * @return List of EventoResponse
+     * @param limit Integer - quantidade máxima de eventos da página, opcional
+     * @param cursor String - cursor retornado pela página anterior, opcional
+     * @return EventoPaginaResponse
      *
      * */
-    public List<EventoResponse> listarTodosPublicados(String email){
-        var pessoa = gerenciarContaController.login(email);
+    public EventoPaginaResponse listarTodosPublicados(String email, Integer limit, String cursor){
+        CursorEvento posicao = CursorEvento.decodificar(cursor);
 
-        var produtor = produtorRepository.findByPessoa(pessoa);
+        var identidade = gerenciarContaController.identificar(email);
+
+        var produtor = identidade.isProdutor() ? gerenciarContaController.loginProdutor(email) : null;
 
-        List<Evento> eventos;
         //Fluxo de produtor
         if(produtor != null) {
-            eventos = eventoRepository.findAllByStatusEventoAndProdutor(StatusEvento.PUBLICADO, produtor);
-            return preencherResponse(eventos);
+            return listarPublicados(produtor.getId(), null, null, null, null, posicao, limit);
         }
 
         //Fluxo de participante
-        var participante = gerenciarContaController.loginParticipante(pessoa);
+        var participante = gerenciarContaController.loginParticipante(email);
         if(participante != null){
-            eventos = eventoRepository.findAllByStatusEvento(StatusEvento.PUBLICADO);
-            eventos = eventos.stream().filter(evento -> !inscricaoRepository.findByEventoAndParticipanteAndIsCancelada(evento, participante, false).isPresent()).collect(Collectors.toList());
-            return preencherResponse(eventos);
+            return listarPublicados(null, null, null, null, null, posicao, limit);
         }
 
-        return new ArrayList<>();
+        return new EventoPaginaResponse(new ArrayList<>(), null);
     }
     /**
      * Método responsável por retornar todos os eventos Publicados ({@link StatusEvento} publicado) menos os que
      * o participante já está inscrito.
      *
      * @param email String
-     * @return List of EventoResponse
+     * @param limit Integer - quantidade máxima de eventos da página, opcional
+     * @param cursor String - cursor retornado pela página anterior, opcional
+     * @return EventoPaginaResponse
      *
      * */
-    public List<EventoResponse> listarTodosPublicadosFiltro(String email){
-        Pessoa pessoa = gerenciarContaController.login(email);
-
-        Participante participante = gerenciarContaController.loginParticipante(pessoa);
+    public EventoPaginaResponse listarTodosPublicadosFiltro(String email, Integer limit, String cursor){
+        CursorEvento posicao = CursorEvento.decodificar(cursor);
 
-        List<Evento> eventos = eventoRepository.findAllByStatusEvento(StatusEvento.PUBLICADO);
+        Participante participante = gerenciarContaController.loginParticipante(email);
 
-        eventos = eventos.stream().filter(evento -> !inscricaoRepository.findByEventoAndParticipanteAndIsCancelada(evento, participante, false).isPresent()).collect(Collectors.toList());
+        Set<Integer> inscritos = inscricaoRepository.findEventoIdsComInscricaoAtiva(participante);
 
-        return preencherResponse(eventos);
+        return listarPublicados(null, null, null, null, inscritos, posicao, limit);
     }
 
     /**
@@ -90,32 +117,32 @@ public class BuscarEventoController {
      * @throws NegocioException {@link NegocioException}
      * @param email String
      * @param categoriaId
-     * @return List of EventoResponse
+     * @param limit Integer - quantidade máxima de eventos da página, opcional
+     * @param cursor String - cursor retornado pela página anterior, opcional
+     * @return EventoPaginaResponse
      *
      * */
-    public List<EventoResponse> listarTodosPublicadosPorCategoria(String email, Integer categoriaId){
-        var pessoa = gerenciarContaController.login(email);
+    public EventoPaginaResponse listarTodosPublicadosPorCategoria(String email, Integer categoriaId, Integer limit, String cursor){
+        CursorEvento posicao = CursorEvento.decodificar(cursor);
 
-        var produtor = produtorRepository.findByPessoa(pessoa);
+        var identidade = gerenciarContaController.identificar(email);
+
+        var produtor = identidade.isProdutor() ? gerenciarContaController.loginProdutor(email) : null;
 
         Categoria categoria = gerenciarCategoriaController.buscarCategoria(categoriaId);
 
-        List<Evento> eventos;
         //Fluxo de produtor
         if(produtor != null) {
-            eventos = eventoRepository.findAllByStatusEventoAndCategoriaAndProdutor(StatusEvento.PUBLICADO, categoria, produtor);
-            return preencherResponse(eventos);
+            return listarPublicados(produtor.getId(), categoria.getId(), null, null, null, posicao, limit);
         }
 
         //Fluxo de participante
-        var participante = gerenciarContaController.loginParticipante(pessoa);
+        var participante = gerenciarContaController.loginParticipante(email);
         if(participante != null){
-            eventos = eventoRepository.findAllByStatusEventoAndCategoria(StatusEvento.PUBLICADO, categoria);
-            eventos = eventos.stream().filter(evento -> !inscricaoRepository.findByEventoAndParticipanteAndIsCancelada(evento, participante, false).isPresent()).collect(Collectors.toList());
-            return preencherResponse(eventos);
+            return listarPublicados(null, categoria.getId(), null, null, null, posicao, limit);
         }
 
-        return new ArrayList<>();
+        return new EventoPaginaResponse(new ArrayList<>(), null);
     }
 
 
@@ -126,17 +153,26 @@ public class BuscarEventoController {
      * @throws EntidadeNaoEncontradaException {@link EntidadeNaoEncontradaException}
      * @throws NegocioException {@link NegocioException}
      * @param email String
-     * @return List of EventoResponse
+     * @param limit Integer - quantidade máxima de eventos da página, opcional
+     * @param cursor String - cursor retornado pela página anterior, opcional
+     * @return EventoPaginaResponse
      *
      * */
-    public List<EventoResponse> listarTodosNaoPublicados(String email){
-        Pessoa pessoa = gerenciarContaController.login(email);
-
-        Produtor produtor = gerenciarContaController.loginProdutor(pessoa);
-
-        List<Evento> eventos = eventoRepository.findAllByStatusEventoAndProdutor(StatusEvento.CRIADO, produtor);
+    public EventoPaginaResponse listarTodosNaoPublicados(String email, Integer limit, String cursor){
+        CursorEvento posicao = CursorEvento.decodificar(cursor);
+
+        Produtor produtor = gerenciarContaController.loginProdutor(email);
+
+        List<EventoResponse> eventos;
+        if (posicao.getId() == null) {
+            eventos = eventoRepository.findAllByStatusEventoAndProdutor(StatusEvento.CRIADO, produtor, paginar(limit));
+        } else if (posicao.getDataHoraInicio() == null) {
+            eventos = eventoRepository.findAllByStatusEventoAndProdutorAposCursorSemInicio(StatusEvento.CRIADO, produtor, posicao.getId(), paginar(limit));
+        } else {
+            eventos = eventoRepository.findAllByStatusEventoAndProdutorAposCursor(StatusEvento.CRIADO, produtor, posicao.getDataHoraInicio(), posicao.getId(), paginar(limit));
+        }
 
-        return preencherResponse(eventos);
+        return preencherPagina(eventos, limit);
     }
 
     /**
@@ -147,71 +183,88 @@ public class BuscarEventoController {
      * @throws NegocioException {@link NegocioException}
      * @param email String
      * @param categoriaId
-     * @return List of EventoResponse
+     * @param limit Integer - quantidade máxima de eventos da página, opcional
+     * @param cursor String - cursor retornado pela página anterior, opcional
+     * @return EventoPaginaResponse
      *
      * */
-    public List<EventoResponse> listarTodosNaoPublicadosPorCategoria(String email, Integer categoriaId){
-        Pessoa pessoa = gerenciarContaController.login(email);
+    public EventoPaginaResponse listarTodosNaoPublicadosPorCategoria(String email, Integer categoriaId, Integer limit, String cursor){
+        CursorEvento posicao = CursorEvento.decodificar(cursor);
 
-        Produtor produtor = gerenciarContaController.loginProdutor(pessoa);
+        Produtor produtor = gerenciarContaController.loginProdutor(email);
 
         Categoria categoria = gerenciarCategoriaController.buscarCategoria(categoriaId);
 
-        List<Evento> eventos = eventoRepository.findAllByStatusEventoAndCategoriaAndProdutor(StatusEvento.CRIADO, categoria, produtor);
+        List<EventoResponse> eventos;
+        if (posicao.getId() == null) {
+            eventos = eventoRepository.findAllByStatusEventoAndCategoriaAndProdutor(StatusEvento.CRIADO, categoria, produtor, paginar(limit));
+        } else if (posicao.getDataHoraInicio() == null) {
+            eventos = eventoRepository.findAllByStatusEventoAndCategoriaAndProdutorAposCursorSemInicio(StatusEvento.CRIADO, categoria, produtor, posicao.getId(), paginar(limit));
+        } else {
+            eventos = eventoRepository.findAllByStatusEventoAndCategoriaAndProdutorAposCursor(StatusEvento.CRIADO, categoria, produtor, posicao.getDataHoraInicio(), posicao.getId(), paginar(limit));
+        }
 
-        return preencherResponse(eventos);
+        return preencherPagina(eventos, limit);
     }
 
     /**
      * Método responsável por retornar todos os eventos Não Publicados ({@link StatusEvento} criado) por nome
-     * de um determinado Produtor.
+     * de um determinado Produtor, ordenados por relevância.
      *
      * @throws EntidadeNaoEncontradaException {@link EntidadeNaoEncontradaException}
      * @throws NegocioException {@link NegocioException}
      * @param email String
      * @param eventoRequest EventoRequest
-     * @return List of EventoResponse
+     * @param limit Integer - quantidade máxima de eventos da página, opcional
+     * @param cursor String - cursor retornado pela página anterior, opcional
+     * @return EventoPaginaResponse
      *
      * */
-    public List<EventoResponse> listarTodosNaoPublicadosPorNome(String email, EventoRequest eventoRequest){
-        Pessoa pessoa = gerenciarContaController.login(email);
+    public EventoPaginaResponse listarTodosNaoPublicadosPorNome(String email, EventoRequest eventoRequest, Integer limit, String cursor){
+        CursorEvento posicao = CursorEvento.decodificar(cursor);
 
-        Produtor produtor = gerenciarContaController.loginProdutor(pessoa);
+        Produtor produtor = gerenciarContaController.loginProdutor(email);
 
-        List<Evento> eventos = eventoRepository.findAllByStatusEventoAndNomeContainsAndProdutor(StatusEvento.CRIADO, eventoRequest.getNome(), produtor);
+        List<ResultadoBusca> encontrados = indiceEventos.buscar(eventoRequest.getNome(), StatusEvento.CRIADO, produtor.getId());
 
-        return preencherResponse(eventos);
+        return preencherPaginaPorRelevancia(encontrados, posicao, limit);
     }
 
     /**
-     * Método responsável por retornar todos os eventos Publicados ({@link StatusEvento} publicado) por nome.
+     * Método responsável por retornar todos os eventos Publicados ({@link StatusEvento} publicado) cujo nome ou
+     * descrição contenham os termos informados, ordenados por relevância.
      *
      * @throws EntidadeNaoEncontradaException {@link EntidadeNaoEncontradaException}
      * @throws NegocioException {@link NegocioException}
      * @param email String
      * @param eventoRequest EventoRequest
-     * @return List of EventoResponse
+     * @param limit Integer - quantidade máxima de eventos da página, opcional
+     * @param cursor String - cursor retornado pela página anterior, opcional
+     * @return EventoPaginaResponse
      *
      * */
-    public List<EventoResponse> listarTodosPublicadosPorNome(String email, EventoRequest eventoRequest){
-        var pessoa = gerenciarContaController.login(email);
+    public EventoPaginaResponse listarTodosPublicadosPorNome(String email, EventoRequest eventoRequest, Integer limit, String cursor){
+        CursorEvento posicao = CursorEvento.decodificar(cursor);
 
-        var produtor = produtorRepository.findByPessoa(pessoa);
+        var identidade = gerenciarContaController.identificar(email);
 
-        List<Evento> eventos;
+        var produtor = identidade.isProdutor() ? gerenciarContaController.loginProdutor(email) : null;
+
+        List<ResultadoBusca> encontrados;
         if (produtor != null){
-            eventos = eventoRepository.findAllByStatusEventoAndNomeContainsAndProdutor(StatusEvento.PUBLICADO, eventoRequest.getNome(), produtor);
-            return preencherResponse(eventos);
+            encontrados = indiceEventos.buscar(eventoRequest.getNome(), StatusEvento.PUBLICADO, produtor.getId());
+            return preencherPaginaPorRelevancia(encontrados, posicao, limit);
         }
 
-        var participante = gerenciarContaController.loginParticipante(pessoa);
+        var participante = gerenciarContaController.loginParticipante(email);
         if(participante != null){
-            eventos = eventoRepository.findAllByStatusEventoAndNomeContains(StatusEvento.PUBLICADO, eventoRequest.getNome());
-            eventos = eventos.stream().filter(evento -> !inscricaoRepository.findByEventoAndParticipanteAndIsCancelada(evento, participante, false).isPresent()).collect(Collectors.toList());
-            return preencherResponse(eventos);
+            encontrados = indiceEventos.buscar(eventoRequest.getNome(), StatusEvento.PUBLICADO, null);
+            Set<Integer> inscritos = inscricaoRepository.findEventoIdsComInscricaoAtiva(participante);
+            encontrados.removeIf(encontrado -> inscritos.contains(encontrado.getId()));
+            return preencherPaginaPorRelevancia(encontrados, posicao, limit);
         }
 
-        return new ArrayList<>();
+        return new EventoPaginaResponse(new ArrayList<>(), null);
     }
 
     /**
@@ -221,28 +274,34 @@ public class BuscarEventoController {
      * @throws NegocioException {@link NegocioException}
      * @param email String
      * @param eventoRequest EventoRequest
-     * @return List of EventoResponse
+     * @param limit Integer - quantidade máxima de eventos da página, opcional
+     * @param cursor String - cursor retornado pela página anterior, opcional
+     * @return EventoPaginaResponse
      *
      * */
-    public List<EventoResponse> listarTodosPublicadosEntreDatas(String email, EventoRequest eventoRequest){
-        var pessoa = gerenciarContaController.login(email);
+    public EventoPaginaResponse listarTodosPublicadosEntreDatas(String email, EventoRequest eventoRequest, Integer limit, String cursor){
+        CursorEvento posicao = CursorEvento.decodificar(cursor);
+
+        var identidade = gerenciarContaController.identificar(email);
 
-        var produtor = produtorRepository.findByPessoa(pessoa);
+        var produtor = identidade.isProdutor() ? gerenciarContaController.loginProdutor(email) : null;
+
+        LocalDateTime dataInicio = eventoRequest.getDataHoraInicio();
+        LocalDateTime dataFim = eventoRequest.getDataHoraFim();
+        if (dataInicio == null || dataFim == null) {
+            return new EventoPaginaResponse(new ArrayList<>(), null);
+        }
 
-        List<Evento> eventos;
         if (produtor != null){
-            eventos = eventoRepository.findAllByStatusEventoAndDataHoraInicioBetweenAndProdutor(StatusEvento.PUBLICADO, eventoRequest.getDataHoraInicio(), eventoRequest.getDataHoraFim(), produtor);
-            return preencherResponse(eventos);
+            return listarPublicados(produtor.getId(), null, dataInicio, dataFim, null, posicao, limit);
         }
 
-        var participante = gerenciarContaController.loginParticipante(pessoa);
+        var participante = gerenciarContaController.loginParticipante(email);
         if(participante != null){
-            eventos = eventoRepository.findAllByStatusEventoAndDataHoraInicioBetween(StatusEvento.PUBLICADO, eventoRequest.getDataHoraInicio(), eventoRequest.getDataHoraFim());
-            eventos = eventos.stream().filter(evento -> !inscricaoRepository.findByEventoAndParticipanteAndIsCancelada(evento, participante, false).isPresent()).collect(Collectors.toList());
-            return preencherResponse(eventos);
+            return listarPublicados(null, null, dataInicio, dataFim, null, posicao, limit);
         }
 
-        return new ArrayList<>();
+        return new EventoPaginaResponse(new ArrayList<>(), null);
     }
 
     /**
@@ -253,20 +312,71 @@ public class BuscarEventoController {
      * @throws NegocioException {@link NegocioException}
      * @param email String
      * @param eventoRequest EventoRequest
-     * @return List of EventoResponse
+     * @param limit Integer - quantidade máxima de eventos da página, opcional
+     * @param cursor String - cursor retornado pela página anterior, opcional
+     * @return EventoPaginaResponse
      *
      * */
-    public List<EventoResponse> listarTodosNaoPublicadosEntreDatas(String email, EventoRequest eventoRequest){
-        Pessoa pessoa = gerenciarContaController.login(email);
+    public EventoPaginaResponse listarTodosNaoPublicadosEntreDatas(String email, EventoRequest eventoRequest, Integer limit, String cursor){
+        CursorEvento posicao = CursorEvento.decodificar(cursor);
 
-        Produtor produtor = gerenciarContaController.loginProdutor(pessoa);
+        Produtor produtor = gerenciarContaController.loginProdutor(email);
 
-        List<Evento> eventos = eventoRepository.findAllByStatusEventoAndDataHoraInicioBetweenAndProdutor(StatusEvento.CRIADO, eventoRequest.getDataHoraInicio(), eventoRequest.getDataHoraFim() ,produtor);
+        List<EventoResponse> eventos = posicao.getId() == null
+                ? eventoRepository.findAllByStatusEventoAndDataHoraInicioBetweenAndProdutor(StatusEvento.CRIADO, eventoRequest.getDataHoraInicio(), eventoRequest.getDataHoraFim(), produtor, paginar(limit))
+                : eventoRepository.findAllByStatusEventoAndDataHoraInicioBetweenAndProdutorAposCursor(StatusEvento.CRIADO, eventoRequest.getDataHoraInicio(), eventoRequest.getDataHoraFim(), produtor, posicao.getDataHoraInicio(), posicao.getId(), paginar(limit));
 
-        return preencherResponse(eventos);
+        return preencherPagina(eventos, limit);
     }
 
 
+    /**
+     * Método responsável por buscar eventos combinando qualquer um dos filtros informados em uma única consulta.
+     * Um produtor busca apenas entre os seus eventos, em qualquer situação. Os demais usuários buscam apenas
+     * entre os eventos publicados ({@link StatusEvento} publicado).
+     *
+     * @throws NegocioException {@link NegocioException}
+     * @param email String
+     * @param eventoBuscaRequest EventoBuscaRequest
+     * @return EventoBuscaResponse
+     * */
+    public EventoBuscaResponse buscarEventos(String email, EventoBuscaRequest eventoBuscaRequest){
+        Integer pagina = eventoBuscaRequest.getPagina() == null ? 0 : eventoBuscaRequest.getPagina();
+        Integer tamanho = eventoBuscaRequest.getTamanho() == null ? TAMANHO_PADRAO_PAGINA : eventoBuscaRequest.getTamanho();
+        if (pagina < 0 || tamanho < 1 || tamanho > LIMITE_MAXIMO_PAGINA) {
+            throw new NegocioException("A página deve ser positiva e o tamanho deve estar entre 1 e " + LIMITE_MAXIMO_PAGINA + ".");
+        }
+
+        IdentidadeConta identidade = gerenciarContaController.identificar(email);
+
+        Produtor produtor = identidade.isProdutor() ? gerenciarContaController.loginProdutor(email) : null;
+
+        StatusEvento statusEvento = eventoBuscaRequest.getStatusEvento();
+        Integer produtorId = eventoBuscaRequest.getProdutorId();
+        if (produtor != null) {
+            produtorId = produtor.getId();
+        } else if (statusEvento != null && !statusEvento.equals(StatusEvento.PUBLICADO)) {
+            throw new NegocioException("Apenas eventos publicados podem ser buscados.");
+        } else {
+            statusEvento = StatusEvento.PUBLICADO;
+        }
+
+        Specification<Evento> filtros = Specification.where(comStatus(statusEvento))
+                .and(doProdutor(produtorId))
+                .and(daCategoria(eventoBuscaRequest.getCategoriaId()))
+                .and(comNome(eventoBuscaRequest.getNome()))
+                .and(iniciandoApos(eventoBuscaRequest.getDataInicio()))
+                .and(iniciandoAntes(eventoBuscaRequest.getDataFim()))
+                .and(naCidade(eventoBuscaRequest.getCidade()))
+                .and(noEstado(eventoBuscaRequest.getEstado()));
+
+        Page<EventoResponse> eventos = eventoRepository.findAllResponses(filtros,
+                PageRequest.of(pagina, tamanho, Sort.by("dataHoraInicio", "id")));
+
+        return new EventoBuscaResponse(eventos.getContent(), pagina, tamanho,
+                eventos.getTotalElements(), eventos.getTotalPages());
+    }
+
     /**
      * Método responsável por retornar um evento pelo seu identificador.
      *
@@ -276,67 +386,138 @@ public class BuscarEventoController {
      * @return {@link EventoResponse}
      * */
     public EventoResponse listarPorId(String email, Integer eventoId){
-        Pessoa pessoa = gerenciarContaController.login(email);
+        IdentidadeConta identidade = gerenciarContaController.identificar(email);
 
-        Produtor produtor = produtorRepository.findByPessoa(pessoa);
+        Produtor produtor = identidade.isProdutor() ? gerenciarContaController.loginProdutor(email) : null;
 
-        Evento evento;
         if (produtor != null){
-            evento = eventoRepository.findByIdAndProdutor(eventoId, produtor)
+            return eventoRepository.findResponseByIdAndProdutor(eventoId, produtor)
                     .orElseThrow(() -> {
                         throw new EntidadeNaoEncontradaException("Não foi encontrado evento com este código");
                     });
-        }else{
-            evento = eventoRepository.findByIdAndStatusEvento(eventoId, StatusEvento.PUBLICADO)
-                    .orElseThrow(() -> {
-                        throw new EntidadeNaoEncontradaException("Não foi encontrado evento Publicado com este código");
-                    });
         }
 
-        return preencherResponse(evento);
+        return catalogoEventosPublicados.buscar(eventoId)
+                .orElseThrow(() -> {
+                    throw new EntidadeNaoEncontradaException("Não foi encontrado evento Publicado com este código");
+                });
+    }
+
+    /**
+     * Monta o Pageable das consultas por cursor. É buscado um evento além do limite para
+     * saber se existe uma próxima página sem precisar de uma consulta de contagem.
+     *
+     * @param limit Integer - quando nulo, todos os eventos são retornados
+     * @return Pageable
+     * @throws NegocioException {@link NegocioException}
+     * */
+    private Pageable paginar(Integer limit) {
+        if (limit == null) {
+            return Pageable.unpaged();
+        }
+        validarLimite(limit);
+        return PageRequest.of(0, limit + 1);
+    }
+
+    /**
+     * Valida o limite de eventos de uma página
+     *
+     * @param limit Integer
+     * @throws NegocioException {@link NegocioException}
+     * */
+    private void validarLimite(Integer limit) {
+        if (limit < 1 || limit > LIMITE_MAXIMO_PAGINA) {
+            throw new NegocioException("O limite da página deve estar entre 1 e " + LIMITE_MAXIMO_PAGINA + ".");
+        }
+    }
+
+    /**
+     * Método responsável por listar uma página de eventos publicados a partir do {@link CatalogoEventosPublicados},
+     * sem consultar o banco de dados.
+     *
+     * @param produtorId Integer - opcional
+     * @param categoriaId Integer - opcional
+     * @param dataInicio LocalDateTime - opcional, junto com dataFim
+     * @param dataFim LocalDateTime - opcional, junto com dataInicio
+     * @param excluidos Set - ids dos eventos nos quais o participante possui inscrição ativa, opcional
+     * @param posicao CursorEvento
+     * @param limit Integer
+     * @return EventoPaginaResponse
+     * @throws NegocioException {@link NegocioException}
+     * */
+    private EventoPaginaResponse listarPublicados(Integer produtorId, Integer categoriaId, LocalDateTime dataInicio,
+                                                  LocalDateTime dataFim, Set<Integer> excluidos, CursorEvento posicao, Integer limit) {
+        int quantidade = Integer.MAX_VALUE;
+        if (limit != null) {
+            validarLimite(limit);
+            quantidade = limit + 1;
+        }
+        List<EventoResponse> eventos = catalogoEventosPublicados.listar(produtorId, categoriaId, dataInicio, dataFim,
+                excluidos, posicao.getDataHoraInicio(), posicao.getId(), quantidade);
+        return preencherPagina(eventos, limit);
     }
 
     /**
-     * Método responsável por preencher um EventoResponse
-     * @param eventos List
-     * @return List of EventoResponse
+     * Método responsável por preencher uma página de EventoResponse a partir do resultado ordenado por relevância
+     * no {@link IndiceEventos}. O cursor guarda a posição do último evento da página nessa ordenação (relevância,
+     * dataHoraInicio, id), e a próxima página começa na primeira posição seguinte, encontrada por busca binária.
+     *
+     * @param encontrados List - resultado da busca, na ordem de relevância
+     * @param posicao CursorEvento
+     * @param limit Integer
+     * @return EventoPaginaResponse
+     * @throws NegocioException {@link NegocioException}
      * */
-    private List<EventoResponse> preencherResponse(List<Evento> eventos) {
-        List<EventoResponse> eventoResponses = new ArrayList<>();
-        eventos.forEach((e)-> {
-            EventoResponse eventoResponse = new EventoResponse();
-            eventoResponse.setId(e.getId());
-            eventoResponse.setNome(e.getNome());
-            eventoResponse.setCategoria(e.getCategoria());
-            eventoResponse.setStatusEvento(e.getStatusEvento().name());
-            eventoResponse.setDescricao(e.getDescricao());
-            eventoResponse.setDataHoraFim(e.getDataHoraFim());
-            eventoResponse.setDataHoraInicio(e.getDataHoraInicio());
-            eventoResponse.setEndereco(e.getEndereco());
-            eventoResponse.setProdutor(e.getProdutor().getPessoa().getNome());
-            eventoResponses.add(eventoResponse);
-        });
-        return eventoResponses;
+    private EventoPaginaResponse preencherPaginaPorRelevancia(List<ResultadoBusca> encontrados, CursorEvento posicao, Integer limit) {
+        int inicio = 0;
+        if (posicao.getId() != null) {
+            if (posicao.getRelevancia() == null) {
+                throw new NegocioException("Cursor de paginação inválido.");
+            }
+            ResultadoBusca ultimo = new ResultadoBusca(posicao.getId(), posicao.getRelevancia(), posicao.getDataHoraInicio());
+            int encontrado = Collections.binarySearch(encontrados, ultimo, ResultadoBusca.ORDEM);
+            inicio = encontrado >= 0 ? encontrado + 1 : -encontrado - 1;
+        }
+        int fim = encontrados.size();
+        if (limit != null) {
+            validarLimite(limit);
+            fim = Math.min(fim, inicio + limit);
+        }
+
+        List<ResultadoBusca> pagina = encontrados.subList(inicio, fim);
+        if (pagina.isEmpty()) {
+            return new EventoPaginaResponse(new ArrayList<>(), null);
+        }
+        List<Integer> paginaIds = pagina.stream().map(ResultadoBusca::getId).collect(Collectors.toList());
+
+        Map<Integer, EventoResponse> eventosPorId = eventoRepository.findAllResponsesByIdIn(paginaIds).stream()
+                .collect(Collectors.toMap(EventoResponse::getId, Function.identity()));
+        List<EventoResponse> eventos = paginaIds.stream()
+                .map(eventosPorId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (fim < encontrados.size()) {
+            ResultadoBusca ultimo = pagina.get(pagina.size() - 1);
+            nextCursor = CursorEvento.codificar(ultimo.getRelevancia(), ultimo.getDataHoraInicio(), ultimo.getId());
+        }
+        return new EventoPaginaResponse(eventos, nextCursor);
     }
 
     /**
-     * Método responsável por preencher um EventoResponse
-     * @param evento {@link Evento}
-     * @return List of EventoResponse
+     * Método responsável por preencher uma página de EventoResponse com o cursor da próxima página
+     * @param eventos List - resultado da consulta, com até limit + 1 eventos
+     * @param limit Integer
+     * @return EventoPaginaResponse
      * */
-    private EventoResponse preencherResponse(Evento evento) {
-
-        EventoResponse eventoResponse = new EventoResponse();
-        eventoResponse.setId(evento.getId());
-        eventoResponse.setNome(evento.getNome());
-        eventoResponse.setCategoria(evento.getCategoria());
-        eventoResponse.setStatusEvento(evento.getStatusEvento().name());
-        eventoResponse.setDescricao(evento.getDescricao());
-        eventoResponse.setDataHoraFim(evento.getDataHoraFim());
-        eventoResponse.setDataHoraInicio(evento.getDataHoraInicio());
-        eventoResponse.setEndereco(evento.getEndereco());
-        eventoResponse.setProdutor(evento.getProdutor().getPessoa().getNome());
-        return eventoResponse;
+    private EventoPaginaResponse preencherPagina(List<EventoResponse> eventos, Integer limit) {
+        String nextCursor = null;
+        if (limit != null && eventos.size() > limit) {
+            eventos = eventos.subList(0, limit);
+            nextCursor = CursorEvento.codificar(eventos.get(limit - 1));
+        }
+        return new EventoPaginaResponse(eventos, nextCursor);
     }
 
 }
@@ -1,10 +1,13 @@
 package br.com.eventvs.domain.controller;
 
 import br.com.eventvs.api.dto.requests.CategoriaRequest;
+import br.com.eventvs.domain.busca.IndiceCategorias;
+import br.com.eventvs.domain.enums.Colecao;
 import br.com.eventvs.domain.exception.EntidadeNaoEncontradaException;
 import br.com.eventvs.domain.exception.NegocioException;
 import br.com.eventvs.domain.model.Categoria;
 import br.com.eventvs.domain.repository.CategoriaRepository;
+import br.com.eventvs.domain.versao.VersoesColecoes;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -16,23 +19,29 @@ public class GerenciarCategoriaController {
     @Autowired
     private CategoriaRepository categoriaRepository;
 
+    @Autowired
+    private IndiceCategorias indiceCategorias;
+
+    @Autowired
+    private VersoesColecoes versoesColecoes;
+
     /**
      * Retorna todas as categorias
      *
      * @return List<Categoria>
      * */
     public List<Categoria> listarCategorias(){
-        return categoriaRepository.findAll();
+        return indiceCategorias.listar();
     }
 
     /**
      * Retorna todas as categorias que possuem aquele nome
      *
-     * @param categoriaRequest
+     * @param nome String
      * @return List<Categoria>
      * */
-    public List<Categoria> listarCategoriasPorNome(CategoriaRequest categoriaRequest){
-        List<Categoria> categorias = categoriaRepository.findAllByNomeContains(categoriaRequest.getNome());
+    public List<Categoria> listarCategoriasPorNome(String nome){
+        List<Categoria> categorias = indiceCategorias.buscarPorNome(nome);
         if (categorias.isEmpty()){
             throw new EntidadeNaoEncontradaException("Não foram encontradas categorias que possuam este nome.");
         }
@@ -50,17 +59,20 @@ public class GerenciarCategoriaController {
         categoria.setNome(categoriaRequest.getNome());
         categoria.setDescricao(categoriaRequest.getDescricao());
 
-        return categoriaRepository.save(categoria);
+        categoria = categoriaRepository.save(categoria);
+        indiceCategorias.indexar(categoria);
+        versoesColecoes.alterar(Colecao.CATEGORIAS, List.of(categoria.getId()));
+        return categoria;
     }
 
     /**
      * Retorna todas as categorias que possuem aquela descricao
      *
-     * @param categoriaRequest
+     * @param descricao String
      * @return List<Categoria>
      * */
-    public List<Categoria> listarCategoriaPorDescricao(CategoriaRequest categoriaRequest){
-        List<Categoria> categorias = categoriaRepository.findAllByDescricaoContains(categoriaRequest.getDescricao());
+    public List<Categoria> listarCategoriaPorDescricao(String descricao){
+        List<Categoria> categorias = indiceCategorias.buscarPorDescricao(descricao);
         if (categorias.isEmpty()){
             throw new EntidadeNaoEncontradaException("Não foram encontradas categorias que possuam esta descrição.");
         }
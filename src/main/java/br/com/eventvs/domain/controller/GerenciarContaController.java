@@ -2,18 +2,30 @@ package br.com.eventvs.domain.controller;
 
 import br.com.eventvs.api.dto.requests.PessoaCadastroRequest;
 import br.com.eventvs.api.dto.responses.PessoaResponse;
+import br.com.eventvs.domain.busca.EventoAlterado;
+import br.com.eventvs.domain.conta.CacheIdentidades;
+import br.com.eventvs.domain.conta.IdentidadeConta;
+import br.com.eventvs.domain.enums.Colecao;
 import br.com.eventvs.domain.exception.NegocioException;
 import br.com.eventvs.domain.model.Administrador;
 import br.com.eventvs.domain.model.Participante;
 import br.com.eventvs.domain.model.Pessoa;
 import br.com.eventvs.domain.model.Produtor;
 import br.com.eventvs.domain.repository.AdministradorRepository;
+import br.com.eventvs.domain.repository.EventoRepository;
 import br.com.eventvs.domain.repository.ParticipanteRepository;
 import br.com.eventvs.domain.repository.PessoaRepository;
 import br.com.eventvs.domain.repository.ProdutorRepository;
+import br.com.eventvs.domain.versao.VersoesColecoes;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
 
 @Service
 public class GerenciarContaController {
@@ -30,8 +42,20 @@ public class GerenciarContaController {
     @Autowired
     private ParticipanteRepository participanteRepository;
 
+    @Autowired
+    private EventoRepository eventoRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CacheIdentidades cacheIdentidades;
+
+    @Autowired
+    private VersoesColecoes versoesColecoes;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
     
     /**
      * Método responsável por cadastrar uma pessoa.
@@ -71,6 +95,14 @@ public class GerenciarContaController {
     		pessoa.setNome(pessoaRequest.getNome());
     	}
     	pessoaRepository.save(pessoa);
+    	cacheIdentidades.invalidar(pessoa.getEmail());
+    	// o nome da pessoa aparece nas listagens de eventos (produtor) e de inscrições (participante)
+    	List<Integer> eventoIds = eventoRepository.findIdsByPessoaId(pessoa.getId());
+    	if (!eventoIds.isEmpty()) {
+    		applicationEventPublisher.publishEvent(new EventoAlterado(eventoIds));
+    	}
+    	versoesColecoes.alterar(Colecao.EVENTOS, eventoIds);
+    	versoesColecoes.alterar(Colecao.INSCRICOES);
     	PessoaResponse pessoaResponse = new PessoaResponse();
     	pessoaResponse.setNome(pessoa.getNome());
     	return pessoaResponse;
@@ -116,45 +148,120 @@ public class GerenciarContaController {
         });
     }
 
+    /**
+     * Método responsável por identificar a pessoa logada na api e os papéis que ela exerce,
+     * usando o cache de identidades.
+     *
+     * @param email
+     * @return IdentidadeConta
+     * @throws NegocioException {@link NegocioException}
+     * */
+    public IdentidadeConta identificar(String email){
+        return cacheIdentidades.buscar(email).orElseThrow(() -> {
+            throw new NegocioException("Usuário não está logado no sistema.");
+        });
+    }
+
+    /**
+     * Método responsável por descartar a identidade em cache de uma conta que foi alterada
+     *
+     * @param email
+     * */
+    public void invalidarIdentidade(String email){
+        cacheIdentidades.invalidar(email);
+    }
+
+    /**
+     * Método responsável por descartar as identidades em cache de contas alteradas. Dentro de uma transação, elas só
+     * são descartadas depois do commit, para que uma leitura concorrente não guarde de novo a situação antiga.
+     *
+     * @param emails
+     * */
+    public void invalidarIdentidades(Collection<String> emails){
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    emails.forEach(cacheIdentidades::invalidar);
+                }
+            });
+        } else {
+            emails.forEach(cacheIdentidades::invalidar);
+        }
+    }
+
     /**
      * Método responsável por verificar se uma pessoa logada na api é um produtor
      *
-     * @param pessoa
-     * @return Produtor
+     * @param email
+     * @return Produtor - referência carregada sob demanda
+     * @throws NegocioException {@link NegocioException}
+     * */
+    public Produtor loginProdutor(String email){
+        return loginProdutor(identificar(email));
+    }
+
+    /**
+     * Método responsável por verificar se uma identidade já resolvida é de um produtor, sem consultar o banco de dados
+     *
+     * @param identidade
+     * @return Produtor - referência carregada sob demanda
      * @throws NegocioException {@link NegocioException}
      * */
-    public Produtor loginProdutor(Pessoa pessoa){
-        return produtorRepository.findByPessoaId(pessoa.getId()).orElseThrow(() -> {
+    public Produtor loginProdutor(IdentidadeConta identidade){
+        if(!identidade.isProdutor()){
             throw new NegocioException("Usuário não é um produtor de eventos.");
-        });
+        }
+        return produtorRepository.getOne(identidade.getProdutorId());
     }
 
     /**
      * Método responsável por verificar se uma pessoa logada na api é um participante
      *
-     * @param pessoa
-     * @return Participante
+     * @param email
+     * @return Participante - referência carregada sob demanda
+     * @throws NegocioException {@link NegocioException}
+     * */
+    public Participante loginParticipante(String email){
+        return loginParticipante(identificar(email));
+    }
+
+    /**
+     * Método responsável por verificar se uma identidade já resolvida é de um participante, sem consultar o banco de dados
+     *
+     * @param identidade
+     * @return Participante - referência carregada sob demanda
      * @throws NegocioException {@link NegocioException}
      * */
-    public Participante loginParticipante(Pessoa pessoa){
-        return participanteRepository.findByPessoaEmail(pessoa.getEmail()).orElseThrow(() -> {
+    public Participante loginParticipante(IdentidadeConta identidade){
+        if(!identidade.isParticipante()){
             throw new NegocioException("O usuário não é um participante.");
-        });
+        }
+        return participanteRepository.getOne(identidade.getParticipanteId());
     }
 
     /**
      * Método responsável por verificar se uma pessoa logada na api é um administrador
      *
-     * @param pessoa
-     * @return Administrador
+     * @param email
+     * @return Administrador - referência carregada sob demanda
      * @throws NegocioException {@link NegocioException}
      * */
-    public Administrador loginAdministrador(Pessoa pessoa){
-        return administradorRepository.findByPessoaId(pessoa.getId()).orElseThrow(() -> {
-            throw new NegocioException("Usuário não é um administrador.");
-        });
+    public Administrador loginAdministrador(String email){
+        return loginAdministrador(identificar(email));
     }
 
-
-
+    /**
+     * Método responsável por verificar se uma identidade já resolvida é de um administrador, sem consultar o banco de dados
+     *
+     * @param identidade
+     * @return Administrador - referência carregada sob demanda
+     * @throws NegocioException {@link NegocioException}
+     * */
+    public Administrador loginAdministrador(IdentidadeConta identidade){
+        if(!identidade.isAdministrador()){
+            throw new NegocioException("Usuário não é um administrador.");
+        }
+        return administradorRepository.getOne(identidade.getAdministradorId());
+    }
 }
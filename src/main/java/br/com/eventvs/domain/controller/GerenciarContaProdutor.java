@@ -1,28 +1,51 @@
 package br.com.eventvs.domain.controller;
 
+import br.com.eventvs.api.dto.requests.DecisaoCadastrosProdutorRequest;
 import br.com.eventvs.api.dto.requests.PessoaCadastroRequest;
+import br.com.eventvs.api.dto.responses.DecisaoCadastrosProdutorResponse;
+import br.com.eventvs.api.dto.responses.ProdutorPaginaResponse;
 import br.com.eventvs.api.dto.responses.ProdutorResponse;
+import br.com.eventvs.domain.conta.IdentidadeConta;
+import br.com.eventvs.domain.enums.Colecao;
 import br.com.eventvs.domain.enums.Situacao;
 import br.com.eventvs.domain.exception.EntidadeNaoEncontradaException;
+import br.com.eventvs.domain.exception.NegocioException;
 import br.com.eventvs.domain.model.Pessoa;
 import br.com.eventvs.domain.model.Produtor;
 import br.com.eventvs.domain.repository.ProdutorRepository;
+import br.com.eventvs.domain.versao.VersoesColecoes;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 @Service
 @Slf4j
 public class GerenciarContaProdutor {
+
+    private static final int LIMITE_MAXIMO_PAGINA = 100;
+    private static final int LIMITE_PRODUTORES_POR_DECISAO = 5_000;
+
+    /* Campos aceitos na ordenação das solicitações -> propriedade do produtor */
+    private static final Map<String, String> ORDENACOES = Map.of(
+            "id", "pessoa.id",
+            "nome", "pessoa.nome",
+            "email", "pessoa.email");
+
     @Autowired
     private ProdutorRepository produtorRepository;
 
     @Autowired
     private GerenciarContaController gerenciarContaController;
 
+    @Autowired
+    private VersoesColecoes versoesColecoes;
+
     /**
      * Método responsável pro cadastrar um produtor no banco de dados
      *
@@ -50,8 +73,7 @@ public class GerenciarContaProdutor {
      *
      * */
     public ProdutorResponse aceitarCadastroProdutor(String emailAdministrador, Integer produtorId){
-        Pessoa pessoaLogada = gerenciarContaController.login(emailAdministrador);
-        gerenciarContaController.loginAdministrador(pessoaLogada);
+        gerenciarContaController.loginAdministrador(emailAdministrador);
 
         Produtor produtor = produtorRepository.findByPessoaId(produtorId).orElseThrow(() -> {
             throw new EntidadeNaoEncontradaException("Não foi encontrado produtor com este código.");
@@ -59,6 +81,8 @@ public class GerenciarContaProdutor {
 
         produtor.setSituacao(Situacao.ACEITO);
         produtorRepository.save(produtor);
+        versoesColecoes.alterar(Colecao.PRODUTORES);
+        gerenciarContaController.invalidarIdentidade(produtor.getPessoa().getEmail());
 
         return preencherResponse(produtor.getPessoa(), produtor);
     }
@@ -72,8 +96,7 @@ public class GerenciarContaProdutor {
      *
      * */
     public ProdutorResponse recusarCadastroProdutor(String emailAdministrador, Integer produtorId){
-        Pessoa pessoaLogada = gerenciarContaController.login(emailAdministrador);
-        gerenciarContaController.loginAdministrador(pessoaLogada);
+        gerenciarContaController.loginAdministrador(emailAdministrador);
 
         Produtor produtor = produtorRepository.findByPessoaId(produtorId).orElseThrow(() -> {
             throw new EntidadeNaoEncontradaException("Não foi encontrado produtor com este código.");
@@ -81,30 +104,82 @@ public class GerenciarContaProdutor {
 
         produtor.setSituacao(Situacao.RECUSADO);
         produtorRepository.save(produtor);
+        versoesColecoes.alterar(Colecao.PRODUTORES);
+        gerenciarContaController.invalidarIdentidade(produtor.getPessoa().getEmail());
 
         return preencherResponse(produtor.getPessoa(), produtor);
     }
 
     /**
-     * Método responsável listar todos os produtores que solicitaram conta
-     *
-     * @param emailAdministrador
-     * @return List<{@link ProdutorResponse}>
+     * Método responsável por aceitar e recusar várias solicitações de conta de uma vez, com uma única instrução
+     * UPDATE por decisão. Apenas os produtores com a solicitação pendente são alterados; os demais ids são ignorados.
      *
+     * @param identidade IdentidadeConta - deve ser um administrador
+     * @param decisaoRequest DecisaoCadastrosProdutorRequest - ids das pessoas dos produtores a aceitar e a recusar
+     * @return {@link DecisaoCadastrosProdutorResponse} com a quantidade de cadastros aceitos, recusados e ignorados
+     * @throws NegocioException {@link NegocioException} quando um id está nas duas listas ou excede o limite
      * */
-    public List<ProdutorResponse> listarSolicitacoesContas(String emailAdministrador){
-        Pessoa pessoaLogada = gerenciarContaController.login(emailAdministrador);
-        gerenciarContaController.loginAdministrador(pessoaLogada);
-
-        List<Produtor> produtores = produtorRepository.findAllBySituacao(Situacao.SOLICITADO);
-
-        List<ProdutorResponse> produtorResponses = new ArrayList<>();
-
-        produtores.forEach(produtor -> {
-            produtorResponses.add(preencherResponse(produtor.getPessoa(), produtor));
-        });
+    @Transactional
+    public DecisaoCadastrosProdutorResponse decidirCadastrosProdutores(IdentidadeConta identidade, DecisaoCadastrosProdutorRequest decisaoRequest){
+        gerenciarContaController.loginAdministrador(identidade);
+
+        Set<Integer> aceitar = decisaoRequest.getAceitar() == null ? Set.of() : decisaoRequest.getAceitar();
+        Set<Integer> recusar = decisaoRequest.getRecusar() == null ? Set.of() : decisaoRequest.getRecusar();
+        if (aceitar.size() + recusar.size() > LIMITE_PRODUTORES_POR_DECISAO) {
+            throw new NegocioException("É possível decidir no máximo " + LIMITE_PRODUTORES_POR_DECISAO + " cadastros por vez.");
+        }
+        if (!Collections.disjoint(aceitar, recusar)) {
+            throw new NegocioException("Um produtor não pode ser aceito e recusado na mesma decisão.");
+        }
+        Set<Integer> pessoaIds = new HashSet<>(aceitar);
+        pessoaIds.addAll(recusar);
+        if (pessoaIds.isEmpty()) {
+            return new DecisaoCadastrosProdutorResponse(0, 0, 0);
+        }
+
+        List<String> emails = produtorRepository.findEmailsBySituacaoAndPessoaIds(Situacao.SOLICITADO, pessoaIds);
+        int aceitos = aceitar.isEmpty() ? 0 : produtorRepository.alterarSituacao(aceitar, Situacao.SOLICITADO, Situacao.ACEITO);
+        int recusados = recusar.isEmpty() ? 0 : produtorRepository.alterarSituacao(recusar, Situacao.SOLICITADO, Situacao.RECUSADO);
+        gerenciarContaController.invalidarIdentidades(emails);
+        if (aceitos + recusados > 0) {
+            versoesColecoes.alterar(Colecao.PRODUTORES);
+        }
+
+        return new DecisaoCadastrosProdutorResponse(aceitos, recusados, pessoaIds.size() - aceitos - recusados);
+    }
 
-        return produtorResponses;
+    /**
+     * Método responsável listar os produtores que solicitaram conta, uma página por vez
+     *
+     * @param emailAdministrador
+     * @param pagina Integer - começa em zero
+     * @param tamanho Integer - entre 1 e 100
+     * @param ordenarPor String - id, nome ou email
+     * @param direcao String - asc ou desc
+     * @return {@link ProdutorPaginaResponse}
+     * @throws NegocioException {@link NegocioException} quando a página ou a ordenação são inválidas
+     * */
+    public ProdutorPaginaResponse listarSolicitacoesContas(String emailAdministrador, Integer pagina, Integer tamanho, String ordenarPor, String direcao){
+        if (pagina < 0 || tamanho < 1 || tamanho > LIMITE_MAXIMO_PAGINA) {
+            throw new NegocioException("A página deve ser positiva e o tamanho deve estar entre 1 e " + LIMITE_MAXIMO_PAGINA + ".");
+        }
+        String propriedade = ORDENACOES.get(ordenarPor);
+        Optional<Sort.Direction> sentido = Sort.Direction.fromOptionalString(direcao);
+        if (propriedade == null || sentido.isEmpty()) {
+            throw new NegocioException("Ordenação inválida. Utilize id, nome ou email, nas direções asc ou desc.");
+        }
+        gerenciarContaController.loginAdministrador(emailAdministrador);
+
+        Sort ordenacao = Sort.by(sentido.get(), propriedade);
+        if (!propriedade.equals(ORDENACOES.get("id"))) {
+            // o id da pessoa desempata os registros com o mesmo nome
+            ordenacao = ordenacao.and(Sort.by(ORDENACOES.get("id")));
+        }
+        Page<ProdutorResponse> produtores = produtorRepository.findResponsesBySituacao(Situacao.SOLICITADO,
+                PageRequest.of(pagina, tamanho, ordenacao));
+
+        return new ProdutorPaginaResponse(produtores.getContent(), pagina, tamanho,
+                produtores.getTotalElements(), produtores.getTotalPages());
     }
 
 
@@ -1,21 +1,47 @@
 package br.com.eventvs.domain.controller;
 
+import br.com.eventvs.domain.busca.EventoAlterado;
+import br.com.eventvs.domain.conta.IdentidadeConta;
+import br.com.eventvs.domain.enums.Colecao;
+import br.com.eventvs.domain.enums.SituacaoImportacao;
 import br.com.eventvs.domain.enums.StatusEvento;
 import br.com.eventvs.domain.exception.EntidadeNaoEncontradaException;
 import br.com.eventvs.domain.exception.NegocioException;
 import br.com.eventvs.domain.model.*;
+import br.com.eventvs.domain.notificacao.EventoCancelado;
 import br.com.eventvs.domain.repository.CategoriaRepository;
+import br.com.eventvs.domain.repository.EnderecoRepository;
+import br.com.eventvs.domain.versao.VersoesColecoes;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import br.com.eventvs.api.dto.requests.EventoImportacaoRequest;
 import br.com.eventvs.api.dto.requests.EventoRequest;
 import br.com.eventvs.api.dto.responses.EventoResponse;
+import br.com.eventvs.api.dto.responses.ResultadoImportacaoEventoResponse;
 import br.com.eventvs.domain.repository.EventoRepository;
+import br.com.eventvs.domain.repository.InscricaoEsperaRepository;
 import br.com.eventvs.domain.repository.InscricaoRepository;
 import lombok.extern.slf4j.Slf4j;
 
@@ -38,6 +64,31 @@ public class GerenciarEventoController {
 	@Autowired
 	private InscricaoRepository inscricaoRepository;
 
+	@Autowired
+	private InscricaoEsperaRepository inscricaoEsperaRepository;
+
+	@Autowired
+	private ApplicationEventPublisher applicationEventPublisher;
+
+	@Autowired
+	private VersoesColecoes versoesColecoes;
+
+	@Autowired
+	private EnderecoRepository enderecoRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private Validator validator;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/* Eventos gravados por transação na importação em massa */
+	@Value("${eventvs.eventos.importacao.tamanho-lote:500}")
+	private int tamanhoLoteImportacao;
+
 
 	/**
 	 * Cria um evento no banco de Dados
@@ -46,10 +97,27 @@ public class GerenciarEventoController {
 	 * @return EventoRespons
 	 */
 	public EventoResponse criarEvento(EventoRequest eventoRequest, String email){
-		Pessoa pessoa = gerenciarContaController.login(email);
+		return criarEvento(eventoRequest, gerenciarContaController.identificar(email));
+	}
 
-		Produtor produtor = gerenciarContaController.loginProdutor(pessoa);
+	/**
+	 * Cria um evento no banco de Dados
+	 * @param eventoRequest EventoRequest
+	 * @param identidade IdentidadeConta - Usuario deve ser um produtor
+	 * @return EventoRespons
+	 */
+	public EventoResponse criarEvento(EventoRequest eventoRequest, IdentidadeConta identidade){
+		Produtor produtor = gerenciarContaController.loginProdutor(identidade);
+		return registrarAlteracao(gravarEvento(eventoRequest, produtor));
+	}
 
+	/**
+	 * Grava os dados do evento, calculando as vagas disponíveis a partir da capacidade
+	 * @param eventoRequest EventoRequest
+	 * @param produtor Produtor
+	 * @return Evento
+	 */
+	private Evento gravarEvento(EventoRequest eventoRequest, Produtor produtor) {
 		Endereco endereco = enderecoControler.salvarEndereco(eventoRequest.getEndereco());
 
 		Evento evento = new Evento();
@@ -62,8 +130,23 @@ public class GerenciarEventoController {
 		evento.setStatusEvento(eventoRequest.getStatusEvento());
 		evento.setProdutor(produtor);
 		evento.setEndereco(endereco);
+		evento.setCapacidade(eventoRequest.getCapacidade());
+		evento.setVagasDisponiveis(calcularVagasDisponiveis(evento));
+		evento.setAltaDemanda(Boolean.TRUE.equals(eventoRequest.getAltaDemanda()));
 
-		evento = eventoRepository.save(evento);
+		return eventoRepository.save(evento);
+	}
+
+	/**
+	 * Registra a alteração de um evento gravado: o índice de busca e o catálogo de publicados o releem depois do
+	 * commit, e a versão da coleção avança
+	 * @param evento Evento
+	 * @return EventoResponse
+	 */
+	private EventoResponse registrarAlteracao(Evento evento) {
+		// a versão avança depois do catálogo de publicados ser atualizado, pois o listener foi registrado antes
+		applicationEventPublisher.publishEvent(new EventoAlterado(evento.getId()));
+		versoesColecoes.alterar(Colecao.EVENTOS, List.of(evento.getId()));
 		return preencherResponse(evento);
 	}
 	
@@ -75,52 +158,84 @@ public class GerenciarEventoController {
 	 * @return EventoResponse
 	 */
 	public EventoResponse editarEvento(Integer eventoID, EventoRequest eventoRequest, String email) {
-		Pessoa pessoa = gerenciarContaController.login(email);
-		Produtor produtor = gerenciarContaController.loginProdutor(pessoa);
-		
-		Evento evento = eventoRepository.findById(eventoID)
-				.orElseThrow(() -> new EntidadeNaoEncontradaException("Evento não encontrado na base de dados."));
-		
-		//Checagem de Regras de Negocio
-		if(!evento.getProdutor().equals(produtor)) {
-			throw new NegocioException("Esse evento não pertence ao produtor "+produtor.getPessoa().getNome());
-		}
-		if(evento.getStatusEvento().equals(StatusEvento.PUBLICADO)) {
-			throw new NegocioException("Não é permitido editar um evento Publicado");
-		}
+		return editarEvento(eventoID, eventoRequest, gerenciarContaController.identificar(email));
+	}
 
-		eventoRequest.setId(evento.getId());
-		return criarEvento(eventoRequest, email);
+	/**
+	 * Edita um Evento no banco de dados. A linha do evento fica travada da leitura até o commit, para que
+	 * nenhuma inscrição reserve vaga entre a contagem das inscrições ativas e a gravação das vagas disponíveis.
+	 * @param eventoID Integer
+	 * @param eventoRequest - EventoRequest Request com os campos a serem alterados
+	 * @param identidade - IdentidadeConta Usuario deve ser o criador do evento e um produtor
+	 * @return EventoResponse
+	 */
+	public EventoResponse editarEvento(Integer eventoID, EventoRequest eventoRequest, IdentidadeConta identidade) {
+		Evento editado = transactionTemplate.execute(status -> {
+			//Trava antes de qualquer outra leitura, para que a contagem das inscrições ativas enxergue as reservas já gravadas
+			Evento evento = eventoRepository.findParaReservaById(eventoID)
+					.orElseThrow(() -> new EntidadeNaoEncontradaException("Evento não encontrado na base de dados."));
+			Produtor produtor = gerenciarContaController.loginProdutor(identidade);
+
+			//Checagem de Regras de Negocio
+			if(!evento.getProdutor().getId().equals(produtor.getId())) {
+				throw new NegocioException("Esse evento não pertence ao produtor "+produtor.getPessoa().getNome());
+			}
+			if(evento.getStatusEvento().equals(StatusEvento.PUBLICADO)) {
+				throw new NegocioException("Não é permitido editar um evento Publicado");
+			}
+
+			eventoRequest.setId(evento.getId());
+			Evento gravado = gravarEvento(eventoRequest, produtor);
+			//O índice e a resposta leem o nome do produtor depois do commit
+			Hibernate.initialize(gravado.getProdutor());
+			Hibernate.initialize(gravado.getProdutor().getPessoa());
+			return gravado;
+		});
+		return registrarAlteracao(editado);
 	}
 	
 	/**
 	 * Muda o status de um evento para Cancelado
 	 * @param eventoID
 	 * @param email
-	 * @return boolean
+	 * @return int quantidade de inscrições canceladas junto com o evento
 	 */
-	public void cancelarEvento(Integer eventoID, String email) {
-		Pessoa pessoa = gerenciarContaController.login(email);
-		Produtor produtor = gerenciarContaController.loginProdutor(pessoa);
+	@Transactional
+	public int cancelarEvento(Integer eventoID, String email) {
+		return cancelarEvento(eventoID, gerenciarContaController.identificar(email));
+	}
+
+	/**
+	 * Muda o status de um evento para Cancelado e cancela todas as suas inscrições ativas
+	 * numa única instrução, na mesma transação. Os participantes são notificados em segundo
+	 * plano depois do commit.
+	 * @param eventoID
+	 * @param identidade
+	 * @return int quantidade de inscrições canceladas junto com o evento
+	 */
+	@Transactional
+	public int cancelarEvento(Integer eventoID, IdentidadeConta identidade) {
+		Produtor produtor = gerenciarContaController.loginProdutor(identidade);
 		
-		Evento evento = eventoRepository.findById(eventoID)
+		Evento evento = eventoRepository.findParaReservaById(eventoID)
 				.orElseThrow(() -> new EntidadeNaoEncontradaException("Evento não encontrado na base de dados."));
 		
 		//Checagem de Regras de Negocio
-		if(!evento.getProdutor().equals(produtor)) {
+		if(!evento.getProdutor().getId().equals(produtor.getId())) {
 			throw new NegocioException("Esse evento não pertence ao produtor "+produtor.getPessoa().getNome());
 		}
 		if(!evento.getStatusEvento().equals(StatusEvento.PUBLICADO)) {
 			throw new NegocioException("Não é permitido cancelar um evento Não Publicado");
 		}
 		evento.setStatusEvento(StatusEvento.CANCELADO);
-		Optional<List<Inscricao>> inscricoes = inscricaoRepository.findByEvento(evento);
-		if(inscricoes.isPresent()) {
-			inscricoes.get().forEach((inscricao)-> {
-				inscricao.setIsCancelada(true);
-			});
-		}
 		evento = eventoRepository.save(evento);
+		int inscricoesCanceladas = inscricaoRepository.cancelarAtivasByEvento(evento);
+		inscricaoEsperaRepository.deleteByEvento(evento);
+		applicationEventPublisher.publishEvent(new EventoAlterado(evento.getId()));
+		applicationEventPublisher.publishEvent(new EventoCancelado(evento.getId(), evento.getNome(), inscricoesCanceladas));
+		versoesColecoes.alterar(Colecao.EVENTOS, List.of(evento.getId()));
+		versoesColecoes.alterar(Colecao.INSCRICOES);
+		return inscricoesCanceladas;
 	}
 
 	/**
@@ -132,8 +247,19 @@ public class GerenciarEventoController {
 	 * @throws EntidadeNaoEncontradaException {@link EntidadeNaoEncontradaException}
 	 * */
 	public EventoResponse publicarEvento(String email, Integer eventoId){
-		Pessoa pessoa = gerenciarContaController.login(email);
-		Produtor produtor = gerenciarContaController.loginProdutor(pessoa);
+		return publicarEvento(gerenciarContaController.identificar(email), eventoId);
+	}
+
+	/**
+	 * Método responsável por publicar um evento
+	 *
+	 * @param identidade
+	 * @param eventoId
+	 * @return EventoResponse
+	 * @throws EntidadeNaoEncontradaException {@link EntidadeNaoEncontradaException}
+	 * */
+	public EventoResponse publicarEvento(IdentidadeConta identidade, Integer eventoId){
+		Produtor produtor = gerenciarContaController.loginProdutor(identidade);
 
 		Evento evento = eventoRepository.findByIdAndStatusEventoAndProdutor(eventoId, StatusEvento.CRIADO, produtor).orElseThrow(() -> {
 			throw new EntidadeNaoEncontradaException("O produtor não possui evento com id " + eventoId + " a ser publicado.");
@@ -143,6 +269,8 @@ public class GerenciarEventoController {
 
 		evento.setStatusEvento(StatusEvento.PUBLICADO);
 		eventoRepository.save(evento);
+		applicationEventPublisher.publishEvent(new EventoAlterado(evento.getId()));
+		versoesColecoes.alterar(Colecao.EVENTOS, List.of(evento.getId()));
 
 		return preencherResponse(evento);
 	}
@@ -156,14 +284,193 @@ public class GerenciarEventoController {
 	 * @throws EntidadeNaoEncontradaException {@link EntidadeNaoEncontradaException}
 	 * */
 	public void excluirEvento(String email, Integer eventoId){
-		Pessoa pessoa = gerenciarContaController.login(email);
-		Produtor produtor = gerenciarContaController.loginProdutor(pessoa);
+		excluirEvento(gerenciarContaController.identificar(email), eventoId);
+	}
+
+	/**
+	 * Método responsável por excluir evento criado
+	 *
+	 * @param identidade
+	 * @param eventoId
+	 * @throws EntidadeNaoEncontradaException {@link EntidadeNaoEncontradaException}
+	 * */
+	public void excluirEvento(IdentidadeConta identidade, Integer eventoId){
+		Produtor produtor = gerenciarContaController.loginProdutor(identidade);
 
 		Evento evento = eventoRepository.findByIdAndStatusEventoAndProdutor(eventoId, StatusEvento.CRIADO, produtor).orElseThrow(() -> {
 			throw new NegocioException("O evento não pertence a este produtor.");
 		});
 
 		eventoRepository.delete(evento);
+		applicationEventPublisher.publishEvent(new EventoAlterado(evento.getId()));
+		versoesColecoes.alterar(Colecao.EVENTOS, List.of(evento.getId()));
+	}
+
+	/**
+	 * Importa eventos em massa para o produtor, consumindo os registros à medida que são lidos da entrada.
+	 * As categorias são carregadas uma única vez e os eventos são gravados em lotes, cada lote em uma transação
+	 * com os INSERTs agrupados em batches JDBC e o contexto de persistência limpo ao final, de forma que a memória
+	 * usada não cresce com o tamanho do arquivo. Um registro inválido é recusado sem interromper a importação;
+	 * se um lote falhar no banco de dados, ele é dividido ao meio e cada metade é regravada até isolar o registro recusado.
+	 * @param identidade IdentidadeConta - Usuario deve ser um produtor
+	 * @param registros Iterator<EventoImportacaoRequest>
+	 * @param relatorio Consumer<ResultadoImportacaoEventoResponse> - recebe o resultado de cada registro, na ordem da entrada
+	 * @return int quantidade de eventos importados
+	 */
+	public int importarEventos(IdentidadeConta identidade, Iterator<EventoImportacaoRequest> registros, Consumer<ResultadoImportacaoEventoResponse> relatorio) {
+		Produtor produtor = gerenciarContaController.loginProdutor(identidade);
+		Map<Integer, Categoria> categorias = categoriaRepository.findAll().stream()
+				.collect(Collectors.toMap(Categoria::getId, Function.identity()));
+
+		int importados = 0;
+		List<EventoImportacaoRequest> lote = new ArrayList<>(tamanhoLoteImportacao);
+		while (registros.hasNext()) {
+			lote.add(registros.next());
+			if (lote.size() == tamanhoLoteImportacao) {
+				importados += importarLote(produtor, categorias, lote, relatorio);
+				lote.clear();
+			}
+		}
+		if (!lote.isEmpty()) {
+			importados += importarLote(produtor, categorias, lote, relatorio);
+		}
+		return importados;
+	}
+
+	/**
+	 * Valida e grava um lote da importação, entregando o resultado de cada registro ao relatório depois do commit
+	 * @return int quantidade de eventos importados no lote
+	 */
+	private int importarLote(Produtor produtor, Map<Integer, Categoria> categorias, List<EventoImportacaoRequest> lote,
+							 Consumer<ResultadoImportacaoEventoResponse> relatorio) {
+		ResultadoImportacaoEventoResponse[] resultados = new ResultadoImportacaoEventoResponse[lote.size()];
+		// posição do registro no lote -> evento a gravar
+		Map<Integer, Evento> validos = new LinkedHashMap<>();
+		for (int i = 0; i < lote.size(); i++) {
+			EventoImportacaoRequest registro = lote.get(i);
+			String erro = validarImportacao(registro, categorias);
+			if (erro != null) {
+				resultados[i] = resultadoImportacao(registro, SituacaoImportacao.RECUSADO, null, erro);
+			} else {
+				validos.put(i, novoEventoImportado(registro.getEvento(), produtor, categorias));
+			}
+		}
+
+		gravarLoteImportacao(new ArrayList<>(validos.keySet()), validos, (posicao, erro) -> {
+			validos.remove(posicao);
+			resultados[posicao] = resultadoImportacao(lote.get(posicao), SituacaoImportacao.RECUSADO, null,
+					"Não foi possível gravar o evento: " + NestedExceptionUtils.getMostSpecificCause(erro).getMessage());
+		});
+
+		validos.forEach((posicao, evento) -> {
+			resultados[posicao] = resultadoImportacao(lote.get(posicao), SituacaoImportacao.IMPORTADO, evento.getId(), null);
+		});
+		Arrays.stream(resultados).forEach(relatorio);
+		return validos.size();
+	}
+
+	/**
+	 * Grava os eventos das posições informadas em uma transação. Se o banco de dados recusar algum deles, a transação
+	 * é desfeita e cada metade é gravada separadamente, até isolar os eventos recusados com poucas transações a mais.
+	 */
+	private void gravarLoteImportacao(List<Integer> posicoes, Map<Integer, Evento> validos, BiConsumer<Integer, DataAccessException> recusar) {
+		if (posicoes.isEmpty()) {
+			return;
+		}
+		List<Evento> eventos = posicoes.stream().map(validos::get).collect(Collectors.toList());
+		try {
+			gravarEventosImportados(eventos);
+		} catch (DataAccessException e) {
+			// os ids gerados na tentativa desfeita não foram gravados
+			eventos.forEach(evento -> {
+				evento.setId(null);
+				evento.getEndereco().setId(null);
+			});
+			if (posicoes.size() == 1) {
+				recusar.accept(posicoes.get(0), e);
+				return;
+			}
+			int metade = posicoes.size() / 2;
+			gravarLoteImportacao(posicoes.subList(0, metade), validos, recusar);
+			gravarLoteImportacao(posicoes.subList(metade, posicoes.size()), validos, recusar);
+		}
+	}
+
+	/**
+	 * Grava os eventos e seus endereços em uma transação. Todos são notificados em um único evento, para que o índice
+	 * de busca, o catálogo de publicados e a fila de inscrições releiam o lote com uma consulta cada.
+	 */
+	private void gravarEventosImportados(List<Evento> eventos) {
+		transactionTemplate.executeWithoutResult(status -> {
+			for (Evento evento : eventos) {
+				enderecoRepository.save(evento.getEndereco());
+				eventoRepository.save(evento);
+			}
+			eventoRepository.flush();
+			List<Integer> eventoIds = eventos.stream().map(Evento::getId).collect(Collectors.toList());
+			applicationEventPublisher.publishEvent(new EventoAlterado(eventoIds));
+			versoesColecoes.alterar(Colecao.EVENTOS, eventoIds);
+			entityManager.clear();
+		});
+	}
+
+	/**
+	 * Valida um registro da importação com as mesmas regras do cadastro de um evento
+	 * @return String - motivo da recusa, ou nulo quando o registro é válido
+	 */
+	private String validarImportacao(EventoImportacaoRequest registro, Map<Integer, Categoria> categorias) {
+		if (registro.getErro() != null) {
+			return registro.getErro();
+		}
+		EventoRequest eventoRequest = registro.getEvento();
+		Set<ConstraintViolation<EventoRequest>> violacoes = validator.validate(eventoRequest);
+		if (!violacoes.isEmpty()) {
+			return violacoes.stream()
+					.map(violacao -> violacao.getPropertyPath() + ": " + violacao.getMessage())
+					.sorted()
+					.collect(Collectors.joining("; "));
+		}
+		Endereco endereco = eventoRequest.getEndereco();
+		if (Stream.of(endereco.getLogradouro(), endereco.getNumero(), endereco.getBairro(), endereco.getCidade(), endereco.getEstado(), endereco.getCEP())
+				.anyMatch(campo -> campo == null || campo.isBlank())) {
+			return "O endereço deve possuir logradouro, número, bairro, cidade, estado e CEP.";
+		}
+		if (!categorias.containsKey(eventoRequest.getCategoriaId())) {
+			return "Categoria não encontrada";
+		}
+		return null;
+	}
+
+	/**
+	 * Monta um evento novo a partir de um registro da importação, ignorando ids informados no registro
+	 */
+	private Evento novoEventoImportado(EventoRequest eventoRequest, Produtor produtor, Map<Integer, Categoria> categorias) {
+		Endereco endereco = eventoRequest.getEndereco();
+		endereco.setId(null);
+
+		Evento evento = new Evento();
+		evento.setNome(eventoRequest.getNome());
+		evento.setDescricao(eventoRequest.getDescricao());
+		evento.setDataHoraInicio(eventoRequest.getDataHoraInicio());
+		evento.setDataHoraFim(eventoRequest.getDataHoraFim());
+		evento.setCategoria(categorias.get(eventoRequest.getCategoriaId()));
+		evento.setStatusEvento(eventoRequest.getStatusEvento());
+		evento.setProdutor(produtor);
+		evento.setEndereco(endereco);
+		evento.setCapacidade(eventoRequest.getCapacidade());
+		evento.setVagasDisponiveis(eventoRequest.getCapacidade());
+		evento.setAltaDemanda(Boolean.TRUE.equals(eventoRequest.getAltaDemanda()));
+		return evento;
+	}
+
+	private ResultadoImportacaoEventoResponse resultadoImportacao(EventoImportacaoRequest registro, SituacaoImportacao situacao,
+																  Integer eventoId, String mensagem) {
+		ResultadoImportacaoEventoResponse resultado = new ResultadoImportacaoEventoResponse();
+		resultado.setLinha(registro.getLinha());
+		resultado.setSituacao(situacao);
+		resultado.setEventoId(eventoId);
+		resultado.setMensagem(mensagem);
+		return resultado;
 	}
 
 	/**
@@ -188,6 +495,24 @@ public class GerenciarEventoController {
 	}
 
 
+	/**
+	 * Calcula as vagas restantes de um evento a partir da capacidade, descontando as inscrições ativas
+	 * quando o evento já existe
+	 *
+	 * @param evento
+	 * @return Integer - nulo para eventos sem limite de vagas
+	 * */
+	private Integer calcularVagasDisponiveis(Evento evento) {
+		if(evento.getCapacidade() == null) {
+			return null;
+		}
+		if(evento.getId() == null) {
+			return evento.getCapacidade();
+		}
+		long inscricoesAtivas = inscricaoRepository.countByEventoAndIsCancelada(evento, false);
+		return (int) Math.max(0, evento.getCapacidade() - inscricoesAtivas);
+	}
+
 	/**
 	 * Preenche os dados de um evento em um EventoResponse
 	 * @param evento Evento
@@ -1,25 +1,49 @@
 package br.com.eventvs.domain.controller;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import br.com.eventvs.domain.conta.IdentidadeConta;
+import br.com.eventvs.domain.demanda.FilaInscricoes;
+import br.com.eventvs.domain.demanda.InscricaoAtiva;
+import br.com.eventvs.domain.demanda.PedidoInscricao;
+import br.com.eventvs.domain.enums.Colecao;
 import br.com.eventvs.domain.exception.EntidadeNaoEncontradaException;
 import br.com.eventvs.domain.exception.NegocioException;
+import br.com.eventvs.domain.exception.Restricoes;
 import br.com.eventvs.api.dto.requests.InscricaoRequest;
+import br.com.eventvs.api.dto.responses.InscricaoEsperaResponse;
+import br.com.eventvs.api.dto.responses.InscricaoResponse;
+import br.com.eventvs.api.dto.responses.ParticipanteExportacaoResponse;
+import br.com.eventvs.domain.model.ChaveIdempotencia;
 import br.com.eventvs.domain.model.Evento;
 import br.com.eventvs.domain.model.Inscricao;
-import br.com.eventvs.domain.model.Pessoa;
+import br.com.eventvs.domain.model.InscricaoEspera;
 import br.com.eventvs.domain.model.Produtor;
+import br.com.eventvs.domain.repository.ChaveIdempotenciaRepository;
 import br.com.eventvs.domain.repository.EventoRepository;
+import br.com.eventvs.domain.repository.InscricaoEsperaRepository;
 import br.com.eventvs.domain.repository.InscricaoRepository;
+import br.com.eventvs.domain.versao.VersoesColecoes;
 
 @Service
 public class InscricaoController {
+
+	/* Tempo durante o qual uma Idempotency-Key repete a inscrição original */
+	private static final Duration VALIDADE_CHAVE_IDEMPOTENCIA = Duration.ofHours(24);
 	
 	@Autowired
 	private InscricaoRepository inscricaoRepository;
@@ -27,8 +51,23 @@ public class InscricaoController {
 	@Autowired
 	private EventoRepository eventoRepository;
 
+	@Autowired
+	private InscricaoEsperaRepository inscricaoEsperaRepository;
+
+	@Autowired
+	private ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private VersoesColecoes versoesColecoes;
+
 	@Autowired
 	private GerenciarContaController gerenciarContaController;
+
+	@Autowired
+	private FilaInscricoes filaInscricoes;
 	
 	/**
      * Cadastra uma inscricao
@@ -38,46 +77,248 @@ public class InscricaoController {
      * @return Inscricao
      * @return null
      * */
+	@Transactional
 	public Inscricao cadastrarInscricao(String email, InscricaoRequest inscricaoRequest) {
+		return cadastrarInscricao(gerenciarContaController.identificar(email), inscricaoRequest);
+	}
 
-		var pessoa = gerenciarContaController.login(email);
-		var participante = gerenciarContaController.loginParticipante(pessoa);
+	/**
+	 * Cadastra uma inscricao. Em eventos com capacidade, a vaga é reservada por um UPDATE condicional
+	 * na linha do evento, que fica travada só até o commit desta transação.
+	 *
+	 * @param identidade IdentidadeConta
+	 * @param inscricaoRequest
+	 * @return Inscricao
+	 * @throws NegocioException {@link NegocioException} quando não há vagas
+	 * */
+	@Transactional
+	public Inscricao cadastrarInscricao(IdentidadeConta identidade, InscricaoRequest inscricaoRequest) {
 
-		Evento evento = eventoRepository.findById(inscricaoRequest.getEvento_id())
+		var participante = gerenciarContaController.loginParticipante(identidade);
+
+		Evento evento = eventoRepository.findCompletoById(inscricaoRequest.getEvento_id())
 				.orElseThrow(() -> new EntidadeNaoEncontradaException("Evento não encontrado na base de dados."));
-		
-		
-		//Checagem pra saber se a inscricao já existe
-		Optional<Inscricao> inscricao_existe = inscricaoRepository.findByEventoAndParticipanteAndIsCancelada(evento, participante, false);
-		if(inscricao_existe.isPresent()) {
-			throw new NegocioException("Participante já está inscrito nesse evento.");
-		}
+
+
 		//Checagem para saber se a data de inicio do evento já passou
 		if(evento.getDataHoraInicio().isBefore(LocalDateTime.now())) {
 			throw new NegocioException("Não é possivel realizar inscrição no evento. O evento já iniciou.");
 		}
+		//Reserva da vaga por último, para manter a linha do evento travada o menor tempo possível
+		if(evento.getCapacidade() != null && eventoRepository.reservarVaga(evento.getId()) == 0) {
+			throw new NegocioException("Não há vagas disponíveis para esse evento. Entre na lista de espera.");
+		}
+		if(evento.getCapacidade() != null) {
+			inscricaoEsperaRepository.deleteByEventoAndParticipante(evento, participante);
+		}
 		Inscricao inscricao = new Inscricao();
 		inscricao.setParticipante(participante);
 		inscricao.setEvento(evento);
 		inscricao.setIsCancelada(false);
 		inscricao.setDataHora(LocalDateTime.now());
-		return inscricaoRepository.save(inscricao);
+		//A chave única das inscrições ativas decide entre requisições simultâneas, sem consulta prévia
+		try {
+			inscricao = inscricaoRepository.saveAndFlush(inscricao);
+		} catch (DataIntegrityViolationException e) {
+			if(Restricoes.violou(e, Inscricao.CHAVE_INSCRICAO_ATIVA)) {
+				throw new NegocioException("Participante já está inscrito nesse evento.");
+			}
+			throw e;
+		}
+		versoesColecoes.alterar(Colecao.INSCRICOES);
+		return inscricao;
+	}
+
+	/**
+	 * Cadastra uma inscricao de forma idempotente: repetir a requisição com a mesma chave devolve a inscrição
+	 * criada na primeira vez, mesmo quando as duas chegam ao mesmo tempo. A chave é gravada antes da inscrição,
+	 * na mesma transação, de forma que a repetição espera pela primeira e então encontra a chave já usada.
+	 *
+	 * @param identidade IdentidadeConta
+	 * @param inscricaoRequest
+	 * @param chave String - header Idempotency-Key enviado pelo cliente, opcional
+	 * @return Inscricao
+	 * @throws NegocioException {@link NegocioException}
+	 * */
+	public Inscricao cadastrarInscricao(IdentidadeConta identidade, InscricaoRequest inscricaoRequest, String chave) {
+		if(chave == null || chave.isBlank()) {
+			return transactionTemplate.execute(status -> cadastrarInscricao(identidade, inscricaoRequest));
+		}
+		if(chave.length() > ChaveIdempotencia.TAMANHO_MAXIMO) {
+			throw new NegocioException("O header Idempotency-Key deve ter no máximo " + ChaveIdempotencia.TAMANHO_MAXIMO + " caracteres.");
+		}
+
+		Optional<Inscricao> anterior = repetirInscricao(identidade, inscricaoRequest, chave);
+		if(anterior.isPresent()) {
+			return anterior.get();
+		}
+		try {
+			return transactionTemplate.execute(status -> {
+				ChaveIdempotencia chaveIdempotencia = new ChaveIdempotencia();
+				chaveIdempotencia.setChave(chave);
+				chaveIdempotencia.setParticipanteId(identidade.getParticipanteId());
+				chaveIdempotencia.setEventoId(inscricaoRequest.getEvento_id());
+				chaveIdempotencia.setDataHora(LocalDateTime.now());
+				chaveIdempotencia = chaveIdempotenciaRepository.saveAndFlush(chaveIdempotencia);
+
+				Inscricao inscricao = cadastrarInscricao(identidade, inscricaoRequest);
+				chaveIdempotencia.setInscricaoId(inscricao.getId());
+				return inscricao;
+			});
+		} catch (DataIntegrityViolationException e) {
+			if(!Restricoes.violou(e, ChaveIdempotencia.CHAVE_PARTICIPANTE)) {
+				throw e;
+			}
+			return repetirInscricao(identidade, inscricaoRequest, chave)
+					.orElseThrow(() -> new NegocioException("Requisição com essa Idempotency-Key ainda em processamento."));
+		}
+	}
+
+	/**
+	 * Verifica se as inscrições do evento passam pela fila de alta demanda
+	 * @param eventoId Integer
+	 * @return boolean
+	 */
+	public boolean emAltaDemanda(Integer eventoId) {
+		return filaInscricoes.emAltaDemanda(eventoId);
+	}
+
+	/**
+	 * Coloca o pedido de inscrição em um evento em alta demanda na fila, sem consultar o banco. As validações e a
+	 * reserva da vaga acontecem quando o lote do pedido é gravado; até lá o pedido fica pendente.
+	 * Repetir o pedido enquanto ele está pendente devolve o mesmo ticket.
+	 *
+	 * @param identidade IdentidadeConta
+	 * @param inscricaoRequest
+	 * @return PedidoInscricao pendente
+	 * @throws NegocioException {@link NegocioException}
+	 * @throws br.com.eventvs.domain.exception.FilaCheiaException quando a fila está cheia
+	 * */
+	public PedidoInscricao enfileirarInscricao(IdentidadeConta identidade, InscricaoRequest inscricaoRequest) {
+		if(!identidade.isParticipante()) {
+			throw new NegocioException("O usuário não é um participante.");
+		}
+		return filaInscricoes.enfileirar(inscricaoRequest.getEvento_id(), identidade.getParticipanteId());
+	}
+
+	/**
+	 * Retorna um pedido de inscrição do usuario pelo ticket
+	 * @param ticket String
+	 * @param identidade IdentidadeConta
+	 * @return PedidoInscricao
+	 */
+	public PedidoInscricao consultarPedido(String ticket, IdentidadeConta identidade) {
+		return filaInscricoes.buscar(ticket)
+				.filter(pedido -> pedido.getParticipanteId().equals(identidade.getParticipanteId()))
+				.orElseThrow(() -> new EntidadeNaoEncontradaException("Pedido de inscrição não encontrado."));
+	}
+
+	/**
+	 * Remove as chaves de idempotência vencidas
+	 */
+	@Scheduled(fixedDelayString = "PT1H")
+	public void expirarChavesIdempotencia() {
+		chaveIdempotenciaRepository.deleteAnterioresA(LocalDateTime.now().minus(VALIDADE_CHAVE_IDEMPOTENCIA));
+	}
+
+	/**
+	 * Busca a inscrição criada anteriormente com a mesma chave de idempotência
+	 * @param identidade IdentidadeConta
+	 * @param inscricaoRequest
+	 * @param chave String
+	 * @return Optional<Inscricao>
+	 * @throws NegocioException {@link NegocioException} quando a chave foi usada para outro evento
+	 */
+	private Optional<Inscricao> repetirInscricao(IdentidadeConta identidade, InscricaoRequest inscricaoRequest, String chave) {
+		return chaveIdempotenciaRepository.findByParticipanteIdAndChave(identidade.getParticipanteId(), chave)
+				.map(chaveIdempotencia -> {
+					if(!chaveIdempotencia.getEventoId().equals(inscricaoRequest.getEvento_id())) {
+						throw new NegocioException("Essa Idempotency-Key já foi utilizada em outra inscrição.");
+					}
+					return inscricaoRepository.findCompletaById(chaveIdempotencia.getInscricaoId())
+							.orElseThrow(() -> new EntidadeNaoEncontradaException("Inscrição não encontrada na base de dados."));
+				});
 	}
 	
+	/**
+	 * Coloca o participante no fim da lista de espera de um evento lotado
+	 *
+	 * @param identidade IdentidadeConta
+	 * @param inscricaoRequest
+	 * @return InscricaoEsperaResponse com a posição do participante na fila
+	 * @throws NegocioException {@link NegocioException}
+	 * */
+	@Transactional
+	public InscricaoEsperaResponse entrarNaListaDeEspera(IdentidadeConta identidade, InscricaoRequest inscricaoRequest) {
+		var participante = gerenciarContaController.loginParticipante(identidade);
+
+		Evento evento = eventoRepository.findById(inscricaoRequest.getEvento_id())
+				.orElseThrow(() -> new EntidadeNaoEncontradaException("Evento não encontrado na base de dados."));
+
+		if(evento.getCapacidade() == null || evento.getVagasDisponiveis() > 0) {
+			throw new NegocioException("O evento possui vagas disponíveis. Realize a inscrição.");
+		}
+		if(evento.getDataHoraInicio().isBefore(LocalDateTime.now())) {
+			throw new NegocioException("Não é possivel entrar na lista de espera. O evento já iniciou.");
+		}
+		if(inscricaoRepository.findByEventoAndParticipanteAndIsCancelada(evento, participante, false).isPresent()) {
+			throw new NegocioException("Participante já está inscrito nesse evento.");
+		}
+		if(inscricaoEsperaRepository.existsByEventoAndParticipante(evento, participante)) {
+			throw new NegocioException("Participante já está na lista de espera desse evento.");
+		}
+
+		InscricaoEspera espera = new InscricaoEspera();
+		espera.setEvento(evento);
+		espera.setParticipante(participante);
+		espera.setDataHora(LocalDateTime.now());
+		espera = inscricaoEsperaRepository.save(espera);
+
+		InscricaoEsperaResponse response = new InscricaoEsperaResponse();
+		response.setId(espera.getId());
+		response.setEventoId(evento.getId());
+		response.setDataHora(espera.getDataHora());
+		response.setPosicao(inscricaoEsperaRepository.countPosicao(evento, espera.getId()));
+		return response;
+	}
+
 	/**
 	 * Retorna uma lista com as inscricoes do usuario
 	 * @param email String
 	 * @return List<Inscricao>
 	 */
 	public List<Inscricao> listarInscricoesPeloUsuario(String email){
-		var pessoa = gerenciarContaController.login(email);
-		var participante = gerenciarContaController.loginParticipante(pessoa);
+		return listarInscricoesPeloUsuario(gerenciarContaController.identificar(email));
+	}
+
+	/**
+	 * Retorna uma lista com as inscricoes do usuario
+	 * @param identidade IdentidadeConta
+	 * @return List<Inscricao>
+	 */
+	public List<Inscricao> listarInscricoesPeloUsuario(IdentidadeConta identidade){
+		var participante = gerenciarContaController.loginParticipante(identidade);
 
 		List<Inscricao> lista = inscricaoRepository.findByParticipante(participante)
 				.orElseThrow(() -> new EntidadeNaoEncontradaException("Participante não possui inscrições."));
 		return lista.stream().filter(inscricao -> !inscricao.getIsCancelada()).collect(Collectors.toList());
 	}
 	
+	/**
+	 * Entrega as inscrições ativas do usuario ao consumidor uma a uma, lidas do banco por um cursor.
+	 * A transação fica aberta até o consumidor receber a última inscrição.
+	 * @param identidade IdentidadeConta
+	 * @param consumidor Consumer<InscricaoResponse>
+	 */
+	@Transactional(readOnly = true)
+	public void transmitirInscricoesPeloUsuario(IdentidadeConta identidade, Consumer<InscricaoResponse> consumidor) {
+		var participante = gerenciarContaController.loginParticipante(identidade);
+
+		try (Stream<InscricaoResponse> inscricoes = inscricaoRepository.streamAtivasByParticipante(participante)) {
+			inscricoes.forEach(consumidor);
+		}
+	}
+
 	/**
 	 * Retorna uma inscricao de um usuario
 	 * @param inscricaoId Integer
@@ -85,13 +326,26 @@ public class InscricaoController {
 	 * @return Optional <Inscricao>
 	 */
 	public Inscricao visualizarInscricao(Integer inscricaoId, String email) {
-		 Inscricao inscricao = inscricaoRepository.findById(inscricaoId)
+		 Inscricao inscricao = inscricaoRepository.findCompletaById(inscricaoId)
 				.orElseThrow(() -> new EntidadeNaoEncontradaException("Inscrição não encontrada na base de dados."));
 		if(!inscricao.getParticipante().getPessoa().getEmail().equals(email)) {
 			throw new NegocioException("Essa Inscrição não pertence ao participante.");
 		}
 		return inscricao;
 	}
+
+	/**
+	 * Retorna uma inscricao de um usuario, conferindo o dono pelo identificador do participante
+	 * @param inscricaoId Integer
+	 * @param identidade IdentidadeConta
+	 * @return Inscricao
+	 */
+	public Inscricao visualizarInscricao(Integer inscricaoId, IdentidadeConta identidade) {
+		Inscricao inscricao = inscricaoRepository.findCompletaById(inscricaoId)
+				.orElseThrow(() -> new EntidadeNaoEncontradaException("Inscrição não encontrada na base de dados."));
+		validarParticipanteDaInscricao(inscricao, identidade);
+		return inscricao;
+	}
 	
 	/**
 	 * Retorna uma lista com todas as inscricoes de um evento
@@ -100,41 +354,160 @@ public class InscricaoController {
 	 * @return Optional<List<Inscricao>>
 	 */
 	public List<Inscricao> visualizarParticipantes(Integer eventoId, String email) {
-		Pessoa pessoa = gerenciarContaController.login(email);
-		Produtor produtor = gerenciarContaController.loginProdutor(pessoa);
-		
-		Evento evento = eventoRepository.findById(eventoId)
-				.orElseThrow(() -> new EntidadeNaoEncontradaException("Evento não encontrado na base de dados."));
-		
-		if(!evento.getProdutor().equals(produtor)) {
-			throw new NegocioException("Esse evento não pertence ao produtor "+produtor.getPessoa().getNome());
-		}
+		return visualizarParticipantes(eventoId, gerenciarContaController.identificar(email));
+	}
+
+	/**
+	 * Retorna uma lista com todas as inscricoes de um evento
+	 * @param eventoId Integer
+	 * @param identidade IdentidadeConta
+	 * @return List<Inscricao>
+	 */
+	public List<Inscricao> visualizarParticipantes(Integer eventoId, IdentidadeConta identidade) {
+		Evento evento = buscarEventoDoProdutor(eventoId, identidade);
+
 		List<Inscricao> inscricoes = inscricaoRepository.findByEvento(evento)
 				.orElseThrow(() -> new EntidadeNaoEncontradaException("Evento não possui Participantes."));
 
 		return inscricoes.stream().filter(inscricao -> !inscricao.getIsCancelada()).collect(Collectors.toList());
 	}
 	
+	/**
+	 * Entrega as inscrições ativas de um evento ao consumidor uma a uma, lidas do banco por um cursor.
+	 * As validações acontecem antes da primeira inscrição ser entregue.
+	 * @param eventoId Integer
+	 * @param identidade IdentidadeConta
+	 * @param consumidor Consumer<InscricaoResponse>
+	 */
+	@Transactional(readOnly = true)
+	public void transmitirParticipantes(Integer eventoId, IdentidadeConta identidade, Consumer<InscricaoResponse> consumidor) {
+		Evento evento = buscarEventoDoProdutor(eventoId, identidade);
+
+		try (Stream<InscricaoResponse> inscricoes = inscricaoRepository.streamAtivasByEvento(evento)) {
+			inscricoes.forEach(consumidor);
+		}
+	}
+
+	/**
+	 * Entrega os participantes inscritos em um evento para exportação, ordenados pelo nome e com o CPF mascarado.
+	 * Os participantes são lidos do banco por um cursor, sem montar a lista em memória.
+	 * @param eventoId Integer
+	 * @param identidade IdentidadeConta
+	 * @param consumidor Consumer<ParticipanteExportacaoResponse>
+	 */
+	@Transactional(readOnly = true)
+	public void exportarParticipantes(Integer eventoId, IdentidadeConta identidade, Consumer<ParticipanteExportacaoResponse> consumidor) {
+		Evento evento = buscarEventoDoProdutor(eventoId, identidade);
+
+		try (Stream<ParticipanteExportacaoResponse> participantes = inscricaoRepository.streamExportacaoByEvento(evento)) {
+			participantes.forEach(consumidor);
+		}
+	}
+
 	/**
 	 * Cancela uma inscricao no banco de dados
 	 * @param inscricaoId
 	 * @param email
 	 */
 	public void cancelarInscricao(Integer inscricaoId, String email) {
-		gerenciarContaController.login(email);
-		
-		Inscricao inscricao = inscricaoRepository.findById(inscricaoId)
-				.orElseThrow(() -> new EntidadeNaoEncontradaException("Inscrição não encontrada na base de dados."));
-		if(!inscricao.getParticipante().getPessoa().getEmail().equals(email)) {
-			throw new NegocioException("Essa Inscrição não pertence ao participante.");
+		cancelarInscricao(inscricaoId, gerenciarContaController.identificar(email));
+	}
+
+	/**
+	 * Cancela uma inscricao no banco de dados, devolvendo a vaga ao evento quando ele tem capacidade.
+	 * A vaga devolvida é repassada à lista de espera na mesma transação do cancelamento.
+	 * @param inscricaoId
+	 * @param identidade
+	 */
+	public void cancelarInscricao(Integer inscricaoId, IdentidadeConta identidade) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				Inscricao inscricao = inscricaoRepository.findCompletaById(inscricaoId)
+						.orElseThrow(() -> new EntidadeNaoEncontradaException("Inscrição não encontrada na base de dados."));
+				validarParticipanteDaInscricao(inscricao, identidade);
+				//Checagem se a data do evento já passou
+				if(inscricao.getEvento().getDataHoraInicio().isBefore(LocalDateTime.now())) {
+					throw new NegocioException("Não é possível cancelar a inscrição, pois o evento já iniciou.");
+				}
+				//Cancelamento condicional, para que duas requisições simultâneas não devolvam a vaga duas vezes
+				if(inscricaoRepository.cancelarAtivaById(inscricao.getId()) == 0) {
+					throw new NegocioException("Essa inscrição já está cancelada.");
+				}
+				if(inscricao.getEvento().getCapacidade() != null) {
+					eventoRepository.liberarVaga(inscricao.getEvento().getId());
+					promoverDaEspera(inscricao.getEvento());
+				}
+			});
+		} finally {
+			versoesColecoes.alterar(Colecao.INSCRICOES);
 		}
-		//Checagem se a data do evento já passou
-		if(inscricao.getEvento().getDataHoraInicio().isBefore(LocalDateTime.now())) {
-			throw new NegocioException("Não é possível cancelar a inscrição, pois o evento já iniciou.");
+	}
+
+	/**
+	 * Promove o primeiro da lista de espera, se ainda houver vaga depois do cancelamento. Os participantes da
+	 * fila que já têm inscrição ativa no evento saem da fila e a vaga passa ao seguinte. A devolução da vaga
+	 * trava a linha do evento até o commit, de forma que os cancelamentos simultâneos de um mesmo evento
+	 * promovem um participante por vez.
+	 * @param evento Evento
+	 */
+	private void promoverDaEspera(Evento evento) {
+		while(true) {
+			List<InscricaoEspera> primeiros = inscricaoEsperaRepository.findTop20ByEventoOrderByIdAsc(evento);
+			if(primeiros.isEmpty()) {
+				return;
+			}
+			Set<Integer> inscritos = inscricaoRepository.findAtivasByEventoIdAndParticipanteIds(evento.getId(),
+					primeiros.stream().map(espera -> espera.getParticipante().getId()).collect(Collectors.toList()))
+					.stream().map(InscricaoAtiva::getParticipanteId).collect(Collectors.toSet());
+			for(InscricaoEspera espera : primeiros) {
+				if(inscritos.contains(espera.getParticipante().getId())) {
+					inscricaoEsperaRepository.delete(espera);
+					continue;
+				}
+				//Sem vaga quando a capacidade foi reduzida abaixo das inscrições ativas
+				if(eventoRepository.reservarVaga(evento.getId()) == 0) {
+					return;
+				}
+				Inscricao promovida = new Inscricao();
+				promovida.setParticipante(espera.getParticipante());
+				promovida.setEvento(evento);
+				promovida.setIsCancelada(false);
+				promovida.setDataHora(LocalDateTime.now());
+				inscricaoRepository.save(promovida);
+				inscricaoEsperaRepository.delete(espera);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Busca um evento conferindo se ele pertence ao produtor logado
+	 * @param eventoId Integer
+	 * @param identidade IdentidadeConta
+	 * @return Evento
+	 * @throws NegocioException {@link NegocioException}
+	 */
+	private Evento buscarEventoDoProdutor(Integer eventoId, IdentidadeConta identidade) {
+		Produtor produtor = gerenciarContaController.loginProdutor(identidade);
+
+		Evento evento = eventoRepository.findById(eventoId)
+				.orElseThrow(() -> new EntidadeNaoEncontradaException("Evento não encontrado na base de dados."));
+
+		if(!evento.getProdutor().getId().equals(produtor.getId())) {
+			throw new NegocioException("Esse evento não pertence ao produtor "+produtor.getPessoa().getNome());
+		}
+		return evento;
+	}
+
+	/**
+	 * Verifica se a inscrição pertence ao participante logado
+	 * @param inscricao Inscricao
+	 * @param identidade IdentidadeConta
+	 * @throws NegocioException {@link NegocioException}
+	 */
+	private void validarParticipanteDaInscricao(Inscricao inscricao, IdentidadeConta identidade) {
+		if(!inscricao.getParticipante().getId().equals(identidade.getParticipanteId())) {
+			throw new NegocioException("Essa Inscrição não pertence ao participante.");
 		}
-		inscricao.setIsCancelada(true);
-		inscricaoRepository.save(inscricao);
 	}
-			
-	
 }
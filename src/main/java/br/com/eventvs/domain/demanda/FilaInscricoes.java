@@ -0,0 +1,302 @@
+package br.com.eventvs.domain.demanda;
+
+import br.com.eventvs.domain.busca.EventoAlterado;
+import br.com.eventvs.domain.enums.Colecao;
+import br.com.eventvs.domain.exception.FilaCheiaException;
+import br.com.eventvs.domain.exception.Restricoes;
+import br.com.eventvs.domain.model.Inscricao;
+import br.com.eventvs.domain.repository.EventoRepository;
+import br.com.eventvs.domain.repository.PedidoInscricaoConcluidoRepository;
+import br.com.eventvs.domain.versao.LeitorAlteracoes;
+import br.com.eventvs.domain.versao.VersoesColecoes;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Fila em memória das inscrições dos eventos em alta demanda. A requisição só enfileira o pedido e recebe um ticket,
+ * sem consultar o banco; um único escritor esvazia a fila e grava os pedidos de cada evento em lote pelo
+ * {@link GravadorLoteInscricoes}, de forma que o custo por inscrição cai com o tamanho do lote e a capacidade é
+ * conferida uma vez por lote, sem disputa entre requisições pela linha do evento.
+ *
+ * A fila é limitada: cheia, o pedido é recusado na hora com {@link FilaCheiaException}. Os pedidos pendentes vivem
+ * apenas na memória desta instância e se perdem se a aplicação parar antes de gravá-los. O desfecho de cada pedido
+ * é gravado junto com o lote, e a consulta pelo ticket funciona em qualquer nó: enquanto o desfecho não foi gravado,
+ * o pedido de outro nó é dado como pendente até o prazo de gravação.
+ *
+ * Os eventos em alta demanda alterados por outros nós são relidos pelo registro de alterações da coleção de eventos.
+ * */
+@Slf4j
+@Component
+public class FilaInscricoes {
+
+    /* Tempo durante o qual um pedido concluído continua disponível para consulta pelo ticket */
+    private static final Duration RETENCAO_PEDIDOS_CONCLUIDOS = Duration.ofMinutes(10);
+
+    /* Tempo durante o qual o desfecho gravado de um pedido continua disponível para consulta pelo ticket */
+    private static final Duration RETENCAO_PEDIDOS_GRAVADOS = Duration.ofDays(1);
+
+    /* Tempo máximo entre o pedido e a gravação do desfecho, durante o qual o pedido de outro nó é dado como pendente */
+    private static final Duration PRAZO_GRAVACAO = Duration.ofMinutes(5);
+
+    /* Acima dessa quantidade de eventos alterados por outros nós, todos os eventos em alta demanda são relidos */
+    private static final int LIMITE_RELEITURA = 1000;
+
+    @Value("${eventvs.inscricoes.alta-demanda.capacidade-fila:10000}")
+    private int capacidadeFila;
+
+    @Value("${eventvs.inscricoes.alta-demanda.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Autowired
+    private GravadorLoteInscricoes gravadorLoteInscricoes;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private PedidoInscricaoConcluidoRepository pedidoInscricaoConcluidoRepository;
+
+    @Autowired
+    private VersoesColecoes versoesColecoes;
+
+    private LeitorAlteracoes alteracoes;
+
+    private BlockingQueue<PedidoInscricao> fila;
+
+    /* Pedidos por ticket, pendentes e concluídos recentemente */
+    private final Map<String, PedidoInscricao> pedidos = new ConcurrentHashMap<>();
+
+    /* Pedido pendente de cada par evento/participante, para que repetições devolvam o mesmo ticket */
+    private final Map<String, PedidoInscricao> pendentes = new ConcurrentHashMap<>();
+
+    private volatile Set<Integer> eventosEmAltaDemanda = Set.of();
+
+    private final AtomicLong lotesGravados = new AtomicLong();
+
+    private Thread escritor;
+
+    @PostConstruct
+    void criarFila() {
+        fila = new ArrayBlockingQueue<>(capacidadeFila);
+        alteracoes = versoesColecoes.leitor(Colecao.EVENTOS);
+    }
+
+    /**
+     * Carrega os eventos em alta demanda e inicia o escritor da fila ao iniciar a aplicação.
+     * */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void iniciar() {
+        carregar();
+        if (escritor == null) {
+            escritor = new Thread(this::escrever, "eventvs-fila-inscricoes");
+            escritor.setDaemon(true);
+            escritor.start();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void parar() {
+        if (escritor != null) {
+            escritor.interrupt();
+        }
+    }
+
+    /**
+     * Relê o modo de alta demanda dos eventos alterados por outros nós desde a última sincronização.
+     * */
+    @Scheduled(fixedDelayString = "${eventvs.inscricoes.alta-demanda.sincronizacao:PT10S}",
+            initialDelayString = "${eventvs.inscricoes.alta-demanda.sincronizacao:PT10S}")
+    public synchronized void sincronizar() {
+        Set<Integer> alterados = alteracoes.ler();
+        if (alterados.size() > LIMITE_RELEITURA) {
+            carregar();
+        } else if (!alterados.isEmpty()) {
+            aplicar(alterados);
+        }
+    }
+
+    /**
+     * Atualiza o modo de alta demanda dos eventos alterados depois que a transação que os alterou for confirmada,
+     * com uma única consulta para todos eles.
+     *
+     * @param eventoAlterado EventoAlterado
+     * */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public synchronized void atualizar(EventoAlterado eventoAlterado) {
+        aplicar(eventoAlterado.getEventoIds());
+    }
+
+    private void carregar() {
+        // antes dos eventos: uma alteração confirmada durante a leitura é entregue na próxima sincronização
+        alteracoes.reiniciar();
+        eventosEmAltaDemanda = Set.copyOf(eventoRepository.findIdsEmAltaDemanda());
+    }
+
+    private void aplicar(Collection<Integer> eventoIds) {
+        Set<Integer> emAltaDemanda = eventoRepository.findIdsEmAltaDemandaByIdIn(eventoIds);
+        Set<Integer> eventos = new HashSet<>(eventosEmAltaDemanda);
+        eventos.removeAll(eventoIds);
+        eventos.addAll(emAltaDemanda);
+        eventosEmAltaDemanda = Set.copyOf(eventos);
+    }
+
+    /**
+     * Verifica se as inscrições do evento passam pela fila.
+     *
+     * @param eventoId Integer
+     * @return boolean
+     * */
+    public boolean emAltaDemanda(Integer eventoId) {
+        return eventosEmAltaDemanda.contains(eventoId);
+    }
+
+    /**
+     * Enfileira o pedido de inscrição do participante. Enquanto houver um pedido pendente do mesmo participante
+     * para o mesmo evento, ele é devolvido no lugar de um novo.
+     *
+     * @param eventoId Integer
+     * @param participanteId Integer
+     * @return PedidoInscricao pendente
+     * @throws FilaCheiaException {@link FilaCheiaException} quando a fila está cheia
+     * */
+    public PedidoInscricao enfileirar(Integer eventoId, Integer participanteId) {
+        // o pedido entra na fila com a chave do par travada: uma repetição simultânea espera e recebe o mesmo
+        // ticket, e o escritor só consegue liberar a chave depois que ela foi registrada
+        PedidoInscricao pedido = pendentes.computeIfAbsent(eventoId + ":" + participanteId, chave -> {
+            PedidoInscricao novo = new PedidoInscricao(eventoId, participanteId);
+            if (!fila.offer(novo)) {
+                return null;
+            }
+            pedidos.put(novo.getTicket(), novo);
+            return novo;
+        });
+        if (pedido == null) {
+            throw new FilaCheiaException("Muitas inscrições sendo processadas para esse evento. Tente novamente em instantes.");
+        }
+        return pedido;
+    }
+
+    /**
+     * Busca um pedido pelo ticket: entre os pedidos desta instância, depois entre os desfechos gravados e, por fim,
+     * como pedido de outro nó ainda pendente, se o prazo de gravação não passou.
+     *
+     * @param ticket String
+     * @return Optional<PedidoInscricao>
+     * */
+    public Optional<PedidoInscricao> buscar(String ticket) {
+        return Optional.ofNullable(pedidos.get(ticket))
+                .or(() -> pedidoInscricaoConcluidoRepository.findByTicket(ticket).map(PedidoInscricao::concluido))
+                .or(() -> PedidoInscricao.pendente(ticket, PRAZO_GRAVACAO));
+    }
+
+    /**
+     * Quantidade de lotes gravados desde que a aplicação iniciou.
+     *
+     * @return long
+     * */
+    public long getLotesGravados() {
+        return lotesGravados.get();
+    }
+
+    /**
+     * Remove os pedidos concluídos há mais tempo que a retenção
+     */
+    @Scheduled(fixedDelayString = "PT1M")
+    public void removerPedidosConcluidos() {
+        Instant limite = Instant.now().minus(RETENCAO_PEDIDOS_CONCLUIDOS);
+        pedidos.values().removeIf(pedido -> pedido.getConcluidoEm() != null && pedido.getConcluidoEm().isBefore(limite));
+    }
+
+    /**
+     * Remove os desfechos gravados há mais tempo que a retenção
+     */
+    @Scheduled(fixedDelayString = "PT1H")
+    public void expirarPedidosGravados() {
+        pedidoInscricaoConcluidoRepository.deleteAnterioresA(LocalDateTime.now().minus(RETENCAO_PEDIDOS_GRAVADOS));
+    }
+
+    /**
+     * Laço do escritor: espera o primeiro pedido e leva junto tudo o que já estiver na fila, até o tamanho do lote.
+     * */
+    private void escrever() {
+        List<PedidoInscricao> lote = new ArrayList<>(tamanhoLote);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                lote.add(fila.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            fila.drainTo(lote, tamanhoLote - 1);
+            try {
+                lote.stream()
+                        .collect(Collectors.groupingBy(PedidoInscricao::getEventoId, LinkedHashMap::new, Collectors.toList()))
+                        .forEach(this::gravar);
+            } catch (RuntimeException e) {
+                log.error("Falha inesperada ao gravar um lote de {} pedidos de inscrição.", lote.size(), e);
+            }
+            lote.clear();
+        }
+    }
+
+    /**
+     * Grava os pedidos de um evento. Se o lote violar alguma restrição do banco, cada pedido é gravado sozinho,
+     * para que um pedido inválido não derrube os demais. Sozinho, o pedido só é recusado como repetido quando violou
+     * a chave da inscrição ativa; as demais violações são falhas.
+     * */
+    private void gravar(Integer eventoId, List<PedidoInscricao> lote) {
+        try {
+            GravadorLoteInscricoes.Resultado resultado = gravadorLoteInscricoes.gravar(eventoId, lote);
+            lotesGravados.incrementAndGet();
+            resultado.aplicar();
+        } catch (DataIntegrityViolationException e) {
+            if (lote.size() > 1) {
+                lote.forEach(pedido -> gravar(eventoId, List.of(pedido)));
+            } else if (Restricoes.violou(e, Inscricao.CHAVE_INSCRICAO_ATIVA)) {
+                recusar(lote, "Participante já está inscrito nesse evento.");
+            } else {
+                log.error("Falha ao gravar o pedido de inscrição do evento {}.", eventoId, e);
+                recusar(lote, "Não foi possível processar a inscrição. Tente novamente.");
+            }
+        } catch (RuntimeException e) {
+            log.error("Falha ao gravar {} pedidos de inscrição do evento {}.", lote.size(), eventoId, e);
+            recusar(lote, "Não foi possível processar a inscrição. Tente novamente.");
+        } finally {
+            lote.forEach(pedido -> pendentes.remove(pedido.getEventoId() + ":" + pedido.getParticipanteId(), pedido));
+        }
+    }
+
+    /**
+     * Recusa os pedidos que não puderam ser gravados. Se nem a recusa puder ser gravada, ela só é aplicada aos
+     * pedidos desta instância.
+     * */
+    private void recusar(List<PedidoInscricao> lote, String mensagem) {
+        try {
+            gravadorLoteInscricoes.recusar(lote, mensagem).aplicar();
+        } catch (RuntimeException e) {
+            log.error("Falha ao gravar a recusa de {} pedidos de inscrição.", lote.size(), e);
+            lote.forEach(pedido -> pedido.recusar(mensagem));
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package br.com.eventvs.domain.demanda;
+
+import br.com.eventvs.domain.enums.Colecao;
+import br.com.eventvs.domain.enums.SituacaoPedido;
+import br.com.eventvs.domain.model.Evento;
+import br.com.eventvs.domain.model.Inscricao;
+import br.com.eventvs.domain.model.PedidoInscricaoConcluido;
+import br.com.eventvs.domain.repository.EventoRepository;
+import br.com.eventvs.domain.repository.InscricaoEsperaRepository;
+import br.com.eventvs.domain.repository.InscricaoRepository;
+import br.com.eventvs.domain.repository.ParticipanteRepository;
+import br.com.eventvs.domain.repository.PedidoInscricaoConcluidoRepository;
+import br.com.eventvs.domain.versao.VersoesColecoes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Grava um lote de pedidos de inscrição de um mesmo evento em uma única transação, com um número fixo de
+ * instruções por lote: a leitura travada do evento, a conferência dos já inscritos, os INSERTs agrupados em
+ * batches JDBC e a limpeza da lista de espera. Os ids das inscrições vêm do {@link br.com.eventvs.domain.model.GeradorIdentificadores}
+ * antes do INSERT, sem precisar relê-los. O desfecho de cada pedido é gravado na mesma transação, para que
+ * qualquer nó responda a consulta pelo ticket, e aplicado aos pedidos por quem chamou, depois do commit.
+ * */
+@Component
+public class GravadorLoteInscricoes {
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private InscricaoRepository inscricaoRepository;
+
+    @Autowired
+    private InscricaoEsperaRepository inscricaoEsperaRepository;
+
+    @Autowired
+    private ParticipanteRepository participanteRepository;
+
+    @Autowired
+    private PedidoInscricaoConcluidoRepository pedidoInscricaoConcluidoRepository;
+
+    @Autowired
+    private VersoesColecoes versoesColecoes;
+
+    /**
+     * Grava os pedidos de um evento, respeitando a capacidade na ordem em que os pedidos chegaram.
+     *
+     * @param eventoId Integer
+     * @param pedidos List<PedidoInscricao> - todos do mesmo evento
+     * @return Resultado com o id da inscrição de cada pedido aceito e o motivo de cada recusa
+     * */
+    @Transactional
+    public Resultado gravar(Integer eventoId, List<PedidoInscricao> pedidos) {
+        Resultado resultado = reservar(eventoId, pedidos);
+        pedidoInscricaoConcluidoRepository.saveAll(resultado.registros());
+        return resultado;
+    }
+
+    /**
+     * Grava a recusa dos pedidos que não puderam ser gravados.
+     *
+     * @param pedidos List<PedidoInscricao>
+     * @param mensagem String - motivo da recusa
+     * @return Resultado com a recusa de cada pedido
+     * */
+    @Transactional
+    public Resultado recusar(List<PedidoInscricao> pedidos, String mensagem) {
+        Resultado resultado = new Resultado();
+        pedidos.forEach(pedido -> resultado.recusar(pedido, mensagem));
+        pedidoInscricaoConcluidoRepository.saveAll(resultado.registros());
+        return resultado;
+    }
+
+    private Resultado reservar(Integer eventoId, List<PedidoInscricao> pedidos) {
+        Resultado resultado = new Resultado();
+
+        Optional<Evento> encontrado = eventoRepository.findParaReservaById(eventoId);
+        if (encontrado.isEmpty()) {
+            pedidos.forEach(pedido -> resultado.recusar(pedido, "Evento não encontrado na base de dados."));
+            return resultado;
+        }
+        Evento evento = encontrado.get();
+        if (evento.getDataHoraInicio().isBefore(LocalDateTime.now())) {
+            pedidos.forEach(pedido -> resultado.recusar(pedido, "Não é possivel realizar inscrição no evento. O evento já iniciou."));
+            return resultado;
+        }
+
+        Map<Integer, PedidoInscricao> porParticipante = new LinkedHashMap<>();
+        for (PedidoInscricao pedido : pedidos) {
+            if (porParticipante.putIfAbsent(pedido.getParticipanteId(), pedido) != null) {
+                resultado.recusar(pedido, "Participante já está inscrito nesse evento.");
+            }
+        }
+        inscricaoRepository.findAtivasByEventoIdAndParticipanteIds(eventoId, porParticipante.keySet())
+                .forEach(ativa -> resultado.recusar(porParticipante.remove(ativa.getParticipanteId()), "Participante já está inscrito nesse evento."));
+
+        List<PedidoInscricao> aceitos = new ArrayList<>(porParticipante.values());
+        if (evento.getCapacidade() != null) {
+            int vagas = evento.getVagasDisponiveis();
+            if (aceitos.size() > vagas) {
+                aceitos.subList(vagas, aceitos.size())
+                        .forEach(pedido -> resultado.recusar(pedido, "Não há vagas disponíveis para esse evento. Entre na lista de espera."));
+                aceitos = aceitos.subList(0, vagas);
+            }
+            evento.setVagasDisponiveis(vagas - aceitos.size());
+        }
+        if (aceitos.isEmpty()) {
+            return resultado;
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        List<Inscricao> inscricoes = new ArrayList<>(aceitos.size());
+        for (PedidoInscricao pedido : aceitos) {
+            Inscricao inscricao = new Inscricao();
+            inscricao.setParticipante(participanteRepository.getOne(pedido.getParticipanteId()));
+            inscricao.setEvento(evento);
+            inscricao.setIsCancelada(false);
+            inscricao.setDataHora(agora);
+            inscricoes.add(inscricao);
+        }
+        inscricaoRepository.saveAll(inscricoes);
+        inscricaoRepository.flush();
+        for (int i = 0; i < aceitos.size(); i++) {
+            resultado.confirmar(aceitos.get(i), inscricoes.get(i).getId());
+        }
+
+        Set<Integer> participantes = aceitos.stream().map(PedidoInscricao::getParticipanteId).collect(Collectors.toSet());
+        if (evento.getCapacidade() != null) {
+            inscricaoEsperaRepository.deleteByEventoIdAndParticipanteIds(eventoId, participantes);
+        }
+        versoesColecoes.alterar(Colecao.INSCRICOES);
+        return resultado;
+    }
+
+    /**
+     * Desfecho de cada pedido de um lote, aplicado aos pedidos só depois do commit.
+     * */
+    public static class Resultado {
+
+        private final Map<PedidoInscricao, Integer> confirmados = new LinkedHashMap<>();
+        private final Map<PedidoInscricao, String> recusados = new LinkedHashMap<>();
+
+        void confirmar(PedidoInscricao pedido, Integer inscricaoId) {
+            confirmados.put(pedido, inscricaoId);
+        }
+
+        void recusar(PedidoInscricao pedido, String mensagem) {
+            recusados.put(pedido, mensagem);
+        }
+
+        List<PedidoInscricaoConcluido> registros() {
+            LocalDateTime agora = LocalDateTime.now();
+            List<PedidoInscricaoConcluido> registros = new ArrayList<>(confirmados.size() + recusados.size());
+            confirmados.forEach((pedido, inscricaoId) -> registros.add(pedido.registro(SituacaoPedido.CONFIRMADO, null, inscricaoId, agora)));
+            recusados.forEach((pedido, mensagem) -> registros.add(pedido.registro(SituacaoPedido.RECUSADO, mensagem, null, agora)));
+            return registros;
+        }
+
+        void aplicar() {
+            confirmados.forEach(PedidoInscricao::confirmar);
+            recusados.forEach(PedidoInscricao::recusar);
+        }
+
+        public int getConfirmados() {
+            return confirmados.size();
+        }
+
+        public int getRecusados() {
+            return recusados.size();
+        }
+    }
+}
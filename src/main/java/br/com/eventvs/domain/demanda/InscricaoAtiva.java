@@ -0,0 +1,15 @@
+package br.com.eventvs.domain.demanda;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Identificadores de uma inscrição ativa, projetados direto da consulta sem carregar as entidades.
+ * */
+@Getter
+@AllArgsConstructor
+public class InscricaoAtiva {
+
+    private final Integer participanteId;
+    private final Integer inscricaoId;
+}
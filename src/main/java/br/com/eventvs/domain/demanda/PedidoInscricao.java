@@ -0,0 +1,145 @@
+package br.com.eventvs.domain.demanda;
+
+import br.com.eventvs.domain.enums.SituacaoPedido;
+import br.com.eventvs.domain.model.PedidoInscricaoConcluido;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+
+/**
+ * Pedido de inscrição aceito pela {@link FilaInscricoes} e ainda não, ou já, gravado pelo escritor da fila.
+ * O ticket é devolvido ao cliente na hora e a situação muda uma única vez, de pendente para confirmado ou recusado.
+ *
+ * O ticket leva o evento, o participante e o instante do pedido, para que um nó que não enfileirou o pedido
+ * responda por ele enquanto o desfecho ainda não foi gravado. Esses pedidos não são locais: a conclusão deles não
+ * é notificada neste nó.
+ * */
+@Getter
+public class PedidoInscricao {
+
+    private static final String SEPARADOR = ".";
+
+    private final String ticket;
+    private final Integer eventoId;
+    private final Integer participanteId;
+    private final LocalDateTime dataHora;
+    private final boolean local;
+
+    private volatile SituacaoPedido situacao = SituacaoPedido.PENDENTE;
+    private volatile String mensagem;
+    private volatile Integer inscricaoId;
+    private volatile Instant concluidoEm;
+
+    @Getter(AccessLevel.NONE)
+    private final CompletableFuture<PedidoInscricao> conclusao = new CompletableFuture<>();
+
+    PedidoInscricao(Integer eventoId, Integer participanteId) {
+        Instant agora = Instant.now();
+        this.ticket = String.join(SEPARADOR, eventoId.toString(), participanteId.toString(),
+                Long.toString(agora.toEpochMilli()), UUID.randomUUID().toString());
+        this.eventoId = eventoId;
+        this.participanteId = participanteId;
+        this.dataHora = LocalDateTime.ofInstant(agora, ZoneId.systemDefault());
+        this.local = true;
+    }
+
+    private PedidoInscricao(String ticket, Integer eventoId, Integer participanteId, LocalDateTime dataHora) {
+        this.ticket = ticket;
+        this.eventoId = eventoId;
+        this.participanteId = participanteId;
+        this.dataHora = dataHora;
+        this.local = false;
+    }
+
+    /**
+     * Pedido concluído lido do banco de dados.
+     *
+     * @param registro PedidoInscricaoConcluido
+     * @return PedidoInscricao
+     * */
+    static PedidoInscricao concluido(PedidoInscricaoConcluido registro) {
+        PedidoInscricao pedido = new PedidoInscricao(registro.getTicket(), registro.getEventoId(),
+                registro.getParticipanteId(), registro.getDataHora());
+        pedido.inscricaoId = registro.getInscricaoId();
+        pedido.concluir(registro.getSituacao(), registro.getMensagem());
+        return pedido;
+    }
+
+    /**
+     * Pedido pendente em outro nó, reconstruído a partir do ticket enquanto o prazo para gravá-lo não passou.
+     *
+     * @param ticket String
+     * @param prazo Duration - tempo máximo entre o pedido e a gravação do desfecho
+     * @return Optional<PedidoInscricao> - vazio quando o ticket é inválido ou o prazo já passou
+     * */
+    static Optional<PedidoInscricao> pendente(String ticket, Duration prazo) {
+        String[] partes = ticket.split(Pattern.quote(SEPARADOR));
+        if (partes.length != 4) {
+            return Optional.empty();
+        }
+        try {
+            Instant recebidoEm = Instant.ofEpochMilli(Long.parseLong(partes[2]));
+            UUID.fromString(partes[3]);
+            if (recebidoEm.plus(prazo).isBefore(Instant.now())) {
+                return Optional.empty();
+            }
+            return Optional.of(new PedidoInscricao(ticket, Integer.valueOf(partes[0]), Integer.valueOf(partes[1]),
+                    LocalDateTime.ofInstant(recebidoEm, ZoneId.systemDefault())));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Completado quando o pedido é confirmado ou recusado, usado pelas consultas que aguardam o resultado.
+     *
+     * @return CompletableFuture<PedidoInscricao>
+     * */
+    public CompletableFuture<PedidoInscricao> aoConcluir() {
+        return conclusao;
+    }
+
+    public boolean isPendente() {
+        return situacao == SituacaoPedido.PENDENTE;
+    }
+
+    void confirmar(Integer inscricaoId) {
+        this.inscricaoId = inscricaoId;
+        concluir(SituacaoPedido.CONFIRMADO, null);
+    }
+
+    void recusar(String mensagem) {
+        concluir(SituacaoPedido.RECUSADO, mensagem);
+    }
+
+    /**
+     * Registro do desfecho do pedido, gravado antes de o desfecho ser aplicado ao pedido.
+     * */
+    PedidoInscricaoConcluido registro(SituacaoPedido situacao, String mensagem, Integer inscricaoId, LocalDateTime concluidoEm) {
+        PedidoInscricaoConcluido registro = new PedidoInscricaoConcluido();
+        registro.setTicket(ticket);
+        registro.setEventoId(eventoId);
+        registro.setParticipanteId(participanteId);
+        registro.setSituacao(situacao);
+        registro.setMensagem(mensagem);
+        registro.setInscricaoId(inscricaoId);
+        registro.setDataHora(dataHora);
+        registro.setConcluidoEm(concluidoEm);
+        return registro;
+    }
+
+    private void concluir(SituacaoPedido situacao, String mensagem) {
+        this.mensagem = mensagem;
+        this.concluidoEm = Instant.now();
+        this.situacao = situacao;
+        conclusao.complete(this);
+    }
+}
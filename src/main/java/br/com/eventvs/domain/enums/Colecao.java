@@ -0,0 +1,10 @@
+package br.com.eventvs.domain.enums;
+
+public enum Colecao {
+
+    CATEGORIAS,
+    EVENTOS,
+    INSCRICOES,
+    PRODUTORES,
+
+}
@@ -0,0 +1,33 @@
+package br.com.eventvs.domain.enums;
+
+import br.com.eventvs.domain.exception.NegocioException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum FormatoArquivo {
+
+    CSV("csv", "text/csv;charset=UTF-8"),
+    NDJSON("ndjson", "application/x-ndjson;charset=UTF-8");
+
+    private final String extensao;
+    private final String tipoConteudo;
+
+    /**
+     * Identifica o formato pela extensão informada na requisição, sem diferenciar maiúsculas.
+     *
+     * @param extensao String
+     * @return FormatoArquivo
+     * @throws NegocioException {@link NegocioException} quando o formato não é suportado
+     * */
+    public static FormatoArquivo de(String extensao) {
+        for (FormatoArquivo formato : values()) {
+            if (formato.extensao.equalsIgnoreCase(extensao)) {
+                return formato;
+            }
+        }
+        throw new NegocioException("Formato inválido. Utilize csv ou ndjson.");
+    }
+
+}
@@ -0,0 +1,8 @@
+package br.com.eventvs.domain.enums;
+
+public enum SituacaoImportacao {
+
+    IMPORTADO,
+    RECUSADO
+
+}
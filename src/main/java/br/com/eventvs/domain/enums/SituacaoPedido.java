@@ -0,0 +1,9 @@
+package br.com.eventvs.domain.enums;
+
+public enum SituacaoPedido {
+
+    PENDENTE,
+    CONFIRMADO,
+    RECUSADO
+
+}
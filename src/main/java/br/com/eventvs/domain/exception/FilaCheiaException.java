@@ -0,0 +1,10 @@
+package br.com.eventvs.domain.exception;
+
+public class FilaCheiaException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public FilaCheiaException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,25 @@
+package br.com.eventvs.domain.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Identifica a restrição do banco violada por uma escrita, para tratar apenas as violações esperadas.
+ * */
+public final class Restricoes {
+
+	private Restricoes() {
+	}
+
+	/**
+	 * Verifica se a violação de integridade foi causada pela restrição informada
+	 * @param e DataIntegrityViolationException
+	 * @param restricao String nome da restrição
+	 * @return boolean
+	 */
+	public static boolean violou(DataIntegrityViolationException e, String restricao) {
+		return e.getCause() instanceof ConstraintViolationException
+				&& ((ConstraintViolationException) e.getCause()).getConstraintName() != null
+				&& ((ConstraintViolationException) e.getCause()).getConstraintName().toLowerCase().contains(restricao);
+	}
+}
@@ -11,7 +11,7 @@ import javax.persistence.*;
 public class Administrador {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = GeradorIdentificadores.NOME)
     @EqualsAndHashCode.Include
     private Integer id;
 
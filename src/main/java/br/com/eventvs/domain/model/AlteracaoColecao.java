@@ -0,0 +1,38 @@
+package br.com.eventvs.domain.model;
+
+import br.com.eventvs.domain.enums.Colecao;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import javax.persistence.*;
+
+/**
+ * Registro de uma entidade alterada numa {@link Colecao}, gravado na mesma transação da alteração. Os outros nós
+ * leem os registros recentes para reler apenas as entidades alteradas, em vez de reconstruir as cópias locais.
+ * */
+@Entity
+@Table(indexes = @Index(name = "idx_alteracao_colecao_registrada_em", columnList = "registradaEm"))
+@Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class AlteracaoColecao {
+
+    @Id
+    @GeneratedValue(generator = GeradorIdentificadores.NOME)
+    @EqualsAndHashCode.Include
+    private Integer id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private Colecao colecao;
+
+    @Column(nullable = false)
+    private Integer entidadeId;
+
+    /* nó que fez a alteração, que já a aplicou nas próprias cópias */
+    @Column(length = 36, nullable = false)
+    private String origem;
+
+    /* instante do registro em milissegundos, no relógio do nó de origem */
+    @Column(nullable = false)
+    private Long registradaEm;
+}
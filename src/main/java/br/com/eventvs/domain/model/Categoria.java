@@ -2,16 +2,20 @@ package br.com.eventvs.domain.model;
 
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categoria")
 @Data
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Categoria {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = GeradorIdentificadores.NOME)
     @EqualsAndHashCode.Include
     private Integer id;
 
@@ -0,0 +1,35 @@
+package br.com.eventvs.domain.model;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.Instant;
+
+/**
+ * Chave RSA de assinatura dos tokens. Fica no banco para que todos os nós assinem e verifiquem com o mesmo
+ * conjunto de chaves e para que os tokens emitidos sobrevivam às reinicializações. A chave privada é gravada cifrada.
+ * */
+@Entity
+@Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ChaveAssinaturaToken {
+
+    @Id
+    @Column(length = 36)
+    @EqualsAndHashCode.Include
+    private String kid;
+
+    /* X.509 em Base64 */
+    @Column(length = 1000, nullable = false)
+    private String chavePublica;
+
+    /* PKCS#8 cifrado com AES-GCM, em Base64 */
+    @Column(length = 4000, nullable = false)
+    private String chavePrivada;
+
+    @Column(nullable = false)
+    private Instant criadaEm;
+}
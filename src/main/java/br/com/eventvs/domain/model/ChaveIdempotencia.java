@@ -0,0 +1,41 @@
+package br.com.eventvs.domain.model;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key enviada por um participante ao se inscrever, guardada junto com a inscrição criada
+ * para que a repetição da requisição devolva a mesma inscrição.
+ * */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = ChaveIdempotencia.CHAVE_PARTICIPANTE, columnNames = {"participanteId", "chave"}),
+        indexes = @Index(name = "idx_chave_idempotencia_data_hora", columnList = "dataHora"))
+@Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ChaveIdempotencia {
+
+    public static final String CHAVE_PARTICIPANTE = "uk_chave_idempotencia_participante_chave";
+    public static final int TAMANHO_MAXIMO = 100;
+
+    @Id
+    @GeneratedValue(generator = GeradorIdentificadores.NOME)
+    @EqualsAndHashCode.Include
+    private Integer id;
+
+    @Column(length = TAMANHO_MAXIMO, nullable = false)
+    private String chave;
+
+    @Column(nullable = false)
+    private Integer participanteId;
+
+    @Column(nullable = false)
+    private Integer eventoId;
+
+    private Integer inscricaoId;
+
+    @Column(nullable = false)
+    private LocalDateTime dataHora;
+}
@@ -3,16 +3,21 @@ package br.com.eventvs.domain.model;
 
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "endereco")
+@Table(indexes = @Index(name = "idx_endereco_estado_cidade", columnList = "estado, cidade"))
 @Data
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Endereco {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = GeradorIdentificadores.NOME)
     @EqualsAndHashCode.Include
     private Integer id;
 
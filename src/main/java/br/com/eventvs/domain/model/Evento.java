@@ -8,12 +8,27 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_evento_status_inicio", columnList = "statusEvento, dataHoraInicio, id"),
+        @Index(name = "idx_evento_status_categoria_inicio", columnList = "statusEvento, categoria_id, dataHoraInicio, id"),
+        @Index(name = "idx_evento_produtor_status_inicio", columnList = "produtor_id, statusEvento, dataHoraInicio, id"),
+        @Index(name = "idx_evento_produtor_status_categoria_inicio", columnList = "produtor_id, statusEvento, categoria_id, dataHoraInicio, id")
+})
 @Data
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@NamedEntityGraph(name = Evento.GRAFO_COMPLETO, attributeNodes = {
+        @NamedAttributeNode("categoria"),
+        @NamedAttributeNode("endereco"),
+        @NamedAttributeNode(value = "produtor", subgraph = "produtor")
+}, subgraphs = @NamedSubgraph(name = "produtor", attributeNodes = @NamedAttributeNode("pessoa")))
 public class Evento {
 
+    /* Evento com categoria, endereço e produtor, usado no detalhe e nas listagens de entidades */
+    public static final String GRAFO_COMPLETO = "Evento.completo";
+
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = GeradorIdentificadores.NOME)
     @EqualsAndHashCode.Include
     private Integer id;
 
@@ -27,17 +42,26 @@ public class Evento {
 
     private LocalDateTime dataHoraFim;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "categoria_id")
     private Categoria categoria;
 
     private StatusEvento statusEvento;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "produtor_id")
     private Produtor produtor;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "endereco_id")
     private Endereco endereco;
+
+    /* Quantidade máxima de inscrições ativas, nula para eventos sem limite */
+    private Integer capacidade;
+
+    /* Vagas restantes, decrementadas e incrementadas apenas por UPDATEs condicionais do EventoRepository */
+    private Integer vagasDisponiveis;
+
+    /* Quando verdadeiro, as inscrições entram na fila em memória e são gravadas em lote (FilaInscricoes) */
+    private Boolean altaDemanda;
 }
@@ -0,0 +1,34 @@
+package br.com.eventvs.domain.model;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Gerador dos identificadores das entidades, com uma sequência por entidade (uma tabela de sequência no MySQL)
+ * e o otimizador pooled: cada ida ao banco reserva um bloco de identificadores, que são atribuídos em memória.
+ * Como o identificador é conhecido antes do INSERT, o Hibernate pode agrupar os INSERTs em batches JDBC,
+ * o que não acontece com GenerationType.IDENTITY.
+ *
+ * O tamanho do bloco vem da propriedade {@value #PROPRIEDADE_TAMANHO_ALOCACAO} do Hibernate.
+ * */
+public class GeradorIdentificadores extends SequenceStyleGenerator {
+
+    public static final String NOME = "gerador_identificadores";
+    public static final String PROPRIEDADE_TAMANHO_ALOCACAO = "eventvs.id.tamanho-alocacao";
+
+    private static final String TAMANHO_ALOCACAO_PADRAO = "50";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Object tamanhoAlocacao = serviceRegistry.getService(ConfigurationService.class).getSettings().get(PROPRIEDADE_TAMANHO_ALOCACAO);
+        params.putIfAbsent(INCREMENT_PARAM, tamanhoAlocacao == null ? TAMANHO_ALOCACAO_PADRAO : tamanhoAlocacao.toString());
+        params.putIfAbsent(OPT_PARAM, "pooled");
+        params.putIfAbsent(CONFIG_PREFER_SEQUENCE_PER_ENTITY, "true");
+        super.configure(type, params, serviceRegistry);
+    }
+}
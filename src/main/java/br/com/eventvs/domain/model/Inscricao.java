@@ -1,26 +1,47 @@
 package br.com.eventvs.domain.model;
 
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Setter;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = Inscricao.CHAVE_INSCRICAO_ATIVA, columnNames = {"evento_id", "participante_id", "ativa"}),
+        indexes = {
+        @Index(name = "idx_inscricao_evento_participante_cancelada", columnList = "evento_id, participante_id, isCancelada"),
+        @Index(name = "idx_inscricao_participante_cancelada_evento", columnList = "participante_id, isCancelada, evento_id")
+})
 @Data
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@NamedEntityGraph(name = Inscricao.GRAFO_COMPLETA, attributeNodes = {
+        @NamedAttributeNode(value = "participante", subgraph = "participante"),
+        @NamedAttributeNode(value = "evento", subgraph = "evento")
+}, subgraphs = {
+        @NamedSubgraph(name = "participante", attributeNodes = @NamedAttributeNode("pessoa")),
+        @NamedSubgraph(name = "evento", attributeNodes = {@NamedAttributeNode("categoria"), @NamedAttributeNode("endereco")})
+})
 public class Inscricao {
 
+    /* Inscrição com participante e evento, usada no detalhe e na lista de participantes de um evento */
+    public static final String GRAFO_COMPLETA = "Inscricao.completa";
+
+    /* Impede duas inscrições ativas do mesmo participante no mesmo evento */
+    public static final String CHAVE_INSCRICAO_ATIVA = "uk_inscricao_evento_participante_ativa";
+
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = GeradorIdentificadores.NOME)
     @EqualsAndHashCode.Include
     private Integer id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "participante_id", nullable = false)
     private Participante participante;
 
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "evento_id", nullable = false)
     private Evento evento;
 
@@ -29,4 +50,20 @@ public class Inscricao {
 
     private Boolean isCancelada;
 
+    /*
+     * Verdadeiro enquanto a inscrição está ativa e nulo depois de cancelada. Como nulos não se repetem numa
+     * chave única, a CHAVE_INSCRICAO_ATIVA vale apenas para as inscrições ativas, sem precisar de índice parcial.
+     */
+    @Setter(AccessLevel.NONE)
+    private Boolean ativa;
+
+    /* Verdadeiro nas inscrições que estavam ativas quando o evento foi cancelado, para notificar só esses participantes */
+    private Boolean canceladaComEvento;
+
+    @PrePersist
+    @PreUpdate
+    private void sincronizarAtiva() {
+        ativa = Boolean.FALSE.equals(isCancelada) ? Boolean.TRUE : null;
+    }
+
 }
@@ -0,0 +1,35 @@
+package br.com.eventvs.domain.model;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Posição de um participante na lista de espera de um evento lotado. A ordem de chegada é a do id,
+ * e o índice (evento_id, id) entrega o primeiro da fila sem percorrer a lista.
+ * */
+@Entity
+@Table(indexes = @Index(name = "idx_inscricao_espera_evento_id", columnList = "evento_id, id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_inscricao_espera_evento_participante", columnNames = {"evento_id", "participante_id"}))
+@Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class InscricaoEspera {
+
+    @Id
+    @GeneratedValue(generator = GeradorIdentificadores.NOME)
+    @EqualsAndHashCode.Include
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "evento_id", nullable = false)
+    private Evento evento;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "participante_id", nullable = false)
+    private Participante participante;
+
+    @Column(nullable = false)
+    private LocalDateTime dataHora;
+}
@@ -0,0 +1,49 @@
+package br.com.eventvs.domain.model;
+
+import br.com.eventvs.domain.enums.SituacaoPedido;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Desfecho de um pedido de inscrição de um evento em alta demanda, gravado na mesma transação do lote que o
+ * concluiu. Qualquer nó responde a consulta pelo ticket, não apenas o que enfileirou o pedido.
+ * */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_pedido_inscricao_concluido_ticket", columnNames = "ticket"),
+        indexes = @Index(name = "idx_pedido_inscricao_concluido_concluido_em", columnList = "concluidoEm"))
+@Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class PedidoInscricaoConcluido {
+
+    @Id
+    @GeneratedValue(generator = GeradorIdentificadores.NOME)
+    @EqualsAndHashCode.Include
+    private Integer id;
+
+    @Column(length = 80, nullable = false)
+    private String ticket;
+
+    @Column(nullable = false)
+    private Integer eventoId;
+
+    @Column(nullable = false)
+    private Integer participanteId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private SituacaoPedido situacao;
+
+    private String mensagem;
+
+    private Integer inscricaoId;
+
+    /* instante em que o pedido foi enfileirado */
+    @Column(nullable = false)
+    private LocalDateTime dataHora;
+
+    @Column(nullable = false)
+    private LocalDateTime concluidoEm;
+}
@@ -3,16 +3,21 @@ package br.com.eventvs.domain.model;
 import br.com.eventvs.domain.enums.Situacao;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "produtor")
+@Table(indexes = @Index(name = "idx_produtor_situacao", columnList = "situacao"))
 @Data
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Produtor {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = GeradorIdentificadores.NOME)
     @EqualsAndHashCode.Include
     private Integer id;
 
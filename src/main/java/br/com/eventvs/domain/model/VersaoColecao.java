@@ -0,0 +1,30 @@
+package br.com.eventvs.domain.model;
+
+import br.com.eventvs.domain.enums.Colecao;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import javax.persistence.*;
+
+/**
+ * Versão de uma {@link Colecao}, compartilhada por todos os nós da aplicação, usada nas ETags e no
+ * Last-Modified das consultas.
+ * */
+@Entity
+@Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class VersaoColecao {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    @EqualsAndHashCode.Include
+    private Colecao colecao;
+
+    @Column(nullable = false)
+    private Long versao;
+
+    /* instante da última alteração em milissegundos, sempre em segundos inteiros (precisão do header Last-Modified) */
+    @Column(nullable = false)
+    private Long alteradaEm;
+}
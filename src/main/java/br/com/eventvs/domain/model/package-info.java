@@ -0,0 +1,8 @@
+/**
+ * Entidades persistidas da aplicação. Todas usam o {@link br.com.eventvs.domain.model.GeradorIdentificadores},
+ * declarado aqui uma única vez.
+ */
+@GenericGenerator(name = GeradorIdentificadores.NOME, strategy = "br.com.eventvs.domain.model.GeradorIdentificadores")
+package br.com.eventvs.domain.model;
+
+import org.hibernate.annotations.GenericGenerator;
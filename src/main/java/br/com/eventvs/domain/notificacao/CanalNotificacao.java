@@ -0,0 +1,16 @@
+package br.com.eventvs.domain.notificacao;
+
+/**
+ * Meio pelo qual as notificações chegam às pessoas (e-mail, push, ...).
+ * */
+public interface CanalNotificacao {
+
+    /**
+     * Envia uma notificação ao destinatário.
+     *
+     * @param destinatario Destinatario
+     * @param assunto String
+     * @param mensagem String
+     * */
+    void enviar(Destinatario destinatario, String assunto, String mensagem);
+}
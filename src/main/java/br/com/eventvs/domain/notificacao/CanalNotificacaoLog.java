@@ -0,0 +1,17 @@
+package br.com.eventvs.domain.notificacao;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Canal padrão enquanto a aplicação não possui um servidor de e-mail configurado: apenas registra as notificações no log.
+ * */
+@Slf4j
+@Component
+public class CanalNotificacaoLog implements CanalNotificacao {
+
+    @Override
+    public void enviar(Destinatario destinatario, String assunto, String mensagem) {
+        log.info("Notificação para {}: {} - {}", destinatario.getEmail(), assunto, mensagem);
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.eventvs.domain.notificacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Pessoa que recebe uma notificação, projetada direto da consulta sem carregar as entidades.
+ * */
+@Getter
+@AllArgsConstructor
+public class Destinatario {
+
+    private final String nome;
+    private final String email;
+}
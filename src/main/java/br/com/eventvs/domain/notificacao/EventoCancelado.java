@@ -0,0 +1,17 @@
+package br.com.eventvs.domain.notificacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Evento de aplicação publicado quando um {@link br.com.eventvs.domain.model.Evento} é cancelado pelo produtor,
+ * com a quantidade de inscrições canceladas junto com ele.
+ * */
+@Getter
+@AllArgsConstructor
+public class EventoCancelado {
+
+    private final Integer eventoId;
+    private final String nomeEvento;
+    private final int inscricoesCanceladas;
+}
@@ -0,0 +1,57 @@
+package br.com.eventvs.domain.notificacao;
+
+import br.com.eventvs.domain.repository.InscricaoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Avisa os participantes de um evento cancelado. Roda em segundo plano depois do commit do cancelamento,
+ * para que cancelar um evento com muitos inscritos não espere pelo envio das notificações.
+ * */
+@Slf4j
+@Component
+public class NotificacaoCancelamentoEvento {
+
+    @Autowired
+    private InscricaoRepository inscricaoRepository;
+
+    @Autowired
+    private CanalNotificacao canalNotificacao;
+
+    /**
+     * Notifica cada participante que se inscreveu no evento cancelado, lendo os destinatários do banco por um cursor.
+     *
+     * @param eventoCancelado EventoCancelado
+     * */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void notificar(EventoCancelado eventoCancelado) {
+        if (eventoCancelado.getInscricoesCanceladas() == 0) {
+            return;
+        }
+        String assunto = "Evento cancelado: " + eventoCancelado.getNomeEvento();
+        AtomicInteger enviadas = new AtomicInteger();
+
+        try (Stream<Destinatario> destinatarios = inscricaoRepository.streamDestinatariosByEventoId(eventoCancelado.getEventoId())) {
+            destinatarios.forEach(destinatario -> {
+                try {
+                    canalNotificacao.enviar(destinatario, assunto, "Olá, " + destinatario.getNome()
+                            + ". O evento " + eventoCancelado.getNomeEvento() + " foi cancelado pelo produtor e a sua inscrição foi cancelada.");
+                    enviadas.incrementAndGet();
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao notificar {} do cancelamento do evento {}.", destinatario.getEmail(), eventoCancelado.getEventoId(), e);
+                }
+            });
+        }
+        log.info("Cancelamento do evento {} notificado a {} participantes.", eventoCancelado.getEventoId(), enviadas.get());
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.eventvs.domain.repository;
+
+import br.com.eventvs.domain.enums.Colecao;
+import br.com.eventvs.domain.model.AlteracaoColecao;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface AlteracaoColecaoRepository extends JpaRepository<AlteracaoColecao, Integer> {
+
+    @Query("select a from AlteracaoColecao a where a.registradaEm > :desde and a.colecao = :colecao and a.origem <> :origem")
+    List<AlteracaoColecao> findAllRegistradasPorOutrosNos(@Param("colecao") Colecao colecao,
+                                                          @Param("desde") long desde,
+                                                          @Param("origem") String origem);
+
+    @Transactional
+    @Modifying
+    @Query("delete from AlteracaoColecao a where a.registradaEm < :limite")
+    int deleteAnterioresA(@Param("limite") long limite);
+}
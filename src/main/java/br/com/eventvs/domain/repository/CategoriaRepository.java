@@ -2,13 +2,19 @@ package br.com.eventvs.domain.repository;
 
 import br.com.eventvs.domain.model.Categoria;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 @Repository
 public interface CategoriaRepository extends JpaRepository<Categoria, Integer> {
 
+    @Override
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
+    List<Categoria> findAll();
+
     public List<Categoria> findAllByNomeContains(String nome);
     public List<Categoria> findAllByDescricaoContains(String descricao);
 }
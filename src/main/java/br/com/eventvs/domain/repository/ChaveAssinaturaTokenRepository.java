@@ -0,0 +1,25 @@
+package br.com.eventvs.domain.repository;
+
+import br.com.eventvs.domain.model.ChaveAssinaturaToken;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ChaveAssinaturaTokenRepository extends JpaRepository<ChaveAssinaturaToken, String> {
+
+    /* A primeira é a chave atual */
+    List<ChaveAssinaturaToken> findAllByOrderByCriadaEmDescKidDesc();
+
+    @Transactional
+    @Modifying
+    @Query("delete from ChaveAssinaturaToken c where c.kid in :kids")
+    int deleteByKidIn(@Param("kids") Collection<String> kids);
+}
@@ -0,0 +1,24 @@
+package br.com.eventvs.domain.repository;
+
+import br.com.eventvs.domain.model.ChaveIdempotencia;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ChaveIdempotenciaRepository extends JpaRepository<ChaveIdempotencia, Integer> {
+
+	Optional<ChaveIdempotencia> findByParticipanteIdAndChave(Integer participanteId, String chave);
+
+	@Transactional
+	@Modifying
+	@Query("delete from ChaveIdempotencia c where c.dataHora < :limite")
+	int deleteAnterioresA(@Param("limite") LocalDateTime limite);
+}
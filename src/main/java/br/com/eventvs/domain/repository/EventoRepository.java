@@ -1,29 +1,192 @@
 package br.com.eventvs.domain.repository;
 
+import br.com.eventvs.api.dto.responses.EventoResponse;
+import br.com.eventvs.domain.busca.DocumentoEvento;
+import br.com.eventvs.domain.busca.EventoPublicado;
 import br.com.eventvs.domain.enums.StatusEvento;
 import br.com.eventvs.domain.model.Categoria;
 import br.com.eventvs.domain.model.Evento;
 import br.com.eventvs.domain.model.Produtor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface EventoRepository extends JpaRepository<Evento, Integer> {
+public interface EventoRepository extends JpaRepository<Evento, Integer>, JpaSpecificationExecutor<Evento>, EventoRepositoryCustom {
 
+    @EntityGraph(Evento.GRAFO_COMPLETO)
     List<Evento> findAllByStatusEvento(StatusEvento statusEvento);
-    List<Evento> findAllByStatusEventoAndProdutor(StatusEvento statusEvento, Produtor produtor);
-    List<Evento> findAllByStatusEventoAndCategoriaAndProdutor(StatusEvento statusEvento, Categoria categoria, Produtor produtor);
-    List<Evento> findAllByStatusEventoAndCategoria(StatusEvento statusEvento, Categoria categoria);
-    List<Evento> findAllByStatusEventoAndNomeContainsAndProdutor(StatusEvento statusEvento, String nome, Produtor produtor);
-    List<Evento> findAllByStatusEventoAndDataHoraInicioBetweenAndProdutor(StatusEvento statusEvento, LocalDateTime dataInicio, LocalDateTime dataFim, Produtor produtor);
+    @EntityGraph(Evento.GRAFO_COMPLETO)
     Optional<Evento> findByIdAndStatusEventoAndProdutor(Integer id, StatusEvento statusEvento, Produtor produtor);
-    List<Evento> findAllByStatusEventoAndNomeContains(StatusEvento statusEvento, String nome);
-    List<Evento> findAllByStatusEventoAndDataHoraInicioBetween(StatusEvento statusEvento, LocalDateTime dataInicio, LocalDateTime dataFim);
 
-    Optional<Evento> findByIdAndStatusEvento(Integer id, StatusEvento statusEvento);
-    Optional<Evento> findByIdAndProdutor(Integer id, Produtor produtor);
+    @EntityGraph(Evento.GRAFO_COMPLETO)
+    Optional<Evento> findCompletoById(Integer id);
+
+    /*
+     * Projeção com apenas as colunas do EventoResponse, em uma única instrução.
+     * As entidades de Evento são carregadas apenas nos fluxos de escrita.
+     */
+    String COLUNAS_EVENTO_RESPONSE = "e.id, e.nome, e.descricao, e.dataHoraInicio, e.dataHoraFim, e.statusEvento, " +
+            "c.id, c.nome, c.descricao, " +
+            "en.id, en.logradouro, en.numero, en.bairro, en.cidade, en.estado, en.CEP, " +
+            "pe.nome";
+
+    String FROM_EVENTO_RESPONSE = "from Evento e " +
+            "left join e.categoria c " +
+            "left join e.endereco en " +
+            "left join e.produtor p " +
+            "left join p.pessoa pe ";
+
+    String SELECT_EVENTO_RESPONSE = "select new br.com.eventvs.api.dto.responses.EventoResponse(" +
+            COLUNAS_EVENTO_RESPONSE + ") " + FROM_EVENTO_RESPONSE;
+
+    /* Mesma projeção, com o id do produtor usado pelo catálogo de eventos publicados */
+    String SELECT_EVENTO_PUBLICADO = "select new br.com.eventvs.domain.busca.EventoPublicado(" +
+            COLUNAS_EVENTO_RESPONSE + ", p.id) " + FROM_EVENTO_RESPONSE;
+
+    /* Campos usados pelo índice textual de eventos */
+    String SELECT_DOCUMENTO_EVENTO = "select new br.com.eventvs.domain.busca.DocumentoEvento(e.id, e.nome, e.descricao, " +
+            "e.statusEvento, p.id, e.dataHoraInicio) from Evento e left join e.produtor p ";
+
+    @Query(SELECT_EVENTO_RESPONSE + "where e.id = :id and e.produtor = :produtor")
+    Optional<EventoResponse> findResponseByIdAndProdutor(@Param("id") Integer id, @Param("produtor") Produtor produtor);
+
+    @Query(SELECT_EVENTO_RESPONSE + "where e.id in :ids")
+    List<EventoResponse> findAllResponsesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /*
+     * Consultas paginadas por cursor (keyset), ordenadas por (dataHoraInicio, id), com os eventos sem data de início
+     * primeiro. Cada listagem tem a consulta da primeira página e a que continua depois do cursor, para que a
+     * condição do cursor use o índice como faixa; quando o cursor está num evento sem data de início, a continuação
+     * percorre os demais eventos sem data e depois todos os que têm. Um Pageable sem paginação retorna todos os
+     * registros.
+     */
+
+    String APOS_CURSOR = " and (e.dataHoraInicio > :cursorInicio " +
+            "or (e.dataHoraInicio = :cursorInicio and e.id > :cursorId))";
+
+    String APOS_CURSOR_SEM_INICIO = " and ((e.dataHoraInicio is null and e.id > :cursorId) or e.dataHoraInicio is not null)";
+
+    String ORDEM_CURSOR = " order by e.dataHoraInicio, e.id";
+
+    String WHERE_PRODUTOR = "where e.statusEvento = :statusEvento and e.produtor = :produtor";
+
+    String WHERE_CATEGORIA_PRODUTOR = "where e.statusEvento = :statusEvento and e.categoria = :categoria and e.produtor = :produtor";
+
+    String WHERE_DATAS_PRODUTOR = "where e.statusEvento = :statusEvento and e.dataHoraInicio between :dataInicio and :dataFim and e.produtor = :produtor";
+
+    @Query(SELECT_EVENTO_RESPONSE + WHERE_PRODUTOR + ORDEM_CURSOR)
+    List<EventoResponse> findAllByStatusEventoAndProdutor(@Param("statusEvento") StatusEvento statusEvento,
+                                                  @Param("produtor") Produtor produtor,
+                                                  Pageable pageable);
+
+    @Query(SELECT_EVENTO_RESPONSE + WHERE_PRODUTOR + APOS_CURSOR + ORDEM_CURSOR)
+    List<EventoResponse> findAllByStatusEventoAndProdutorAposCursor(@Param("statusEvento") StatusEvento statusEvento,
+                                                  @Param("produtor") Produtor produtor,
+                                                  @Param("cursorInicio") LocalDateTime cursorInicio,
+                                                  @Param("cursorId") Integer cursorId,
+                                                  Pageable pageable);
+
+    @Query(SELECT_EVENTO_RESPONSE + WHERE_PRODUTOR + APOS_CURSOR_SEM_INICIO + ORDEM_CURSOR)
+    List<EventoResponse> findAllByStatusEventoAndProdutorAposCursorSemInicio(@Param("statusEvento") StatusEvento statusEvento,
+                                                  @Param("produtor") Produtor produtor,
+                                                  @Param("cursorId") Integer cursorId,
+                                                  Pageable pageable);
+
+    @Query(SELECT_EVENTO_RESPONSE + WHERE_CATEGORIA_PRODUTOR + ORDEM_CURSOR)
+    List<EventoResponse> findAllByStatusEventoAndCategoriaAndProdutor(@Param("statusEvento") StatusEvento statusEvento,
+                                                              @Param("categoria") Categoria categoria,
+                                                              @Param("produtor") Produtor produtor,
+                                                              Pageable pageable);
+
+    @Query(SELECT_EVENTO_RESPONSE + WHERE_CATEGORIA_PRODUTOR + APOS_CURSOR + ORDEM_CURSOR)
+    List<EventoResponse> findAllByStatusEventoAndCategoriaAndProdutorAposCursor(@Param("statusEvento") StatusEvento statusEvento,
+                                                              @Param("categoria") Categoria categoria,
+                                                              @Param("produtor") Produtor produtor,
+                                                              @Param("cursorInicio") LocalDateTime cursorInicio,
+                                                              @Param("cursorId") Integer cursorId,
+                                                              Pageable pageable);
+
+    @Query(SELECT_EVENTO_RESPONSE + WHERE_CATEGORIA_PRODUTOR + APOS_CURSOR_SEM_INICIO + ORDEM_CURSOR)
+    List<EventoResponse> findAllByStatusEventoAndCategoriaAndProdutorAposCursorSemInicio(@Param("statusEvento") StatusEvento statusEvento,
+                                                              @Param("categoria") Categoria categoria,
+                                                              @Param("produtor") Produtor produtor,
+                                                              @Param("cursorId") Integer cursorId,
+                                                              Pageable pageable);
+
+    @Query(SELECT_EVENTO_RESPONSE + WHERE_DATAS_PRODUTOR + ORDEM_CURSOR)
+    List<EventoResponse> findAllByStatusEventoAndDataHoraInicioBetweenAndProdutor(@Param("statusEvento") StatusEvento statusEvento,
+                                                                          @Param("dataInicio") LocalDateTime dataInicio,
+                                                                          @Param("dataFim") LocalDateTime dataFim,
+                                                                          @Param("produtor") Produtor produtor,
+                                                                          Pageable pageable);
+
+    /* Entre datas todos os eventos têm data de início: não há continuação a partir de um evento sem data */
+    @Query(SELECT_EVENTO_RESPONSE + WHERE_DATAS_PRODUTOR + APOS_CURSOR + ORDEM_CURSOR)
+    List<EventoResponse> findAllByStatusEventoAndDataHoraInicioBetweenAndProdutorAposCursor(@Param("statusEvento") StatusEvento statusEvento,
+                                                                          @Param("dataInicio") LocalDateTime dataInicio,
+                                                                          @Param("dataFim") LocalDateTime dataFim,
+                                                                          @Param("produtor") Produtor produtor,
+                                                                          @Param("cursorInicio") LocalDateTime cursorInicio,
+                                                                          @Param("cursorId") Integer cursorId,
+                                                                          Pageable pageable);
+
+    @Query(SELECT_EVENTO_PUBLICADO + "where e.statusEvento = :statusEvento")
+    List<EventoPublicado> findAllPublicados(@Param("statusEvento") StatusEvento statusEvento);
+
+    @Query(SELECT_EVENTO_PUBLICADO + "where e.id = :id and e.statusEvento = :statusEvento")
+    Optional<EventoPublicado> findPublicadoById(@Param("id") Integer id, @Param("statusEvento") StatusEvento statusEvento);
+
+    @Query(SELECT_EVENTO_PUBLICADO + "where e.id in :ids and e.statusEvento = :statusEvento")
+    List<EventoPublicado> findAllPublicadosByIdIn(@Param("ids") Collection<Integer> ids, @Param("statusEvento") StatusEvento statusEvento);
+
+    @Query("select e.id from Evento e join e.produtor p where p.pessoa.id = :pessoaId")
+    List<Integer> findIdsByPessoaId(@Param("pessoaId") Integer pessoaId);
+
+    @Query(SELECT_DOCUMENTO_EVENTO)
+    List<DocumentoEvento> findAllDocumentos();
+
+    @Query(SELECT_DOCUMENTO_EVENTO + "where e.id in :ids")
+    List<DocumentoEvento> findAllDocumentosByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /*
+     * Reserva uma vaga com um único UPDATE condicional: o banco decrementa e confere o saldo na mesma instrução,
+     * travando apenas a linha do evento. Retorna 0 quando não há vaga.
+     */
+    @Modifying
+    @Query("update Evento e set e.vagasDisponiveis = e.vagasDisponiveis - 1 where e.id = :id and e.vagasDisponiveis > 0")
+    int reservarVaga(@Param("id") Integer id);
+
+    /*
+     * Devolve uma vaga reservada, sem ultrapassar a capacidade do evento. Quando a capacidade foi reduzida abaixo
+     * do número de inscrições ativas, a vaga só volta depois que os cancelamentos trazem as ativas abaixo dela.
+     */
+    @Modifying
+    @Query("update Evento e set e.vagasDisponiveis = e.vagasDisponiveis + 1 where e.id = :id and e.vagasDisponiveis < e.capacidade" +
+            " and e.capacidade > (select count(i) from Inscricao i where i.evento = e and i.isCancelada = false)")
+    int liberarVaga(@Param("id") Integer id);
+
+    /* Lê o evento travando a linha até o commit, para conferir ou recalcular as vagas sem concorrer com as reservas */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Evento e where e.id = :id")
+    Optional<Evento> findParaReservaById(@Param("id") Integer id);
+
+    @Query("select e.id from Evento e where e.altaDemanda = true")
+    Set<Integer> findIdsEmAltaDemanda();
+
+    @Query("select e.id from Evento e where e.id in :ids and e.altaDemanda = true")
+    Set<Integer> findIdsEmAltaDemandaByIdIn(@Param("ids") Collection<Integer> ids);
 }
@@ -0,0 +1,12 @@
+package br.com.eventvs.domain.repository;
+
+import br.com.eventvs.api.dto.responses.EventoResponse;
+import br.com.eventvs.domain.model.Evento;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface EventoRepositoryCustom {
+
+    Page<EventoResponse> findAllResponses(Specification<Evento> specification, Pageable pageable);
+}
@@ -0,0 +1,69 @@
+package br.com.eventvs.domain.repository;
+
+import br.com.eventvs.api.dto.responses.EventoResponse;
+import br.com.eventvs.domain.model.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+
+/**
+ * Implementação das consultas de {@link EventoRepositoryCustom}, que aplicam uma {@link Specification}
+ * sobre a projeção de {@link EventoResponse} em vez de carregar as entidades.
+ * */
+public class EventoRepositoryImpl implements EventoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<EventoResponse> findAllResponses(Specification<Evento> specification, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<EventoResponse> query = builder.createQuery(EventoResponse.class);
+        Root<Evento> evento = query.from(Evento.class);
+        Join<Evento, Categoria> categoria = evento.join("categoria", JoinType.LEFT);
+        Join<Evento, Endereco> endereco = evento.join("endereco", JoinType.LEFT);
+        Join<Evento, Produtor> produtor = evento.join("produtor", JoinType.LEFT);
+        Join<Produtor, Pessoa> pessoa = produtor.join("pessoa", JoinType.LEFT);
+
+        query.select(builder.construct(EventoResponse.class,
+                evento.get("id"), evento.get("nome"), evento.get("descricao"),
+                evento.get("dataHoraInicio"), evento.get("dataHoraFim"), evento.get("statusEvento"),
+                categoria.get("id"), categoria.get("nome"), categoria.get("descricao"),
+                endereco.get("id"), endereco.get("logradouro"), endereco.get("numero"), endereco.get("bairro"),
+                endereco.get("cidade"), endereco.get("estado"), endereco.get("CEP"),
+                pessoa.get("nome")));
+        Predicate filtros = specification.toPredicate(evento, query, builder);
+        if (filtros != null) {
+            query.where(filtros);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), evento, builder));
+
+        TypedQuery<EventoResponse> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        return new PageImpl<>(typedQuery.getResultList(), pageable, contar(specification));
+    }
+
+    private long contar(Specification<Evento> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Evento> evento = query.from(Evento.class);
+        query.select(builder.count(evento));
+        Predicate filtros = specification.toPredicate(evento, query, builder);
+        if (filtros != null) {
+            query.where(filtros);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
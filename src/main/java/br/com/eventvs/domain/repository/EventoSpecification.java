@@ -0,0 +1,57 @@
+package br.com.eventvs.domain.repository;
+
+import br.com.eventvs.domain.enums.StatusEvento;
+import br.com.eventvs.domain.model.Evento;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros de {@link Evento} que podem ser combinados livremente em uma única consulta.
+ * Cada filtro com valor nulo é ignorado.
+ * */
+public class EventoSpecification {
+
+    private EventoSpecification() {
+    }
+
+    public static Specification<Evento> comStatus(StatusEvento statusEvento) {
+        return (root, query, builder) -> statusEvento == null ? null
+                : builder.equal(root.get("statusEvento"), statusEvento);
+    }
+
+    public static Specification<Evento> daCategoria(Integer categoriaId) {
+        return (root, query, builder) -> categoriaId == null ? null
+                : builder.equal(root.get("categoria").get("id"), categoriaId);
+    }
+
+    public static Specification<Evento> doProdutor(Integer produtorId) {
+        return (root, query, builder) -> produtorId == null ? null
+                : builder.equal(root.get("produtor").get("id"), produtorId);
+    }
+
+    public static Specification<Evento> comNome(String nome) {
+        return (root, query, builder) -> nome == null || nome.isBlank() ? null
+                : builder.like(root.get("nome"), "%" + nome + "%");
+    }
+
+    public static Specification<Evento> iniciandoApos(LocalDateTime dataInicio) {
+        return (root, query, builder) -> dataInicio == null ? null
+                : builder.greaterThanOrEqualTo(root.get("dataHoraInicio"), dataInicio);
+    }
+
+    public static Specification<Evento> iniciandoAntes(LocalDateTime dataFim) {
+        return (root, query, builder) -> dataFim == null ? null
+                : builder.lessThanOrEqualTo(root.get("dataHoraInicio"), dataFim);
+    }
+
+    public static Specification<Evento> naCidade(String cidade) {
+        return (root, query, builder) -> cidade == null || cidade.isBlank() ? null
+                : builder.equal(root.get("endereco").get("cidade"), cidade);
+    }
+
+    public static Specification<Evento> noEstado(String estado) {
+        return (root, query, builder) -> estado == null || estado.isBlank() ? null
+                : builder.equal(root.get("endereco").get("estado"), estado);
+    }
+}
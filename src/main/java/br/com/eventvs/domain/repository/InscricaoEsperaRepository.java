@@ -0,0 +1,42 @@
+package br.com.eventvs.domain.repository;
+
+import br.com.eventvs.domain.model.Evento;
+import br.com.eventvs.domain.model.InscricaoEspera;
+import br.com.eventvs.domain.model.Participante;
+
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InscricaoEsperaRepository extends JpaRepository<InscricaoEspera, Integer> {
+
+	/* Primeiros da fila, lidos com bloqueio para que dois cancelamentos simultâneos não promovam a mesma pessoa */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	List<InscricaoEspera> findTop20ByEventoOrderByIdAsc(Evento evento);
+
+	boolean existsByEventoAndParticipante(Evento evento, Participante participante);
+
+	@Query("select count(e) from InscricaoEspera e where e.evento = :evento and e.id <= :id")
+	long countPosicao(@Param("evento") Evento evento, @Param("id") Integer id);
+
+	@Modifying
+	@Query("delete from InscricaoEspera e where e.evento = :evento and e.participante = :participante")
+	int deleteByEventoAndParticipante(@Param("evento") Evento evento, @Param("participante") Participante participante);
+
+	@Modifying
+	@Query("delete from InscricaoEspera e where e.evento.id = :eventoId and e.participante.id in :participanteIds")
+	int deleteByEventoIdAndParticipanteIds(@Param("eventoId") Integer eventoId, @Param("participanteIds") Collection<Integer> participanteIds);
+
+	@Modifying
+	@Query("delete from InscricaoEspera e where e.evento = :evento")
+	int deleteByEvento(@Param("evento") Evento evento);
+}
@@ -1,19 +1,104 @@
 package br.com.eventvs.domain.repository;
 
+import br.com.eventvs.api.dto.responses.InscricaoResponse;
+import br.com.eventvs.api.dto.responses.ParticipanteExportacaoResponse;
+import br.com.eventvs.domain.demanda.InscricaoAtiva;
 import br.com.eventvs.domain.model.Evento;
 import br.com.eventvs.domain.model.Inscricao;
 import br.com.eventvs.domain.model.Participante;
+import br.com.eventvs.domain.notificacao.Destinatario;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
 @Repository
 public interface InscricaoRepository extends JpaRepository<Inscricao,Integer> {
+	@EntityGraph(Inscricao.GRAFO_COMPLETA)
 	Optional <List<Inscricao>> findByParticipante(Participante participante);
+	@EntityGraph(Inscricao.GRAFO_COMPLETA)
 	Optional <List<Inscricao>> findByEvento(Evento evento);
+	@EntityGraph(Inscricao.GRAFO_COMPLETA)
+	Optional <Inscricao> findCompletaById(Integer id);
 	Optional <Inscricao> findByEventoAndParticipante(Evento evento, Participante participante);
 	Optional <Inscricao> findByEventoAndParticipanteAndIsCancelada(Evento evento, Participante participante, Boolean isCancelada);
+
+	@Query("select i.evento.id from Inscricao i where i.participante = :participante and i.isCancelada = false")
+	Set<Integer> findEventoIdsComInscricaoAtiva(@Param("participante") Participante participante);
+
+	/* Quantidade de linhas trazidas do banco a cada ida ao cursor nas listagens transmitidas */
+	String TAMANHO_LOTE_CURSOR = "500";
+
+	/* Projeção das inscrições ativas direto em InscricaoResponse, sem carregar as entidades */
+	String SELECT_INSCRICAO_RESPONSE = "select new br.com.eventvs.api.dto.responses.InscricaoResponse(" +
+			"i.id, i.dataHora, i.isCancelada, " +
+			"pa.id, pe.nome, " +
+			"e.id, e.nome, e.dataHoraInicio, e.dataHoraFim, e.statusEvento, " +
+			"c.id, c.nome, c.descricao, " +
+			"en.id, en.logradouro, en.numero, en.bairro, en.cidade, en.estado, en.CEP) " +
+			"from Inscricao i " +
+			"join i.participante pa " +
+			"join pa.pessoa pe " +
+			"join i.evento e " +
+			"left join e.categoria c " +
+			"left join e.endereco en " +
+			"where i.isCancelada = false ";
+
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = TAMANHO_LOTE_CURSOR))
+	@Query(SELECT_INSCRICAO_RESPONSE + "and i.evento = :evento")
+	Stream<InscricaoResponse> streamAtivasByEvento(@Param("evento") Evento evento);
+
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = TAMANHO_LOTE_CURSOR))
+	@Query(SELECT_INSCRICAO_RESPONSE + "and i.participante = :participante")
+	Stream<InscricaoResponse> streamAtivasByParticipante(@Param("participante") Participante participante);
+
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = TAMANHO_LOTE_CURSOR))
+	@Query("select new br.com.eventvs.api.dto.responses.ParticipanteExportacaoResponse(pe.nome, pe.email, pe.cpf, i.dataHora) " +
+			"from Inscricao i join i.participante pa join pa.pessoa pe " +
+			"where i.evento = :evento and i.isCancelada = false " +
+			"order by pe.nome, i.id")
+	Stream<ParticipanteExportacaoResponse> streamExportacaoByEvento(@Param("evento") Evento evento);
+
+	/*
+	 * Cancela de uma vez todas as inscrições ativas do evento, retornando quantas foram canceladas. As inscrições
+	 * canceladas aqui ficam marcadas, para que a notificação não alcance quem já tinha cancelado antes.
+	 */
+	@Modifying
+	@Query("update Inscricao i set i.isCancelada = true, i.ativa = null, i.canceladaComEvento = true " +
+			"where i.evento = :evento and i.isCancelada = false")
+	int cancelarAtivasByEvento(@Param("evento") Evento evento);
+
+	/* Um destinatário por participante cuja inscrição foi cancelada junto com o evento */
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = TAMANHO_LOTE_CURSOR))
+	@Query("select distinct new br.com.eventvs.domain.notificacao.Destinatario(pe.nome, pe.email) " +
+			"from Inscricao i join i.participante pa join pa.pessoa pe " +
+			"where i.evento.id = :eventoId and i.canceladaComEvento = true")
+	Stream<Destinatario> streamDestinatariosByEventoId(@Param("eventoId") Integer eventoId);
+
+	/* Cancela a inscrição apenas se ela ainda estiver ativa, retornando 0 quando já estava cancelada */
+	@Modifying
+	@Query("update Inscricao i set i.isCancelada = true, i.ativa = null where i.id = :id and i.isCancelada = false")
+	int cancelarAtivaById(@Param("id") Integer id);
+
+	long countByEventoAndIsCancelada(Evento evento, Boolean isCancelada);
+
+	/* Inscrições ativas de um lote de participantes no evento, resolvidas em uma única consulta */
+	@Query("select new br.com.eventvs.domain.demanda.InscricaoAtiva(i.participante.id, i.id) from Inscricao i " +
+			"where i.evento.id = :eventoId and i.participante.id in :participanteIds and i.isCancelada = false")
+	List<InscricaoAtiva> findAtivasByEventoIdAndParticipanteIds(@Param("eventoId") Integer eventoId,
+			@Param("participanteIds") Collection<Integer> participanteIds);
 }
@@ -6,10 +6,13 @@ import br.com.eventvs.domain.model.Pessoa;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ParticipanteRepository extends JpaRepository <Participante, Integer> {
 	public Participante findByPessoa(Pessoa pessoa);
-	public Optional <Participante> findByPessoaEmail(String email);
+	@Query("select p from Participante p join p.pessoa pe where pe.email = :email")
+	public Optional <Participante> findByPessoaEmail(@Param("email") String email);
 }
@@ -1,7 +1,11 @@
 package br.com.eventvs.domain.repository;
 
+import br.com.eventvs.domain.conta.CredenciaisConta;
+import br.com.eventvs.domain.conta.IdentidadeConta;
 import br.com.eventvs.domain.model.Pessoa;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,4 +15,20 @@ public interface PessoaRepository extends JpaRepository<Pessoa, Integer> {
 
     Optional<Pessoa> findByEmail(String email);
     Optional<Pessoa> findByCpf(String cpf);
+
+    @Query("select new br.com.eventvs.domain.conta.IdentidadeConta(p.id, p.email, pr.id, pr.situacao, pa.id, a.id) " +
+            "from Pessoa p " +
+            "left join Produtor pr on pr.pessoa = p " +
+            "left join Participante pa on pa.pessoa = p " +
+            "left join Administrador a on a.pessoa = p " +
+            "where p.email = :email")
+    Optional<IdentidadeConta> findIdentidadeByEmail(@Param("email") String email);
+
+    @Query("select new br.com.eventvs.domain.conta.CredenciaisConta(p.id, p.nome, p.email, p.senha, pr.id, pr.situacao, pa.id, a.id) " +
+            "from Pessoa p " +
+            "left join Produtor pr on pr.pessoa = p " +
+            "left join Participante pa on pa.pessoa = p " +
+            "left join Administrador a on a.pessoa = p " +
+            "where p.email = :email")
+    Optional<CredenciaisConta> findCredenciaisByEmail(@Param("email") String email);
 }
@@ -1,18 +1,47 @@
 package br.com.eventvs.domain.repository;
 
+import br.com.eventvs.api.dto.responses.ProdutorResponse;
 import br.com.eventvs.domain.enums.Situacao;
 import br.com.eventvs.domain.model.Pessoa;
 import br.com.eventvs.domain.model.Produtor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProdutorRepository extends JpaRepository<Produtor,Integer> {
     Produtor findByPessoa(Pessoa pessoa);
-    Optional<Produtor> findByPessoaId(Integer pessoaId);
+    @Query("select p from Produtor p where p.pessoa.id = :pessoaId")
+    Optional<Produtor> findByPessoaId(@Param("pessoaId") Integer pessoaId);
     Optional<Produtor> findByPessoaAndSituacao(Pessoa pessoa, Situacao situacao);
-    List<Produtor> findAllBySituacao(Situacao situacao);
+
+    /**
+     * Página de produtores em uma situação, montada direto na consulta, com a pessoa no mesmo SELECT.
+     * As propriedades de ordenação partem do produtor, por exemplo pessoa.nome.
+     * */
+    @Query(value = "select new br.com.eventvs.api.dto.responses.ProdutorResponse(pe.id, pe.nome, pe.cpf, pe.email, p.situacao) " +
+            "from Produtor p join p.pessoa pe where p.situacao = :situacao",
+            countQuery = "select count(p) from Produtor p where p.situacao = :situacao")
+    Page<ProdutorResponse> findResponsesBySituacao(@Param("situacao") Situacao situacao, Pageable pageable);
+
+    @Query("select pe.email from Produtor p join p.pessoa pe where p.situacao = :situacao and pe.id in :pessoaIds")
+    List<String> findEmailsBySituacaoAndPessoaIds(@Param("situacao") Situacao situacao, @Param("pessoaIds") Collection<Integer> pessoaIds);
+
+    /**
+     * Altera a situação dos produtores das pessoas informadas em uma única instrução, apenas dos que ainda estão na
+     * situação atual informada.
+     *
+     * @return int quantidade de produtores alterados
+     * */
+    @Modifying
+    @Query("update Produtor p set p.situacao = :nova where p.situacao = :atual and p.pessoa.id in :pessoaIds")
+    int alterarSituacao(@Param("pessoaIds") Collection<Integer> pessoaIds, @Param("atual") Situacao atual, @Param("nova") Situacao nova);
 }
@@ -0,0 +1,16 @@
+package br.com.eventvs.domain.repository;
+
+import br.com.eventvs.domain.enums.Colecao;
+import br.com.eventvs.domain.model.VersaoColecao;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface VersaoColecaoRepository extends JpaRepository<VersaoColecao, Colecao> {
+
+    List<VersaoColecao> findAllByColecaoIn(Collection<Colecao> colecoes);
+}
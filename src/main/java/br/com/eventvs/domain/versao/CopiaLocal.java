@@ -0,0 +1,14 @@
+package br.com.eventvs.domain.versao;
+
+/**
+ * Cópia em memória de uma coleção (catálogo, índice), atualizada por sincronização com o registro de alterações.
+ * As respostas lidas de uma cópia usam a versão que ela reflete, e não a versão atual do banco, que pode estar à
+ * frente até a próxima sincronização.
+ * */
+public interface CopiaLocal {
+
+    /**
+     * @return VersaoCopia versão da coleção refletida pela cópia
+     * */
+    VersaoCopia versaoCopia();
+}
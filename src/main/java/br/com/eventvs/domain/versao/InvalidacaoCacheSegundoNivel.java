@@ -0,0 +1,71 @@
+package br.com.eventvs.domain.versao;
+
+import br.com.eventvs.domain.enums.Colecao;
+import br.com.eventvs.domain.model.Categoria;
+import br.com.eventvs.domain.model.Endereco;
+import br.com.eventvs.domain.model.Produtor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Descarta as regiões do cache de segundo nível alteradas por outros nós.
+ *
+ * O cache de segundo nível (Caffeine via JCache) é local a cada nó: uma escrita só invalida o cache do nó que a fez.
+ * Cada região acompanha a versão compartilhada da coleção que a altera ({@link VersoesColecoes}) e é descartada
+ * quando essa versão muda, de forma que os demais nós enxergam a alteração em até um intervalo de sincronização.
+ * Como as alterações deste nó também mudam a versão, a região é descartada no máximo uma vez por intervalo.
+ * */
+@Component
+public class InvalidacaoCacheSegundoNivel {
+
+    /* coleção cuja versão muda junto com as entidades de cada região */
+    private static final Map<Colecao, Class<?>> ENTIDADES = Map.of(
+            Colecao.CATEGORIAS, Categoria.class,
+            Colecao.EVENTOS, Endereco.class,
+            Colecao.PRODUTORES, Produtor.class);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private VersoesColecoes versoesColecoes;
+
+    /* versões lidas na última sincronização */
+    private final Map<Colecao, Long> versoesLidas = new EnumMap<>(Colecao.class);
+
+    /**
+     * Lê as versões ao iniciar, antes de o cache receber qualquer entidade.
+     * */
+    @PostConstruct
+    public void iniciar() {
+        sincronizar();
+    }
+
+    /**
+     * Método responsável por descartar as regiões cujas coleções mudaram desde a última sincronização. A consulta de
+     * categorias em cache também depende da região de categorias, então o cache de consultas é descartado junto.
+     * */
+    @Scheduled(fixedDelayString = "${eventvs.cache.sincronizacao:PT10S}",
+            initialDelayString = "${eventvs.cache.sincronizacao:PT10S}")
+    public synchronized void sincronizar() {
+        VersoesColecoes.Versoes versoes = versoesColecoes.ler(ENTIDADES.keySet().toArray(new Colecao[0]));
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        ENTIDADES.forEach((colecao, entidade) -> {
+            Long anterior = versoesLidas.put(colecao, versoes.versao(colecao));
+            if (anterior != null && anterior != versoes.versao(colecao)) {
+                cache.evictEntityData(entidade);
+                if (colecao == Colecao.CATEGORIAS) {
+                    cache.evictQueryRegions();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.eventvs.domain.versao;
+
+import br.com.eventvs.domain.enums.Colecao;
+import br.com.eventvs.domain.model.AlteracaoColecao;
+import br.com.eventvs.domain.repository.AlteracaoColecaoRepository;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lê as entidades de uma {@link Colecao} alteradas por outros nós, para que uma cópia local (catálogo, índice)
+ * releia apenas essas entidades. Cada cópia local tem o seu leitor.
+ *
+ * Enquanto a versão compartilhada da coleção não muda, a leitura consulta apenas a versão. Quando ela muda, são
+ * lidos os registros gravados desde a leitura anterior, com uma margem para as transações que registraram a
+ * alteração antes e confirmaram depois dela e para a diferença entre os relógios dos nós. Os registros já
+ * entregues dentro da margem não são entregues de novo.
+ *
+ * O leitor também guarda a versão refletida pela cópia ({@link VersaoCopia}): a versão da última leitura, a partir
+ * do momento em que a cópia termina de aplicá-la, marcada como parcial quando a cópia aplica depois disso uma
+ * alteração deste nó.
+ * */
+public class LeitorAlteracoes {
+
+    private static final Duration MARGEM = Duration.ofMinutes(1);
+
+    private final Colecao colecao;
+    private final VersoesColecoes versoesColecoes;
+    private final AlteracaoColecaoRepository alteracaoColecaoRepository;
+    private final String instancia;
+
+    private VersoesColecoes.Versoes versaoLida;
+    private long lidaEm;
+
+    /* registros já entregues dentro da margem -> instante do registro */
+    private final Map<Integer, Long> entregues = new HashMap<>();
+
+    /* versão refletida pela cópia; parcial até a primeira reconstrução */
+    private VersoesColecoes.Versoes versaoAplicada;
+    private boolean parcial = true;
+    private long alteracoesLocais;
+
+    LeitorAlteracoes(Colecao colecao, VersoesColecoes versoesColecoes, AlteracaoColecaoRepository alteracaoColecaoRepository,
+                     String instancia) {
+        this.colecao = colecao;
+        this.versoesColecoes = versoesColecoes;
+        this.alteracaoColecaoRepository = alteracaoColecaoRepository;
+        this.instancia = instancia;
+    }
+
+    /**
+     * Considera lidas as alterações confirmadas até agora. Chamado antes de a cópia local ser reconstruída por
+     * inteiro: uma alteração confirmada durante a reconstrução muda a versão e é entregue na próxima leitura.
+     * */
+    public synchronized void reiniciar() {
+        versaoLida = versoesColecoes.ler(colecao);
+        lidaEm = System.currentTimeMillis();
+        entregues.clear();
+    }
+
+    /**
+     * Retorna os ids das entidades alteradas por outros nós desde a leitura anterior.
+     *
+     * @return Set<Integer> - vazio quando nenhum outro nó alterou a coleção
+     * */
+    public synchronized Set<Integer> ler() {
+        VersoesColecoes.Versoes versao = versoesColecoes.ler(colecao);
+        if (versaoLida != null && versao.versao().equals(versaoLida.versao())) {
+            return Set.of();
+        }
+        long agora = System.currentTimeMillis();
+        long desde = lidaEm - MARGEM.toMillis();
+        List<AlteracaoColecao> registros = alteracaoColecaoRepository.findAllRegistradasPorOutrosNos(colecao, desde, instancia);
+        versaoLida = versao;
+        lidaEm = agora;
+
+        entregues.values().removeIf(registradaEm -> registradaEm <= desde);
+        Set<Integer> ids = new HashSet<>();
+        for (AlteracaoColecao registro : registros) {
+            if (entregues.putIfAbsent(registro.getId(), registro.getRegistradaEm()) == null) {
+                ids.add(registro.getEntidadeId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Registra que a cópia local terminou de aplicar a última leitura (ou a reconstrução) e passou a refletir a
+     * versão lida nela. Sem uma versão nova lida, nada muda: as alterações locais continuam fora da versão aplicada.
+     * */
+    public synchronized void leituraAplicada() {
+        if (versaoLida != versaoAplicada) {
+            versaoAplicada = versaoLida;
+            parcial = false;
+        }
+    }
+
+    /**
+     * Registra que a cópia local aplicou uma alteração feita por este nó, que a versão lida pode ainda não incluir.
+     * */
+    public synchronized void alteracaoLocalAplicada() {
+        alteracoesLocais++;
+        parcial = true;
+    }
+
+    /**
+     * @return VersaoCopia versão refletida pela cópia local
+     * */
+    public synchronized VersaoCopia versaoCopia() {
+        String versao = versaoAplicada == null ? "0" : versaoAplicada.versao();
+        if (parcial) {
+            return new VersaoCopia(versao + "~" + instancia + "." + alteracoesLocais, -1);
+        }
+        return new VersaoCopia(versao, versaoAplicada.ultimaAlteracao());
+    }
+}
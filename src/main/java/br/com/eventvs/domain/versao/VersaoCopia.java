@@ -0,0 +1,23 @@
+package br.com.eventvs.domain.versao;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Versão compartilhada refletida por uma {@link CopiaLocal}, lida na última sincronização da cópia. Depois que a
+ * cópia aplica uma alteração deste nó, a versão lida deixa de descrevê-la: o rótulo passa a identificar também as
+ * alterações locais e não há instante de alteração.
+ * */
+@Getter
+@AllArgsConstructor
+public class VersaoCopia {
+
+    private final String rotulo;
+
+    /* instante da versão em milissegundos, ou -1 quando a cópia tem alterações locais além da versão lida */
+    private final long alteradaEm;
+
+    public boolean isParcial() {
+        return alteradaEm < 0;
+    }
+}
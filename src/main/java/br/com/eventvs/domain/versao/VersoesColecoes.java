@@ -0,0 +1,280 @@
+package br.com.eventvs.domain.versao;
+
+import br.com.eventvs.domain.enums.Colecao;
+import br.com.eventvs.domain.model.AlteracaoColecao;
+import br.com.eventvs.domain.model.VersaoColecao;
+import br.com.eventvs.domain.repository.AlteracaoColecaoRepository;
+import br.com.eventvs.domain.repository.VersaoColecaoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Versões de cada {@link Colecao}, incrementadas a cada alteração confirmada.
+ *
+ * As versões ficam no banco ({@link VersaoColecao}), de forma que todos os nós respondem com a mesma ETag e o
+ * mesmo Last-Modified, e uma alteração feita em um nó invalida as respostas guardadas pelos clientes de todos eles.
+ * Junto com a versão, as entidades alteradas podem ser registradas ({@link AlteracaoColecao}), para que os outros
+ * nós atualizem as suas cópias locais relendo apenas essas entidades.
+ * */
+@Slf4j
+@Component
+public class VersoesColecoes {
+
+    private static final long SEGUNDO = 1000;
+
+    /* Tempo durante o qual os registros de alteração ficam disponíveis para os outros nós */
+    private static final Duration RETENCAO_ALTERACOES = Duration.ofDays(1);
+
+    /* O instante avança pelo menos um segundo a cada alteração, mesmo que o relógio deste nó esteja atrasado */
+    private static final String INCREMENTAR = "update versao_colecao set versao = versao + 1, " +
+            "alterada_em = case when alterada_em > :umSegundoAntes then alterada_em + 1000 else :agora end " +
+            "where colecao in (:colecoes)";
+
+    @Autowired
+    private VersaoColecaoRepository versaoColecaoRepository;
+
+    @Autowired
+    private AlteracaoColecaoRepository alteracaoColecaoRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    /* identifica este nó nos registros de alteração */
+    private final String instancia = UUID.randomUUID().toString();
+
+    /**
+     * Método responsável por criar as versões que ainda não existem no banco.
+     * */
+    @PostConstruct
+    public void iniciar() {
+        Set<Colecao> ausentes = EnumSet.allOf(Colecao.class);
+        versaoColecaoRepository.findAll().forEach(existente -> ausentes.remove(existente.getColecao()));
+        for (Colecao colecao : ausentes) {
+            VersaoColecao versao = new VersaoColecao();
+            versao.setColecao(colecao);
+            versao.setVersao(0L);
+            versao.setAlteradaEm(System.currentTimeMillis() / SEGUNDO * SEGUNDO);
+            try {
+                versaoColecaoRepository.save(versao);
+            } catch (DataIntegrityViolationException e) {
+                // outro nó criou a mesma versão ao iniciar
+            }
+        }
+    }
+
+    /**
+     * Método responsável por registrar a alteração das coleções. Dentro de uma transação, a versão muda logo
+     * depois do commit, antes de a requisição responder: quem alterou já lê a nova versão, e a transação não
+     * trava a linha da versão, que é compartilhada por todas as escritas da coleção. As coleções alteradas numa
+     * transação são incrementadas por uma única instrução, em autocommit, na mesma conexão da transação.
+     *
+     * @param colecoes Colecao
+     * */
+    public void alterar(Colecao... colecoes) {
+        Map<Colecao, Set<Integer>> alteradas = pendentes();
+        Arrays.stream(colecoes).forEach(colecao -> alteradas.computeIfAbsent(colecao, c -> new HashSet<>()));
+        confirmarSemTransacao(alteradas);
+    }
+
+    /**
+     * Método responsável por registrar a alteração de entidades de uma coleção. Além da versão, os ids alterados
+     * são gravados na mesma transação ({@link AlteracaoColecao}), para que os outros nós releiam apenas essas
+     * entidades nas suas cópias locais ({@link LeitorAlteracoes}).
+     *
+     * @param colecao Colecao
+     * @param ids Collection<Integer> - ids das entidades alteradas
+     * */
+    public void alterar(Colecao colecao, Collection<Integer> ids) {
+        Map<Colecao, Set<Integer>> alteradas = pendentes();
+        alteradas.computeIfAbsent(colecao, c -> new HashSet<>()).addAll(ids);
+        confirmarSemTransacao(alteradas);
+    }
+
+    /**
+     * Método responsável por criar um leitor das alterações feitas por outros nós numa coleção.
+     *
+     * @param colecao Colecao
+     * @return LeitorAlteracoes
+     * */
+    public LeitorAlteracoes leitor(Colecao colecao) {
+        return new LeitorAlteracoes(colecao, this, alteracaoColecaoRepository, instancia);
+    }
+
+    /**
+     * Remove os registros de alteração que nenhum nó precisa mais ler
+     * */
+    @Scheduled(fixedDelayString = "PT1H")
+    public void expirarAlteracoes() {
+        alteracaoColecaoRepository.deleteAnterioresA(System.currentTimeMillis() - RETENCAO_ALTERACOES.toMillis());
+    }
+
+    /* coleções e ids alterados na transação atual; fora de uma transação, um mapa confirmado logo em seguida */
+    @SuppressWarnings("unchecked")
+    private Map<Colecao, Set<Integer>> pendentes() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return new EnumMap<>(Colecao.class);
+        }
+        Map<Colecao, Set<Integer>> pendentes = (Map<Colecao, Set<Integer>>) TransactionSynchronizationManager.getResource(this);
+        if (pendentes == null) {
+            Map<Colecao, Set<Integer>> alteradas = new EnumMap<>(Colecao.class);
+            TransactionSynchronizationManager.bindResource(this, alteradas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    registrar(alteradas);
+                }
+
+                @Override
+                public void afterCommit() {
+                    try {
+                        incrementar(alteradas.keySet());
+                    } catch (DataAccessException e) {
+                        // os dados já foram confirmados; as cópias dos outros nós se atualizam na próxima alteração
+                        log.error("Falha ao incrementar a versão de {}", alteradas.keySet(), e);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(VersoesColecoes.this);
+                }
+            });
+            pendentes = alteradas;
+        }
+        return pendentes;
+    }
+
+    private void confirmarSemTransacao(Map<Colecao, Set<Integer>> alteradas) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            registrar(alteradas);
+            incrementar(alteradas.keySet());
+        }
+    }
+
+    private void registrar(Map<Colecao, Set<Integer>> alteradas) {
+        long agora = System.currentTimeMillis();
+        List<AlteracaoColecao> registros = new ArrayList<>();
+        alteradas.forEach((colecao, ids) -> ids.forEach(id -> {
+            AlteracaoColecao registro = new AlteracaoColecao();
+            registro.setColecao(colecao);
+            registro.setEntidadeId(id);
+            registro.setOrigem(instancia);
+            registro.setRegistradaEm(agora);
+            registros.add(registro);
+        }));
+        if (!registros.isEmpty()) {
+            alteracaoColecaoRepository.saveAll(registros);
+        }
+    }
+
+    /**
+     * Método responsável por ler as versões atuais das coleções, numa única consulta.
+     *
+     * @param colecoes Colecao
+     * @return Versoes
+     * */
+    public Versoes ler(Colecao... colecoes) {
+        Map<Colecao, VersaoColecao> lidas = versaoColecaoRepository.findAllByColecaoIn(Arrays.asList(colecoes)).stream()
+                .collect(Collectors.toMap(VersaoColecao::getColecao, Function.identity(), (a, b) -> a,
+                        () -> new EnumMap<>(Colecao.class)));
+        return new Versoes(Arrays.stream(colecoes).map(lidas::get).collect(Collectors.toList()));
+    }
+
+    /**
+     * Método responsável por montar a ETag forte do estado atual das coleções.
+     *
+     * @param representacao String - identifica a representação (usuário e parâmetros da requisição)
+     * @param colecoes Colecao
+     * @return String
+     * */
+    public String etag(String representacao, Colecao... colecoes) {
+        return ler(colecoes).etag(representacao);
+    }
+
+    /* Depois do commit a transação já terminou e a conexão dela volta ao autocommit: a instrução trava a linha
+       da versão só enquanto executa */
+    private void incrementar(Iterable<Colecao> colecoes) {
+        List<String> alteradas = new ArrayList<>();
+        colecoes.forEach(colecao -> alteradas.add(colecao.name()));
+        if (!alteradas.isEmpty()) {
+            long agora = System.currentTimeMillis() / SEGUNDO * SEGUNDO;
+            jdbcTemplate.update(INCREMENTAR, new MapSqlParameterSource()
+                    .addValue("colecoes", alteradas)
+                    .addValue("agora", agora)
+                    .addValue("umSegundoAntes", agora - SEGUNDO));
+        }
+    }
+
+    /**
+     * Versões lidas de um conjunto de coleções.
+     * */
+    public static class Versoes {
+
+        private final List<VersaoColecao> versoes;
+
+        private Versoes(List<VersaoColecao> versoes) {
+            this.versoes = versoes;
+        }
+
+        /**
+         * @param representacao String - identifica a representação (usuário e parâmetros da requisição)
+         * @return String ETag forte
+         * */
+        public String etag(String representacao) {
+            String hash = DigestUtils.md5DigestAsHex(representacao.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+            return "\"" + versao() + "-" + hash + "\"";
+        }
+
+        /**
+         * @return String versões das coleções, na ordem em que foram lidas
+         * */
+        public String versao() {
+            return versoes.stream()
+                    .map(lida -> lida == null ? "0" : Long.toString(lida.getVersao()))
+                    .collect(Collectors.joining("."));
+        }
+
+        /**
+         * @param colecao Colecao - uma das coleções lidas
+         * @return long versão da coleção
+         * */
+        public long versao(Colecao colecao) {
+            return versoes.stream()
+                    .filter(lida -> lida != null && lida.getColecao() == colecao)
+                    .mapToLong(VersaoColecao::getVersao)
+                    .findFirst().orElse(0);
+        }
+
+        /**
+         * @return long instante da última alteração entre as coleções, em milissegundos
+         * */
+        public long ultimaAlteracao() {
+            return versoes.stream().filter(lida -> lida != null).mapToLong(VersaoColecao::getAlteradaEm).max().orElse(0);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package br.com.eventvs;
+
+import br.com.eventvs.domain.conta.CacheIdentidades;
+import br.com.eventvs.domain.enums.Situacao;
+import br.com.eventvs.domain.enums.StatusEvento;
+import br.com.eventvs.domain.model.Categoria;
+import br.com.eventvs.domain.model.Endereco;
+import br.com.eventvs.domain.model.Evento;
+import br.com.eventvs.domain.model.Inscricao;
+import br.com.eventvs.domain.model.Participante;
+import br.com.eventvs.domain.model.Pessoa;
+import br.com.eventvs.domain.model.Produtor;
+import br.com.eventvs.domain.repository.CategoriaRepository;
+import br.com.eventvs.domain.repository.EnderecoRepository;
+import br.com.eventvs.domain.repository.EventoRepository;
+import br.com.eventvs.domain.repository.InscricaoRepository;
+import br.com.eventvs.domain.repository.ParticipanteRepository;
+import br.com.eventvs.domain.repository.PessoaRepository;
+import br.com.eventvs.domain.repository.ProdutorRepository;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dados comuns aos testes de eventos e inscrições: uma categoria, um produtor aceito e um participante, criados
+ * em {@link #preparar()}, e os eventos e inscrições criados a partir deles. {@link #limpar()} apaga tudo e
+ * descarta as identidades em cache das pessoas criadas; os dados que dependem destes (lista de espera, chaves de
+ * idempotência) são apagados pelo próprio teste antes.
+ */
+@Component
+public class CenarioEventos {
+
+    public static final String EMAIL_PRODUTOR = "produtor@teste.com";
+    public static final String EMAIL_PARTICIPANTE = "participante@teste.com";
+    public static final LocalDateTime INICIO = LocalDateTime.now().plusDays(10).withNano(0);
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private InscricaoRepository inscricaoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private ProdutorRepository produtorRepository;
+
+    @Autowired
+    private ParticipanteRepository participanteRepository;
+
+    @Autowired
+    private CacheIdentidades cacheIdentidades;
+
+    @Getter
+    private Categoria categoria;
+
+    @Getter
+    private Produtor produtor;
+
+    @Getter
+    private Participante participante;
+
+    private final List<String> emails = new ArrayList<>();
+
+    public void preparar() {
+        categoria = novaCategoria("Palestra");
+        produtor = novoProdutor("00000000001", EMAIL_PRODUTOR);
+        participante = novoParticipante("00000000002", EMAIL_PARTICIPANTE);
+    }
+
+    public void limpar() {
+        inscricaoRepository.deleteAll();
+        eventoRepository.deleteAll();
+        enderecoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+        participanteRepository.deleteAll();
+        produtorRepository.deleteAll();
+        pessoaRepository.deleteAll();
+        emails.forEach(cacheIdentidades::invalidar);
+        emails.clear();
+    }
+
+    public Categoria novaCategoria(String nome) {
+        Categoria nova = new Categoria();
+        nova.setNome(nome);
+        nova.setDescricao(nome);
+        return categoriaRepository.save(nova);
+    }
+
+    public Pessoa novaPessoa(String cpf, String email) {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setNome(email);
+        pessoa.setCpf(cpf);
+        pessoa.setEmail(email);
+        pessoa.setSenha("senha");
+        emails.add(email);
+        return pessoaRepository.save(pessoa);
+    }
+
+    public Produtor novoProdutor(String cpf, String email) {
+        Produtor novo = new Produtor();
+        novo.setPessoa(novaPessoa(cpf, email));
+        novo.setSituacao(Situacao.ACEITO);
+        return produtorRepository.save(novo);
+    }
+
+    public Participante novoParticipante(String cpf, String email) {
+        Participante novo = new Participante();
+        novo.setPessoa(novaPessoa(cpf, email));
+        return participanteRepository.save(novo);
+    }
+
+    /**
+     * Evento publicado do produtor, na categoria do cenário, começando em {@link #INICIO}.
+     */
+    public Evento novoEvento(String nome) {
+        return novoEvento(nome, categoria, INICIO, StatusEvento.PUBLICADO);
+    }
+
+    public Evento novoEvento(String nome, Categoria categoriaEvento, LocalDateTime inicio, StatusEvento statusEvento) {
+        Endereco endereco = new Endereco();
+        endereco.setLogradouro("Av. Marechal Rondom");
+        endereco.setNumero("S/N");
+        endereco.setBairro("Rosa Elze");
+        endereco.setCidade("São Cristóvão");
+        endereco.setEstado("Sergipe");
+        endereco.setCEP("49100000");
+
+        Evento evento = new Evento();
+        evento.setNome(nome);
+        evento.setDescricao(nome);
+        evento.setDataHoraInicio(inicio);
+        evento.setDataHoraFim(INICIO.plusDays(1));
+        evento.setCategoria(categoriaEvento);
+        evento.setStatusEvento(statusEvento);
+        evento.setProdutor(produtor);
+        evento.setEndereco(enderecoRepository.save(endereco));
+        return eventoRepository.save(evento);
+    }
+
+    public Inscricao inscrever(Evento evento, Participante inscrito, boolean cancelada) {
+        Inscricao inscricao = new Inscricao();
+        inscricao.setEvento(evento);
+        inscricao.setParticipante(inscrito);
+        inscricao.setDataHora(LocalDateTime.now());
+        inscricao.setIsCancelada(cancelada);
+        return inscricaoRepository.save(inscricao);
+    }
+}
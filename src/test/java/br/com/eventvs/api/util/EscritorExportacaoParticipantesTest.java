@@ -0,0 +1,135 @@
+package br.com.eventvs.api.util;
+
+import br.com.eventvs.api.dto.responses.ParticipanteExportacaoResponse;
+import br.com.eventvs.domain.enums.FormatoArquivo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EscritorExportacaoParticipantesTest {
+
+    private static final int PARTICIPANTES = 100_000;
+    private static final long LIMITE_CRESCIMENTO_HEAP = 16L * 1024 * 1024;
+    private static final LocalDateTime INSCRICAO = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void csvEscapaCamposEMascaraOCpf() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        EscritorExportacaoParticipantes escritor = new EscritorExportacaoParticipantes(FormatoArquivo.CSV, objectMapper, () -> saida);
+        escritor.accept(new ParticipanteExportacaoResponse("Silva, \"Ana\"", "ana@teste.com", "123.456.789-01", INSCRICAO));
+        escritor.finalizar();
+
+        assertEquals("nome,email,cpf,dataInscricao\n" +
+                "\"Silva, \"\"Ana\"\"\",ana@teste.com,***.456.789-**,2030-01-01T10:00:00\n", saida.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void csvNeutralizaValoresQueAPlanilhaInterpretariaComoFormula() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        EscritorExportacaoParticipantes escritor = new EscritorExportacaoParticipantes(FormatoArquivo.CSV, objectMapper, () -> saida);
+        escritor.accept(new ParticipanteExportacaoResponse("=HYPERLINK(\"http://x\",\"a\")", "+ana@teste.com", null, INSCRICAO));
+        escritor.accept(new ParticipanteExportacaoResponse("-1+1", "@SUM(A1)", null, INSCRICAO));
+        escritor.accept(new ParticipanteExportacaoResponse("\tAna", "\r=1", null, INSCRICAO));
+        escritor.finalizar();
+
+        assertEquals("nome,email,cpf,dataInscricao\n" +
+                "\"'=HYPERLINK(\"\"http://x\"\",\"\"a\"\")\",'+ana@teste.com,,2030-01-01T10:00:00\n" +
+                "'-1+1,'@SUM(A1),,2030-01-01T10:00:00\n" +
+                "'\tAna,\"'\r=1\",,2030-01-01T10:00:00\n", saida.toString(StandardCharsets.UTF_8));
+    }
+
+        @Test
+    void ndjsonEscreveUmObjetoPorLinha() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        EscritorExportacaoParticipantes escritor = new EscritorExportacaoParticipantes(FormatoArquivo.NDJSON, objectMapper, () -> saida);
+        IntStream.range(0, 3).mapToObj(this::participante).forEach(escritor);
+        escritor.finalizar();
+
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, linhas.length);
+        JsonNode primeira = objectMapper.readTree(linhas[0]);
+        assertEquals("Participante 0", primeira.get("nome").asText());
+        assertEquals("***.000.000-**", primeira.get("cpf").asText());
+    }
+
+    @Test
+    void saidaSoEAbertaQuandoAEscritaComeca() throws Exception {
+        boolean[] aberta = new boolean[1];
+        EscritorExportacaoParticipantes escritor = new EscritorExportacaoParticipantes(FormatoArquivo.CSV, objectMapper, () -> {
+            aberta[0] = true;
+            return new ByteArrayOutputStream();
+        });
+
+        assertFalse(aberta[0]);
+        escritor.finalizar();
+        assertTrue(aberta[0]);
+    }
+
+    @Test
+    void exportaCemMilParticipantesComGzipSemAcumularMemoria() throws Exception {
+        ByteArrayOutputStream comprimido = new ByteArrayOutputStream();
+        EscritorExportacaoParticipantes escritor = new EscritorExportacaoParticipantes(FormatoArquivo.CSV, objectMapper,
+                () -> new GZIPOutputStream(comprimido, 64 * 1024));
+        long[] heapNoInicio = new long[1];
+        long[] heapNoFim = new long[1];
+
+        IntStream.range(0, PARTICIPANTES)
+                .peek(i -> {
+                    if (i == PARTICIPANTES / 10) {
+                        heapNoInicio[0] = heapRetido();
+                    } else if (i == PARTICIPANTES - 1) {
+                        heapNoFim[0] = heapRetido();
+                    }
+                })
+                .mapToObj(this::participante)
+                .forEach(escritor);
+        escritor.finalizar();
+
+        assertEquals(PARTICIPANTES + 1, contarLinhas(comprimido.toByteArray()));
+        assertTrue(heapNoFim[0] - heapNoInicio[0] < LIMITE_CRESCIMENTO_HEAP);
+    }
+
+    private ParticipanteExportacaoResponse participante(int i) {
+        return new ParticipanteExportacaoResponse("Participante " + i, "participante" + i + "@teste.com",
+                String.format("%011d", i), INSCRICAO);
+    }
+
+    private long contarLinhas(byte[] comprimido) throws IOException {
+        long linhas = 0;
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(comprimido))) {
+            int lidos;
+            byte[] buffer = new byte[8192];
+            while ((lidos = entrada.read(buffer)) > 0) {
+                for (int i = 0; i < lidos; i++) {
+                    if (buffer[i] == '\n') {
+                        linhas++;
+                    }
+                }
+            }
+        }
+        return linhas;
+    }
+
+    private long heapRetido() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
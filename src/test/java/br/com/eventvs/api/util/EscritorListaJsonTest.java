@@ -0,0 +1,105 @@
+package br.com.eventvs.api.util;
+
+import br.com.eventvs.api.dto.responses.InscricaoResponse;
+import br.com.eventvs.domain.enums.StatusEvento;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EscritorListaJsonTest {
+
+    private static final int LINHAS = 1_000_000;
+    private static final long LIMITE_CRESCIMENTO_HEAP = 16L * 1024 * 1024;
+    private static final LocalDateTime INICIO = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void escreveListaVaziaQuandoNaoRecebeElementos() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        new EscritorListaJson<>(objectMapper, InscricaoResponse.class, saida).finalizar();
+
+        assertEquals("[]", saida.toString());
+    }
+
+    @Test
+    void escreveOsElementosNaOrdemRecebida() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        EscritorListaJson<InscricaoResponse> escritor = new EscritorListaJson<>(objectMapper, InscricaoResponse.class, saida);
+        IntStream.rangeClosed(1, 3).mapToObj(this::inscricao).forEach(escritor);
+        escritor.finalizar();
+
+        JsonNode lista = objectMapper.readTree(saida.toByteArray());
+        assertEquals(3, lista.size());
+        assertEquals(3, lista.get(2).get("id").asInt());
+        assertEquals("Participante 1", lista.get(0).get("participante").get("pessoa").get("nome").asText());
+        assertEquals("2030-01-01T10:00:00", lista.get(0).get("evento").get("dataHoraInicio").asText());
+    }
+
+    @Test
+    void transmiteUmMilhaoDeLinhasSemAcumularMemoria() throws Exception {
+        ContadorBytes saida = new ContadorBytes();
+        EscritorListaJson<InscricaoResponse> escritor = new EscritorListaJson<>(objectMapper, InscricaoResponse.class, saida);
+        long[] heapNoInicio = new long[1];
+        long[] heapNoFim = new long[1];
+
+        IntStream.rangeClosed(1, LINHAS)
+                .mapToObj(this::inscricao)
+                .peek(inscricao -> {
+                    // mede depois do aquecimento e de novo perto do fim da transmissão
+                    if (inscricao.getId() == LINHAS / 10) {
+                        heapNoInicio[0] = heapRetido();
+                    } else if (inscricao.getId() == LINHAS) {
+                        heapNoFim[0] = heapRetido();
+                    }
+                })
+                .forEach(escritor);
+        escritor.finalizar();
+
+        long crescimento = heapNoFim[0] - heapNoInicio[0];
+
+        assertTrue(saida.bytes > LINHAS * 100L);
+        assertTrue(crescimento < LIMITE_CRESCIMENTO_HEAP);
+    }
+
+    private InscricaoResponse inscricao(int id) {
+        return new InscricaoResponse(id, INICIO.minusDays(1), false,
+                id, "Participante " + id,
+                id % 100, "Evento " + id % 100, INICIO, INICIO.plusHours(4), StatusEvento.PUBLICADO,
+                1, "Palestra", "Palestra",
+                id % 100, "Av. Marechal Rondom", "S/N", "Rosa Elze", "São Cristóvão", "Sergipe", "49100000");
+    }
+
+    private long heapRetido() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /* Saída que descarta o conteúdo, guardando apenas a quantidade de bytes escritos */
+    private static class ContadorBytes extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.eventvs.api.util;
+
+import br.com.eventvs.api.dto.requests.EventoImportacaoRequest;
+import br.com.eventvs.domain.enums.FormatoArquivo;
+import br.com.eventvs.domain.enums.StatusEvento;
+import br.com.eventvs.domain.exception.NegocioException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeitorImportacaoEventosTest {
+
+    private static final String CABECALHO = "nome,descricao,dataHoraInicio,dataHoraFim,categoriaId,statusEvento,logradouro,numero,bairro,cidade,estado,cep,capacidade\r\n";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void csvAceitaAspasVirgulasEQuebrasDeLinhaNosCampos() {
+        List<EventoImportacaoRequest> registros = ler(FormatoArquivo.CSV, CABECALHO +
+                "\"Semana de Computação, 2030\",\"Palestras\r\ne \"\"oficinas\"\"\",2030-01-10T08:00:00,2030-01-12T18:00,1,publicado," +
+                "Av. Marechal Rondom,S/N,Rosa Elze,São Cristóvão,Sergipe,49100000,200\r\n" +
+                "\r\n" +
+                "Hackathon,Maratona,2030-02-01T08:00,2030-02-02T08:00,2,CRIADO,Rua A,10,Centro,Aracaju,Sergipe,49000000,\n");
+
+        assertEquals(2, registros.size());
+        EventoImportacaoRequest primeiro = registros.get(0);
+        assertNull(primeiro.getErro());
+        assertEquals(1, primeiro.getLinha());
+        assertEquals("Semana de Computação, 2030", primeiro.getEvento().getNome());
+        assertEquals("Palestras\r\ne \"oficinas\"", primeiro.getEvento().getDescricao());
+        assertEquals(LocalDateTime.of(2030, 1, 10, 8, 0), primeiro.getEvento().getDataHoraInicio());
+        assertEquals(StatusEvento.PUBLICADO, primeiro.getEvento().getStatusEvento());
+        assertEquals("49100000", primeiro.getEvento().getEndereco().getCEP());
+        assertEquals(200, primeiro.getEvento().getCapacidade());
+
+        EventoImportacaoRequest segundo = registros.get(1);
+        assertEquals(2, segundo.getLinha());
+        assertEquals(2, segundo.getEvento().getCategoriaId());
+        assertNull(segundo.getEvento().getCapacidade());
+        assertFalse(segundo.getEvento().getAltaDemanda());
+    }
+
+    @Test
+    void csvEntregaORegistroComValorInvalidoComOMotivo() {
+        List<EventoImportacaoRequest> registros = ler(FormatoArquivo.CSV, CABECALHO +
+                "Show,Show,amanhã,2030-01-12T18:00,1,PUBLICADO,Rua A,10,Centro,Aracaju,Sergipe,49000000,\n" +
+                "Show,Show,2030-01-10T08:00,2030-01-12T18:00,1,ADIADO,Rua A,10,Centro,Aracaju,Sergipe,49000000,\n" +
+                "Show,Show,2030-01-10T08:00,2030-01-12T18:00,1,CRIADO,Rua A,10,Centro,Aracaju,Sergipe,49000000,\n");
+
+        assertEquals(3, registros.size());
+        assertEquals("Valor inválido na coluna dataHoraInicio: amanhã", registros.get(0).getErro());
+        assertEquals("Valor inválido na coluna statusEvento: ADIADO", registros.get(1).getErro());
+        assertNull(registros.get(2).getErro());
+        assertEquals(3, registros.get(2).getLinha());
+    }
+
+    @Test
+    void csvSemColunaObrigatoriaERecusadoAntesDoPrimeiroRegistro() {
+        LeitorImportacaoEventos leitor = leitor(FormatoArquivo.CSV, "nome,descricao\nShow,Show\n");
+
+        NegocioException erro = assertThrows(NegocioException.class, leitor::hasNext);
+        assertTrue(erro.getMessage().contains("dataHoraInicio"));
+    }
+
+    @Test
+    void ndjsonLeUmEventoPorLinhaEIgnoraLinhasEmBranco() {
+        List<EventoImportacaoRequest> registros = ler(FormatoArquivo.NDJSON,
+                "{\"nome\":\"Show\",\"descricao\":\"Show\",\"dataHoraInicio\":\"2030-01-10T08:00:00\",\"categoriaId\":1," +
+                        "\"statusEvento\":\"PUBLICADO\",\"endereco\":{\"cidade\":\"Aracaju\"},\"altaDemanda\":true}\n" +
+                        "\n" +
+                        "{\"nome\": \n" +
+                        "{\"nome\":\"Feira\"}");
+
+        assertEquals(3, registros.size());
+        assertEquals("Show", registros.get(0).getEvento().getNome());
+        assertEquals("Aracaju", registros.get(0).getEvento().getEndereco().getCidade());
+        assertTrue(registros.get(0).getEvento().getAltaDemanda());
+        assertEquals(2, registros.get(1).getLinha());
+        assertTrue(registros.get(1).getErro().startsWith("JSON inválido"));
+        assertEquals("Feira", registros.get(2).getEvento().getNome());
+    }
+
+    private List<EventoImportacaoRequest> ler(FormatoArquivo formato, String conteudo) {
+        List<EventoImportacaoRequest> registros = new ArrayList<>();
+        leitor(formato, conteudo).forEachRemaining(registros::add);
+        return registros;
+    }
+
+    private LeitorImportacaoEventos leitor(FormatoArquivo formato, String conteudo) {
+        return new LeitorImportacaoEventos(formato, objectMapper, new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8)));
+    }
+}
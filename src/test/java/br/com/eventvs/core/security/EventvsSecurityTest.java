@@ -0,0 +1,102 @@
+package br.com.eventvs.core.security;
+
+import br.com.eventvs.core.security.domain.AuthPessoa;
+import br.com.eventvs.core.security.domain.JwtCustomTokenEnhancer;
+import br.com.eventvs.domain.conta.IdentidadeConta;
+import br.com.eventvs.domain.enums.Situacao;
+import br.com.eventvs.domain.model.Pessoa;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class EventvsSecurityTest {
+
+    @Autowired
+    private EventvsSecurity eventvsSecurity;
+
+    @Autowired
+    private JwtAccessTokenConverter jwtAccessTokenConverter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getIdentidadeLeClaimsVerificadasSemConsultarBancoDeDados() {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setId(7);
+        pessoa.setNome("Produtor");
+        pessoa.setEmail("produtor@teste.com");
+        pessoa.setSenha("senha");
+        AuthPessoa authPessoa = new AuthPessoa(pessoa, "PRODUTOR");
+        authPessoa.setProdutorId(3);
+
+        String token = emitirToken(authPessoa);
+        SecurityContextHolder.getContext().setAuthentication(new JwtTokenStore(jwtAccessTokenConverter).readAuthentication(token));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        IdentidadeConta identidade = eventvsSecurity.getIdentidade();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(7, identidade.getPessoaId());
+        assertEquals("produtor@teste.com", identidade.getEmail());
+        assertEquals(3, identidade.getProdutorId());
+        assertEquals(Situacao.ACEITO, identidade.getSituacaoProdutor());
+        assertFalse(identidade.isParticipante());
+        assertFalse(identidade.isAdministrador());
+    }
+
+    @Test
+    void tokenComClaimsAlteradasERejeitado() {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setId(8);
+        pessoa.setNome("Participante");
+        pessoa.setEmail("participante@teste.com");
+        pessoa.setSenha("senha");
+        AuthPessoa authPessoa = new AuthPessoa(pessoa, "PARTICIPANTE");
+        authPessoa.setParticipanteId(4);
+
+        String[] partes = emitirToken(authPessoa).split("\\.");
+        String claimsAlteradas = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                new String(Base64.getUrlDecoder().decode(partes[1]))
+                        .replace("\"participante_id\":4", "\"participante_id\":5").getBytes());
+
+        assertThrows(InvalidTokenException.class, () -> new JwtTokenStore(jwtAccessTokenConverter)
+                .readAuthentication(partes[0] + "." + claimsAlteradas + "." + partes[2]));
+    }
+
+    private String emitirToken(AuthPessoa authPessoa) {
+        OAuth2Request oAuth2Request = new OAuth2Request(Collections.emptyMap(), "app-mobile", Collections.emptyList(),
+                true, Set.of("read"), null, null, null, null);
+        OAuth2Authentication authentication = new OAuth2Authentication(oAuth2Request,
+                new UsernamePasswordAuthenticationToken(authPessoa, null, Collections.emptyList()));
+
+        DefaultOAuth2AccessToken accessToken = new DefaultOAuth2AccessToken("token");
+        new JwtCustomTokenEnhancer().enhance(accessToken, authentication);
+        return jwtAccessTokenConverter.enhance(accessToken, authentication).getValue();
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.eventvs.core.security;
+
+import br.com.eventvs.core.security.domain.AuthPessoa;
+import br.com.eventvs.core.security.domain.ChavesAssinatura;
+import br.com.eventvs.core.security.domain.JwtClaimsAccessTokenConverter;
+import br.com.eventvs.core.security.domain.JwtCustomTokenEnhancer;
+import br.com.eventvs.core.security.domain.JwtRsaAccessTokenConverter;
+import br.com.eventvs.domain.model.Pessoa;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSObject;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+import org.springframework.security.oauth2.provider.token.store.jwk.JwkTokenStore;
+
+import java.text.ParseException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static br.com.eventvs.api.util.Paths.PATH_JWKS;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class JwksTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtAccessTokenConverter jwtAccessTokenConverter;
+
+    @Autowired
+    private ChavesAssinatura chavesAssinatura;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void tokenAssinadoComRs256InformaKidDaChaveAtual() throws ParseException {
+        JWSHeader header = JWSObject.parse(emitirToken()).getHeader();
+
+        assertEquals(JWSAlgorithm.RS256, header.getAlgorithm());
+        assertEquals(chavesAssinatura.atual().getKid(), header.getKeyID());
+    }
+
+    @Test
+    void servidorDeRecursosVerificaLocalmenteComChavesDoJwks() {
+        String token = emitirToken();
+        JwkTokenStore tokenStore = new JwkTokenStore("http://localhost:" + port + PATH_JWKS, new JwtClaimsAccessTokenConverter());
+
+        OAuth2Authentication authentication = tokenStore.readAuthentication(token);
+        assertEquals("participante@teste.com", authentication.getName());
+        assertEquals(9, ((Map<?, ?>) authentication.getDetails()).get(JwtCustomTokenEnhancer.CLAIM_PESSOA_ID));
+    }
+
+    @Test
+    void tokensAssinadosAntesDaRotacaoContinuamValidos() throws ParseException {
+        String tokenAnterior = emitirToken();
+        String kidAnterior = chavesAssinatura.atual().getKid();
+
+        chavesAssinatura.rotacionar();
+        String tokenAtual = emitirToken();
+
+        assertNotEquals(kidAnterior, JWSObject.parse(tokenAtual).getHeader().getKeyID());
+        JwtTokenStore tokenStore = new JwtTokenStore(jwtAccessTokenConverter);
+        assertEquals("participante@teste.com", tokenStore.readAuthentication(tokenAnterior).getName());
+        assertEquals("participante@teste.com", tokenStore.readAuthentication(tokenAtual).getName());
+
+        List<?> chaves = (List<?>) chavesAssinatura.jwks().get("keys");
+        assertTrue(chaves.stream().anyMatch(chave -> kidAnterior.equals(((Map<?, ?>) chave).get("kid"))));
+        assertTrue(chaves.stream().noneMatch(chave -> ((Map<?, ?>) chave).containsKey("d")));
+    }
+
+    @Test
+    void outroNoVerificaOsTokensComAsChavesGravadasNoBanco() {
+        chavesAssinatura.rotacionar();
+        String token = emitirToken();
+
+        ChavesAssinatura outroNo = applicationContext.getAutowireCapableBeanFactory().createBean(ChavesAssinatura.class);
+        JwtRsaAccessTokenConverter converterOutroNo = new JwtRsaAccessTokenConverter(outroNo);
+        converterOutroNo.setAccessTokenConverter(new JwtClaimsAccessTokenConverter());
+
+        assertEquals(chavesAssinatura.atual().getKid(), outroNo.atual().getKid());
+        assertEquals(chavesAssinatura.jwks(), outroNo.jwks());
+        assertEquals("participante@teste.com", new JwtTokenStore(converterOutroNo).readAuthentication(token).getName());
+    }
+
+    @Test
+    void tokenComKidDesconhecidoERejeitado() {
+        String[] partes = emitirToken().split("\\.");
+        String cabecalho = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "{\"alg\":\"RS256\",\"kid\":\"desconhecido\",\"typ\":\"JWT\"}".getBytes());
+
+        assertThrows(InvalidTokenException.class, () -> new JwtTokenStore(jwtAccessTokenConverter)
+                .readAuthentication(cabecalho + "." + partes[1] + "." + partes[2]));
+    }
+
+    private String emitirToken() {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setId(9);
+        pessoa.setNome("Participante");
+        pessoa.setEmail("participante@teste.com");
+        pessoa.setSenha("senha");
+        AuthPessoa authPessoa = new AuthPessoa(pessoa, "PARTICIPANTE");
+        authPessoa.setParticipanteId(5);
+
+        OAuth2Request oAuth2Request = new OAuth2Request(Collections.emptyMap(), "app-mobile", Collections.emptyList(),
+                true, Set.of("read"), null, null, null, null);
+        OAuth2Authentication authentication = new OAuth2Authentication(oAuth2Request,
+                new UsernamePasswordAuthenticationToken(authPessoa, null, Collections.emptyList()));
+
+        DefaultOAuth2AccessToken accessToken = new DefaultOAuth2AccessToken("token");
+        accessToken.setExpiration(new java.util.Date(System.currentTimeMillis() + 60_000));
+        new JwtCustomTokenEnhancer().enhance(accessToken, authentication);
+        return jwtAccessTokenConverter.enhance(accessToken, authentication).getValue();
+    }
+}
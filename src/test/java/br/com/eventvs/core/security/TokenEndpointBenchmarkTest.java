@@ -0,0 +1,121 @@
+package br.com.eventvs.core.security;
+
+import br.com.eventvs.core.security.domain.CacheUserDetails;
+import br.com.eventvs.domain.conta.CacheIdentidades;
+import br.com.eventvs.domain.model.Participante;
+import br.com.eventvs.domain.model.Pessoa;
+import br.com.eventvs.domain.repository.ParticipanteRepository;
+import br.com.eventvs.domain.repository.PessoaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Vazão do /oauth/token na renovação de tokens, antes (usuário relido a cada renovação) e depois do cache de
+ * UserDetails. Fica fora da execução padrão dos testes; para executar:
+ * mvn test -Dgroups=benchmark -DexcludedGroups=nenhum -Dtest=TokenEndpointBenchmarkTest
+ * */
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+class TokenEndpointBenchmarkTest {
+
+    private static final String EMAIL_PARTICIPANTE = "participante@teste.com";
+    private static final String SENHA = "senha";
+    private static final int AQUECIMENTO = 20;
+    private static final int RENOVACOES = 200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CacheUserDetails cacheUserDetails;
+
+    @Autowired
+    private CacheIdentidades cacheIdentidades;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private ParticipanteRepository participanteRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setNome(EMAIL_PARTICIPANTE);
+        pessoa.setCpf("00000000002");
+        pessoa.setEmail(EMAIL_PARTICIPANTE);
+        pessoa.setSenha(passwordEncoder.encode(SENHA));
+        Participante participante = new Participante();
+        participante.setPessoa(pessoaRepository.save(pessoa));
+        participanteRepository.save(participante);
+    }
+
+    @AfterEach
+    void tearDown() {
+        participanteRepository.deleteAll();
+        pessoaRepository.deleteAll();
+        cacheUserDetails.removeUserFromCache(EMAIL_PARTICIPANTE);
+        cacheIdentidades.invalidar(EMAIL_PARTICIPANTE);
+    }
+
+    @Test
+    void vazaoDaRenovacaoDeTokenAntesEDepoisDoCache() throws Exception {
+        String refreshToken = objectMapper.readTree(solicitarToken(
+                "grant_type=password&username=" + EMAIL_PARTICIPANTE + "&password=" + SENHA)).get("refresh_token").asText();
+
+        double semCache = medirVazao(refreshToken, true);
+        double comCache = medirVazao(refreshToken, false);
+        // sem asserção sobre a vazão: o segredo do cliente é conferido com BCrypt a cada requisição e domina o tempo
+        System.out.printf("/oauth/token refresh_token: sem cache=%.1f req/s, com cache=%.1f req/s%n", semCache, comCache);
+    }
+
+    /* renovações por segundo, depois de um aquecimento com o mesmo número de repetições para as duas medições */
+    private double medirVazao(String refreshToken, boolean descartarCache) throws Exception {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            renovar(refreshToken, descartarCache);
+        }
+        long inicio = System.nanoTime();
+        for (int i = 0; i < RENOVACOES; i++) {
+            renovar(refreshToken, descartarCache);
+        }
+        return RENOVACOES * 1e9 / (System.nanoTime() - inicio);
+    }
+
+    private void renovar(String refreshToken, boolean descartarCache) throws Exception {
+        if (descartarCache) {
+            cacheUserDetails.removeUserFromCache(EMAIL_PARTICIPANTE);
+        }
+        solicitarToken("grant_type=refresh_token&refresh_token=" + refreshToken);
+    }
+
+    private String solicitarToken(String corpo) throws Exception {
+        String credenciaisCliente = Base64.getEncoder().encodeToString("app-mobile:mobile".getBytes(StandardCharsets.UTF_8));
+        return mockMvc.perform(post("/oauth/token")
+                        .header(HttpHeaders.AUTHORIZATION, "Basic " + credenciaisCliente)
+                        .contentType("application/x-www-form-urlencoded")
+                        .content(corpo))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,158 @@
+package br.com.eventvs.core.security;
+
+import br.com.eventvs.core.security.domain.CacheUserDetails;
+import br.com.eventvs.domain.conta.CacheIdentidades;
+import br.com.eventvs.domain.enums.Situacao;
+import br.com.eventvs.domain.model.Participante;
+import br.com.eventvs.domain.model.Pessoa;
+import br.com.eventvs.domain.model.Produtor;
+import br.com.eventvs.domain.repository.ParticipanteRepository;
+import br.com.eventvs.domain.repository.PessoaRepository;
+import br.com.eventvs.domain.repository.ProdutorRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TokenEndpointTest {
+
+    private static final String EMAIL_PARTICIPANTE = "participante@teste.com";
+    private static final String EMAIL_PRODUTOR = "produtor@teste.com";
+    private static final String SENHA = "senha";
+    private static final int RENOVACOES = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private CacheUserDetails cacheUserDetails;
+
+    @Autowired
+    private CacheIdentidades cacheIdentidades;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private ParticipanteRepository participanteRepository;
+
+    @Autowired
+    private ProdutorRepository produtorRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        Participante participante = new Participante();
+        participante.setPessoa(novaPessoa("00000000002", EMAIL_PARTICIPANTE));
+        participanteRepository.save(participante);
+
+        Produtor produtor = new Produtor();
+        produtor.setPessoa(novaPessoa("00000000001", EMAIL_PRODUTOR));
+        produtor.setSituacao(Situacao.ACEITO);
+        produtorRepository.save(produtor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        participanteRepository.deleteAll();
+        produtorRepository.deleteAll();
+        pessoaRepository.deleteAll();
+        cacheUserDetails.removeUserFromCache(EMAIL_PARTICIPANTE);
+        cacheIdentidades.invalidar(EMAIL_PARTICIPANTE);
+        cacheIdentidades.invalidar(EMAIL_PRODUTOR);
+    }
+
+    @Test
+    void loadUserByUsernameResolvePapelEmUmaUnicaConsulta() {
+        assertEquals(1, contarConsultas(() -> userDetailsService.loadUserByUsername(EMAIL_PARTICIPANTE)));
+        assertEquals(1, contarConsultas(() -> userDetailsService.loadUserByUsername(EMAIL_PRODUTOR)));
+    }
+
+    @Test
+    void renovacaoDeTokenReaproveitaUsuarioEmCache() throws Exception {
+        String refreshToken = solicitarToken("grant_type=password&username=" + EMAIL_PARTICIPANTE + "&password=" + SENHA)
+                .get("refresh_token").asText();
+
+        long consultasSemCache = contarConsultas(() -> {
+            for (int i = 0; i < RENOVACOES; i++) {
+                cacheUserDetails.removeUserFromCache(EMAIL_PARTICIPANTE);
+                renovar(refreshToken);
+            }
+        });
+
+        renovar(refreshToken);
+        long consultasComCache = contarConsultas(() -> {
+            for (int i = 0; i < RENOVACOES; i++) {
+                renovar(refreshToken);
+            }
+        });
+
+        assertEquals(RENOVACOES, consultasSemCache);
+        assertEquals(0, consultasComCache);
+    }
+
+    private void renovar(String refreshToken) {
+        try {
+            solicitarToken("grant_type=refresh_token&refresh_token=" + refreshToken);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private JsonNode solicitarToken(String corpo) throws Exception {
+        String credenciaisCliente = Base64.getEncoder().encodeToString("app-mobile:mobile".getBytes(StandardCharsets.UTF_8));
+        String resposta = mockMvc.perform(post("/oauth/token")
+                        .header(HttpHeaders.AUTHORIZATION, "Basic " + credenciaisCliente)
+                        .contentType("application/x-www-form-urlencoded")
+                        .content(corpo))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta);
+    }
+
+    private long contarConsultas(Runnable acao) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        acao.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Pessoa novaPessoa(String cpf, String email) {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setNome(email);
+        pessoa.setCpf(cpf);
+        pessoa.setEmail(email);
+        pessoa.setSenha(passwordEncoder.encode(SENHA));
+        return pessoaRepository.save(pessoa);
+    }
+}
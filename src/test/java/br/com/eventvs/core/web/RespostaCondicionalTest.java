@@ -0,0 +1,228 @@
+package br.com.eventvs.core.web;
+
+import br.com.eventvs.api.dto.requests.CategoriaRequest;
+import br.com.eventvs.core.security.domain.AuthPessoa;
+import br.com.eventvs.domain.busca.CatalogoEventosPublicados;
+import br.com.eventvs.domain.busca.IndiceCategorias;
+import br.com.eventvs.domain.conta.CacheIdentidades;
+import br.com.eventvs.domain.controller.GerenciarCategoriaController;
+import br.com.eventvs.domain.enums.Colecao;
+import br.com.eventvs.domain.model.Participante;
+import br.com.eventvs.domain.model.Pessoa;
+import br.com.eventvs.domain.repository.CategoriaRepository;
+import br.com.eventvs.domain.repository.ParticipanteRepository;
+import br.com.eventvs.domain.repository.PessoaRepository;
+import br.com.eventvs.domain.versao.VersoesColecoes;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RespostaCondicionalTest {
+
+    private static final String EMAIL_PARTICIPANTE = "participante@teste.com";
+    private static final String EMAIL_OUTRO = "outro@teste.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtAccessTokenConverter jwtAccessTokenConverter;
+
+    @Autowired
+    private VersoesColecoes versoesColecoes;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GerenciarCategoriaController gerenciarCategoriaController;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private ParticipanteRepository participanteRepository;
+
+    @Autowired
+    private CacheIdentidades cacheIdentidades;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private IndiceCategorias indiceCategorias;
+
+    @Autowired
+    private CatalogoEventosPublicados catalogoEventosPublicados;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setNome("Participante");
+        pessoa.setCpf("00000000002");
+        pessoa.setEmail(EMAIL_PARTICIPANTE);
+        pessoa.setSenha("senha");
+        Participante participante = new Participante();
+        participante.setPessoa(pessoaRepository.save(pessoa));
+        participante = participanteRepository.save(participante);
+
+        AuthPessoa authPessoa = new AuthPessoa(pessoa, "PARTICIPANTE");
+        authPessoa.setParticipanteId(participante.getId());
+        token = emitirToken(authPessoa);
+
+        // as cópias locais passam a refletir a versão atual, sem as alterações locais dos outros testes
+        indiceCategorias.reconstruir();
+        catalogoEventosPublicados.reconstruir();
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoriaRepository.deleteAll();
+        participanteRepository.deleteAll();
+        pessoaRepository.deleteAll();
+        cacheIdentidades.invalidar(EMAIL_PARTICIPANTE);
+    }
+
+    @Test
+    void categoriasInalteradasRespondem304SemConsultarOBanco() throws Exception {
+        MockHttpServletResponse primeira = consultar("/categorias", token, null);
+        String etag = primeira.getHeader(HttpHeaders.ETAG);
+        assertEquals(200, primeira.getStatus());
+        assertNotNull(etag);
+        assertNotNull(primeira.getHeader(HttpHeaders.LAST_MODIFIED));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        MockHttpServletResponse naoModificada = consultar("/categorias", token, etag);
+        assertEquals(304, naoModificada.getStatus());
+        assertEquals("", naoModificada.getContentAsString());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        CategoriaRequest categoriaRequest = new CategoriaRequest();
+        categoriaRequest.setNome("Palestra");
+        categoriaRequest.setDescricao("Palestra");
+        gerenciarCategoriaController.cadastrarCategoria(categoriaRequest);
+
+        MockHttpServletResponse alterada = consultar("/categorias", token, etag);
+        assertEquals(200, alterada.getStatus());
+        assertTrue(alterada.getContentAsString().contains("Palestra"));
+        assertNotEquals(etag, alterada.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void etagDosEventosVariaPorUsuarioEParametrosEMudaComAsInscricoesApenasNoFiltro() throws Exception {
+        String etag = consultar("/eventos/publicados", token, null).getHeader(HttpHeaders.ETAG);
+        String etagFiltro = consultar("/eventos/publicados_filtro", token, null).getHeader(HttpHeaders.ETAG);
+
+        assertEquals(304, consultar("/eventos/publicados", token, etag).getStatus());
+        assertEquals(200, consultar("/eventos/publicados?limit=10", token, etag).getStatus());
+
+        Pessoa outra = new Pessoa();
+        outra.setNome("Outro");
+        outra.setEmail(EMAIL_OUTRO);
+        outra.setSenha("senha");
+        assertNotEquals(304, consultar("/eventos/publicados", emitirToken(new AuthPessoa(outra, "PARTICIPANTE")), etag).getStatus());
+
+        versoesColecoes.alterar(Colecao.INSCRICOES);
+        assertEquals(304, consultar("/eventos/publicados", token, etag).getStatus());
+        assertEquals(200, consultar("/eventos/publicados_filtro", token, etagFiltro).getStatus());
+    }
+
+    @Test
+    void etagDoCatalogoSoMudaDepoisQueOCatalogoReleAsAlteracoesDeOutroNo() throws Exception {
+        MockHttpServletResponse primeira = consultar("/eventos/publicados", token, null);
+        String etag = primeira.getHeader(HttpHeaders.ETAG);
+        String lastModified = primeira.getHeader(HttpHeaders.LAST_MODIFIED);
+        assertNotNull(lastModified);
+
+        jdbcTemplate.update("update versao_colecao set versao = versao + 1, alterada_em = alterada_em + 1000 where colecao = ?", Colecao.EVENTOS.name());
+
+        // o catálogo deste nó ainda serve o mesmo corpo
+        assertEquals(304, consultar("/eventos/publicados", token, etag).getStatus());
+
+        catalogoEventosPublicados.sincronizar();
+
+        assertEquals(200, consultar("/eventos/publicados", token, etag).getStatus());
+        assertEquals(200, mockMvc.perform(get("/eventos/publicados")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified)).andReturn().getResponse().getStatus());
+    }
+
+    @Test
+    void ifModifiedSinceRespondem304AteAProximaAlteracao() throws Exception {
+        String lastModified = consultar("/inscricoes", token, null).getHeader(HttpHeaders.LAST_MODIFIED);
+
+        assertEquals(304, mockMvc.perform(get("/inscricoes")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified)).andReturn().getResponse().getStatus());
+
+        versoesColecoes.alterar(Colecao.INSCRICOES);
+
+        assertEquals(200, mockMvc.perform(get("/inscricoes")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified)).andReturn().getResponse().getStatus());
+    }
+
+    @Test
+    void alteracaoGravadaPorOutroNoInvalidaAsRespostasDesteNo() throws Exception {
+        MockHttpServletResponse primeira = consultar("/inscricoes", token, null);
+        String etag = primeira.getHeader(HttpHeaders.ETAG);
+        String lastModified = primeira.getHeader(HttpHeaders.LAST_MODIFIED);
+
+        jdbcTemplate.update("update versao_colecao set versao = versao + 1, alterada_em = alterada_em + 1000 where colecao = ?", Colecao.INSCRICOES.name());
+
+        assertEquals(200, consultar("/inscricoes", token, etag).getStatus());
+        assertEquals(200, mockMvc.perform(get("/inscricoes")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified)).andReturn().getResponse().getStatus());
+    }
+
+    private MockHttpServletResponse consultar(String url, String token, String etag) throws Exception {
+        var requisicao = get(url).header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        if (etag != null) {
+            requisicao.header(HttpHeaders.IF_NONE_MATCH, etag);
+        }
+        return mockMvc.perform(requisicao).andReturn().getResponse();
+    }
+
+    private String emitirToken(AuthPessoa authPessoa) {
+        OAuth2Request oAuth2Request = new OAuth2Request(Collections.emptyMap(), "app-mobile", Collections.emptyList(),
+                true, Set.of("read", "write"), null, null, null, null);
+        OAuth2Authentication authentication = new OAuth2Authentication(oAuth2Request,
+                new UsernamePasswordAuthenticationToken(authPessoa, null, authPessoa.getAuthorities()));
+
+        DefaultOAuth2AccessToken accessToken = new DefaultOAuth2AccessToken("token");
+        accessToken.setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        accessToken.setScope(Set.of("read", "write"));
+        return jwtAccessTokenConverter.enhance(accessToken, authentication).getValue();
+    }
+}
@@ -0,0 +1,239 @@
+package br.com.eventvs.domain.busca;
+
+import br.com.eventvs.CenarioEventos;
+import br.com.eventvs.api.dto.requests.PessoaCadastroRequest;
+import br.com.eventvs.api.dto.responses.EventoResponse;
+import br.com.eventvs.domain.conta.IdentidadeConta;
+import br.com.eventvs.domain.controller.GerenciarContaController;
+import br.com.eventvs.domain.controller.GerenciarEventoController;
+import br.com.eventvs.domain.enums.Colecao;
+import br.com.eventvs.domain.enums.StatusEvento;
+import br.com.eventvs.domain.exception.NegocioException;
+import br.com.eventvs.domain.model.*;
+import br.com.eventvs.domain.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static br.com.eventvs.CenarioEventos.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CatalogoEventosPublicadosTest {
+
+    private static final int QUANTIDADE_EVENTOS = 40;
+
+    @Autowired
+    private CatalogoEventosPublicados catalogoEventosPublicados;
+
+    @Autowired
+    private GerenciarEventoController gerenciarEventoController;
+
+    @Autowired
+    private GerenciarContaController gerenciarContaController;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private AlteracaoColecaoRepository alteracaoColecaoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CenarioEventos cenario;
+
+    private List<Categoria> categorias;
+    private Produtor produtor;
+
+    @BeforeEach
+    void setUp() {
+        cenario.preparar();
+        categorias = List.of(cenario.getCategoria(), cenario.novaCategoria("Curso"));
+        produtor = cenario.getProdutor();
+        catalogoEventosPublicados.reconstruir();
+    }
+
+    @AfterEach
+    void tearDown() {
+        alteracaoColecaoRepository.deleteAll();
+        cenario.limpar();
+        catalogoEventosPublicados.reconstruir();
+    }
+
+    @Test
+    void publicarECancelarAtualizamOCatalogoAposOCommit() {
+        IdentidadeConta identidade = gerenciarContaController.identificar(EMAIL_PRODUTOR);
+        Evento evento = novoEvento(0);
+
+        assertTrue(catalogoEventosPublicados.buscar(evento.getId()).isEmpty());
+
+        gerenciarEventoController.publicarEvento(identidade, evento.getId());
+        EventoResponse publicado = catalogoEventosPublicados.buscar(evento.getId()).orElseThrow();
+        assertEquals(produtor.getPessoa().getNome(), publicado.getProdutor());
+        assertEquals(List.of(evento.getId()), ids(catalogoEventosPublicados.listar(null, evento.getCategoria().getId(),
+                null, null, null, null, null, Integer.MAX_VALUE)));
+
+        gerenciarEventoController.cancelarEvento(evento.getId(), identidade);
+        assertTrue(catalogoEventosPublicados.buscar(evento.getId()).isEmpty());
+        assertTrue(catalogoEventosPublicados.listar(produtor.getId(), null, null, null, null, null, null, Integer.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    void alterarONomeDoProdutorAtualizaOsSeusEventosNoCatalogo() {
+        IdentidadeConta identidade = gerenciarContaController.identificar(EMAIL_PRODUTOR);
+        Evento evento = novoEvento(0);
+        gerenciarEventoController.publicarEvento(identidade, evento.getId());
+
+        PessoaCadastroRequest alteracao = new PessoaCadastroRequest();
+        alteracao.setNome("Produtora Renomeada");
+        gerenciarContaController.alterarDados(alteracao, EMAIL_PRODUTOR);
+
+        assertEquals("Produtora Renomeada", catalogoEventosPublicados.buscar(evento.getId()).orElseThrow().getProdutor());
+        assertEquals(List.of("Produtora Renomeada"), catalogoEventosPublicados.listar(produtor.getId(), null, null, null,
+                null, null, null, Integer.MAX_VALUE).stream().map(EventoResponse::getProdutor).collect(Collectors.toList()));
+    }
+
+    @Test
+    void alteracaoGravadaPorOutroNoReleApenasOsEventosRegistrados() {
+        IdentidadeConta identidade = gerenciarContaController.identificar(EMAIL_PRODUTOR);
+        Evento registrado = novoEvento(0);
+        registrado.setStatusEvento(StatusEvento.PUBLICADO);
+        eventoRepository.save(registrado);
+        // gravado sem registro de alteração: só apareceria numa reconstrução completa
+        Evento naoRegistrado = novoEvento(1);
+        naoRegistrado.setStatusEvento(StatusEvento.PUBLICADO);
+        eventoRepository.save(naoRegistrado);
+
+        // sem alteração de versão o catálogo não é relido
+        catalogoEventosPublicados.sincronizar();
+        assertTrue(catalogoEventosPublicados.buscar(registrado.getId()).isEmpty());
+
+        // as alterações deste nó já foram aplicadas e não são relidas na sincronização
+        gerenciarEventoController.publicarEvento(identidade, novoEvento(2).getId());
+        catalogoEventosPublicados.sincronizar();
+        assertTrue(catalogoEventosPublicados.buscar(registrado.getId()).isEmpty());
+
+        // outro nó registrou a alteração e incrementou a versão compartilhada
+        AlteracaoColecao alteracao = new AlteracaoColecao();
+        alteracao.setColecao(Colecao.EVENTOS);
+        alteracao.setEntidadeId(registrado.getId());
+        alteracao.setOrigem("outro-no");
+        alteracao.setRegistradaEm(System.currentTimeMillis());
+        alteracaoColecaoRepository.save(alteracao);
+        jdbcTemplate.update("update versao_colecao set versao = versao + 1, alterada_em = alterada_em + 1000 where colecao = ?", Colecao.EVENTOS.name());
+        catalogoEventosPublicados.sincronizar();
+        assertTrue(catalogoEventosPublicados.buscar(registrado.getId()).isPresent());
+        assertTrue(catalogoEventosPublicados.buscar(naoRegistrado.getId()).isEmpty());
+    }
+
+    @Test
+    void catalogoConsistenteAposPublicacoesECancelamentosConcorrentes() throws Exception {
+        IdentidadeConta identidade = gerenciarContaController.identificar(EMAIL_PRODUTOR);
+        List<Integer> eventoIds = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_EVENTOS; i++) {
+            eventoIds.add(novoEvento(i).getId());
+        }
+
+        AtomicBoolean escrevendo = new AtomicBoolean(true);
+        List<String> inconsistencias = new CopyOnWriteArrayList<>();
+        ExecutorService leitores = Executors.newFixedThreadPool(2);
+        for (int i = 0; i < 2; i++) {
+            leitores.submit(() -> {
+                while (escrevendo.get()) {
+                    List<EventoResponse> eventos = catalogoEventosPublicados.listar(null, null, null, null, null, null, null, Integer.MAX_VALUE);
+                    for (int j = 1; j < eventos.size(); j++) {
+                        EventoResponse anterior = eventos.get(j - 1);
+                        EventoResponse atual = eventos.get(j);
+                        if (anterior.getDataHoraInicio().isAfter(atual.getDataHoraInicio())
+                                || (anterior.getDataHoraInicio().equals(atual.getDataHoraInicio()) && anterior.getId() >= atual.getId())) {
+                            inconsistencias.add("fora de ordem: " + anterior.getId() + ", " + atual.getId());
+                        }
+                    }
+                }
+            });
+        }
+
+        // publicação e cancelamento de um mesmo evento disputam entre si; o cancelamento pode falhar se chegar antes
+        ExecutorService escritores = Executors.newFixedThreadPool(8);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (Integer eventoId : eventoIds) {
+            tarefas.add(escritores.submit(() -> gerenciarEventoController.publicarEvento(identidade, eventoId)));
+            if (eventoId % 2 == 0) {
+                tarefas.add(escritores.submit(() -> {
+                    try {
+                        gerenciarEventoController.cancelarEvento(eventoId, identidade);
+                    } catch (NegocioException naoPublicadoAinda) {
+                        // o evento continua publicado
+                    }
+                }));
+            }
+        }
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(1, TimeUnit.MINUTES);
+        }
+        escritores.shutdown();
+        escrevendo.set(false);
+        leitores.shutdown();
+        assertTrue(leitores.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertEquals(List.of(), inconsistencias);
+
+        Set<Integer> publicadosNoBanco = eventoRepository.findAllByStatusEvento(StatusEvento.PUBLICADO).stream()
+                .map(Evento::getId).collect(Collectors.toSet());
+        assertFalse(publicadosNoBanco.isEmpty());
+        assertEquals(publicadosNoBanco, new HashSet<>(ids(catalogoEventosPublicados.listar(null, null, null, null, null, null, null, Integer.MAX_VALUE))));
+        assertEquals(publicadosNoBanco, new HashSet<>(ids(catalogoEventosPublicados.listar(produtor.getId(), null, null, null, null, null, null, Integer.MAX_VALUE))));
+
+        Set<Integer> porCategoria = new HashSet<>();
+        for (Categoria categoria : categorias) {
+            porCategoria.addAll(ids(catalogoEventosPublicados.listar(null, categoria.getId(), null, null, null, null, null, Integer.MAX_VALUE)));
+        }
+        assertEquals(publicadosNoBanco, porCategoria);
+
+        catalogoEventosPublicados.reconstruir();
+        assertEquals(publicadosNoBanco, new HashSet<>(ids(catalogoEventosPublicados.listar(null, null, null, null, null, null, null, Integer.MAX_VALUE))));
+    }
+
+    @Test
+    void listarPaginaPorCursorEFiltraIntervaloDeDatas() {
+        IdentidadeConta identidade = gerenciarContaController.identificar(EMAIL_PRODUTOR);
+        List<Integer> eventoIds = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Evento evento = novoEvento(i);
+            gerenciarEventoController.publicarEvento(identidade, evento.getId());
+            eventoIds.add(evento.getId());
+        }
+
+        List<EventoResponse> primeiraPagina = catalogoEventosPublicados.listar(null, null, null, null, null, null, null, 4);
+        EventoResponse ultimo = primeiraPagina.get(3);
+        List<EventoResponse> segundaPagina = catalogoEventosPublicados.listar(null, null, null, null, null,
+                ultimo.getDataHoraInicio(), ultimo.getId(), 4);
+        List<Integer> todos = new ArrayList<>(ids(primeiraPagina));
+        todos.addAll(ids(segundaPagina));
+        assertEquals(eventoIds, todos);
+
+        assertEquals(eventoIds.subList(2, 4), ids(catalogoEventosPublicados.listar(null, null,
+                INICIO.plusHours(2), INICIO.plusHours(3), null, null, null, Integer.MAX_VALUE)));
+        assertEquals(eventoIds.subList(3, 4), ids(catalogoEventosPublicados.listar(null, null,
+                INICIO.plusHours(2), INICIO.plusHours(3), Set.of(eventoIds.get(2)), null, null, Integer.MAX_VALUE)));
+    }
+
+    private List<Integer> ids(List<EventoResponse> eventos) {
+        return eventos.stream().map(EventoResponse::getId).collect(Collectors.toList());
+    }
+
+    private Evento novoEvento(int indice) {
+        return cenario.novoEvento("Evento " + indice, categorias.get(indice % categorias.size()), INICIO.plusHours(indice),
+                StatusEvento.CRIADO);
+    }
+}
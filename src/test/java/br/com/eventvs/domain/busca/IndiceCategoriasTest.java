@@ -0,0 +1,55 @@
+package br.com.eventvs.domain.busca;
+
+import br.com.eventvs.domain.model.Categoria;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndiceCategoriasTest {
+
+    private final IndiceCategorias indiceCategorias = new IndiceCategorias();
+
+    @Test
+    void buscarPorTrechoIgnoraAcentosEMaiusculas() {
+        indexar(categoria(1, "Palestra", "Simboliza um evento em formato de palestra"));
+        indexar(categoria(2, "Curso", "Simboliza um evento em formato de curso"));
+        indexar(categoria(3, "Exposição", "Mostra de trabalhos"));
+
+        assertEquals(List.of(1), ids(indiceCategorias.buscarPorNome("LESTR")));
+        assertEquals(List.of(3), ids(indiceCategorias.buscarPorNome("posica")));
+        assertEquals(List.of(1, 2), ids(indiceCategorias.buscarPorDescricao("evento em formato")));
+        assertEquals(List.of(2), ids(indiceCategorias.buscarPorNome("cu")));
+        assertTrue(indiceCategorias.buscarPorNome("tsar").isEmpty());
+    }
+
+    @Test
+    void indexarNovamenteSubstituiCategoria() {
+        indexar(categoria(1, "Palestra", "Palestra"));
+        indexar(categoria(1, "Oficina", "Oficina"));
+
+        assertTrue(indiceCategorias.buscarPorNome("palestra").isEmpty());
+        assertEquals(List.of(1), ids(indiceCategorias.buscarPorNome("oficina")));
+    }
+
+    /* indexar(Categoria) também registra a alteração local no leitor de alterações, que só existe no contexto Spring */
+    private void indexar(Categoria categoria) {
+        indiceCategorias.substituir(Set.of(categoria.getId()), List.of(categoria));
+    }
+
+    private List<Integer> ids(List<Categoria> categorias) {
+        return categorias.stream().map(Categoria::getId).collect(Collectors.toList());
+    }
+
+    private Categoria categoria(Integer id, String nome, String descricao) {
+        Categoria categoria = new Categoria();
+        categoria.setId(id);
+        categoria.setNome(nome);
+        categoria.setDescricao(descricao);
+        return categoria;
+    }
+}
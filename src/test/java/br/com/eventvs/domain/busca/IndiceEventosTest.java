@@ -0,0 +1,71 @@
+package br.com.eventvs.domain.busca;
+
+import br.com.eventvs.domain.enums.StatusEvento;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndiceEventosTest {
+
+    private final IndiceEventos indiceEventos = new IndiceEventos();
+
+    @Test
+    void tokenizarRemoveAcentosMaiusculasEStopwords() {
+        assertEquals(List.of("palestra", "sobre", "programacao", "2021"),
+                IndiceEventos.tokenizar("Palestrá sobre a Programação - 2021"));
+    }
+
+    @Test
+    void buscarIgnoraAcentosEOrdenaPorRelevancia() {
+        indexar(documento(1, "Curso de Java", "Inclui uma palestra de abertura", StatusEvento.PUBLICADO, 1));
+        indexar(documento(2, "Palestrá de Java", "Encontro da comunidade", StatusEvento.PUBLICADO, 1));
+        indexar(documento(3, "Palestra de Python", "Encontro da comunidade", StatusEvento.CRIADO, 1));
+
+        assertEquals(List.of(2, 1), buscar("palestra", StatusEvento.PUBLICADO, null));
+        assertEquals(List.of(2, 1), buscar("java palest", StatusEvento.PUBLICADO, null));
+        assertEquals(List.of(3), buscar("PALESTRA", StatusEvento.CRIADO, 1));
+        assertTrue(buscar("palestra", StatusEvento.PUBLICADO, 2).isEmpty());
+    }
+
+    @Test
+    void substituirTrocaOsTermosERetiraOsEventosSemDocumento() {
+        indexar(documento(1, "Workshop de Docker", "Containers", StatusEvento.CRIADO, 1));
+        indexar(documento(1, "Workshop de Kubernetes", "Containers", StatusEvento.PUBLICADO, 1));
+
+        assertTrue(buscar("docker", StatusEvento.PUBLICADO, null).isEmpty());
+        assertTrue(buscar("kubernetes", StatusEvento.CRIADO, null).isEmpty());
+        assertEquals(List.of(1), buscar("kubernetes", StatusEvento.PUBLICADO, null));
+
+        indiceEventos.substituir(List.of(1), List.of());
+
+        assertTrue(buscar("workshop", StatusEvento.PUBLICADO, null).isEmpty());
+    }
+
+    @Test
+    void empatesNaRelevanciaSaoOrdenadosPelaDataEPeloId() {
+        LocalDateTime inicio = LocalDateTime.of(2030, 1, 1, 10, 0);
+        indexar(new DocumentoEvento(3, "Palestra", null, StatusEvento.PUBLICADO, 1, null));
+        indexar(new DocumentoEvento(2, "Palestra", null, StatusEvento.PUBLICADO, 1, inicio));
+        indexar(new DocumentoEvento(1, "Palestra", null, StatusEvento.PUBLICADO, 1, inicio.plusDays(1)));
+        indexar(new DocumentoEvento(4, "Palestra", null, StatusEvento.PUBLICADO, 1, inicio));
+
+        assertEquals(List.of(2, 4, 1, 3), buscar("palestra", StatusEvento.PUBLICADO, null));
+    }
+
+    private void indexar(DocumentoEvento documento) {
+        indiceEventos.substituir(List.of(documento.getId()), List.of(documento));
+    }
+
+    private List<Integer> buscar(String texto, StatusEvento statusEvento, Integer produtorId) {
+        return indiceEventos.buscar(texto, statusEvento, produtorId).stream().map(ResultadoBusca::getId).collect(Collectors.toList());
+    }
+
+    private DocumentoEvento documento(Integer id, String nome, String descricao, StatusEvento statusEvento, Integer produtorId) {
+        return new DocumentoEvento(id, nome, descricao, statusEvento, produtorId, null);
+    }
+}
@@ -0,0 +1,142 @@
+package br.com.eventvs.domain.controller;
+
+import br.com.eventvs.api.dto.responses.CacheRegiaoResponse;
+import br.com.eventvs.domain.conta.CacheIdentidades;
+import br.com.eventvs.domain.enums.Colecao;
+import br.com.eventvs.domain.model.Administrador;
+import br.com.eventvs.domain.model.Categoria;
+import br.com.eventvs.domain.model.Pessoa;
+import br.com.eventvs.domain.repository.AdministradorRepository;
+import br.com.eventvs.domain.repository.CategoriaRepository;
+import br.com.eventvs.domain.repository.PessoaRepository;
+import br.com.eventvs.domain.versao.InvalidacaoCacheSegundoNivel;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class AdministradorControllerTest {
+
+    private static final String EMAIL_ADMINISTRADOR = "administrador@teste.com";
+    private static final String REGIAO_CATEGORIA = "categoria";
+
+    @Autowired
+    private AdministradorController administradorController;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private AdministradorRepository administradorRepository;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheIdentidades cacheIdentidades;
+
+    @Autowired
+    private InvalidacaoCacheSegundoNivel invalidacaoCacheSegundoNivel;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Categoria categoria;
+
+    @BeforeEach
+    void setUp() {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setNome("Administrador");
+        pessoa.setCpf("00000000009");
+        pessoa.setEmail(EMAIL_ADMINISTRADOR);
+        pessoa.setSenha("senha");
+
+        Administrador administrador = new Administrador();
+        administrador.setPessoa(pessoaRepository.save(pessoa));
+        administradorRepository.save(administrador);
+
+        categoria = new Categoria();
+        categoria.setNome("Palestra");
+        categoria.setDescricao("Palestra");
+        categoria = categoriaRepository.save(categoria);
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoriaRepository.deleteAll();
+        administradorRepository.deleteAll();
+        pessoaRepository.deleteAll();
+        cacheIdentidades.invalidar(EMAIL_ADMINISTRADOR);
+    }
+
+    @Test
+    void categoriaCarregadaUmaVezEServidaPeloCacheDeSegundoNivel() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        categoriaRepository.findById(categoria.getId());
+
+        statistics.clear();
+        categoriaRepository.findById(categoria.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(REGIAO_CATEGORIA).getHitCount());
+    }
+
+    @Test
+    void alteracaoGravadaPorOutroNoDescartaOCacheNaSincronizacao() {
+        categoriaRepository.findById(categoria.getId());
+
+        // outro nó altera a categoria e incrementa a versão compartilhada, sem passar pelo cache deste nó
+        jdbcTemplate.update("update categoria set nome = ? where id = ?", "Oficina", categoria.getId());
+        assertEquals("Palestra", categoriaRepository.findById(categoria.getId()).orElseThrow().getNome());
+        jdbcTemplate.update("update versao_colecao set versao = versao + 1, alterada_em = alterada_em + 1000 where colecao = ?", Colecao.CATEGORIAS.name());
+
+        invalidacaoCacheSegundoNivel.sincronizar();
+        assertEquals("Oficina", categoriaRepository.findById(categoria.getId()).orElseThrow().getNome());
+    }
+
+    @Test
+    void listagemDeCategoriasUsaCacheDeConsultaEInvalidaAoCadastrar() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        categoriaRepository.findAll();
+
+        statistics.clear();
+        assertEquals(1, categoriaRepository.findAll().size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        Categoria nova = new Categoria();
+        nova.setNome("Curso");
+        nova.setDescricao("Curso");
+        categoriaRepository.save(nova);
+
+        assertEquals(2, categoriaRepository.findAll().size());
+    }
+
+    @Test
+    void listarEstatisticasCacheInformaAcertosPorRegiao() {
+        categoriaRepository.findById(categoria.getId());
+        categoriaRepository.findById(categoria.getId());
+
+        CacheRegiaoResponse regiaoCategoria = administradorController.listarEstatisticasCache(EMAIL_ADMINISTRADOR).stream()
+                .filter(regiao -> regiao.getRegiao().equals(REGIAO_CATEGORIA))
+                .findFirst()
+                .orElseThrow();
+
+        assertTrue(regiaoCategoria.getAcertos() > 0);
+        assertNotNull(regiaoCategoria.getRemocoes());
+    }
+}
@@ -0,0 +1,286 @@
+package br.com.eventvs.domain.controller;
+
+import br.com.eventvs.CenarioEventos;
+import br.com.eventvs.api.dto.requests.EventoBuscaRequest;
+import br.com.eventvs.api.dto.requests.EventoRequest;
+import br.com.eventvs.api.dto.responses.EventoBuscaResponse;
+import br.com.eventvs.api.dto.responses.EventoPaginaResponse;
+import br.com.eventvs.domain.busca.CatalogoEventosPublicados;
+import br.com.eventvs.domain.busca.IndiceEventos;
+import br.com.eventvs.domain.enums.Colecao;
+import br.com.eventvs.domain.enums.StatusEvento;
+import br.com.eventvs.domain.exception.NegocioException;
+import br.com.eventvs.domain.model.*;
+import br.com.eventvs.domain.repository.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.com.eventvs.CenarioEventos.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BuscarEventoControllerTest {
+
+    @Autowired
+    private BuscarEventoController buscarEventoController;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CatalogoEventosPublicados catalogoEventosPublicados;
+
+    @Autowired
+    private IndiceEventos indiceEventos;
+
+    @Autowired
+    private AlteracaoColecaoRepository alteracaoColecaoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CenarioEventos cenario;
+
+    private Categoria categoria;
+    private Produtor produtor;
+    private Participante participante;
+
+    @BeforeEach
+    void setUp() {
+        cenario.preparar();
+        categoria = cenario.getCategoria();
+        produtor = cenario.getProdutor();
+        participante = cenario.getParticipante();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cenario.limpar();
+        alteracaoColecaoRepository.deleteAll();
+        catalogoEventosPublicados.reconstruir();
+        indiceEventos.reconstruir();
+    }
+
+    @Test
+    void listarTodosPublicadosFiltroExecutaQuantidadeConstanteDeConsultas() {
+        Evento inscrito = novoEvento("Inscrito");
+        novoEvento("Livre");
+        inscrever(inscrito);
+        // a primeira chamada carrega a identidade do participante no cache
+        buscarEventoController.listarTodosPublicadosFiltro(EMAIL_PARTICIPANTE, null, null);
+
+        long consultasComPoucosEventos = contarConsultas(() ->
+                assertEquals(1, buscarEventoController.listarTodosPublicadosFiltro(EMAIL_PARTICIPANTE, null, null).getEventos().size()));
+
+        for (int i = 0; i < 30; i++) {
+            novoEvento("Evento " + i);
+        }
+
+        long consultasComMuitosEventos = contarConsultas(() ->
+                assertEquals(31, buscarEventoController.listarTodosPublicadosFiltro(EMAIL_PARTICIPANTE, null, null).getEventos().size()));
+
+        assertEquals(consultasComPoucosEventos, consultasComMuitosEventos);
+    }
+
+    @Test
+    void listarTodosPublicadosFiltroPercorrePaginasPorCursorSemRepetirEventos() {
+        for (int i = 0; i < 25; i++) {
+            novoEvento("Evento " + i);
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            EventoPaginaResponse pagina = buscarEventoController.listarTodosPublicadosFiltro(EMAIL_PARTICIPANTE, 10, cursor);
+            pagina.getEventos().forEach(evento -> ids.add(evento.getId()));
+            cursor = pagina.getNextCursor();
+            paginas++;
+        } while (cursor != null);
+
+        assertEquals(3, paginas);
+        assertEquals(25, ids.size());
+        assertEquals(25, ids.stream().distinct().count());
+    }
+
+    @Test
+    void listarTodosNaoPublicadosPercorrePaginasPassandoPelosEventosSemDataDeInicio() {
+        List<Integer> esperados = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Evento evento = novoEvento("Rascunho " + i);
+            evento.setStatusEvento(StatusEvento.CRIADO);
+            evento.setDataHoraInicio(i < 4 ? null : INICIO.plusHours(i % 2));
+            esperados.add(eventoRepository.save(evento).getId());
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            EventoPaginaResponse pagina = buscarEventoController.listarTodosNaoPublicados(EMAIL_PRODUTOR, 3, cursor);
+            pagina.getEventos().forEach(evento -> ids.add(evento.getId()));
+            cursor = pagina.getNextCursor();
+        } while (cursor != null);
+
+        // os sem data de início primeiro, depois por (dataHoraInicio, id)
+        assertEquals(List.of(esperados.get(0), esperados.get(1), esperados.get(2), esperados.get(3),
+                esperados.get(4), esperados.get(6), esperados.get(5)), ids);
+    }
+
+        @Test
+    void listarTodosPublicadosFiltroRejeitaCursorInvalido() {
+        assertThrows(NegocioException.class,
+                () -> buscarEventoController.listarTodosPublicadosFiltro(EMAIL_PARTICIPANTE, 10, "cursor-invalido"));
+    }
+
+    @Test
+    void listarTodosPublicadosPorNomeContinuaAPaginacaoQuandoOEventoDoCursorSaiDosResultados() {
+        for (int i = 0; i < 5; i++) {
+            novoEvento("Oficina " + i);
+        }
+        indiceEventos.reconstruir();
+        EventoRequest eventoRequest = new EventoRequest();
+        eventoRequest.setNome("Oficina");
+
+        EventoPaginaResponse primeira = buscarEventoController.listarTodosPublicadosPorNome(EMAIL_PARTICIPANTE, eventoRequest, 2, null);
+        List<Integer> ids = new ArrayList<>();
+        primeira.getEventos().forEach(evento -> ids.add(evento.getId()));
+
+        // o evento do cursor deixa os resultados antes da próxima página
+        Integer eventoDoCursor = ids.get(1);
+        eventoRepository.deleteById(eventoDoCursor);
+        indiceEventos.reconstruir();
+
+        String cursor = primeira.getNextCursor();
+        while (cursor != null) {
+            EventoPaginaResponse pagina = buscarEventoController.listarTodosPublicadosPorNome(EMAIL_PARTICIPANTE, eventoRequest, 2, cursor);
+            pagina.getEventos().forEach(evento -> ids.add(evento.getId()));
+            cursor = pagina.getNextCursor();
+        }
+
+        assertEquals(5, ids.size());
+        assertEquals(5, ids.stream().distinct().count());
+    }
+
+    @Test
+    void indiceDeBuscaReleOsEventosAlteradosPorOutroNo() {
+        indiceEventos.reconstruir();
+        Evento evento = novoEvento("Hackathon");
+        assertTrue(indiceEventos.buscar("Hackathon", StatusEvento.PUBLICADO, null).isEmpty());
+
+        // outro nó registrou a alteração e incrementou a versão compartilhada
+        AlteracaoColecao alteracao = new AlteracaoColecao();
+        alteracao.setColecao(Colecao.EVENTOS);
+        alteracao.setEntidadeId(evento.getId());
+        alteracao.setOrigem("outro-no");
+        alteracao.setRegistradaEm(System.currentTimeMillis());
+        alteracaoColecaoRepository.save(alteracao);
+        jdbcTemplate.update("update versao_colecao set versao = versao + 1, alterada_em = alterada_em + 1000 where colecao = ?", Colecao.EVENTOS.name());
+        indiceEventos.sincronizar();
+
+        assertEquals(1, indiceEventos.buscar("Hackathon", StatusEvento.PUBLICADO, null).size());
+    }
+
+    @Test
+    void buscarEventosCombinaFiltrosEmUmaConsultaPaginada() {
+        for (int i = 0; i < 5; i++) {
+            novoEvento("Palestra " + i);
+            novoEvento("Curso " + i);
+        }
+
+        EventoBuscaRequest eventoBuscaRequest = new EventoBuscaRequest();
+        eventoBuscaRequest.setNome("Palestra");
+        eventoBuscaRequest.setCategoriaId(categoria.getId());
+        eventoBuscaRequest.setCidade("São Cristóvão");
+        eventoBuscaRequest.setDataInicio(INICIO.minusDays(1));
+        eventoBuscaRequest.setTamanho(2);
+
+        EventoBuscaResponse busca = buscarEventoController.buscarEventos(EMAIL_PARTICIPANTE, eventoBuscaRequest);
+
+        assertEquals(2, busca.getEventos().size());
+        assertEquals(5, busca.getTotal());
+        assertEquals(3, busca.getTotalPaginas());
+    }
+
+    @Test
+    void listagemDeEntidadesComGrafoCompletoExecutaUmaUnicaInstrucao() {
+        for (int i = 0; i < 10; i++) {
+            novoEvento("Evento " + i);
+        }
+
+        long consultas = contarConsultas(() -> eventoRepository.findAllByStatusEvento(StatusEvento.PUBLICADO)
+                .forEach(evento -> {
+                    evento.getCategoria().getNome();
+                    evento.getEndereco().getCidade();
+                    evento.getProdutor().getPessoa().getNome();
+                }));
+
+        assertEquals(1, consultas);
+    }
+
+    @Test
+    void projecaoDeEventoResponseAlocaMenosMemoriaQueCarregarEntidades() {
+        int quantidade = 200;
+        for (int i = 0; i < quantidade; i++) {
+            novoEvento("Evento " + i);
+        }
+
+        Runnable entidades = () -> eventoRepository.findAllByStatusEvento(StatusEvento.PUBLICADO)
+                .forEach(evento -> evento.getProdutor().getPessoa().getNome());
+        Runnable projecao = () -> eventoRepository.findAllByStatusEventoAndProdutor(StatusEvento.PUBLICADO, produtor,
+                Pageable.unpaged());
+
+        long bytesPorEventoEntidades = medirAlocacao(entidades) / quantidade;
+        long bytesPorEventoProjecao = medirAlocacao(projecao) / quantidade;
+
+        assertTrue(bytesPorEventoProjecao < bytesPorEventoEntidades);
+    }
+
+    private long medirAlocacao(Runnable acao) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < 5; i++) {
+            acao.run();
+        }
+        long antes = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10; i++) {
+            acao.run();
+        }
+        return (threadMXBean.getThreadAllocatedBytes(threadId) - antes) / 10;
+    }
+
+    private long contarConsultas(Runnable acao) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        acao.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Evento novoEvento(String nome) {
+        Evento evento = cenario.novoEvento(nome);
+        // os eventos são gravados direto no repositório, sem passar pelo GerenciarEventoController
+        catalogoEventosPublicados.reconstruir();
+        return evento;
+    }
+
+    private void inscrever(Evento evento) {
+        cenario.inscrever(evento, participante, false);
+    }
+}
@@ -0,0 +1,218 @@
+package br.com.eventvs.domain.controller;
+
+import br.com.eventvs.api.dto.requests.DecisaoCadastrosProdutorRequest;
+import br.com.eventvs.api.dto.requests.PessoaCadastroRequest;
+import br.com.eventvs.api.dto.responses.DecisaoCadastrosProdutorResponse;
+import br.com.eventvs.api.dto.responses.ProdutorPaginaResponse;
+import br.com.eventvs.api.dto.responses.ProdutorResponse;
+import br.com.eventvs.domain.conta.CacheIdentidades;
+import br.com.eventvs.domain.conta.IdentidadeConta;
+import br.com.eventvs.domain.enums.Situacao;
+import br.com.eventvs.domain.exception.NegocioException;
+import br.com.eventvs.domain.model.Administrador;
+import br.com.eventvs.domain.model.Pessoa;
+import br.com.eventvs.domain.model.Produtor;
+import br.com.eventvs.domain.repository.AdministradorRepository;
+import br.com.eventvs.domain.repository.PessoaRepository;
+import br.com.eventvs.domain.repository.ProdutorRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class GerenciarContaControllerTest {
+
+    private static final String EMAIL_PRODUTOR = "produtor@teste.com";
+    private static final String EMAIL_ADMINISTRADOR = "administrador@teste.com";
+
+    @Autowired
+    private GerenciarContaController gerenciarContaController;
+
+    @Autowired
+    private GerenciarContaProdutor gerenciarContaProdutor;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private ProdutorRepository produtorRepository;
+
+    @Autowired
+    private AdministradorRepository administradorRepository;
+
+    @Autowired
+    private CacheIdentidades cacheIdentidades;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Produtor produtor;
+
+    @BeforeEach
+    void setUp() {
+        produtor = new Produtor();
+        produtor.setPessoa(novaPessoa("00000000001", EMAIL_PRODUTOR));
+        produtor.setSituacao(Situacao.SOLICITADO);
+        produtor = produtorRepository.save(produtor);
+
+        Administrador administrador = new Administrador();
+        administrador.setPessoa(novaPessoa("00000000009", EMAIL_ADMINISTRADOR));
+        administradorRepository.save(administrador);
+    }
+
+    @AfterEach
+    void tearDown() {
+        administradorRepository.deleteAll();
+        produtorRepository.deleteAll();
+        pessoaRepository.deleteAll();
+        cacheIdentidades.invalidar(EMAIL_PRODUTOR);
+        cacheIdentidades.invalidar(EMAIL_ADMINISTRADOR);
+    }
+
+    @Test
+    void identificarResolvePapeisEmUmaConsultaEReutilizaOCache() {
+        long consultasPrimeiraChamada = contarConsultas(() -> {
+            IdentidadeConta identidade = gerenciarContaController.identificar(EMAIL_PRODUTOR);
+            assertEquals(produtor.getId(), identidade.getProdutorId());
+            assertEquals(Situacao.SOLICITADO, identidade.getSituacaoProdutor());
+            assertFalse(identidade.isParticipante());
+            assertFalse(identidade.isAdministrador());
+        });
+        long consultasComCache = contarConsultas(() -> {
+            assertEquals(produtor.getId(), gerenciarContaController.loginProdutor(EMAIL_PRODUTOR).getId());
+            gerenciarContaController.identificar(EMAIL_PRODUTOR);
+        });
+
+        assertEquals(1, consultasPrimeiraChamada);
+        assertEquals(0, consultasComCache);
+    }
+
+    @Test
+    void loginComPapelQueAContaNaoPossuiLancaExcecao() {
+        assertThrows(NegocioException.class, () -> gerenciarContaController.loginParticipante(EMAIL_PRODUTOR));
+        assertThrows(NegocioException.class, () -> gerenciarContaController.loginAdministrador(EMAIL_PRODUTOR));
+        assertThrows(NegocioException.class, () -> gerenciarContaController.identificar("inexistente@teste.com"));
+    }
+
+    @Test
+    void aceitarCadastroProdutorInvalidaIdentidadeEmCache() {
+        gerenciarContaController.identificar(EMAIL_PRODUTOR);
+
+        gerenciarContaProdutor.aceitarCadastroProdutor(EMAIL_ADMINISTRADOR, produtor.getPessoa().getId());
+
+        assertEquals(Situacao.ACEITO, gerenciarContaController.identificar(EMAIL_PRODUTOR).getSituacaoProdutor());
+    }
+
+    @Test
+    void alterarDadosInvalidaIdentidadeEmCache() {
+        gerenciarContaController.identificar(EMAIL_PRODUTOR);
+
+        PessoaCadastroRequest pessoaCadastroRequest = new PessoaCadastroRequest();
+        pessoaCadastroRequest.setNome("Novo nome");
+        gerenciarContaController.alterarDados(pessoaCadastroRequest, EMAIL_PRODUTOR);
+
+        assertEquals(1, contarConsultas(() -> gerenciarContaController.identificar(EMAIL_PRODUTOR)));
+    }
+
+    @Test
+    void decidirCadastrosProdutoresAplicaUmaInstrucaoPorDecisaoEInvalidaAsIdentidades() {
+        List<Produtor> solicitantes = novosSolicitantes(30);
+        Set<Integer> aceitar = solicitantes.subList(0, 10).stream().map(p -> p.getPessoa().getId()).collect(Collectors.toSet());
+        Set<Integer> recusar = solicitantes.subList(10, 20).stream().map(p -> p.getPessoa().getId()).collect(Collectors.toSet());
+        recusar.add(-1);
+        gerenciarContaProdutor.aceitarCadastroProdutor(EMAIL_ADMINISTRADOR, produtor.getPessoa().getId());
+        aceitar.add(produtor.getPessoa().getId());
+        String emailAceito = solicitantes.get(0).getPessoa().getEmail();
+        gerenciarContaController.identificar(emailAceito);
+        IdentidadeConta administrador = gerenciarContaController.identificar(EMAIL_ADMINISTRADOR);
+
+        DecisaoCadastrosProdutorRequest decisaoRequest = new DecisaoCadastrosProdutorRequest();
+        decisaoRequest.setAceitar(aceitar);
+        decisaoRequest.setRecusar(recusar);
+        DecisaoCadastrosProdutorResponse[] decisao = new DecisaoCadastrosProdutorResponse[1];
+        long consultas = contarConsultas(() -> decisao[0] = gerenciarContaProdutor.decidirCadastrosProdutores(administrador, decisaoRequest));
+
+        assertEquals(10, decisao[0].getAceitos());
+        assertEquals(10, decisao[0].getRecusados());
+        // o produtor já aceito e o id inexistente
+        assertEquals(2, decisao[0].getIgnorados());
+        // os emails e um UPDATE por decisão; a versão compartilhada dos produtores muda depois do commit, via JDBC
+        assertEquals(3, consultas);
+        assertEquals(Situacao.ACEITO, gerenciarContaController.identificar(emailAceito).getSituacaoProdutor());
+        assertEquals(Situacao.RECUSADO, produtorRepository.findByPessoaId(solicitantes.get(10).getPessoa().getId()).orElseThrow().getSituacao());
+        assertEquals(Situacao.SOLICITADO, produtorRepository.findByPessoaId(solicitantes.get(20).getPessoa().getId()).orElseThrow().getSituacao());
+        cacheIdentidades.invalidar(emailAceito);
+    }
+
+    @Test
+    void decidirCadastrosProdutoresRecusaProdutorNasDuasListas() {
+        IdentidadeConta administrador = gerenciarContaController.identificar(EMAIL_ADMINISTRADOR);
+        DecisaoCadastrosProdutorRequest decisaoRequest = new DecisaoCadastrosProdutorRequest();
+        decisaoRequest.setAceitar(Set.of(produtor.getPessoa().getId()));
+        decisaoRequest.setRecusar(Set.of(produtor.getPessoa().getId()));
+
+        assertThrows(NegocioException.class, () -> gerenciarContaProdutor.decidirCadastrosProdutores(administrador, decisaoRequest));
+        assertEquals(Situacao.SOLICITADO, produtorRepository.findByPessoaId(produtor.getPessoa().getId()).orElseThrow().getSituacao());
+    }
+
+    @Test
+    void listarSolicitacoesContasPaginaEOrdenaEmUmaConsultaPorPagina() {
+        novosSolicitantes(25);
+        gerenciarContaController.identificar(EMAIL_ADMINISTRADOR);
+
+        ProdutorPaginaResponse[] paginas = new ProdutorPaginaResponse[2];
+        long consultas = contarConsultas(() -> paginas[0] = gerenciarContaProdutor.listarSolicitacoesContas(EMAIL_ADMINISTRADOR, 0, 10, "nome", "desc"));
+        paginas[1] = gerenciarContaProdutor.listarSolicitacoesContas(EMAIL_ADMINISTRADOR, 2, 10, "nome", "desc");
+
+        assertEquals(26, paginas[0].getTotal());
+        assertEquals(3, paginas[0].getTotalPaginas());
+        assertEquals(10, paginas[0].getProdutores().size());
+        assertEquals(6, paginas[1].getProdutores().size());
+        assertEquals("solicitante24@teste.com", paginas[0].getProdutores().get(0).getNome());
+        assertEquals(EMAIL_PRODUTOR, paginas[1].getProdutores().get(5).getNome());
+        assertTrue(paginas[0].getProdutores().stream().map(ProdutorResponse::getSituacao).allMatch(Situacao.SOLICITADO.name()::equals));
+        // a página e o total
+        assertEquals(2, consultas);
+        assertThrows(NegocioException.class, () -> gerenciarContaProdutor.listarSolicitacoesContas(EMAIL_ADMINISTRADOR, 0, 10, "senha", "asc"));
+        assertThrows(NegocioException.class, () -> gerenciarContaProdutor.listarSolicitacoesContas(EMAIL_ADMINISTRADOR, 0, 101, "id", "asc"));
+    }
+
+    private List<Produtor> novosSolicitantes(int quantidade) {
+        List<Produtor> solicitantes = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Produtor solicitante = new Produtor();
+            solicitante.setPessoa(novaPessoa(String.format("%011d", 1000 + i), String.format("solicitante%02d@teste.com", i)));
+            solicitante.setSituacao(Situacao.SOLICITADO);
+            solicitantes.add(produtorRepository.save(solicitante));
+        }
+        return solicitantes;
+    }
+
+    private long contarConsultas(Runnable acao) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        acao.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Pessoa novaPessoa(String cpf, String email) {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setNome(email);
+        pessoa.setCpf(cpf);
+        pessoa.setEmail(email);
+        pessoa.setSenha("senha");
+        return pessoaRepository.save(pessoa);
+    }
+}
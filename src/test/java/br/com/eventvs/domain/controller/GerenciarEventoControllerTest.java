@@ -0,0 +1,292 @@
+package br.com.eventvs.domain.controller;
+
+import br.com.eventvs.CenarioEventos;
+import br.com.eventvs.api.dto.requests.EventoRequest;
+import br.com.eventvs.api.dto.responses.ResultadoImportacaoEventoResponse;
+import br.com.eventvs.api.util.LeitorImportacaoEventos;
+import br.com.eventvs.domain.busca.CatalogoEventosPublicados;
+import br.com.eventvs.domain.busca.IndiceEventos;
+import br.com.eventvs.domain.conta.IdentidadeConta;
+import br.com.eventvs.domain.enums.FormatoArquivo;
+import br.com.eventvs.domain.enums.SituacaoImportacao;
+import br.com.eventvs.domain.enums.StatusEvento;
+import br.com.eventvs.domain.exception.NegocioException;
+import br.com.eventvs.domain.model.*;
+import br.com.eventvs.domain.notificacao.CanalNotificacao;
+import br.com.eventvs.domain.notificacao.Destinatario;
+import br.com.eventvs.domain.repository.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.eventvs.CenarioEventos.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+class GerenciarEventoControllerTest {
+
+    private static final String EMAIL_DESISTENTE = "desistente@teste.com";
+    private static final int EVENTOS_IMPORTADOS = 10_000;
+    private static final int CAPACIDADE = 2;
+    private static final long PAUSA_ANTES_DO_COMMIT = 300;
+
+    @Autowired
+    private GerenciarEventoController gerenciarEventoController;
+
+    @Autowired
+    private GerenciarContaController gerenciarContaController;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private InscricaoRepository inscricaoRepository;
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CatalogoEventosPublicados catalogoEventosPublicados;
+
+    @Autowired
+    private IndiceEventos indiceEventos;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CenarioEventos cenario;
+
+    @MockBean
+    private CanalNotificacao canalNotificacao;
+
+    private Categoria categoria;
+    private Produtor produtor;
+    private Participante participante;
+
+    @BeforeEach
+    void setUp() {
+        cenario.preparar();
+        categoria = cenario.getCategoria();
+        produtor = cenario.getProdutor();
+        participante = cenario.getParticipante();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cenario.limpar();
+        catalogoEventosPublicados.reconstruir();
+        indiceEventos.reconstruir();
+    }
+
+    @Test
+    void cancelarEventoCancelaAsInscricoesSemCarregarAsEntidades() {
+        Evento evento = cenario.novoEvento("Semana de Computação");
+        Inscricao inscricao = inscrever(evento);
+        IdentidadeConta identidade = gerenciarContaController.identificar(EMAIL_PRODUTOR);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        int canceladas = gerenciarEventoController.cancelarEvento(evento.getId(), identidade);
+
+        assertEquals(1, canceladas);
+        assertEquals(0, statistics.getEntityStatistics(Inscricao.class.getName()).getLoadCount());
+        assertTrue(inscricaoRepository.findById(inscricao.getId()).orElseThrow().getIsCancelada());
+        assertEquals(StatusEvento.CANCELADO, eventoRepository.findById(evento.getId()).orElseThrow().getStatusEvento());
+    }
+
+    @Test
+    void cancelarEventoNotificaOsParticipantesEmSegundoPlano() {
+        Evento evento = cenario.novoEvento("Semana de Computação");
+        inscrever(evento);
+        IdentidadeConta identidade = gerenciarContaController.identificar(EMAIL_PRODUTOR);
+
+        gerenciarEventoController.cancelarEvento(evento.getId(), identidade);
+
+        verify(canalNotificacao, timeout(5000)).enviar(argThat((Destinatario destinatario) ->
+                EMAIL_PARTICIPANTE.equals(destinatario.getEmail())), contains(evento.getNome()), anyString());
+    }
+
+    @Test
+    void cancelarEventoNotificaApenasQuemAindaEstavaInscrito() {
+        Evento evento = cenario.novoEvento("Semana de Computação");
+        Participante desistente = cenario.novoParticipante("00000000003", EMAIL_DESISTENTE);
+        inscrever(evento, desistente, true);
+        inscrever(evento, desistente, true);
+        inscrever(evento, participante, true);
+        inscrever(evento);
+        IdentidadeConta identidade = gerenciarContaController.identificar(EMAIL_PRODUTOR);
+
+        assertEquals(1, gerenciarEventoController.cancelarEvento(evento.getId(), identidade));
+
+        verify(canalNotificacao, timeout(5000)).enviar(argThat((Destinatario destinatario) ->
+                EMAIL_PARTICIPANTE.equals(destinatario.getEmail())), anyString(), anyString());
+        verify(canalNotificacao, after(500).times(1)).enviar(any(), anyString(), anyString());
+    }
+
+    @Test
+    void indiceDeBuscaSoRefleteOCancelamentoDepoisDoCommit() {
+        Evento evento = cenario.novoEvento("Semana de Computação");
+        indiceEventos.reconstruir();
+        IdentidadeConta identidade = gerenciarContaController.identificar(EMAIL_PRODUTOR);
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            gerenciarEventoController.cancelarEvento(evento.getId(), identidade);
+            throw new IllegalStateException("cancelamento desfeito");
+        }));
+        assertEquals(1, indiceEventos.buscar(evento.getNome(), StatusEvento.PUBLICADO, produtor.getId()).size());
+
+        gerenciarEventoController.cancelarEvento(evento.getId(), identidade);
+        assertTrue(indiceEventos.buscar(evento.getNome(), StatusEvento.PUBLICADO, produtor.getId()).isEmpty());
+        assertEquals(1, indiceEventos.buscar(evento.getNome(), StatusEvento.CANCELADO, produtor.getId()).size());
+    }
+
+    @Test
+    void cancelarEventoNaoPublicadoNaoAlteraAsInscricoes() {
+        Evento evento = cenario.novoEvento("Semana de Computação");
+        evento.setStatusEvento(StatusEvento.CRIADO);
+        eventoRepository.save(evento);
+        Inscricao inscricao = inscrever(evento);
+        IdentidadeConta identidade = gerenciarContaController.identificar(EMAIL_PRODUTOR);
+
+        assertThrows(NegocioException.class, () -> gerenciarEventoController.cancelarEvento(evento.getId(), identidade));
+
+        assertFalse(inscricaoRepository.findById(inscricao.getId()).orElseThrow().getIsCancelada());
+        verifyNoInteractions(canalNotificacao);
+    }
+
+    @Test
+    void editarEventoEsperaAReservaEmAndamentoParaRecalcularAsVagas() throws Exception {
+        Evento evento = cenario.novoEvento("Semana de Computação");
+        evento.setStatusEvento(StatusEvento.CRIADO);
+        evento.setCapacidade(CAPACIDADE);
+        evento.setVagasDisponiveis(CAPACIDADE);
+        eventoRepository.save(evento);
+        IdentidadeConta identidade = gerenciarContaController.identificar(EMAIL_PRODUTOR);
+
+        CountDownLatch reservada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> reserva = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                eventoRepository.reservarVaga(evento.getId());
+                inscrever(evento);
+                reservada.countDown();
+                aguardar(PAUSA_ANTES_DO_COMMIT);
+            }));
+            assertTrue(reservada.await(5, TimeUnit.SECONDS));
+            Future<?> edicao = executor.submit(() -> gerenciarEventoController.editarEvento(evento.getId(), edicao(evento), identidade));
+            reserva.get(30, TimeUnit.SECONDS);
+            edicao.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(CAPACIDADE - 1, eventoRepository.findById(evento.getId()).orElseThrow().getVagasDisponiveis());
+    }
+
+    @Test
+    void importarEventosGravaEmLotesERecusaApenasOsRegistrosInvalidos() {
+        StringBuilder csv = new StringBuilder("nome,descricao,dataHoraInicio,dataHoraFim,categoriaId,statusEvento," +
+                "logradouro,numero,bairro,cidade,estado,cep,capacidade\n");
+        for (int linha = 1; linha <= EVENTOS_IMPORTADOS; linha++) {
+            String nome = linha == 5 ? "" : linha == 7 ? "N".repeat(150) : "Evento " + linha;
+            int categoriaId = linha == 3 ? categoria.getId() + 1000 : categoria.getId();
+            // metade publicada, notificada ao catálogo e à fila de inscrições
+            String statusEvento = linha % 2 == 0 ? "PUBLICADO" : "CRIADO";
+            csv.append(nome).append(",\"Descrição, ").append(linha).append("\",").append(INICIO).append(',')
+                    .append(INICIO.plusDays(1)).append(',').append(categoriaId).append(',').append(statusEvento)
+                    .append(",Av. Marechal Rondom,S/N,Rosa Elze,São Cristóvão,Sergipe,49100000,100\n");
+        }
+        IdentidadeConta identidade = gerenciarContaController.identificar(EMAIL_PRODUTOR);
+        LeitorImportacaoEventos leitor = new LeitorImportacaoEventos(FormatoArquivo.CSV, objectMapper,
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+        List<ResultadoImportacaoEventoResponse> resultados = new ArrayList<>();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        int importados = gerenciarEventoController.importarEventos(identidade, leitor, resultados::add);
+
+        assertEquals(EVENTOS_IMPORTADOS - 3, importados);
+        assertEquals(EVENTOS_IMPORTADOS, resultados.size());
+        for (int i = 0; i < resultados.size(); i++) {
+            assertEquals(i + 1, resultados.get(i).getLinha());
+        }
+        assertEquals(SituacaoImportacao.RECUSADO, resultados.get(2).getSituacao());
+        assertEquals("Categoria não encontrada", resultados.get(2).getMensagem());
+        assertEquals(SituacaoImportacao.RECUSADO, resultados.get(4).getSituacao());
+        assertTrue(resultados.get(4).getMensagem().startsWith("nome"));
+        assertEquals(SituacaoImportacao.RECUSADO, resultados.get(6).getSituacao());
+        assertTrue(resultados.get(6).getMensagem().startsWith("Não foi possível gravar o evento"));
+        assertEquals(SituacaoImportacao.IMPORTADO, resultados.get(7).getSituacao());
+
+        Evento evento = eventoRepository.findById(resultados.get(7).getEventoId()).orElseThrow();
+        assertEquals("Evento 8", evento.getNome());
+        assertEquals(100, evento.getVagasDisponiveis());
+        assertEquals(EVENTOS_IMPORTADOS - 3, eventoRepository.count());
+        assertEquals(EVENTOS_IMPORTADOS - 3, enderecoRepository.count());
+        assertTrue(catalogoEventosPublicados.buscar(evento.getId()).isPresent());
+        assertEquals(EVENTOS_IMPORTADOS / 2, catalogoEventosPublicados.listar(produtor.getId(), null, null, null,
+                null, null, null, Integer.MAX_VALUE).size());
+        // os INSERTs vão em batches e os publicados de cada lote são relidos por uma única consulta;
+        // só o lote com o registro recusado pelo banco é regravado, dividido ao meio até isolar esse registro
+        assertTrue(statistics.getPrepareStatementCount() < EVENTOS_IMPORTADOS / 5);
+
+        eventoRepository.deleteAllInBatch();
+        enderecoRepository.deleteAllInBatch();
+    }
+
+    private static void aguardar(long milissegundos) {
+        try {
+            Thread.sleep(milissegundos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private EventoRequest edicao(Evento evento) {
+        EventoRequest eventoRequest = new EventoRequest();
+        eventoRequest.setNome(evento.getNome());
+        eventoRequest.setDescricao(evento.getDescricao());
+        eventoRequest.setDataHoraInicio(evento.getDataHoraInicio());
+        eventoRequest.setDataHoraFim(evento.getDataHoraFim());
+        eventoRequest.setCategoriaId(categoria.getId());
+        eventoRequest.setStatusEvento(StatusEvento.CRIADO);
+        eventoRequest.setEndereco(evento.getEndereco());
+        eventoRequest.setCapacidade(CAPACIDADE);
+        return eventoRequest;
+    }
+
+    private Inscricao inscrever(Evento evento) {
+        return inscrever(evento, participante, false);
+    }
+
+    private Inscricao inscrever(Evento evento, Participante inscrito, boolean cancelada) {
+        return cenario.inscrever(evento, inscrito, cancelada);
+    }
+}
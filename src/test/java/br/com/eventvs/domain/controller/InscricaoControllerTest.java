@@ -0,0 +1,533 @@
+package br.com.eventvs.domain.controller;
+
+import br.com.eventvs.CenarioEventos;
+import br.com.eventvs.api.dto.requests.InscricaoRequest;
+import br.com.eventvs.api.dto.responses.InscricaoResponse;
+import br.com.eventvs.api.dto.responses.ParticipanteExportacaoResponse;
+import br.com.eventvs.api.util.EscritorListaJson;
+import br.com.eventvs.domain.conta.IdentidadeConta;
+import br.com.eventvs.domain.enums.Colecao;
+import br.com.eventvs.domain.exception.NegocioException;
+import br.com.eventvs.domain.model.*;
+import br.com.eventvs.domain.repository.*;
+import br.com.eventvs.domain.versao.VersoesColecoes;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static br.com.eventvs.CenarioEventos.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class InscricaoControllerTest {
+
+    private static final String EMAIL_OUTRO_PRODUTOR = "outro.produtor@teste.com";
+    private static final int CAPACIDADE = 50;
+    private static final int INTERESSADOS = 300;
+    private static final int THREADS = 32;
+    private static final int LOTE_PROMOCAO = 40;
+    private static final int TENTATIVAS_REPETIDAS = 16;
+
+    @Autowired
+    private InscricaoController inscricaoController;
+
+    @Autowired
+    private GerenciarContaController gerenciarContaController;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private InscricaoRepository inscricaoRepository;
+
+    @Autowired
+    private InscricaoEsperaRepository inscricaoEsperaRepository;
+
+    @Autowired
+    private ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+
+    @Autowired
+    private ParticipanteRepository participanteRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ModelMapper modelMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private VersoesColecoes versoesColecoes;
+
+    @Autowired
+    private CenarioEventos cenario;
+
+    private Participante participante;
+    private int interessadosCriados;
+
+    @BeforeEach
+    void setUp() {
+        cenario.preparar();
+        participante = cenario.getParticipante();
+    }
+
+    @AfterEach
+    void tearDown() {
+        chaveIdempotenciaRepository.deleteAll();
+        inscricaoEsperaRepository.deleteAll();
+        cenario.limpar();
+    }
+
+    @Test
+    void transmitirInscricoesPeloUsuarioEscreveOMesmoJsonDaListagemEmUmaUnicaConsulta() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            inscrever(cenario.novoEvento("Evento " + i), false);
+        }
+        inscrever(cenario.novoEvento("Cancelado"), true);
+        IdentidadeConta identidade = gerenciarContaController.identificar(EMAIL_PARTICIPANTE);
+
+        List<InscricaoResponse> lista = inscricaoController.listarInscricoesPeloUsuario(identidade).stream()
+                .map(inscricao -> modelMapper.map(inscricao, InscricaoResponse.class))
+                .collect(Collectors.toList());
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        long consultas = contarConsultas(() -> transmitir(saida,
+                escritor -> inscricaoController.transmitirInscricoesPeloUsuario(identidade, escritor)));
+
+        assertEquals(1, consultas);
+        assertEquals(20, objectMapper.readTree(saida.toByteArray()).size());
+        assertEquals(elementos(objectMapper.valueToTree(lista)), elementos(objectMapper.readTree(saida.toByteArray())));
+    }
+
+    @Test
+    void transmitirParticipantesEscreveOMesmoJsonDaListagem() throws Exception {
+        Evento evento = cenario.novoEvento("Evento");
+        inscrever(evento, false);
+        IdentidadeConta identidade = gerenciarContaController.identificar(EMAIL_PRODUTOR);
+
+        List<InscricaoResponse> lista = inscricaoController.visualizarParticipantes(evento.getId(), identidade).stream()
+                .map(inscricao -> modelMapper.map(inscricao, InscricaoResponse.class))
+                .collect(Collectors.toList());
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        transmitir(saida, escritor -> inscricaoController.transmitirParticipantes(evento.getId(), identidade, escritor));
+
+        assertEquals(objectMapper.valueToTree(lista), objectMapper.readTree(saida.toByteArray()));
+    }
+
+    @Test
+    void transmitirParticipantesDeEventoDeOutroProdutorFalhaAntesDeEscreverNaSaida() throws Exception {
+        Evento evento = cenario.novoEvento("Evento");
+        inscrever(evento, false);
+        cenario.novoProdutor("00000000003", EMAIL_OUTRO_PRODUTOR);
+        IdentidadeConta outroProdutor = gerenciarContaController.identificar(EMAIL_OUTRO_PRODUTOR);
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        EscritorListaJson<InscricaoResponse> escritor = new EscritorListaJson<>(objectMapper, InscricaoResponse.class, saida);
+
+        assertThrows(NegocioException.class,
+                () -> inscricaoController.transmitirParticipantes(evento.getId(), outroProdutor, escritor));
+        assertEquals(0, saida.size());
+    }
+
+    @Test
+    void exportarParticipantesEntregaACpfMascaradoEmUmaUnicaConsulta() {
+        Evento evento = cenario.novoEvento("Evento");
+        inscrever(evento, false);
+        inscrever(cenario.novoEvento("Cancelado"), true);
+        IdentidadeConta identidade = gerenciarContaController.identificar(EMAIL_PRODUTOR);
+
+        List<ParticipanteExportacaoResponse> participantes = new ArrayList<>();
+        long consultas = contarConsultas(() -> inscricaoController.exportarParticipantes(evento.getId(), identidade, participantes::add));
+
+        assertEquals(2, consultas);
+        assertEquals(1, participantes.size());
+        assertEquals(EMAIL_PARTICIPANTE, participantes.get(0).getEmail());
+        assertEquals("***.000.000-**", participantes.get(0).getCpf());
+    }
+
+    @Test
+    void cadastrarInscricaoNaoUltrapassaACapacidadeSobConcorrencia() throws Exception {
+        Evento evento = eventoComCapacidade(CAPACIDADE);
+
+        List<IdentidadeConta> interessados = novosInteressados(INTERESSADOS);
+        long versaoInicial = versaoInscricoes();
+
+        InscricaoRequest inscricaoRequest = new InscricaoRequest();
+        inscricaoRequest.setEvento_id(evento.getId());
+        AtomicInteger confirmadas = new AtomicInteger();
+        AtomicInteger recusadas = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> tentativas = new ArrayList<>();
+            for (IdentidadeConta interessado : interessados) {
+                tentativas.add(executor.submit(() -> {
+                    largada.await();
+                    try {
+                        inscricaoController.cadastrarInscricao(interessado, inscricaoRequest);
+                        confirmadas.incrementAndGet();
+                    } catch (NegocioException e) {
+                        recusadas.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tentativa : tentativas) {
+                tentativa.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(CAPACIDADE, confirmadas.get());
+        assertEquals(INTERESSADOS - CAPACIDADE, recusadas.get());
+        assertEquals(CAPACIDADE, inscricaoRepository.countByEventoAndIsCancelada(evento, false));
+        assertEquals(0, eventoRepository.findById(evento.getId()).orElseThrow().getVagasDisponiveis());
+        // só as inscrições confirmadas incrementam a versão, cada uma depois do próprio commit
+        assertEquals(versaoInicial + CAPACIDADE, versaoInscricoes());
+    }
+
+    @Test
+    void inscricaoAindaSemCommitNaoBloqueiaAsInscricoesEmOutrosEventos() throws Exception {
+        List<IdentidadeConta> interessados = novosInteressados(2);
+        InscricaoRequest primeiroEvento = new InscricaoRequest();
+        primeiroEvento.setEvento_id(cenario.novoEvento("Show").getId());
+        InscricaoRequest segundoEvento = new InscricaoRequest();
+        segundoEvento.setEvento_id(cenario.novoEvento("Teatro").getId());
+        long versaoInicial = versaoInscricoes();
+
+        CountDownLatch confirmando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // a primeira inscrição para no commit, depois de registrar a alteração da coleção
+            Future<?> primeira = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                inscricaoController.cadastrarInscricao(interessados.get(0), primeiroEvento);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        confirmando.countDown();
+                        try {
+                            liberar.await(30, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                });
+            }));
+            assertTrue(confirmando.await(30, TimeUnit.SECONDS));
+
+            executor.submit(() -> inscricaoController.cadastrarInscricao(interessados.get(1), segundoEvento))
+                    .get(10, TimeUnit.SECONDS);
+            assertEquals(versaoInicial + 1, versaoInscricoes());
+
+            liberar.countDown();
+            primeira.get(30, TimeUnit.SECONDS);
+        } finally {
+            liberar.countDown();
+            executor.shutdownNow();
+        }
+        assertEquals(versaoInicial + 2, versaoInscricoes());
+    }
+
+    @Test
+    void cancelarInscricaoDevolveAVagaUmaUnicaVez() {
+        Evento evento = eventoComCapacidade(1);
+        IdentidadeConta identidade = gerenciarContaController.identificar(EMAIL_PARTICIPANTE);
+        InscricaoRequest inscricaoRequest = new InscricaoRequest();
+        inscricaoRequest.setEvento_id(evento.getId());
+
+        Inscricao inscricao = inscricaoController.cadastrarInscricao(identidade, inscricaoRequest);
+        assertEquals(0, eventoRepository.findById(evento.getId()).orElseThrow().getVagasDisponiveis());
+
+        inscricaoController.cancelarInscricao(inscricao.getId(), identidade);
+        assertThrows(NegocioException.class, () -> inscricaoController.cancelarInscricao(inscricao.getId(), identidade));
+        assertEquals(1, eventoRepository.findById(evento.getId()).orElseThrow().getVagasDisponiveis());
+    }
+
+    @Test
+    void cancelarInscricaoPromoveOPrimeiroDaListaDeEspera() {
+        Evento evento = eventoComCapacidade(1);
+        List<IdentidadeConta> interessados = novosInteressados(3);
+        InscricaoRequest inscricaoRequest = new InscricaoRequest();
+        inscricaoRequest.setEvento_id(evento.getId());
+
+        Inscricao inscricao = inscricaoController.cadastrarInscricao(interessados.get(0), inscricaoRequest);
+        assertThrows(NegocioException.class, () -> inscricaoController.cadastrarInscricao(interessados.get(1), inscricaoRequest));
+        assertEquals(1, inscricaoController.entrarNaListaDeEspera(interessados.get(1), inscricaoRequest).getPosicao());
+        assertEquals(2, inscricaoController.entrarNaListaDeEspera(interessados.get(2), inscricaoRequest).getPosicao());
+        assertThrows(NegocioException.class, () -> inscricaoController.entrarNaListaDeEspera(interessados.get(2), inscricaoRequest));
+
+        inscricaoController.cancelarInscricao(inscricao.getId(), interessados.get(0));
+
+        Participante promovido = participanteRepository.getOne(interessados.get(1).getParticipanteId());
+        assertTrue(inscricaoRepository.findByEventoAndParticipanteAndIsCancelada(evento, promovido, false).isPresent());
+        assertEquals(1, inscricaoEsperaRepository.count());
+        assertEquals(0, eventoRepository.findById(evento.getId()).orElseThrow().getVagasDisponiveis());
+    }
+
+    @Test
+    void cancelarComCapacidadeReduzidaAbaixoDasAtivasNaoPromoveNemDevolveVaga() {
+        Evento evento = eventoComCapacidade(3);
+        List<IdentidadeConta> inscritos = novosInteressados(3);
+        IdentidadeConta aguardante = novosInteressados(1).get(0);
+        InscricaoRequest inscricaoRequest = new InscricaoRequest();
+        inscricaoRequest.setEvento_id(evento.getId());
+
+        List<Inscricao> inscricoes = new ArrayList<>();
+        for (IdentidadeConta inscrito : inscritos) {
+            inscricoes.add(inscricaoController.cadastrarInscricao(inscrito, inscricaoRequest));
+        }
+        inscricaoController.entrarNaListaDeEspera(aguardante, inscricaoRequest);
+        evento = eventoRepository.findById(evento.getId()).orElseThrow();
+        evento.setCapacidade(1);
+        eventoRepository.save(evento);
+
+        inscricaoController.cancelarInscricao(inscricoes.get(0).getId(), inscritos.get(0));
+
+        assertEquals(2, inscricaoRepository.countByEventoAndIsCancelada(evento, false));
+        assertEquals(1, inscricaoEsperaRepository.count());
+        assertEquals(0, eventoRepository.findById(evento.getId()).orElseThrow().getVagasDisponiveis());
+        assertThrows(NegocioException.class, () -> inscricaoController.cadastrarInscricao(inscritos.get(0), inscricaoRequest));
+
+        inscricaoController.cancelarInscricao(inscricoes.get(1).getId(), inscritos.get(1));
+
+        assertEquals(1, inscricaoRepository.countByEventoAndIsCancelada(evento, false));
+        assertEquals(1, inscricaoEsperaRepository.count());
+        assertEquals(0, eventoRepository.findById(evento.getId()).orElseThrow().getVagasDisponiveis());
+
+        inscricaoController.cancelarInscricao(inscricoes.get(2).getId(), inscritos.get(2));
+
+        Participante promovido = participanteRepository.getOne(aguardante.getParticipanteId());
+        assertTrue(inscricaoRepository.findByEventoAndParticipanteAndIsCancelada(evento, promovido, false).isPresent());
+        assertEquals(1, inscricaoRepository.countByEventoAndIsCancelada(evento, false));
+        assertEquals(0, inscricaoEsperaRepository.count());
+        assertEquals(0, eventoRepository.findById(evento.getId()).orElseThrow().getVagasDisponiveis());
+    }
+
+    @Test
+    void cancelarPulaOsParticipantesDaFilaQueJaEstaoInscritos() {
+        Evento evento = eventoComCapacidade(2);
+        List<IdentidadeConta> interessados = novosInteressados(3);
+        InscricaoRequest inscricaoRequest = new InscricaoRequest();
+        inscricaoRequest.setEvento_id(evento.getId());
+
+        Inscricao inscricao = inscricaoController.cadastrarInscricao(interessados.get(0), inscricaoRequest);
+        inscricaoController.cadastrarInscricao(interessados.get(1), inscricaoRequest);
+        InscricaoEspera jaInscrito = new InscricaoEspera();
+        jaInscrito.setEvento(evento);
+        jaInscrito.setParticipante(participanteRepository.getOne(interessados.get(1).getParticipanteId()));
+        jaInscrito.setDataHora(LocalDateTime.now());
+        inscricaoEsperaRepository.save(jaInscrito);
+        inscricaoController.entrarNaListaDeEspera(interessados.get(2), inscricaoRequest);
+
+        inscricaoController.cancelarInscricao(inscricao.getId(), interessados.get(0));
+
+        Participante promovido = participanteRepository.getOne(interessados.get(2).getParticipanteId());
+        assertTrue(inscricaoRepository.findById(inscricao.getId()).orElseThrow().getIsCancelada());
+        assertTrue(inscricaoRepository.findByEventoAndParticipanteAndIsCancelada(evento, promovido, false).isPresent());
+        assertEquals(0, inscricaoEsperaRepository.count());
+        assertEquals(0, eventoRepository.findById(evento.getId()).orElseThrow().getVagasDisponiveis());
+    }
+
+    @Test
+    void cancelamentosSimultaneosPromovemCadaParticipanteDaFilaUmaUnicaVez() throws Exception {
+        Evento evento = eventoComCapacidade(LOTE_PROMOCAO);
+        List<IdentidadeConta> inscritos = novosInteressados(LOTE_PROMOCAO);
+        List<IdentidadeConta> aguardando = novosInteressados(LOTE_PROMOCAO);
+        InscricaoRequest inscricaoRequest = new InscricaoRequest();
+        inscricaoRequest.setEvento_id(evento.getId());
+
+        List<Inscricao> inscricoes = new ArrayList<>();
+        for (IdentidadeConta inscrito : inscritos) {
+            inscricoes.add(inscricaoController.cadastrarInscricao(inscrito, inscricaoRequest));
+        }
+        for (IdentidadeConta aguardante : aguardando) {
+            inscricaoController.entrarNaListaDeEspera(aguardante, inscricaoRequest);
+        }
+
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> cancelamentos = new ArrayList<>();
+            for (int i = 0; i < LOTE_PROMOCAO; i++) {
+                Inscricao inscricao = inscricoes.get(i);
+                IdentidadeConta inscrito = inscritos.get(i);
+                cancelamentos.add(executor.submit(() -> {
+                    largada.await();
+                    inscricaoController.cancelarInscricao(inscricao.getId(), inscrito);
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> cancelamento : cancelamentos) {
+                cancelamento.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Set<Integer> promovidos = inscricaoRepository.findAll().stream()
+                .filter(inscricao -> !inscricao.getIsCancelada())
+                .map(inscricao -> inscricao.getParticipante().getId())
+                .collect(Collectors.toSet());
+        assertEquals(aguardando.stream().map(IdentidadeConta::getParticipanteId).collect(Collectors.toSet()), promovidos);
+        assertEquals(LOTE_PROMOCAO, inscricaoRepository.countByEventoAndIsCancelada(evento, false));
+        assertEquals(0, inscricaoEsperaRepository.count());
+        assertEquals(0, eventoRepository.findById(evento.getId()).orElseThrow().getVagasDisponiveis());
+    }
+
+    @Test
+    void inscricoesSimultaneasDoMesmoParticipanteCriamUmaUnicaInscricaoAtiva() throws Exception {
+        Evento evento = cenario.novoEvento("Show");
+        IdentidadeConta identidade = gerenciarContaController.identificar(EMAIL_PARTICIPANTE);
+        InscricaoRequest inscricaoRequest = new InscricaoRequest();
+        inscricaoRequest.setEvento_id(evento.getId());
+
+        List<Object> resultados = emParalelo(TENTATIVAS_REPETIDAS, () -> {
+            try {
+                return inscricaoController.cadastrarInscricao(identidade, inscricaoRequest, null).getId();
+            } catch (NegocioException e) {
+                return e;
+            }
+        });
+
+        assertEquals(1, resultados.stream().filter(Integer.class::isInstance).count());
+        assertEquals(1, inscricaoRepository.countByEventoAndIsCancelada(evento, false));
+    }
+
+    @Test
+    void idempotencyKeyRepeteAInscricaoOriginalSobConcorrencia() throws Exception {
+        Evento evento = cenario.novoEvento("Show");
+        IdentidadeConta identidade = gerenciarContaController.identificar(EMAIL_PARTICIPANTE);
+        InscricaoRequest inscricaoRequest = new InscricaoRequest();
+        inscricaoRequest.setEvento_id(evento.getId());
+
+        List<Object> resultados = emParalelo(TENTATIVAS_REPETIDAS,
+                () -> inscricaoController.cadastrarInscricao(identidade, inscricaoRequest, "toque-duplo").getId());
+
+        assertEquals(1, resultados.stream().distinct().count());
+        assertEquals(1, inscricaoRepository.count());
+
+        InscricaoRequest outroEvento = new InscricaoRequest();
+        outroEvento.setEvento_id(cenario.novoEvento("Outro").getId());
+        assertThrows(NegocioException.class, () -> inscricaoController.cadastrarInscricao(identidade, outroEvento, "toque-duplo"));
+    }
+
+    @Test
+    void participantePodeSeInscreverNovamenteDepoisDeCancelar() {
+        Evento evento = cenario.novoEvento("Show");
+        IdentidadeConta identidade = gerenciarContaController.identificar(EMAIL_PARTICIPANTE);
+        InscricaoRequest inscricaoRequest = new InscricaoRequest();
+        inscricaoRequest.setEvento_id(evento.getId());
+
+        Inscricao primeira = inscricaoController.cadastrarInscricao(identidade, inscricaoRequest);
+        inscricaoController.cancelarInscricao(primeira.getId(), identidade);
+        Inscricao segunda = inscricaoController.cadastrarInscricao(identidade, inscricaoRequest);
+
+        assertNotEquals(primeira.getId(), segunda.getId());
+        assertThrows(NegocioException.class, () -> inscricaoController.cadastrarInscricao(identidade, inscricaoRequest));
+    }
+
+    private List<Object> emParalelo(int quantidade, Callable<Object> tarefa) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(quantidade);
+        try {
+            List<Future<Object>> futuros = new ArrayList<>();
+            for (int i = 0; i < quantidade; i++) {
+                futuros.add(executor.submit(() -> {
+                    largada.await();
+                    return tarefa.call();
+                }));
+            }
+            largada.countDown();
+            List<Object> resultados = new ArrayList<>();
+            for (Future<Object> futuro : futuros) {
+                resultados.add(futuro.get(30, TimeUnit.SECONDS));
+            }
+            return resultados;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Evento eventoComCapacidade(int capacidade) {
+        Evento evento = cenario.novoEvento("Show");
+        evento.setCapacidade(capacidade);
+        evento.setVagasDisponiveis(capacidade);
+        return eventoRepository.save(evento);
+    }
+
+    private List<IdentidadeConta> novosInteressados(int quantidade) {
+        List<IdentidadeConta> interessados = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            String email = "interessado" + interessadosCriados + "@teste.com";
+            cenario.novoParticipante(String.format("%011d", 1000 + interessadosCriados), email);
+            interessadosCriados++;
+            interessados.add(gerenciarContaController.identificar(email));
+        }
+        return interessados;
+    }
+
+    private void transmitir(ByteArrayOutputStream saida, Consumer<EscritorListaJson<InscricaoResponse>> acao) {
+        try {
+            EscritorListaJson<InscricaoResponse> escritor = new EscritorListaJson<>(objectMapper, InscricaoResponse.class, saida);
+            acao.accept(escritor);
+            escritor.finalizar();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Set<JsonNode> elementos(JsonNode lista) {
+        Set<JsonNode> elementos = new HashSet<>();
+        lista.forEach(elementos::add);
+        return elementos;
+    }
+
+    private long versaoInscricoes() {
+        return versoesColecoes.ler(Colecao.INSCRICOES).versao(Colecao.INSCRICOES);
+    }
+
+    private long contarConsultas(Runnable acao) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        acao.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void inscrever(Evento evento, boolean cancelada) {
+        cenario.inscrever(evento, participante, cancelada);
+    }
+}
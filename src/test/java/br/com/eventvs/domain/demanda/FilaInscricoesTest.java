@@ -0,0 +1,258 @@
+package br.com.eventvs.domain.demanda;
+
+import br.com.eventvs.CenarioEventos;
+import br.com.eventvs.domain.busca.EventoAlterado;
+import br.com.eventvs.domain.enums.Colecao;
+import br.com.eventvs.domain.enums.SituacaoPedido;
+import br.com.eventvs.domain.model.*;
+import br.com.eventvs.domain.repository.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class FilaInscricoesTest {
+
+    private static final int CAPACIDADE = 50;
+    private static final int INTERESSADOS = 300;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private FilaInscricoes filaInscricoes;
+
+    @Autowired
+    private GravadorLoteInscricoes gravadorLoteInscricoes;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private InscricaoRepository inscricaoRepository;
+
+    @Autowired
+    private PedidoInscricaoConcluidoRepository pedidoInscricaoConcluidoRepository;
+
+    @Autowired
+    private AlteracaoColecaoRepository alteracaoColecaoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CenarioEventos cenario;
+
+    private int pessoas;
+
+    @BeforeEach
+    void setUp() {
+        cenario.preparar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pedidoInscricaoConcluidoRepository.deleteAll();
+        alteracaoColecaoRepository.deleteAll();
+        cenario.limpar();
+    }
+
+    @Test
+    void pedidosSimultaneosSaoGravadosEmLotesSemUltrapassarACapacidade() throws Exception {
+        Evento evento = eventoEmAltaDemanda(CAPACIDADE);
+        List<Participante> interessados = novosParticipantes(INTERESSADOS);
+        long lotesAntes = filaInscricoes.getLotesGravados();
+
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<PedidoInscricao>> enfileirados = new ArrayList<>();
+        try {
+            for (Participante interessado : interessados) {
+                enfileirados.add(executor.submit(() -> {
+                    largada.await();
+                    return filaInscricoes.enfileirar(evento.getId(), interessado.getId());
+                }));
+            }
+            largada.countDown();
+            List<PedidoInscricao> pedidos = new ArrayList<>();
+            for (Future<PedidoInscricao> enfileirado : enfileirados) {
+                pedidos.add(enfileirado.get(30, TimeUnit.SECONDS));
+            }
+            for (PedidoInscricao pedido : pedidos) {
+                pedido.aoConcluir().get(30, TimeUnit.SECONDS);
+            }
+
+            Map<SituacaoPedido, Long> situacoes = pedidos.stream()
+                    .collect(Collectors.groupingBy(PedidoInscricao::getSituacao, Collectors.counting()));
+            long lotes = filaInscricoes.getLotesGravados() - lotesAntes;
+
+            assertEquals(CAPACIDADE, situacoes.get(SituacaoPedido.CONFIRMADO));
+            assertEquals(INTERESSADOS - CAPACIDADE, situacoes.get(SituacaoPedido.RECUSADO));
+            assertEquals(CAPACIDADE, inscricaoRepository.countByEventoAndIsCancelada(evento, false));
+            assertEquals(0, eventoRepository.findById(evento.getId()).orElseThrow().getVagasDisponiveis());
+            assertTrue(lotes < INTERESSADOS);
+            pedidos.stream().filter(pedido -> pedido.getSituacao() == SituacaoPedido.CONFIRMADO)
+                    .forEach(pedido -> assertTrue(inscricaoRepository.findById(pedido.getInscricaoId()).isPresent()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void pedidoRepetidoEnquantoPendenteDevolveOMesmoTicket() throws Exception {
+        Evento evento = eventoEmAltaDemanda(CAPACIDADE);
+        Participante participante = novosParticipantes(1).get(0);
+
+        PedidoInscricao primeiro = filaInscricoes.enfileirar(evento.getId(), participante.getId());
+        PedidoInscricao repetido = filaInscricoes.enfileirar(evento.getId(), participante.getId());
+        if (repetido != primeiro) {
+            // o primeiro já havia sido gravado quando a repetição chegou
+            assertEquals(SituacaoPedido.RECUSADO, repetido.aoConcluir().get(30, TimeUnit.SECONDS).getSituacao());
+        }
+
+        assertEquals(SituacaoPedido.CONFIRMADO, primeiro.aoConcluir().get(30, TimeUnit.SECONDS).getSituacao());
+        assertSame(primeiro, filaInscricoes.buscar(primeiro.getTicket()).orElseThrow());
+        assertEquals(1, inscricaoRepository.countByEventoAndIsCancelada(evento, false));
+    }
+
+    @Test
+    void pedidoQueViolaOutraRestricaoFalhaSemDerrubarOLoteNemSerTratadoComoRepetido() throws Exception {
+        Evento evento = eventoEmAltaDemanda(CAPACIDADE);
+        Participante participante = novosParticipantes(1).get(0);
+
+        // participante inexistente: viola a chave estrangeira, não a chave da inscrição ativa
+        PedidoInscricao invalido = filaInscricoes.enfileirar(evento.getId(), participante.getId() + 1000);
+        PedidoInscricao valido = filaInscricoes.enfileirar(evento.getId(), participante.getId());
+
+        assertEquals(SituacaoPedido.CONFIRMADO, valido.aoConcluir().get(30, TimeUnit.SECONDS).getSituacao());
+        assertEquals(SituacaoPedido.RECUSADO, invalido.aoConcluir().get(30, TimeUnit.SECONDS).getSituacao());
+        assertEquals("Não foi possível processar a inscrição. Tente novamente.", invalido.getMensagem());
+        assertEquals(1, inscricaoRepository.countByEventoAndIsCancelada(evento, false));
+    }
+
+    @Test
+    void gravarLoteRecusaRepetidosEJaInscritosComConsultasFixasPorLote() {
+        Evento evento = eventoEmAltaDemanda(CAPACIDADE);
+        List<Participante> participantes = novosParticipantes(CAPACIDADE);
+
+        List<PedidoInscricao> primeiroLote = pedidos(evento, participantes.subList(0, 10));
+        primeiroLote.add(new PedidoInscricao(evento.getId(), participantes.get(0).getId()));
+        long consultasPrimeiroLote = contarConsultas(() -> gravadorLoteInscricoes.gravar(evento.getId(), primeiroLote).aplicar());
+
+        List<PedidoInscricao> segundoLote = pedidos(evento, participantes);
+        long consultasSegundoLote = contarConsultas(() -> gravadorLoteInscricoes.gravar(evento.getId(), segundoLote).aplicar());
+
+        Map<SituacaoPedido, Long> primeiro = situacoes(primeiroLote);
+        Map<SituacaoPedido, Long> segundo = situacoes(segundoLote);
+        assertEquals(10, primeiro.get(SituacaoPedido.CONFIRMADO));
+        assertEquals(1, primeiro.get(SituacaoPedido.RECUSADO));
+        assertEquals(CAPACIDADE - 10, segundo.get(SituacaoPedido.CONFIRMADO));
+        assertEquals(10, segundo.get(SituacaoPedido.RECUSADO));
+        // o segundo lote pode precisar de mais um bloco de identificadores da sequência
+        assertTrue(consultasSegundoLote <= consultasPrimeiroLote + 1);
+        assertEquals(0, eventoRepository.findById(evento.getId()).orElseThrow().getVagasDisponiveis());
+    }
+
+    @Test
+    void pedidoDeOutroNoFicaPendenteAteODesfechoSerGravado() {
+        Evento evento = eventoEmAltaDemanda(CAPACIDADE);
+        Participante participante = novosParticipantes(1).get(0);
+        // pedido enfileirado por outro nó: o ticket não está na memória desta instância
+        PedidoInscricao emOutroNo = new PedidoInscricao(evento.getId(), participante.getId());
+
+        PedidoInscricao pendente = filaInscricoes.buscar(emOutroNo.getTicket()).orElseThrow();
+        assertTrue(pendente.isPendente());
+        assertFalse(pendente.isLocal());
+        assertEquals(participante.getId(), pendente.getParticipanteId());
+
+        gravadorLoteInscricoes.gravar(evento.getId(), List.of(emOutroNo));
+
+        PedidoInscricao concluido = filaInscricoes.buscar(emOutroNo.getTicket()).orElseThrow();
+        assertEquals(SituacaoPedido.CONFIRMADO, concluido.getSituacao());
+        assertTrue(inscricaoRepository.findById(concluido.getInscricaoId()).isPresent());
+        assertTrue(concluido.aoConcluir().isDone());
+    }
+
+    @Test
+    void ticketInvalidoOuForaDoPrazoDeGravacaoNaoEEncontrado() {
+        long seisMinutosAtras = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(6);
+
+        assertTrue(filaInscricoes.buscar("ticket-invalido").isEmpty());
+        assertTrue(filaInscricoes.buscar("1.2." + seisMinutosAtras + "." + UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void eventoEmAltaDemandaCriadoPorOutroNoEntraNaFilaAposASincronizacao() {
+        Evento criadoEmOutroNo = gravarEventoEmAltaDemanda(CAPACIDADE);
+        assertFalse(filaInscricoes.emAltaDemanda(criadoEmOutroNo.getId()));
+
+        // outro nó registrou a alteração e incrementou a versão compartilhada
+        AlteracaoColecao alteracao = new AlteracaoColecao();
+        alteracao.setColecao(Colecao.EVENTOS);
+        alteracao.setEntidadeId(criadoEmOutroNo.getId());
+        alteracao.setOrigem("outro-no");
+        alteracao.setRegistradaEm(System.currentTimeMillis());
+        alteracaoColecaoRepository.save(alteracao);
+        jdbcTemplate.update("update versao_colecao set versao = versao + 1, alterada_em = alterada_em + 1000 where colecao = ?", Colecao.EVENTOS.name());
+        filaInscricoes.sincronizar();
+
+        assertTrue(filaInscricoes.emAltaDemanda(criadoEmOutroNo.getId()));
+    }
+
+    private List<PedidoInscricao> pedidos(Evento evento, List<Participante> participantes) {
+        return participantes.stream()
+                .map(participante -> new PedidoInscricao(evento.getId(), participante.getId()))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private Map<SituacaoPedido, Long> situacoes(List<PedidoInscricao> pedidos) {
+        return pedidos.stream().collect(Collectors.groupingBy(PedidoInscricao::getSituacao, Collectors.counting()));
+    }
+
+    private long contarConsultas(Runnable acao) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        acao.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Evento eventoEmAltaDemanda(int capacidade) {
+        Evento evento = gravarEventoEmAltaDemanda(capacidade);
+        filaInscricoes.atualizar(new EventoAlterado(evento.getId()));
+        assertTrue(filaInscricoes.emAltaDemanda(evento.getId()));
+        return evento;
+    }
+
+    private Evento gravarEventoEmAltaDemanda(int capacidade) {
+        Evento evento = cenario.novoEvento("Show");
+        evento.setCapacidade(capacidade);
+        evento.setVagasDisponiveis(capacidade);
+        evento.setAltaDemanda(true);
+        return eventoRepository.save(evento);
+    }
+
+    private List<Participante> novosParticipantes(int quantidade) {
+        List<Participante> participantes = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            int numero = ++pessoas;
+            participantes.add(cenario.novoParticipante(String.format("%011d", 5000 + numero), "pessoa" + numero + "@demanda.com"));
+        }
+        return participantes;
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.eventvs.domain.repository;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Registra o SQL das instruções preparadas pela aplicação e os valores ligados aos seus parâmetros, para que os
+ * testes possam inspecionar o plano de execução com os mesmos valores. Envolve o DataSource da aplicação; as
+ * instruções são registradas apenas entre {@link #registrar()} e {@link #consultas()}.
+ */
+@Component
+public class ConsultasRegistradas implements BeanPostProcessor {
+
+    private static final List<Consulta> CONSULTAS = Collections.synchronizedList(new ArrayList<>());
+
+    private static volatile boolean registrando;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource) {
+            return new DelegatingDataSource((DataSource) bean) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return conexaoRegistrada(super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return conexaoRegistrada(super.getConnection(username, password));
+                }
+            };
+        }
+        return bean;
+    }
+
+    static void registrar() {
+        CONSULTAS.clear();
+        registrando = true;
+    }
+
+    static List<Consulta> consultas() {
+        registrando = false;
+        synchronized (CONSULTAS) {
+            return new ArrayList<>(CONSULTAS);
+        }
+    }
+
+    private static Connection conexaoRegistrada(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(ConsultasRegistradas.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    Object resultado = invocar(conexao, metodo, argumentos);
+                    if (registrando && resultado instanceof PreparedStatement && metodo.getName().equals("prepareStatement")) {
+                        Consulta consulta = new Consulta((String) argumentos[0]);
+                        CONSULTAS.add(consulta);
+                        return instrucaoRegistrada((PreparedStatement) resultado, consulta);
+                    }
+                    return resultado;
+                });
+    }
+
+    /* os setters de parâmetro recebem o índice do parâmetro e o valor */
+    private static PreparedStatement instrucaoRegistrada(PreparedStatement instrucao, Consulta consulta) {
+        return (PreparedStatement) Proxy.newProxyInstance(ConsultasRegistradas.class.getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                (proxy, metodo, argumentos) -> {
+                    if (metodo.getName().startsWith("set") && argumentos != null && argumentos.length >= 2
+                            && metodo.getParameterTypes()[0] == int.class) {
+                        consulta.parametros.add(new Parametro(metodo, argumentos));
+                    }
+                    return invocar(instrucao, metodo, argumentos);
+                });
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * SQL de uma instrução preparada e os valores ligados aos seus parâmetros, na ordem em que foram ligados.
+     */
+    static class Consulta {
+
+        private final String sql;
+        private final List<Parametro> parametros = Collections.synchronizedList(new ArrayList<>());
+
+        Consulta(String sql) {
+            this.sql = sql;
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        /**
+         * Liga os mesmos valores aos parâmetros de outra instrução com o mesmo SQL, como a do EXPLAIN.
+         */
+        void ligarParametros(PreparedStatement instrucao) throws SQLException {
+            synchronized (parametros) {
+                for (Parametro parametro : parametros) {
+                    try {
+                        invocar(instrucao, parametro.metodo, parametro.argumentos);
+                    } catch (SQLException | RuntimeException e) {
+                        throw e;
+                    } catch (Throwable e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+        }
+    }
+
+    private static class Parametro {
+
+        private final Method metodo;
+        private final Object[] argumentos;
+
+        Parametro(Method metodo, Object[] argumentos) {
+            this.metodo = metodo;
+            this.argumentos = argumentos.clone();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.eventvs.domain.repository;
+
+import br.com.eventvs.CenarioEventos;
+import br.com.eventvs.domain.enums.Situacao;
+import br.com.eventvs.domain.enums.StatusEvento;
+import br.com.eventvs.domain.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static br.com.eventvs.CenarioEventos.*;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Executa EXPLAIN sobre o SQL das consultas de listagem, com os valores que elas ligaram aos parâmetros, e falha se
+ * alguma delas percorrer a tabela inteira.
+ */
+@SpringBootTest
+class IndicesConsultasTest {
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private InscricaoRepository inscricaoRepository;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private ProdutorRepository produtorRepository;
+
+    @Autowired
+    private ParticipanteRepository participanteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CenarioEventos cenario;
+
+    private Categoria categoria;
+    private Produtor produtor;
+    private Participante participante;
+    private Evento evento;
+
+    @BeforeEach
+    void setUp() {
+        cenario.preparar();
+        categoria = cenario.getCategoria();
+        produtor = cenario.getProdutor();
+        participante = cenario.getParticipante();
+        evento = cenario.novoEvento("Evento");
+        cenario.inscrever(evento, participante, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cenario.limpar();
+    }
+
+    @Test
+    void consultasDeEventoUtilizamIndices() {
+        PageRequest pagina = PageRequest.of(0, 21);
+
+        assertSemVarreduraCompleta(() -> {
+            eventoRepository.findAllByStatusEventoAndProdutor(StatusEvento.PUBLICADO, produtor, pagina);
+            eventoRepository.findAllByStatusEventoAndProdutorAposCursor(StatusEvento.PUBLICADO, produtor, INICIO, evento.getId(), pagina);
+            eventoRepository.findAllByStatusEventoAndProdutorAposCursorSemInicio(StatusEvento.PUBLICADO, produtor, evento.getId(), pagina);
+            eventoRepository.findAllByStatusEventoAndCategoriaAndProdutor(StatusEvento.PUBLICADO, categoria, produtor, pagina);
+            eventoRepository.findAllByStatusEventoAndCategoriaAndProdutorAposCursor(StatusEvento.PUBLICADO, categoria, produtor,
+                    INICIO, evento.getId(), pagina);
+            eventoRepository.findAllByStatusEventoAndCategoriaAndProdutorAposCursorSemInicio(StatusEvento.PUBLICADO, categoria,
+                    produtor, evento.getId(), pagina);
+            eventoRepository.findAllByStatusEventoAndDataHoraInicioBetweenAndProdutor(StatusEvento.PUBLICADO,
+                    INICIO.minusDays(1), INICIO.plusDays(1), produtor, pagina);
+            eventoRepository.findAllByStatusEventoAndDataHoraInicioBetweenAndProdutorAposCursor(StatusEvento.PUBLICADO,
+                    INICIO.minusDays(1), INICIO.plusDays(1), produtor, INICIO, evento.getId(), pagina);
+            eventoRepository.findResponseByIdAndProdutor(evento.getId(), produtor);
+            eventoRepository.findAllResponsesByIdIn(List.of(evento.getId()));
+            eventoRepository.findByIdAndStatusEventoAndProdutor(evento.getId(), StatusEvento.PUBLICADO, produtor);
+            eventoRepository.findIdsByPessoaId(produtor.getPessoa().getId());
+        });
+    }
+
+    @Test
+    void consultasDeInscricaoEContaUtilizamIndices() {
+        assertSemVarreduraCompleta(() -> {
+            inscricaoRepository.findByParticipante(participante);
+            inscricaoRepository.findByEvento(evento);
+            inscricaoRepository.findByEventoAndParticipanteAndIsCancelada(evento, participante, false);
+            inscricaoRepository.findEventoIdsComInscricaoAtiva(participante);
+            pessoaRepository.findByEmail(EMAIL_PARTICIPANTE);
+            participanteRepository.findByPessoaEmail(EMAIL_PARTICIPANTE);
+            produtorRepository.findByPessoaId(produtor.getPessoa().getId());
+            produtorRepository.findResponsesBySituacao(Situacao.SOLICITADO, PageRequest.of(0, 20, Sort.by("pessoa.nome")));
+            produtorRepository.findEmailsBySituacaoAndPessoaIds(Situacao.SOLICITADO, List.of(produtor.getPessoa().getId()));
+        });
+    }
+
+    private void assertSemVarreduraCompleta(Runnable consultas) {
+        ConsultasRegistradas.registrar();
+        consultas.run();
+
+        List<ConsultasRegistradas.Consulta> registradas = ConsultasRegistradas.consultas();
+        assertFalse(registradas.isEmpty());
+        for (ConsultasRegistradas.Consulta consulta : registradas) {
+            String plano = explicar(consulta);
+            assertFalse(plano.contains(".tableScan"), () -> "Consulta sem índice:\n" + plano);
+            assertTrue(plano.startsWith("SELECT"));
+        }
+    }
+
+    private String explicar(ConsultasRegistradas.Consulta consulta) {
+        return jdbcTemplate.execute("EXPLAIN " + consulta.getSql(), (java.sql.PreparedStatement statement) -> {
+            consulta.ligarParametros(statement);
+            try (java.sql.ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        });
+    }
+}
@@ -0,0 +1,201 @@
+package br.com.eventvs.domain.repository;
+
+import br.com.eventvs.domain.enums.Situacao;
+import br.com.eventvs.domain.enums.StatusEvento;
+import br.com.eventvs.domain.model.*;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mede a inserção em massa de eventos (com o endereço, como em criarEvento) e de inscrições, uma instrução por linha
+ * (batch de tamanho 1, como acontecia com GenerationType.IDENTITY) e agrupada em batches JDBC.
+ */
+@SpringBootTest
+class InsercaoEmLoteTest {
+
+    private static final LocalDateTime INICIO = LocalDateTime.now().plusDays(10).withNano(0);
+    private static final int LINHAS = 2_000;
+    private static final int UMA_INSTRUCAO_POR_LINHA = 1;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private InscricaoRepository inscricaoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private ProdutorRepository produtorRepository;
+
+    @Autowired
+    private ParticipanteRepository participanteRepository;
+
+    private Categoria categoria;
+    private Produtor produtor;
+    private int tamanhoBatch;
+    private int tamanhoAlocacao;
+
+    @BeforeEach
+    void setUp() {
+        categoria = new Categoria();
+        categoria.setNome("Palestra");
+        categoria.setDescricao("Palestra");
+        categoria = categoriaRepository.save(categoria);
+
+        produtor = new Produtor();
+        produtor.setPessoa(novaPessoa(0));
+        produtor.setSituacao(Situacao.ACEITO);
+        produtor = produtorRepository.save(produtor);
+
+        tamanhoBatch = propriedade("hibernate.jdbc.batch_size");
+        tamanhoAlocacao = propriedade(GeradorIdentificadores.PROPRIEDADE_TAMANHO_ALOCACAO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        inscricaoRepository.deleteAllInBatch();
+        eventoRepository.deleteAllInBatch();
+        enderecoRepository.deleteAllInBatch();
+        categoriaRepository.deleteAll();
+        participanteRepository.deleteAllInBatch();
+        produtorRepository.deleteAll();
+        pessoaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void inserirEventosEmBatchReduzAsInstrucoesNaMesmaProporcaoDoTamanhoDoBatch() {
+        long porLinha = inserir(UMA_INSTRUCAO_POR_LINHA, this::salvarEventos);
+        long emBatch = inserir(tamanhoBatch, this::salvarEventos);
+
+        assertEquals(2L * LINHAS, eventoRepository.count());
+        assertEquals(2L * LINHAS, enderecoRepository.count());
+        assertTrue(porLinha >= 2L * LINHAS);
+        // um INSERT por batch de cada tabela e uma ida à sequência a cada bloco de identificadores
+        assertTrue(emBatch <= 2L * LINHAS / tamanhoBatch + 2L * LINHAS / tamanhoAlocacao + 4);
+    }
+
+    @Test
+    void inserirInscricoesEmBatchReduzAsInstrucoesNaMesmaProporcaoDoTamanhoDoBatch() {
+        Evento evento = salvarEventos(1).get(0);
+        List<Pessoa> pessoas = new ArrayList<>();
+        List<Participante> participantes = new ArrayList<>();
+        for (int i = 1; i <= 2 * LINHAS; i++) {
+            Participante participante = new Participante();
+            participante.setPessoa(pessoa(i));
+            pessoas.add(participante.getPessoa());
+            participantes.add(participante);
+        }
+        pessoaRepository.saveAll(pessoas);
+        participanteRepository.saveAll(participantes);
+
+        long porLinha = inserir(UMA_INSTRUCAO_POR_LINHA,
+                quantidade -> salvarInscricoes(evento, participantes.subList(0, quantidade)));
+        long emBatch = inserir(tamanhoBatch,
+                quantidade -> salvarInscricoes(evento, participantes.subList(LINHAS, LINHAS + quantidade)));
+
+        assertEquals(2L * LINHAS, inscricaoRepository.countByEventoAndIsCancelada(evento, false));
+        assertTrue(porLinha >= LINHAS);
+        assertTrue(emBatch <= LINHAS / tamanhoBatch + LINHAS / tamanhoAlocacao + 2);
+    }
+
+    /* quantidade de instruções para inserir as linhas com o tamanho de batch informado */
+    private long inserir(int tamanho, Function<Integer, List<?>> salvar) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(tamanho);
+            salvar.apply(LINHAS);
+            entityManager.flush();
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Evento> salvarEventos(int quantidade) {
+        List<Evento> eventos = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Endereco endereco = new Endereco();
+            endereco.setLogradouro("Av. Marechal Rondom");
+            endereco.setNumero("S/N");
+            endereco.setBairro("Rosa Elze");
+            endereco.setCidade("São Cristóvão");
+            endereco.setEstado("Sergipe");
+            endereco.setCEP("49100000");
+
+            Evento evento = new Evento();
+            evento.setNome("Evento " + i);
+            evento.setDescricao("Evento " + i);
+            evento.setDataHoraInicio(INICIO);
+            evento.setDataHoraFim(INICIO.plusDays(1));
+            evento.setCategoria(categoria);
+            evento.setStatusEvento(StatusEvento.PUBLICADO);
+            evento.setProdutor(produtor);
+            evento.setEndereco(enderecoRepository.save(endereco));
+            eventos.add(eventoRepository.save(evento));
+        }
+        return eventos;
+    }
+
+    private List<Inscricao> salvarInscricoes(Evento evento, List<Participante> participantes) {
+        List<Inscricao> inscricoes = new ArrayList<>();
+        for (Participante participante : participantes) {
+            Inscricao inscricao = new Inscricao();
+            inscricao.setEvento(evento);
+            inscricao.setParticipante(participante);
+            inscricao.setIsCancelada(false);
+            inscricao.setDataHora(LocalDateTime.now());
+            inscricoes.add(inscricao);
+        }
+        return inscricaoRepository.saveAll(inscricoes);
+    }
+
+    private int propriedade(String nome) {
+        return Integer.parseInt(String.valueOf(entityManagerFactory.getProperties().get(nome)));
+    }
+
+    private Pessoa novaPessoa(int numero) {
+        return pessoaRepository.save(pessoa(numero));
+    }
+
+    private Pessoa pessoa(int numero) {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setNome("Pessoa " + numero);
+        pessoa.setCpf(String.format("%011d", 90000 + numero));
+        pessoa.setEmail("pessoa" + numero + "@lote.com");
+        pessoa.setSenha("senha");
+        return pessoa;
+    }
+}